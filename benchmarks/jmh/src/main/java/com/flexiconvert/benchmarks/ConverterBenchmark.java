@@ -0,0 +1,65 @@
+package com.flexiconvert.benchmarks;
+
+import com.flexiconvert.ConversionResult;
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.config.AppConfig;
+import com.flexiconvert.corpus.CorpusGenerator;
+import com.flexiconvert.io.FileTrees;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of one conversion through {@link FileConverterService#execute}, for every
+ * conversion type at every {@link InputSize}: staging, the converter itself, output
+ * discovery and workspace cleanup.
+ * <p>
+ * The full matrix takes hours; narrow it with JMH parameters, for example
+ * {@code -p type=CSV_TO_JSON,XLSX_TO_CSV -p size=SMALL,MEDIUM}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class ConverterBenchmark {
+
+    @Param
+    public ConversionType type;
+
+    @Param
+    public InputSize size;
+
+    private AnnotationConfigApplicationContext context;
+    private FileConverterService service;
+    private Path inputDirectory;
+    private File input;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new AnnotationConfigApplicationContext(AppConfig.class);
+        service = context.getBean(FileConverterService.class);
+        inputDirectory = Files.createTempDirectory("flexiconvert-bench-");
+        input = CorpusGenerator.generate(type.getSourceFormat(), size.getSpec(), inputDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileTrees.delete(inputDirectory);
+    }
+
+    @Benchmark
+    public long convert() throws IOException {
+        try (ConversionResult result = service.execute(input, type)) {
+            return result.getBytesOut();
+        }
+    }
+}
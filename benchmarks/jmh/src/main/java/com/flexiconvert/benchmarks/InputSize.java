@@ -0,0 +1,26 @@
+package com.flexiconvert.benchmarks;
+
+import com.flexiconvert.corpus.CorpusSpec;
+
+import java.util.function.Supplier;
+
+/**
+ * Benchmark input scales, backed by the synthetic corpus presets. Each format reads the
+ * dimension that drives its cost: bytes for text and structured data, rows for
+ * spreadsheets, pages or slides for documents, pixels for images and entries for archives.
+ */
+public enum InputSize {
+    SMALL(CorpusSpec::small),
+    MEDIUM(CorpusSpec::medium),
+    LARGE(CorpusSpec::large);
+
+    private final Supplier<CorpusSpec> spec;
+
+    InputSize(Supplier<CorpusSpec> spec) {
+        this.spec = spec;
+    }
+
+    public CorpusSpec getSpec() {
+        return spec.get();
+    }
+}
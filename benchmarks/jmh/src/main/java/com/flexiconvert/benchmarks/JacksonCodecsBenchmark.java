@@ -0,0 +1,97 @@
+package com.flexiconvert.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.converters.CsvToJsonConverter;
+import com.flexiconvert.converters.JsonToCsvConverter;
+import com.flexiconvert.converters.JsonToXmlConverter;
+import com.flexiconvert.corpus.CorpusGenerator;
+import com.flexiconvert.corpus.CorpusSpec;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
+import com.flexiconvert.io.FileTrees;
+import com.flexiconvert.io.MemoryOutputSink;
+import com.flexiconvert.jackson.JacksonCodecs;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Per-call cost of the Jackson-based converters on small documents, with the shared
+ * {@link JacksonCodecs} against a fresh set of mappers per conversion, which is what every
+ * call paid before the readers and writers were shared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class JacksonCodecsBenchmark {
+
+    public enum Converter {
+        CSV_TO_JSON(ConversionType.CSV_TO_JSON, false, CsvToJsonConverter::new),
+        JSON_TO_CSV(ConversionType.JSON_TO_CSV, false, JsonToCsvConverter::new),
+        JSON_TO_XML(ConversionType.JSON_TO_XML, true, JsonToXmlConverter::new);
+
+        private final ConversionType type;
+        private final boolean usesXml;
+        private final Function<JacksonCodecs, StreamingFormatConverter> factory;
+
+        Converter(ConversionType type, boolean usesXml, Function<JacksonCodecs, StreamingFormatConverter> factory) {
+            this.type = type;
+            this.usesXml = usesXml;
+            this.factory = factory;
+        }
+    }
+
+    private static final XmlMapper SHARED_XML_MAPPER = new XmlMapper();
+
+    @Param
+    public Converter converter;
+
+    /** Size of the generated input; small documents are where per-call setup dominates. */
+    @Param({"1024", "16384"})
+    public int bytes;
+
+    private StreamingFormatConverter shared;
+    private byte[] input;
+    private String inputName;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path directory = Files.createTempDirectory("flexiconvert-bench-");
+        try {
+            var file = CorpusGenerator.generate(converter.type.getSourceFormat(),
+                    CorpusSpec.small().setTextBytes(bytes), directory);
+            input = Files.readAllBytes(file.toPath());
+            inputName = file.getName();
+        } finally {
+            FileTrees.delete(directory);
+        }
+        shared = converter.factory.apply(JacksonCodecs.shared());
+    }
+
+    @Benchmark
+    public MemoryOutputSink sharedCodecs() throws IOException {
+        return convert(shared);
+    }
+
+    @Benchmark
+    public MemoryOutputSink freshMappers() throws IOException {
+        // Only the mappers the converter used to build per call; the other one is left shared
+        XmlMapper xmlMapper = converter.usesXml ? new XmlMapper() : SHARED_XML_MAPPER;
+        return convert(converter.factory.apply(new JacksonCodecs(new ObjectMapper(), xmlMapper)));
+    }
+
+    private MemoryOutputSink convert(StreamingFormatConverter target) throws IOException {
+        MemoryOutputSink sink = new MemoryOutputSink();
+        target.convert(new ByteArrayInputStream(input), inputName, sink);
+        return sink;
+    }
+}
@@ -0,0 +1,116 @@
+package com.flexiconvert.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.flexiconvert.csv.CellDecoder;
+import com.flexiconvert.csv.ColumnType;
+import com.flexiconvert.csv.JsonCells;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-cell cost of typing CSV → JSON values, written to a {@code JsonGenerator} on a null
+ * stream: {@link JsonCells#write} with the column types inferred from the first rows, which is how
+ * {@code CsvToJsonConverter} writes every cell,
+ * against parsing every cell with {@code Integer.parseInt} or {@code Double.parseDouble} and
+ * catching the {@code NumberFormatException}, which is what each text cell cost before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TypedValuesBenchmark {
+
+    public enum Cells {
+        /** Integers, decimals and booleans. */
+        NUMERIC,
+        /** Names and free text. */
+        TEXT,
+        /** A text column, a numeric one and a numeric one with stray text. */
+        MIXED
+    }
+
+    private static final int ROWS = 4096;
+
+    @Param
+    public Cells cells;
+
+    private String[][] rows;
+    private ColumnType[] types;
+    private CellDecoder decoder;
+    private final JsonFactory json = new JsonFactory();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        rows = new String[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            rows[i] = switch (cells) {
+                case NUMERIC -> new String[] {
+                        Integer.toString(random.nextInt()), random.nextInt(100_000) / 100.0 + "",
+                        Boolean.toString(random.nextBoolean())};
+                case TEXT -> new String[] {
+                        "customer-" + random.nextInt(10_000), "Order shipped to warehouse " + random.nextInt(50),
+                        random.nextBoolean() ? "pending" : "delivered"};
+                case MIXED -> new String[] {
+                        "customer-" + random.nextInt(10_000), Integer.toString(random.nextInt(1000)),
+                        random.nextInt(10) == 0 ? "n/a" : random.nextInt(100_000) / 100.0 + ""};
+            };
+        }
+
+        StringBuilder sample = new StringBuilder();
+        for (int i = 0; i < ColumnType.DEFAULT_SAMPLE_ROWS; i++) {
+            sample.append(String.join(",", rows[i])).append('\n');
+        }
+        decoder = new CellDecoder();
+        try (CSVParser parser = new CSVParser(new StringReader(sample.toString()), CSVFormat.DEFAULT)) {
+            List<CSVRecord> records = parser.getRecords();
+            types = ColumnType.infer(records, rows[0].length, decoder);
+        }
+    }
+
+    @Benchmark
+    public void scanner() throws IOException {
+        try (JsonGenerator generator = json.createGenerator(OutputStream.nullOutputStream())) {
+            generator.writeStartArray();
+            for (String[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    JsonCells.write(generator, row[i], types[i], decoder);
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Benchmark
+    public void parseAndCatch() throws IOException {
+        try (JsonGenerator generator = json.createGenerator(OutputStream.nullOutputStream())) {
+            generator.writeStartArray();
+            for (String[] row : rows) {
+                for (String cell : row) {
+                    try {
+                        if (cell.contains(".")) {
+                            generator.writeNumber(Double.parseDouble(cell));
+                        } else {
+                            generator.writeNumber(Integer.parseInt(cell));
+                        }
+                    } catch (NumberFormatException e) {
+                        generator.writeString(cell);
+                    }
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -1,13 +1,30 @@
 package com.flexiconvert;
 
+import com.flexiconvert.cli.BatchCli;
 import com.flexiconvert.config.AppConfig;
+import com.flexiconvert.config.FlexiConvertProperties;
+import com.flexiconvert.server.ConversionServer;
+import com.flexiconvert.watch.WatchFolderDaemon;
 import com.flexiconvert.ui.MainWindow;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import javax.swing.SwingUtilities;
+import java.io.IOException;
 
 public class App {
     public static void main(String[] args) {
+        if (BatchCli.isRequested(args)) {
+            System.exit(runHeadless(args));
+        }
+        if (ConversionServer.isRequested(args)) {
+            serve();
+            return;
+        }
+        if (WatchFolderDaemon.isRequested(args)) {
+            watch();
+            return;
+        }
+
         try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(AppConfig.class)) {
             FileConverterService converterService = context.getBean(FileConverterService.class);
 
@@ -17,4 +34,67 @@ public class App {
             });
         }
     }
+
+    private static int runHeadless(String[] args) {
+        // Must be set before anything touches AWT; stdout is reserved for the progress stream
+        System.setProperty("java.awt.headless", "true");
+        System.setProperty("flexiconvert.log.target", "System.err");
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            return new BatchCli(context.getBean(FileConverterService.class), System.out, System.err).run(args);
+        }
+    }
+
+    private static void serve() {
+        System.setProperty("java.awt.headless", "true");
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(AppConfig.class);
+        ConversionServer server;
+        try {
+            server = ConversionServer.create(context.getBean(FileConverterService.class),
+                    context.getBean(FlexiConvertProperties.class));
+        } catch (IOException e) {
+            System.err.println("Error: could not start server: " + e.getMessage());
+            context.close();
+            System.exit(BatchCli.EXIT_USAGE);
+            return;
+        }
+        // The server's dispatcher thread keeps the JVM alive until it is stopped
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            context.close();
+        }, "flexiconvert-server-shutdown"));
+        server.start();
+    }
+
+    private static void watch() {
+        System.setProperty("java.awt.headless", "true");
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(AppConfig.class);
+        WatchFolderDaemon daemon;
+        try {
+            daemon = WatchFolderDaemon.create(context.getBean(FileConverterService.class),
+                    context.getBean(FlexiConvertProperties.class));
+            daemon.start();
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("Error: could not start watching: " + e.getMessage());
+            context.close();
+            System.exit(BatchCli.EXIT_USAGE);
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                daemon.close();
+            } catch (IOException e) {
+                System.err.println("Error while stopping: " + e.getMessage());
+            }
+            context.close();
+        }, "flexiconvert-watch-shutdown"));
+        // The watcher thread is a daemon thread, so park here until the JVM is asked to stop
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -0,0 +1,133 @@
+package com.flexiconvert;
+
+import com.flexiconvert.staging.StagingStrategy;
+import com.flexiconvert.workspace.Workspace;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * What a single conversion produced and what it cost. Outputs are the files and
+ * directories the converter actually wrote, so callers never have to probe for them.
+ * <p>
+ * Outputs live in a leased workspace; {@link #close()} reclaims it once they have been
+ * consumed.
+ */
+public class ConversionResult implements AutoCloseable {
+
+    private final ConversionType type;
+    private final File inputFile;
+    private final File primaryOutput;
+    private final List<File> outputFiles;
+    private final List<File> outputDirectories;
+    private final long bytesIn;
+    private final long bytesOut;
+    private final StagingStrategy stagingStrategy;
+    private final long stagingNanos;
+    private final long conversionNanos;
+    private final boolean cacheHit;
+    private volatile Workspace workspace;
+
+    public ConversionResult(ConversionType type, File inputFile, File primaryOutput,
+                            List<File> outputFiles, List<File> outputDirectories,
+                            long bytesIn, long bytesOut, StagingStrategy stagingStrategy,
+                            long stagingNanos, long conversionNanos, boolean cacheHit) {
+        this.type = type;
+        this.inputFile = inputFile;
+        this.primaryOutput = primaryOutput;
+        this.outputFiles = List.copyOf(outputFiles);
+        this.outputDirectories = List.copyOf(outputDirectories);
+        this.bytesIn = bytesIn;
+        this.bytesOut = bytesOut;
+        this.stagingStrategy = stagingStrategy;
+        this.stagingNanos = stagingNanos;
+        this.conversionNanos = conversionNanos;
+        this.cacheHit = cacheHit;
+    }
+
+    public ConversionType getType() {
+        return type;
+    }
+
+    public File getInputFile() {
+        return inputFile;
+    }
+
+    /**
+     * The output a single-file caller should hand to the user: the conventionally named
+     * output when the converter wrote one, otherwise its media folder or sole output.
+     */
+    public File getPrimaryOutput() {
+        return primaryOutput;
+    }
+
+    /** Regular files written directly into the output location. */
+    public List<File> getOutputFiles() {
+        return outputFiles;
+    }
+
+    /** Directories written into the output location (extracted archives, media folders). */
+    public List<File> getOutputDirectories() {
+        return outputDirectories;
+    }
+
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    /** Total size of every produced file, including the contents of produced directories. */
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    public StagingStrategy getStagingStrategy() {
+        return stagingStrategy;
+    }
+
+    public long getStagingNanos() {
+        return stagingNanos;
+    }
+
+    public long getConversionNanos() {
+        return conversionNanos;
+    }
+
+    /** True when the outputs were restored from the conversion cache instead of converted. */
+    public boolean isCacheHit() {
+        return cacheHit;
+    }
+
+    public long getTotalNanos() {
+        return stagingNanos + conversionNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ConversionResult{" + type
+                + ", files=" + outputFiles.size()
+                + ", directories=" + outputDirectories.size()
+                + ", bytesIn=" + bytesIn
+                + ", bytesOut=" + bytesOut
+                + ", staging=" + stagingStrategy
+                + (cacheHit ? ", cacheHit" : "")
+                + ", stagingMs=" + stagingNanos / 1_000_000.0
+                + ", conversionMs=" + conversionNanos / 1_000_000.0 + "}";
+    }
+
+    void attachWorkspace(Workspace workspace) {
+        this.workspace = workspace;
+    }
+
+    Workspace getWorkspace() {
+        return workspace;
+    }
+
+    /** Deletes the outputs' workspace. The output files are gone afterwards. */
+    @Override
+    public void close() {
+        Workspace leased = workspace;
+        if (leased != null) {
+            leased.close();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.flexiconvert;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum ConversionType {
     TXT_TO_PDF,
     DOCX_TO_PDF,
@@ -44,5 +47,29 @@ public enum ConversionType {
     HTML_TO_TXT,
     XML_TO_TXT,
     JAVA_TO_TXT,
-    PY_TO_TXT
+    PY_TO_TXT;
+
+    private static final Set<ConversionType> CPU_BOUND = EnumSet.of(
+            TXT_TO_PDF, DOCX_TO_PDF, RTF_TO_PDF, MD_TO_PDF, XLSX_TO_PDF,
+            PDF_TO_IMAGES, PDF_MEDIA_TO_IMAGES, PPTX_TO_PDF, PPTX_TO_IMAGES,
+            PNG_TO_JPG, PNG_TO_WEBP, JPG_TO_PNG, WEBP_TO_PNG,
+            HTML_TO_PDF, XML_TO_PDF, JAVA_TO_PDF, PY_TO_PDF);
+
+    /**
+     * True for conversions dominated by layout, rendering or image codecs rather than by
+     * reading and writing bytes (archive extraction, text and structured-data conversions).
+     */
+    public boolean isCpuBound() {
+        return CPU_BOUND.contains(this);
+    }
+
+    /** Lower-case extension of the inputs this type reads, e.g. "docx" for DOCX_MEDIA_TO_IMAGES. */
+    public String getSourceFormat() {
+        return name().split("_TO_")[0].replace("_MEDIA", "").toLowerCase();
+    }
+
+    /** Lower-case name of what this type produces, e.g. "pdf", "images" or "folder". */
+    public String getTargetFormat() {
+        return name().split("_TO_")[1].toLowerCase();
+    }
 }
\ No newline at end of file
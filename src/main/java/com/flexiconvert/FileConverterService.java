@@ -1,83 +1,678 @@
 package com.flexiconvert;
 
 import com.flexiconvert.interfaces.FormatConverter;
-import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.context.ApplicationContext;
-import org.springframework.stereotype.Service;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.interfaces.OutputSink;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
+import com.flexiconvert.batch.BatchItem;
+import com.flexiconvert.batch.BatchListener;
+import com.flexiconvert.batch.BatchOptions;
+import com.flexiconvert.batch.BatchResult;
+import com.flexiconvert.cache.CacheKey;
+import com.flexiconvert.cache.ConversionCache;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.cancellation.CancellationToken;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.progress.ProgressListener;
+import com.flexiconvert.scheduler.ConversionScheduler;
+import com.flexiconvert.selection.Selection;
+import com.flexiconvert.scheduler.ConversionScheduler.Lane;
+import com.flexiconvert.cancellation.ConversionDeadlines;
+import com.flexiconvert.io.DirectoryOutputSink;
+import com.flexiconvert.io.FileConverterAdapter;
+import com.flexiconvert.io.FileTrees;
+import com.flexiconvert.memory.MemoryBudget;
+import com.flexiconvert.memory.MemoryBudgetExceededException;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.metrics.ConversionPhase;
+import com.flexiconvert.metrics.ConversionPhases;
+import com.flexiconvert.metrics.InstrumentedConverter;
+import com.flexiconvert.metrics.MetricsRegistry;
+import com.flexiconvert.planner.ConversionCostModel;
+import com.flexiconvert.planner.ConversionPlan;
+import com.flexiconvert.planner.ConversionPlanner;
+import com.flexiconvert.registry.ConverterDescriptor;
+import com.flexiconvert.registry.ConverterRegistry;
+import com.flexiconvert.staging.InputStager;
+import com.flexiconvert.staging.StagedInput;
+import com.flexiconvert.staging.StagingStrategy;
+import com.flexiconvert.workspace.Workspace;
+import com.flexiconvert.workspace.WorkspaceManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 
-@Service
 public class FileConverterService {
 
-    private final Map<ConversionType, FormatConverter> converterMap = new EnumMap<>(ConversionType.class);
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileConverterService.class);
 
-    public FileConverterService(ApplicationContext context) {
-        List<FormatConverter> converters = new ArrayList<>(context.getBeansOfType(FormatConverter.class).values());
+    // Heap per input byte assumed for converters that do not estimate their own
+    private static final int DEFAULT_HEAP_FACTOR = 2;
+    /** Workspace subdirectory holding the outputs of a chain's intermediate hops. */
+    private static final String INTERMEDIATES_DIRECTORY = ".intermediates";
 
-        for (FormatConverter converter : converters) {
-            ConverterFor annotation = converter.getClass().getAnnotation(ConverterFor.class);
-            if (annotation != null) {
-                converterMap.put(annotation.value(), converter);
+    private final ConverterRegistry converters;
+    // Instrumented converters, created the first time their type is run
+    private final Map<ConversionType, FormatConverter> converterMap = new ConcurrentHashMap<>();
+
+    private final InputStager inputStager;
+    private final ConversionCache cache;
+    private final WorkspaceManager workspaces;
+    private final ConversionPlanner planner;
+    private final MemoryBudget memoryBudget;
+    private final ConversionDeadlines deadlines;
+    private final MetricsRegistry metrics;
+
+    public FileConverterService(ConverterRegistry converters, InputStager inputStager, ConversionCache cache,
+                                WorkspaceManager workspaces, MemoryBudget memoryBudget, ConversionDeadlines deadlines,
+                                MetricsRegistry metrics) {
+        this.converters = converters;
+        this.inputStager = inputStager;
+        this.cache = cache;
+        this.workspaces = workspaces;
+        this.memoryBudget = memoryBudget;
+        this.deadlines = deadlines;
+        this.metrics = metrics;
+        // Metrics are published for every registered type up front; the converters themselves are created lazily
+        converters.getTypes().forEach(metrics::forType);
+        planner = new ConversionPlanner(converters.getTypes(), new ConversionCostModel());
+    }
+
+    /**
+     * Converts and returns the primary output. The caller cannot release the output's
+     * workspace, so it is retained until the retention limit or shutdown reclaims it.
+     */
+    public File convert(File inputFile, ConversionType type) throws IOException {
+        return convert(inputFile, type, ProgressListener.NONE);
+    }
+
+    /** Like {@link #convert(File, ConversionType)}, reporting progress to {@code progress}. */
+    public File convert(File inputFile, ConversionType type, ProgressListener progress) throws IOException {
+        ConversionResult result = execute(inputFile, type, CancellationToken.create(), progress);
+        workspaces.retain(result.getWorkspace());
+        return result.getPrimaryOutput();
+    }
+
+    /**
+     * Runs a conversion in a leased workspace and reports exactly what the converter wrote
+     * there, together with byte counts and timings. Close the result to reclaim the workspace;
+     * a failed conversion reclaims it immediately.
+     */
+    public ConversionResult execute(File inputFile, ConversionType type) throws IOException {
+        return execute(inputFile, type, CancellationToken.create());
+    }
+
+    /**
+     * Like {@link #execute(File, ConversionType)}, stopping at the converter's next checkpoint
+     * once {@code cancellation} is cancelled or the type's deadline passes. Partial outputs
+     * are discarded with the workspace and a {@link com.flexiconvert.cancellation.ConversionCancelledException}
+     * is thrown.
+     */
+    public ConversionResult execute(File inputFile, ConversionType type, CancellationToken cancellation)
+            throws IOException {
+        return execute(inputFile, type, cancellation, ProgressListener.NONE);
+    }
+
+    /**
+     * Like {@link #execute(File, ConversionType, CancellationToken)}, reporting the converter's
+     * progress to {@code progress}; the last update is sent however the conversion ends.
+     */
+    public ConversionResult execute(File inputFile, ConversionType type, CancellationToken cancellation,
+                                    ProgressListener progress) throws IOException {
+        return execute(inputFile, type, cancellation, progress, Selection.ALL);
+    }
+
+    /**
+     * Like {@link #execute(File, ConversionType, CancellationToken, ProgressListener)}, keeping
+     * only the columns and rows {@code selection} picks. Cached outputs are kept per selection.
+     *
+     * @throws UnsupportedOperationException if the selection keeps less than everything and
+     *                                       the converter for {@code type} cannot apply it
+     * @throws IllegalArgumentException      if the selection names a column the converter cannot resolve
+     */
+    public ConversionResult execute(File inputFile, ConversionType type, CancellationToken cancellation,
+                                    ProgressListener progress, Selection selection) throws IOException {
+        FormatConverter converter = requireConverter(type);
+        if (!selection.isAll() && !Selection.supports(type)) {
+            throw new UnsupportedOperationException("Column and row selection is not supported for " + type);
+        }
+        selection.validate(type);
+        CancellationToken token = deadlines.tokenFor(type, cancellation);
+        token.throwIfCancelled();
+
+        Workspace workspace = workspaces.lease(estimateWorkspaceBytes(inputFile));
+        try (Cancellation.Scope scope = Cancellation.open(token);
+             Selection.Scope selected = Selection.open(selection);
+             Progress.Scope tracked = Progress.open(type, inputFile.length(), progress)) {
+            ConversionResult result = executeIn(workspace.getDirectory(), converter, inputFile, type);
+            result.attachWorkspace(workspace);
+            workspace.settle();
+            return result;
+        } catch (IOException | RuntimeException | Error e) {
+            workspace.close();
+            throw e;
+        }
+    }
+
+    // Settled to what the run actually left after it
+    private static long estimateWorkspaceBytes(File inputFile) {
+        return WorkspaceManager.estimateBytes(inputFile.length());
+    }
+
+    private ConversionResult executeIn(File tempDir, FormatConverter converter, File inputFile, ConversionType type)
+            throws IOException {
+        try (ConversionPhases.Scope phases = ConversionPhases.enter(type, inputFile.length())) {
+            return executeConverter(tempDir, converter, inputFile, type);
+        }
+    }
+
+    private ConversionResult executeConverter(File tempDir, FormatConverter converter, File inputFile,
+                                              ConversionType type) throws IOException {
+        CacheKey cacheKey = null;
+        if (cache.isEnabled() && isCacheable(type)) {
+            long hashStart = System.nanoTime();
+            cacheKey = cache.keyFor(inputFile, type, Selection.current().toKey(), converterVersion(type));
+            Optional<ConversionResult> cached = cache.lookup(cacheKey, inputFile, tempDir, System.nanoTime() - hashStart);
+            if (cached.isPresent()) {
+                return cached.get();
             }
         }
 
-        // 🔧 Manually map shared Generic converters
-        Map<String, FormatConverter> allBeans = context.getBeansOfType(FormatConverter.class);
+        // Streaming converters write through a sink into tempDir, so they can read the original in place
+        boolean readOnlyHandoff = converter instanceof StreamingFormatConverter;
+        boolean allowHardLink = inputFile.getName().endsWith("." + type.getSourceFormat());
+        StagedInput staged = ConversionPhases.time(ConversionPhase.STAGE,
+                () -> inputStager.stage(inputFile, tempDir, readOnlyHandoff, allowHardLink));
 
-        converterMap.put(ConversionType.JAVA_TO_PDF, allBeans.get("javaToPdf"));
-        converterMap.put(ConversionType.PY_TO_PDF, allBeans.get("pyToPdf"));
-        converterMap.put(ConversionType.HTML_TO_PDF, allBeans.get("htmlToPdf"));
-        converterMap.put(ConversionType.XML_TO_PDF, allBeans.get("xmlToPdf"));
+        long conversionStart;
+        try (MemoryBudget.Reservation memory = memoryBudget.reserve(estimateHeapBytes(type, inputFile))) {
+            Cancellation.checkpoint();
+            conversionStart = System.nanoTime();
+            if (readOnlyHandoff) {
+                try (FileChannel in = FileChannel.open(staged.getFile().toPath(), StandardOpenOption.READ)) {
+                    ((StreamingFormatConverter) converter).convert(in, inputFile.getName(), new DirectoryOutputSink(tempDir));
+                }
+            } else {
+                converter.convert(staged.getFile());
+            }
+        }
+        long conversionEnd = System.nanoTime();
+        planner.getCostModel().record(type, inputFile.length(), conversionEnd - conversionStart);
 
-        converterMap.put(ConversionType.JAVA_TO_TXT, allBeans.get("javaToTxt"));
-        converterMap.put(ConversionType.PY_TO_TXT, allBeans.get("pyToTxt"));
-        converterMap.put(ConversionType.HTML_TO_TXT, allBeans.get("htmlToTxt"));
-        converterMap.put(ConversionType.XML_TO_TXT, allBeans.get("xmlToTxt"));
+        ConversionResult result = ConversionPhases.time(ConversionPhase.DISCOVER,
+                () -> collectResult(type, inputFile, tempDir, staged, conversionEnd - conversionStart));
+        if (cacheKey != null) {
+            cache.store(cacheKey, result);
+        }
+        return result;
     }
 
-    public File convert(File inputFile, ConversionType type) throws IOException {
-        FormatConverter converter = converterMap.get(type);
-        if (converter == null) {
+    /**
+     * The cheapest chain of registered conversions from {@code sourceFormat} to
+     * {@code targetFormat}, priced from the conversions this service has run so far.
+     */
+    public Optional<ConversionPlan> plan(String sourceFormat, String targetFormat) {
+        return planner.plan(sourceFormat, targetFormat);
+    }
+
+    /** Like {@link #plan(String, String)}, priced for {@code inputFile}'s format and size. */
+    public Optional<ConversionPlan> plan(File inputFile, String targetFormat) {
+        return planner.plan(sourceFormat(inputFile.getName()), targetFormat, inputFile.length());
+    }
+
+    private static String sourceFormat(String name) {
+        return name.lastIndexOf('.') != -1 ? name.substring(name.lastIndexOf('.') + 1) : "";
+    }
+
+    /**
+     * Expected run time of converting {@code inputFile} as {@code type}, from the throughput
+     * past conversions of that type achieved.
+     */
+    public double estimateNanos(File inputFile, ConversionType type) {
+        return planner.getCostModel().estimateNanos(type, inputFile.length());
+    }
+
+    /**
+     * Converts {@code inputFile} to {@code targetFormat}, chaining conversions when there is
+     * no direct one. Intermediates are written to the leased workspace and removed once the
+     * next hop has read them; a hop with several outputs (e.g. one CSV per worksheet) runs
+     * the rest of the chain once per output. Close the result to reclaim it.
+     */
+    public ConversionResult execute(File inputFile, String targetFormat) throws IOException {
+        return execute(inputFile, targetFormat, CancellationToken.create());
+    }
+
+    /**
+     * Like {@link #execute(File, String)}, cancellable through {@code cancellation}; each hop
+     * is also bounded by its own type's deadline.
+     */
+    public ConversionResult execute(File inputFile, String targetFormat, CancellationToken cancellation)
+            throws IOException {
+        return execute(inputFile, targetFormat, cancellation, ProgressListener.NONE);
+    }
+
+    /**
+     * Like {@link #execute(File, String, CancellationToken)}, reporting progress to
+     * {@code progress}. Each hop is reported as a conversion of its own type.
+     */
+    public ConversionResult execute(File inputFile, String targetFormat, CancellationToken cancellation,
+                                    ProgressListener progress) throws IOException {
+        return execute(inputFile, targetFormat, cancellation, progress, Selection.ALL);
+    }
+
+    /**
+     * Like {@link #execute(File, String, CancellationToken, ProgressListener)}, applying
+     * {@code selection} at the first hop whose converter supports it.
+     *
+     * @throws UnsupportedOperationException if the selection keeps less than everything and no
+     *                                       hop can apply it
+     * @throws IllegalArgumentException      if the selection names a column the selecting hop cannot resolve
+     */
+    public ConversionResult execute(File inputFile, String targetFormat, CancellationToken cancellation,
+                                    ProgressListener progress, Selection selection) throws IOException {
+        ConversionPlan plan = plan(inputFile, targetFormat)
+                .orElseThrow(() -> new UnsupportedOperationException(
+                        "No conversion path from " + sourceFormat(inputFile.getName()) + " to " + targetFormat));
+        return execute(inputFile, plan, cancellation, progress, selection);
+    }
+
+    /**
+     * Like {@link #execute(File, String, CancellationToken, ProgressListener, Selection)} along
+     * {@code plan}, a chain already planned for {@code inputFile} by {@link #plan(File, String)}.
+     */
+    public ConversionResult execute(File inputFile, ConversionPlan plan, CancellationToken cancellation,
+                                    ProgressListener progress, Selection selection) throws IOException {
+        String name = inputFile.getName();
+        if (plan.isDirect()) {
+            return execute(inputFile, plan.getFinalHop(), cancellation, progress, selection);
+        }
+        // Column names change from hop to hop, so the selection applies exactly once
+        int selectingHop = -1;
+        if (!selection.isAll()) {
+            for (int i = 0; i < plan.getHops().size() && selectingHop < 0; i++) {
+                if (Selection.supports(plan.getHops().get(i))) selectingHop = i;
+            }
+            if (selectingHop < 0) {
+                throw new UnsupportedOperationException("Column and row selection is not supported on the way from "
+                        + sourceFormat(name) + " to " + plan.getTargetFormat());
+            }
+            selection.validate(plan.getHops().get(selectingHop));
+        }
+        cancellation.throwIfCancelled();
+
+        LOGGER.debug("Converting {} via {}", name, plan);
+        Workspace workspace = workspaces.lease(estimateWorkspaceBytes(inputFile));
+        try {
+            long start = System.nanoTime();
+            File intermediates = new File(workspace.getDirectory(), INTERMEDIATES_DIRECTORY);
+            List<File> inputs = List.of(inputFile);
+            long finalBytes = 0;
+
+            List<ConversionType> hops = plan.getHops();
+            for (int i = 0; i < hops.size(); i++) {
+                ConversionType hop = hops.get(i);
+                boolean last = i == hops.size() - 1;
+                File outputDir = last ? workspace.getDirectory() : new File(intermediates, Integer.toString(i));
+                if (last) {
+                    finalBytes = inputs.stream().mapToLong(File::length).sum();
+                }
+                for (File input : inputs) {
+                    runHop(hop, input, new DirectoryOutputSink(outputDir),
+                            i == selectingHop ? selection : Selection.ALL, cancellation, progress);
+                }
+                if (i > 0) {
+                    FileTrees.delete(inputs.get(0).getParentFile().toPath());
+                }
+                if (!last) {
+                    inputs = intermediates(hop, outputDir);
+                }
+            }
+            FileTrees.delete(intermediates.toPath());
+
+            StagedInput inPlace = new StagedInput(inputFile, StagingStrategy.READ_ONLY_HANDOFF, 0);
+            long conversionNanos = System.nanoTime() - start;
+            ConversionResult result;
+            try (ConversionPhases.Scope phases = ConversionPhases.enter(plan.getFinalHop(), finalBytes)) {
+                result = ConversionPhases.time(ConversionPhase.DISCOVER, () -> collectResult(plan.getFinalHop(),
+                        inputFile, workspace.getDirectory(), inPlace, conversionNanos));
+            }
+            result.attachWorkspace(workspace);
+            workspace.settle();
+            return result;
+        } catch (IOException | RuntimeException | Error e) {
+            workspace.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Pre-flight estimate of the peak heap {@code type} needs for {@code inputFile}, from the
+     * converter's {@link MemoryEstimator} or a conservative default for converters without one.
+     */
+    public long estimateHeapBytes(ConversionType type, File inputFile) throws IOException {
+        FormatConverter converter = InstrumentedConverter.unwrap(requireConverter(type));
+        return converter instanceof MemoryEstimator estimator
+                ? estimator.estimateHeapBytes(inputFile)
+                : MemoryEstimates.scaled(inputFile.length(), DEFAULT_HEAP_FACTOR);
+    }
+
+    /** Like {@link #estimateHeapBytes(ConversionType, File)} when only the input size is known. */
+    public long estimateHeapBytes(ConversionType type, long inputBytes) {
+        FormatConverter converter = InstrumentedConverter.unwrap(requireConverter(type));
+        return converter instanceof MemoryEstimator estimator
+                ? estimator.estimateHeapBytes(inputBytes)
+                : MemoryEstimates.scaled(inputBytes, DEFAULT_HEAP_FACTOR);
+    }
+
+    // Each hop reserves heap for the input it actually reads, so an intermediate several times larger
+    // than the original (pretty-printed JSON, say) is priced at its real size
+    private void runHop(ConversionType hop, File input, OutputSink sink, Selection selection,
+                        CancellationToken cancellation, ProgressListener progress) throws IOException {
+        long inputBytes = input.length();
+        try (MemoryBudget.Reservation memory = memoryBudget.reserve(estimateHeapBytes(hop, input));
+             Cancellation.Scope scope = Cancellation.open(deadlines.tokenFor(hop, cancellation));
+             Selection.Scope selected = Selection.open(selection);
+             Progress.Scope tracked = Progress.open(hop, inputBytes, progress);
+             ConversionPhases.Scope phases = ConversionPhases.enter(hop, inputBytes);
+             FileChannel in = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+            Cancellation.checkpoint();
+            long start = System.nanoTime();
+            getStreamingConverter(hop).convert(in, input.getName(), sink);
+            planner.getCostModel().record(hop, inputBytes, System.nanoTime() - start);
+        }
+    }
+
+    // The planner only routes through formats that convert to files, so a directory here is a converter bug
+    private static List<File> intermediates(ConversionType hop, File outputDir) throws IOException {
+        File[] outputs = outputDir.listFiles();
+        if (outputs == null || outputs.length == 0) {
+            throw new IOException(hop + " produced no intermediate output");
+        }
+        Arrays.sort(outputs);
+        for (File output : outputs) {
+            if (output.isDirectory()) {
+                throw new IOException(hop + " produced a folder where a file was expected: " + output.getName());
+            }
+        }
+        return List.of(outputs);
+    }
+
+    public MemoryBudget getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    private FormatConverter requireConverter(ConversionType type) {
+        if (!converters.supports(type)) {
             throw new UnsupportedOperationException("Conversion type not supported: " + type);
         }
+        return converterMap.computeIfAbsent(type,
+                t -> InstrumentedConverter.instrument(converters.getConverter(t), metrics.forType(t)));
+    }
 
-        File tempDir = new File(System.getProperty("java.io.tmpdir"), "flexiconvert-temp-" + UUID.randomUUID());
-        tempDir.mkdirs();
-        tempDir.deleteOnExit();
+    private boolean isCacheable(ConversionType type) {
+        return converters.getDescriptor(type).map(ConverterDescriptor::isCacheable).orElse(true);
+    }
 
-        File tempInputFile = new File(tempDir, inputFile.getName());
-        Files.copy(inputFile.toPath(), tempInputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    private int converterVersion(ConversionType type) {
+        return converters.getDescriptor(type).map(ConverterDescriptor::getVersion).orElse(1);
+    }
 
-        converter.convert(tempInputFile);
-        
-        String name = tempInputFile.getName();
-        int dot = name.lastIndexOf('.');
-        String baseName = (dot != -1) ? name.substring(0, dot) : name;
-        String outputExtension = type.name().split("_TO_")[1].toLowerCase();
-        String outputFileName = baseName + "." + outputExtension;
-        
-        try {
-            Thread.sleep(200);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        File expectedOutput = new File(tempInputFile.getParent(), outputFileName);
-        // System.out.println("📂 Verifying final output path: " + expectedOutput.getAbsolutePath());
-        // System.out.println("📂 Output exists? " + expectedOutput.exists());
-        if (expectedOutput.exists()) {
+    private ConversionResult collectResult(ConversionType type, File inputFile, File outputDir, StagedInput staged,
+                                           long conversionNanos) throws IOException {
+        File[] entries = outputDir.listFiles();
+        List<File> files = new ArrayList<>();
+        List<File> directories = new ArrayList<>();
+        long bytesOut = 0;
+
+        if (entries != null) {
+            Arrays.sort(entries);
+            for (File entry : entries) {
+                if (entry.equals(staged.getFile())) continue;
+                if (entry.isDirectory()) {
+                    directories.add(entry);
+                    bytesOut += FileTrees.size(entry.toPath());
+                } else {
+                    files.add(entry);
+                    bytesOut += entry.length();
+                }
+            }
+        }
+
+        File primary = selectPrimaryOutput(type, inputFile.getName(), outputDir, files, directories);
+        return new ConversionResult(type, inputFile, primary, files, directories,
+                inputFile.length(), bytesOut, staged.getStrategy(), staged.getStagingNanos(), conversionNanos, false);
+    }
+
+    private File selectPrimaryOutput(ConversionType type, String inputName, File outputDir,
+                                     List<File> files, List<File> directories) {
+        int dot = inputName.lastIndexOf('.');
+        String baseName = (dot != -1) ? inputName.substring(0, dot) : inputName;
+        File expectedOutput = new File(outputDir, baseName + "." + type.getTargetFormat());
+
+        if (files.contains(expectedOutput) || directories.contains(expectedOutput)) {
             return expectedOutput;
         }
 
         if (type.name().endsWith("_MEDIA_TO_IMAGES")) {
-            File mediaDir = new File(tempInputFile.getParent(), baseName + "_media");
-            if (mediaDir.exists()) return mediaDir;
+            File mediaDir = new File(outputDir, baseName + "_media");
+            if (directories.contains(mediaDir)) return mediaDir;
+        }
+
+        if (files.size() + directories.size() == 1) {
+            return files.isEmpty() ? directories.get(0) : files.get(0);
+        }
+
+        // Multi-file outputs (pages, slides, sheets) have no single file; callers resolve them
+        // relative to this nominal path, as they always have
+        return expectedOutput;
+    }
+
+    /**
+     * Converts every input on a bounded worker pool and blocks until all of them are done.
+     * Items are reported to the options' listener as they complete; failures are collected
+     * in the result rather than aborting the batch.
+     */
+    public BatchResult convertAll(Collection<File> inputs, ConversionType type, BatchOptions options)
+            throws InterruptedException {
+        if (!converters.supports(type)) {
+            throw new UnsupportedOperationException("Conversion type not supported: " + type);
+        }
+        return runBatch(inputs, type.name().toLowerCase(), input -> new BatchJob(Lane.of(type),
+                estimateNanos(input, type),
+                () -> execute(input, type, options.getCancellationToken(), options.getProgressListener(),
+                        options.getSelection())),
+                options);
+    }
+
+    /**
+     * Like {@link #convertAll(Collection, ConversionType, BatchOptions)} for inputs of mixed
+     * formats: each one is planned to {@code targetFormat} on its own.
+     */
+    public BatchResult convertAll(Collection<File> inputs, String targetFormat, BatchOptions options)
+            throws InterruptedException {
+        return runBatch(inputs, targetFormat.toLowerCase(), input -> {
+            Optional<ConversionPlan> plan = plan(input, targetFormat);
+            // Inputs without a path still go through execute, which fails them with the usual message
+            return plan.isEmpty()
+                    ? new BatchJob(Lane.IO, 0, () -> execute(input, targetFormat, options.getCancellationToken(),
+                            options.getProgressListener(), options.getSelection()))
+                    : new BatchJob(Lane.of(plan.get()), plan.get().getEstimatedNanos(),
+                            () -> execute(input, plan.get(), options.getCancellationToken(),
+                                    options.getProgressListener(), options.getSelection()));
+        }, options);
+    }
+
+    private interface Conversion {
+        ConversionResult run() throws IOException;
+    }
+
+    /** One batch input, planned: the lane it runs in, its expected cost and the conversion itself. */
+    private static final class BatchJob {
+        final Lane lane;
+        final double estimatedNanos;
+        final Conversion conversion;
+
+        BatchJob(Lane lane, double estimatedNanos, Conversion conversion) {
+            this.lane = lane;
+            this.estimatedNanos = estimatedNanos;
+            this.conversion = conversion;
+        }
+    }
+
+    private BatchResult runBatch(Collection<File> inputs, String label, Function<File, BatchJob> jobFor,
+                                 BatchOptions options) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int cpuWorkers = Math.min(options.getParallelism() > 0 ? options.getParallelism() : cores, inputs.size());
+        int ioWorkers = Math.min(options.getParallelism() > 0
+                ? options.getParallelism()
+                : cores * BatchOptions.IO_THREADS_PER_CORE, inputs.size());
+
+        List<BatchItem> items = Collections.synchronizedList(new ArrayList<>(inputs.size()));
+        // Keeps at most a couple of queued items per worker, so huge batches neither plan every input
+        // up front nor pile up tasks; shortest-job-first orders whatever is waiting in the window
+        Semaphore window = new Semaphore(Math.max(1, (cpuWorkers + ioWorkers) * 2));
+        long batchStart = System.nanoTime();
+
+        try (ConversionScheduler scheduler = new ConversionScheduler(this, cpuWorkers, ioWorkers,
+                ConversionScheduler.DEFAULT_AGING_RATE, "flexiconvert-batch-" + label)) {
+            for (File input : inputs) {
+                window.acquire();
+                try {
+                    BatchJob job = jobFor.apply(input);
+                    scheduler.submit(job.lane, job.estimatedNanos, () -> {
+                        try {
+                            BatchItem item = convertItem(input, job.conversion);
+                            items.add(item);
+                            notifyListener(options.getListener(), item);
+                            return item;
+                        } finally {
+                            window.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    window.release();
+                    throw e;
+                }
+            }
         }
-        return new File(tempDir, outputFileName);
+
+        return new BatchResult(items, System.nanoTime() - batchStart);
+    }
+
+    private BatchItem convertItem(File input, Conversion conversion) {
+        long start = System.nanoTime();
+        try {
+            return BatchItem.success(input, conversion.run(), System.nanoTime() - start);
+        } catch (Exception e) {
+            return BatchItem.failure(input, e, System.nanoTime() - start);
+        }
+    }
+
+    private void notifyListener(BatchListener listener, BatchItem item) {
+        try {
+            listener.onItemCompleted(item);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Batch listener failed for {}", item.getInput(), e);
+        }
+    }
+
+    /**
+     * Streams {@code input} through the converter registered for {@code type} and hands every
+     * produced entry to {@code sink}. Converters that only understand files are adapted.
+     */
+    public void convert(InputStream input, String inputName, ConversionType type, OutputSink sink) throws IOException {
+        convert(input, inputName, type, sink, CancellationToken.create());
+    }
+
+    /**
+     * Like {@link #convert(InputStream, String, ConversionType, OutputSink)}, stopping once
+     * {@code cancellation} is cancelled or the type's deadline passes. Entries already handed
+     * to {@code sink} are the caller's to discard.
+     */
+    public void convert(InputStream input, String inputName, ConversionType type, OutputSink sink,
+                        CancellationToken cancellation) throws IOException {
+        convert(input, inputName, type, sink, cancellation, Selection.ALL);
+    }
+
+    /**
+     * Like {@link #convert(InputStream, String, ConversionType, OutputSink, CancellationToken)},
+     * keeping only the columns and rows {@code selection} picks.
+     *
+     * @throws UnsupportedOperationException if the converter for {@code type} cannot apply the selection
+     * @throws IllegalArgumentException      if the selection names a column the converter cannot resolve
+     */
+    public void convert(InputStream input, String inputName, ConversionType type, OutputSink sink,
+                        CancellationToken cancellation, Selection selection) throws IOException {
+        convert(input, -1, inputName, type, sink, cancellation, selection);
+    }
+
+    /**
+     * Like {@link #convert(InputStream, String, ConversionType, OutputSink, CancellationToken, Selection)}
+     * for an input of {@code inputBytes}, or -1 if its size is unknown. The conversion is admitted
+     * against the {@link MemoryBudget} by its estimate for that size; an input of unknown size is
+     * spooled into a workspace first and admitted by what was spooled, so a missing length never
+     * gets an upload past the budget.
+     *
+     * @throws MemoryBudgetExceededException if the estimate does not fit the budget in time
+     */
+    public void convert(InputStream input, long inputBytes, String inputName, ConversionType type, OutputSink sink,
+                        CancellationToken cancellation, Selection selection) throws IOException {
+        StreamingFormatConverter converter = getStreamingConverter(type);
+        if (!selection.isAll() && !Selection.supports(type)) {
+            throw new UnsupportedOperationException("Column and row selection is not supported for " + type);
+        }
+        selection.validate(type);
+        try (Cancellation.Scope scope = Cancellation.open(deadlines.tokenFor(type, cancellation));
+             Selection.Scope selected = Selection.open(selection)) {
+            Cancellation.checkpoint();
+            if (inputBytes >= 0) {
+                try (MemoryBudget.Reservation memory = memoryBudget.reserve(estimateHeapBytes(type, inputBytes))) {
+                    if (converter instanceof FileConverterAdapter adapter) {
+                        adapter.convert(input, inputBytes, inputName, sink);
+                    } else {
+                        converter.convert(input, inputName, sink);
+                    }
+                }
+                return;
+            }
+
+            try (Workspace workspace = workspaces.lease(0)) {
+                File spooled = FileConverterAdapter.spool(input, inputName, workspace);
+                workspace.settle();
+                try (MemoryBudget.Reservation memory = memoryBudget.reserve(estimateHeapBytes(type, spooled))) {
+                    Cancellation.checkpoint();
+                    if (converter instanceof FileConverterAdapter adapter) {
+                        adapter.convertSpooled(spooled, sink);
+                    } else {
+                        try (FileChannel in = FileChannel.open(spooled.toPath(), StandardOpenOption.READ)) {
+                            converter.convert(in, spooled.getName(), sink);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** Latency, throughput and failure counts of every converter this service has run. */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    public boolean supports(ConversionType type) {
+        return converters.supports(type);
+    }
+
+    public StreamingFormatConverter getStreamingConverter(ConversionType type) {
+        return FileConverterAdapter.adapt(requireConverter(type), workspaces);
     }
 
     public File createUniqueFile(File file) {
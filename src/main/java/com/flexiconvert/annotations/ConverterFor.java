@@ -9,4 +9,16 @@ import java.lang.annotation.*;
 @Documented
 public @interface ConverterFor {
     ConversionType value();
+
+    /**
+     * Bump whenever a change to the converter alters its output, so cached results
+     * produced by the previous implementation are no longer reused.
+     */
+    int version() default 1;
+
+    /**
+     * False for converters whose output is only valid where it was produced, e.g. because it
+     * links to sibling files by absolute path.
+     */
+    boolean cacheable() default true;
 }
\ No newline at end of file
@@ -0,0 +1,205 @@
+package com.flexiconvert.annotations.processing;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Generates {@code com.flexiconvert.registry.GeneratedConverterRegistry} from every
+ * {@code @ConverterFor} in the compilation: the annotation metadata as constants and a
+ * {@code switch} that instantiates a converter only when its type is first asked for.
+ * Annotated classes need a public no-arg constructor; annotated methods must be public,
+ * static and take no arguments.
+ * <p>
+ * Compiled ahead of the rest of the sources (see the {@code compile-processor} execution in
+ * the pom), so it reads the annotation through mirrors and never loads project classes.
+ */
+@SupportedAnnotationTypes(ConverterRegistryProcessor.CONVERTER_FOR)
+public class ConverterRegistryProcessor extends AbstractProcessor {
+
+    static final String CONVERTER_FOR = "com.flexiconvert.annotations.ConverterFor";
+    static final String FORMAT_CONVERTER = "com.flexiconvert.interfaces.FormatConverter";
+    static final String REGISTRY_PACKAGE = "com.flexiconvert.registry";
+    static final String REGISTRY_CLASS = "GeneratedConverterRegistry";
+
+    /** Conversion type constant to registration, sorted so the generated source is stable. */
+    private final Map<String, Registration> registrations = new TreeMap<>();
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement converterFor = processingEnv.getElementUtils().getTypeElement(CONVERTER_FOR);
+        if (converterFor == null || generated) {
+            return false;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(converterFor)) {
+            Registration registration = register(element);
+            if (registration == null) continue;
+            Registration previous = registrations.putIfAbsent(registration.type, registration);
+            if (previous != null) {
+                error(element, "ConversionType." + registration.type + " is already handled by " + previous.source);
+            }
+        }
+
+        if (!registrations.isEmpty() && !roundEnv.processingOver()) {
+            generated = true;
+            try {
+                write();
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Could not write " + REGISTRY_PACKAGE + "." + REGISTRY_CLASS + ": " + e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    private Registration register(Element element) {
+        TypeMirror formatConverter = processingEnv.getElementUtils().getTypeElement(FORMAT_CONVERTER).asType();
+
+        if (element.getKind() == ElementKind.CLASS) {
+            TypeElement type = (TypeElement) element;
+            if (!type.getModifiers().contains(Modifier.PUBLIC) || type.getModifiers().contains(Modifier.ABSTRACT)) {
+                error(element, "@ConverterFor classes must be public and concrete");
+                return null;
+            }
+            if (!processingEnv.getTypeUtils().isAssignable(type.asType(), formatConverter)) {
+                error(element, "@ConverterFor classes must implement " + FORMAT_CONVERTER);
+                return null;
+            }
+            boolean hasDefaultConstructor = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                    .anyMatch(c -> c.getParameters().isEmpty() && c.getModifiers().contains(Modifier.PUBLIC));
+            if (!hasDefaultConstructor) {
+                error(element, "@ConverterFor classes need a public no-arg constructor");
+                return null;
+            }
+            String name = type.getQualifiedName().toString();
+            return registration(element, name, "new " + name + "()");
+        }
+
+        if (element.getKind() == ElementKind.METHOD) {
+            ExecutableElement method = (ExecutableElement) element;
+            TypeElement owner = (TypeElement) method.getEnclosingElement();
+            if (!method.getModifiers().containsAll(Set.of(Modifier.PUBLIC, Modifier.STATIC))
+                    || !method.getParameters().isEmpty() || !owner.getModifiers().contains(Modifier.PUBLIC)) {
+                error(element, "@ConverterFor methods must be public static factories without arguments");
+                return null;
+            }
+            if (!processingEnv.getTypeUtils().isAssignable(method.getReturnType(), formatConverter)) {
+                error(element, "@ConverterFor methods must return a " + FORMAT_CONVERTER);
+                return null;
+            }
+            String name = owner.getQualifiedName() + "." + method.getSimpleName();
+            return registration(element, name, name + "()");
+        }
+
+        error(element, "@ConverterFor applies to converter classes and static factory methods");
+        return null;
+    }
+
+    private Registration registration(Element element, String source, String factory) {
+        AnnotationMirror mirror = element.getAnnotationMirrors().stream()
+                .filter(m -> ((TypeElement) m.getAnnotationType().asElement()).getQualifiedName().contentEquals(CONVERTER_FOR))
+                .findFirst()
+                .orElseThrow();
+
+        String type = null;
+        int version = 1;
+        boolean cacheable = true;
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            switch (value.getKey().getSimpleName().toString()) {
+                case "value" -> type = ((VariableElement) value.getValue().getValue()).getSimpleName().toString();
+                case "version" -> version = (Integer) value.getValue().getValue();
+                case "cacheable" -> cacheable = (Boolean) value.getValue().getValue();
+                default -> { }
+            }
+        }
+        return new Registration(type, source, factory, version, cacheable);
+    }
+
+    private void write() throws IOException {
+        Filer filer = processingEnv.getFiler();
+        try (Writer writer = filer.createSourceFile(REGISTRY_PACKAGE + "." + REGISTRY_CLASS).openWriter();
+             PrintWriter out = new PrintWriter(writer)) {
+            out.println("package " + REGISTRY_PACKAGE + ";");
+            out.println();
+            out.println("import com.flexiconvert.ConversionType;");
+            out.println("import com.flexiconvert.interfaces.FormatConverter;");
+            out.println();
+            out.println("import java.util.List;");
+            out.println();
+            out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+            out.println("final class " + REGISTRY_CLASS + " {");
+            out.println();
+            out.println("    private " + REGISTRY_CLASS + "() {");
+            out.println("    }");
+            out.println();
+            out.println("    static List<ConverterDescriptor> descriptors() {");
+            out.println("        return List.of(");
+            int i = 0;
+            for (Registration r : registrations.values()) {
+                out.println("                new ConverterDescriptor(ConversionType." + r.type + ", \"" + r.source + "\", "
+                        + r.version + ", " + r.cacheable + ")" + (++i < registrations.size() ? "," : ""));
+            }
+            out.println("        );");
+            out.println("    }");
+            out.println();
+            out.println("    static FormatConverter newConverter(ConversionType type) {");
+            out.println("        return switch (type) {");
+            for (Registration r : registrations.values()) {
+                out.println("            case " + r.type + " -> " + r.factory + ";");
+            }
+            out.println("            default -> throw new UnsupportedOperationException(\"Conversion type not supported: \" + type);");
+            out.println("        };");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void error(Element element, String message) {
+        Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class Registration {
+        final String type;
+        final String source;
+        final String factory;
+        final int version;
+        final boolean cacheable;
+
+        Registration(String type, String source, String factory, int version, boolean cacheable) {
+            this.type = type;
+            this.source = source;
+            this.factory = factory;
+            this.version = version;
+            this.cacheable = cacheable;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.flexiconvert.batch;
+
+import com.flexiconvert.ConversionResult;
+
+import java.io.File;
+
+public class BatchItem {
+
+    private final File input;
+    private final ConversionResult result;
+    private final Exception failure;
+    private final long elapsedNanos;
+
+    private BatchItem(File input, ConversionResult result, Exception failure, long elapsedNanos) {
+        this.input = input;
+        this.result = result;
+        this.failure = failure;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public static BatchItem success(File input, ConversionResult result, long elapsedNanos) {
+        return new BatchItem(input, result, null, elapsedNanos);
+    }
+
+    public static BatchItem failure(File input, Exception failure, long elapsedNanos) {
+        return new BatchItem(input, null, failure, elapsedNanos);
+    }
+
+    public File getInput() {
+        return input;
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /** The conversion result, or null when the item failed. */
+    public ConversionResult getResult() {
+        return result;
+    }
+
+    /** Why the item failed, or null when it succeeded. */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
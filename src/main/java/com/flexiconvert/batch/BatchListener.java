@@ -0,0 +1,9 @@
+package com.flexiconvert.batch;
+
+/**
+ * Notified from worker threads as each batch item finishes, in completion order.
+ */
+@FunctionalInterface
+public interface BatchListener {
+    void onItemCompleted(BatchItem item);
+}
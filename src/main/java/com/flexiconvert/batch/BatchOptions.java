@@ -0,0 +1,73 @@
+package com.flexiconvert.batch;
+
+import com.flexiconvert.cancellation.CancellationToken;
+import com.flexiconvert.progress.ProgressListener;
+import com.flexiconvert.selection.Selection;
+
+/**
+ * Tuning for {@code FileConverterService.convertAll}. Defaults size the worker pool from the
+ * conversion type: one thread per core for CPU-bound types, a wider pool for I/O-bound ones.
+ */
+public class BatchOptions {
+
+    public static final int IO_THREADS_PER_CORE = 4;
+
+    private int parallelism;
+    private BatchListener listener = item -> { };
+    private CancellationToken cancellationToken = CancellationToken.create();
+    private ProgressListener progressListener = ProgressListener.NONE;
+    private Selection selection = Selection.ALL;
+
+    public static BatchOptions defaults() {
+        return new BatchOptions();
+    }
+
+    /** Worker count; zero or less picks a default from the conversion type. */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public BatchOptions setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public BatchListener getListener() {
+        return listener;
+    }
+
+    public BatchOptions setListener(BatchListener listener) {
+        this.listener = listener != null ? listener : item -> { };
+        return this;
+    }
+
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    /** Cancelling the token stops running items at their next checkpoint and fails the rest. */
+    public BatchOptions setCancellationToken(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken != null ? cancellationToken : CancellationToken.create();
+        return this;
+    }
+
+    public ProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    /** Receives the progress of every item, from whichever worker runs it. */
+    public BatchOptions setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener != null ? progressListener : ProgressListener.NONE;
+        return this;
+    }
+
+    public Selection getSelection() {
+        return selection;
+    }
+
+    /** Columns and rows every item keeps; items whose conversion cannot apply it fail. */
+    public BatchOptions setSelection(Selection selection) {
+        this.selection = selection != null ? selection : Selection.ALL;
+        return this;
+    }
+}
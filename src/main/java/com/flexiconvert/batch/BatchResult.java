@@ -0,0 +1,46 @@
+package com.flexiconvert.batch;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Every item of a batch in completion order. A failed item never aborts the batch.
+ * Closing the batch reclaims the workspaces of all successful items.
+ */
+public class BatchResult implements AutoCloseable {
+
+    private final List<BatchItem> items;
+    private final long elapsedNanos;
+
+    public BatchResult(List<BatchItem> items, long elapsedNanos) {
+        this.items = List.copyOf(items);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<BatchItem> getItems() {
+        return items;
+    }
+
+    public List<BatchItem> getSuccesses() {
+        return items.stream().filter(BatchItem::isSuccess).collect(Collectors.toList());
+    }
+
+    public List<BatchItem> getFailures() {
+        return items.stream().filter(item -> !item.isSuccess()).collect(Collectors.toList());
+    }
+
+    public boolean hasFailures() {
+        return items.stream().anyMatch(item -> !item.isSuccess());
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public void close() {
+        for (BatchItem item : getSuccesses()) {
+            item.getResult().close();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.flexiconvert.cache;
+
+import com.flexiconvert.ConversionType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+
+/**
+ * Identifies a conversion by what determines its output: the input bytes, the conversion,
+ * the options it ran with and the version of the converter implementation. The input's file
+ * name is part of the key too, because converters name (and sometimes title) outputs after it.
+ */
+public class CacheKey {
+
+    private final String inputSha256;
+    private final String inputName;
+    private final ConversionType type;
+    private final String options;
+    private final int converterVersion;
+
+    public CacheKey(String inputSha256, String inputName, ConversionType type, String options, int converterVersion) {
+        this.inputSha256 = inputSha256;
+        this.inputName = inputName;
+        this.type = type;
+        this.options = options == null ? "" : options;
+        this.converterVersion = converterVersion;
+    }
+
+    public String getInputSha256() {
+        return inputSha256;
+    }
+
+    public ConversionType getType() {
+        return type;
+    }
+
+    /** Stable hex name used for the entry directory. */
+    public String toFileName() {
+        String material = inputSha256 + "|" + inputName + "|" + type.name() + "|" + options + "|v" + converterVersion;
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(material.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 algorithm not found", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CacheKey other)) return false;
+        return converterVersion == other.converterVersion
+                && inputSha256.equals(other.inputSha256)
+                && inputName.equals(other.inputName)
+                && type == other.type
+                && options.equals(other.options);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(inputSha256, inputName, type, options, converterVersion);
+    }
+
+    @Override
+    public String toString() {
+        return type + ":" + inputName + "@" + inputSha256 + (options.isEmpty() ? "" : "[" + options + "]") + ":v" + converterVersion;
+    }
+}
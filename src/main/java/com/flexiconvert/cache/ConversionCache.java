@@ -0,0 +1,266 @@
+package com.flexiconvert.cache;
+
+import com.flexiconvert.ConversionResult;
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.FileValidationService;
+import com.flexiconvert.io.FileTrees;
+import com.flexiconvert.staging.StagingStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Persistent, content-addressed store of conversion outputs.
+ * <p>
+ * Each entry is a directory named after its {@link CacheKey}, holding an {@code entry.properties}
+ * manifest and an {@code outputs/} tree. Entries are assembled under a hidden name and renamed
+ * into place, so readers only ever see complete entries. The entry directory's modification time
+ * doubles as its last-access time for least-recently-used eviction by total size and age.
+ * <p>
+ * A running total of the stored bytes decides when to sweep, so a store only walks the
+ * entries when the cache has outgrown its limit or an age sweep is due.
+ */
+public class ConversionCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConversionCache.class);
+
+    private static final String MANIFEST = "entry.properties";
+    private static final String OUTPUTS = "outputs";
+    private static final String INCOMING_PREFIX = ".incoming-";
+    private static final String TRASH_PREFIX = ".trash-";
+    private static final Duration MAX_SWEEP_INTERVAL = Duration.ofHours(1);
+
+    private final File directory;
+    private final long maxBytes;
+    private final Duration maxAge;
+    private final FileValidationService hasher;
+
+    /** Bytes in published entries as of the last sweep plus everything stored since. */
+    private long storedBytes;
+    private long lastSweep;
+
+    public ConversionCache(File directory, long maxBytes, Duration maxAge, FileValidationService hasher) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.maxAge = maxAge;
+        this.hasher = hasher;
+        if (directory != null) {
+            directory.mkdirs();
+            removeLeftovers();
+            evict();
+        }
+    }
+
+    public static ConversionCache disabled() {
+        return new ConversionCache(null, 0, Duration.ZERO, null);
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public CacheKey keyFor(File input, ConversionType type, String options, int converterVersion) throws IOException {
+        return new CacheKey(hasher.calculateSha256(input), input.getName(), type, options, converterVersion);
+    }
+
+    /**
+     * Restores a cached conversion into {@code targetDir}; empty on a miss, in which case
+     * nothing restored is left behind in {@code targetDir}.
+     */
+    public Optional<ConversionResult> lookup(CacheKey key, File inputFile, File targetDir, long hashNanos) {
+        if (!isEnabled()) return Optional.empty();
+
+        Path entry = directory.toPath().resolve(key.toFileName());
+        if (!Files.isDirectory(entry)) return Optional.empty();
+
+        long start = System.nanoTime();
+        List<File> restoredSoFar = new ArrayList<>();
+        try {
+            Properties manifest = readManifest(entry);
+            File[] outputs = entry.resolve(OUTPUTS).toFile().listFiles();
+            if (outputs == null) return Optional.empty();
+            Arrays.sort(outputs);
+
+            List<File> files = new ArrayList<>();
+            List<File> directories = new ArrayList<>();
+            long bytesOut = 0;
+            for (File output : outputs) {
+                File restored = new File(targetDir, output.getName());
+                restoredSoFar.add(restored);
+                FileTrees.copy(output.toPath(), restored.toPath());
+                bytesOut += FileTrees.size(restored.toPath());
+                (restored.isDirectory() ? directories : files).add(restored);
+            }
+            Files.setLastModifiedTime(entry, FileTime.from(Instant.now()));
+
+            File primary = new File(targetDir, manifest.getProperty("primary"));
+            return Optional.of(new ConversionResult(key.getType(), inputFile, primary, files, directories,
+                    inputFile.length(), bytesOut, StagingStrategy.READ_ONLY_HANDOFF, hashNanos,
+                    System.nanoTime() - start, true));
+        } catch (IOException e) {
+            // Most likely evicted while we were reading it; treat as a miss
+            LOGGER.debug("Cache entry {} unreadable: {}", key, e.toString());
+            // The converter runs next and must not pick up a partial restore as its outputs
+            for (File restored : restoredSoFar) {
+                deleteQuietly(restored.toPath());
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Publishes the outputs of a finished conversion. Failures are logged, never thrown:
+     * the conversion itself already succeeded.
+     */
+    public void store(CacheKey key, ConversionResult result) {
+        if (!isEnabled()) return;
+        if (result.getBytesOut() > maxBytes) return;
+
+        Path incoming = directory.toPath().resolve(INCOMING_PREFIX + UUID.randomUUID());
+        Path entry = directory.toPath().resolve(key.toFileName());
+        try {
+            Path outputs = incoming.resolve(OUTPUTS);
+            Files.createDirectories(outputs);
+            for (File file : result.getOutputFiles()) {
+                FileTrees.copy(file.toPath(), outputs.resolve(file.getName()));
+            }
+            for (File dir : result.getOutputDirectories()) {
+                FileTrees.copy(dir.toPath(), outputs.resolve(dir.getName()));
+            }
+
+            Properties manifest = new Properties();
+            manifest.setProperty("key", key.toString());
+            manifest.setProperty("primary", result.getPrimaryOutput().getName());
+            manifest.setProperty("bytes", Long.toString(result.getBytesOut()));
+            try (OutputStream out = Files.newOutputStream(incoming.resolve(MANIFEST))) {
+                manifest.store(out, null);
+            }
+
+            try {
+                Files.move(incoming, entry, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+                // Another conversion of the same input published first
+                FileTrees.delete(incoming);
+                return;
+            } catch (AtomicMoveNotSupportedException e) {
+                LOGGER.warn("Cache directory {} does not support atomic renames; caching disabled for {}", directory, key);
+                FileTrees.delete(incoming);
+                return;
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to cache {}: {}", key, e.toString());
+            deleteQuietly(incoming);
+            return;
+        }
+
+        if (recordStored(result.getBytesOut())) {
+            evict();
+        }
+    }
+
+    /** Adds a published entry to the running total; whether a sweep is due. */
+    private synchronized boolean recordStored(long bytes) {
+        storedBytes += bytes;
+        if (storedBytes > maxBytes) return true;
+        if (maxAge.isZero()) return false;
+        long interval = Math.min(maxAge.toMillis(), MAX_SWEEP_INTERVAL.toMillis());
+        return System.currentTimeMillis() - lastSweep >= interval;
+    }
+
+    /**
+     * Drops entries not used within the maximum age, then the least recently used ones
+     * until the cache fits its size limit. Runs on startup, then from {@link #store} whenever
+     * the cache outgrows its limit or, at most hourly, to expire old entries.
+     */
+    public synchronized void evict() {
+        if (!isEnabled()) return;
+
+        File[] entries = directory.listFiles(f -> f.isDirectory() && !f.getName().startsWith("."));
+        if (entries == null) return;
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+
+        long now = System.currentTimeMillis();
+        long total = 0;
+        List<File> live = new ArrayList<>();
+        for (File entry : entries) {
+            if (!maxAge.isZero() && now - entry.lastModified() > maxAge.toMillis()) {
+                remove(entry);
+            } else {
+                live.add(entry);
+                total += entrySize(entry);
+            }
+        }
+
+        for (File entry : live) {
+            if (total <= maxBytes) break;
+            total -= entrySize(entry);
+            remove(entry);
+        }
+        storedBytes = total;
+        lastSweep = now;
+    }
+
+    private long entrySize(File entry) {
+        try {
+            return Long.parseLong(readManifest(entry.toPath()).getProperty("bytes", "0"));
+        } catch (IOException | NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void remove(File entry) {
+        // Rename first so concurrent lookups never observe a half-deleted entry
+        Path trash = directory.toPath().resolve(TRASH_PREFIX + UUID.randomUUID());
+        try {
+            Files.move(entry.toPath(), trash, StandardCopyOption.ATOMIC_MOVE);
+            FileTrees.delete(trash);
+        } catch (IOException e) {
+            LOGGER.debug("Failed to evict cache entry {}: {}", entry, e.toString());
+        }
+    }
+
+    private void removeLeftovers() {
+        File[] leftovers = directory.listFiles(f -> f.getName().startsWith(INCOMING_PREFIX)
+                || f.getName().startsWith(TRASH_PREFIX));
+        if (leftovers == null) return;
+        for (File leftover : leftovers) {
+            deleteQuietly(leftover.toPath());
+        }
+    }
+
+    private Properties readManifest(Path entry) throws IOException {
+        Properties manifest = new Properties();
+        try (InputStream in = Files.newInputStream(entry.resolve(MANIFEST))) {
+            manifest.load(in);
+        }
+        return manifest;
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            FileTrees.delete(path);
+        } catch (IOException e) {
+            LOGGER.debug("Failed to delete {}: {}", path, e.toString());
+        }
+    }
+}
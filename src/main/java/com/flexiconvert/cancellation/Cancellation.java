@@ -0,0 +1,55 @@
+package com.flexiconvert.cancellation;
+
+/**
+ * The {@link CancellationToken} of the conversion running on the current thread. Converters
+ * call {@link #checkpoint()} between units of work; outside a cancellable conversion it is a
+ * no-op, so converters stay usable on their own.
+ */
+public final class Cancellation {
+
+    private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+
+    private Cancellation() {
+    }
+
+    /**
+     * @throws ConversionCancelledException if the current conversion was cancelled or timed out
+     */
+    public static void checkpoint() throws ConversionCancelledException {
+        CancellationToken token = CURRENT.get();
+        if (token != null) token.throwIfCancelled();
+    }
+
+    /** The current thread's token, or null outside a cancellable conversion. */
+    public static CancellationToken current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes {@code token} the current thread's token until the scope is closed, which restores
+     * the previous one. Worker threads a converter starts should open the same token.
+     */
+    public static Scope open(CancellationToken token) {
+        CancellationToken previous = CURRENT.get();
+        CURRENT.set(token);
+        return new Scope(previous);
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final CancellationToken previous;
+
+        private Scope(CancellationToken previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.flexiconvert.cancellation;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets a caller stop a running conversion. Converters poll it at natural boundaries (per
+ * page, row, slide or archive entry) through {@link Cancellation#checkpoint()}, so a
+ * cancelled conversion ends at its next checkpoint rather than mid-write. A token can carry
+ * a deadline and is cancelled along with the parent it was derived from.
+ */
+public final class CancellationToken {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final CancellationToken parent;
+    private final long deadlineNanos;
+    private final long timeoutNanos;
+    private volatile String reason;
+
+    private CancellationToken(CancellationToken parent, long timeoutNanos) {
+        this.parent = parent;
+        this.timeoutNanos = timeoutNanos;
+        this.deadlineNanos = timeoutNanos > 0 ? System.nanoTime() + timeoutNanos : NO_DEADLINE;
+    }
+
+    /** A token that is only ever cancelled explicitly. */
+    public static CancellationToken create() {
+        return new CancellationToken(null, 0);
+    }
+
+    /** A token that also cancels itself once {@code timeout} has passed; zero or less means none. */
+    public static CancellationToken withTimeout(Duration timeout) {
+        return new CancellationToken(null, timeout.toNanos());
+    }
+
+    /**
+     * A token cancelled when this one is, or once {@code timeout} has passed; zero or less adds
+     * no deadline of its own.
+     */
+    public CancellationToken child(Duration timeout) {
+        return new CancellationToken(this, timeout.toNanos());
+    }
+
+    public void cancel() {
+        cancel("Conversion cancelled");
+    }
+
+    public void cancel(String reason) {
+        if (this.reason == null) {
+            this.reason = reason;
+        }
+    }
+
+    public boolean isCancelled() {
+        return reason != null || isPastDeadline() || (parent != null && parent.isCancelled());
+    }
+
+    /** Nanoseconds until the nearest deadline of this token or its parents; {@link Long#MAX_VALUE} without one. */
+    public long remainingNanos() {
+        long remaining = deadlineNanos == NO_DEADLINE ? Long.MAX_VALUE : deadlineNanos - System.nanoTime();
+        return parent != null ? Math.min(remaining, parent.remainingNanos()) : remaining;
+    }
+
+    /**
+     * @throws ConversionCancelledException if this token or a parent was cancelled or timed out
+     */
+    public void throwIfCancelled() throws ConversionCancelledException {
+        if (reason != null) {
+            throw new ConversionCancelledException(reason, false);
+        }
+        if (isPastDeadline()) {
+            throw new ConversionCancelledException("Conversion exceeded its "
+                    + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms deadline", true);
+        }
+        if (parent != null) {
+            parent.throwIfCancelled();
+        }
+    }
+
+    private boolean isPastDeadline() {
+        return deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos >= 0;
+    }
+}
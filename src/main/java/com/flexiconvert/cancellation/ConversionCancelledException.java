@@ -0,0 +1,22 @@
+package com.flexiconvert.cancellation;
+
+import java.io.IOException;
+
+/**
+ * A conversion stopped at a checkpoint because its {@link CancellationToken} was cancelled or
+ * its deadline passed. Whatever it had written is discarded with its workspace.
+ */
+public class ConversionCancelledException extends IOException {
+
+    private final boolean timedOut;
+
+    public ConversionCancelledException(String message, boolean timedOut) {
+        super(message);
+        this.timedOut = timedOut;
+    }
+
+    /** True when a deadline stopped the conversion rather than an explicit cancel. */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+}
@@ -0,0 +1,38 @@
+package com.flexiconvert.cancellation;
+
+import com.flexiconvert.ConversionType;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * How long each conversion type may run before the service cancels it. Types without a
+ * deadline run until they finish or are cancelled explicitly.
+ */
+public class ConversionDeadlines {
+
+    private final Map<ConversionType, Duration> timeouts = new EnumMap<>(ConversionType.class);
+
+    public ConversionDeadlines(Map<ConversionType, Duration> timeouts) {
+        timeouts.forEach((type, timeout) -> {
+            if (timeout != null && !timeout.isZero() && !timeout.isNegative()) {
+                this.timeouts.put(type, timeout);
+            }
+        });
+    }
+
+    public static ConversionDeadlines none() {
+        return new ConversionDeadlines(Map.of());
+    }
+
+    /** The deadline for {@code type}, or {@link Duration#ZERO} for none. */
+    public Duration getTimeout(ConversionType type) {
+        return timeouts.getOrDefault(type, Duration.ZERO);
+    }
+
+    /** A token for one conversion of {@code type}, cancelled with {@code parent} or at the type's deadline. */
+    public CancellationToken tokenFor(ConversionType type, CancellationToken parent) {
+        return parent.child(getTimeout(type));
+    }
+}
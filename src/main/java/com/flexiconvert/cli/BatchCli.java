@@ -0,0 +1,210 @@
+package com.flexiconvert.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.flexiconvert.ConversionResult;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.batch.BatchItem;
+import com.flexiconvert.batch.BatchOptions;
+import com.flexiconvert.batch.BatchResult;
+import com.flexiconvert.io.FileTrees;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless batch mode. Converts every input to one target format and prints one JSON
+ * object per line to {@code out}: an {@code item} event as each file finishes, with running
+ * throughput, and a closing {@code summary}. Human-readable errors go to {@code err}.
+ * <p>
+ * Exit status is {@link #EXIT_OK} when everything converted, {@link #EXIT_FAILURES} when
+ * at least one input failed and {@link #EXIT_USAGE} for bad arguments or missing inputs.
+ */
+public class BatchCli {
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILURES = 1;
+    public static final int EXIT_USAGE = 2;
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private final FileConverterService service;
+    private final PrintStream out;
+    private final PrintStream err;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public BatchCli(FileConverterService service, PrintStream out, PrintStream err) {
+        this.service = service;
+        this.out = out;
+        this.err = err;
+    }
+
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--cli")) return true;
+        }
+        return false;
+    }
+
+    public int run(String[] args) {
+        CliOptions options;
+        List<File> inputs;
+        try {
+            options = CliOptions.parse(args);
+            if (options.isHelp()) {
+                err.println(CliOptions.USAGE);
+                return EXIT_OK;
+            }
+            inputs = options.resolveInputs();
+        } catch (NoSuchFileException e) {
+            err.println("Error: no such input: " + e.getMessage());
+            return EXIT_USAGE;
+        } catch (IllegalArgumentException | IOException e) {
+            err.println("Error: " + e.getMessage());
+            err.println(CliOptions.USAGE);
+            return EXIT_USAGE;
+        }
+        if (inputs.isEmpty()) {
+            err.println("Error: no input files matched");
+            return EXIT_USAGE;
+        }
+
+        Progress progress = new Progress(inputs.size());
+        BatchOptions batchOptions = BatchOptions.defaults()
+                .setParallelism(options.getWorkers())
+                .setSelection(options.getSelection())
+                .setListener(item -> report(item, options.getOutputDirectory(), progress));
+
+        BatchResult result;
+        try {
+            result = service.convertAll(inputs, options.getTargetFormat(), batchOptions);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            err.println("Error: interrupted");
+            return EXIT_FAILURES;
+        }
+        result.close();
+
+        ObjectNode summary = progress.snapshot("summary");
+        summary.put("elapsedMs", result.getElapsedNanos() / 1_000_000);
+        emit(summary);
+        return progress.failures.get() == 0 ? EXIT_OK : EXIT_FAILURES;
+    }
+
+    private void report(BatchItem item, File outputDirectory, Progress progress) {
+        if (!item.isSuccess()) {
+            progress.completed(item, item.getInput().length(), 0, List.of(), item.getFailure());
+            return;
+        }
+        ConversionResult result = item.getResult();
+        try {
+            List<File> published = publish(result, outputDirectory != null ? outputDirectory
+                    : item.getInput().getAbsoluteFile().getParentFile());
+            progress.completed(item, result.getBytesIn(), result.getBytesOut(), published, null);
+        } catch (IOException e) {
+            progress.completed(item, result.getBytesIn(), 0, List.of(), e);
+        } finally {
+            result.close();
+        }
+    }
+
+    private List<File> publish(ConversionResult result, File outputDirectory) throws IOException {
+        List<File> sources = new ArrayList<>(result.getOutputFiles());
+        sources.addAll(result.getOutputDirectories());
+        List<File> published = new ArrayList<>();
+        for (File source : sources) {
+            File destination = reserve(new File(outputDirectory, source.getName()), source.isDirectory());
+            FileTrees.copy(source.toPath(), destination.toPath());
+            published.add(destination);
+        }
+        return published;
+    }
+
+    // Picking a free name and claiming it must be atomic across workers writing to the same directory
+    private synchronized File reserve(File wanted, boolean directory) throws IOException {
+        File destination = service.createUniqueFile(wanted);
+        Files.createDirectories(destination.getParentFile().toPath());
+        if (directory) {
+            Files.createDirectory(destination.toPath());
+        } else {
+            Files.createFile(destination.toPath());
+        }
+        return destination;
+    }
+
+    private void emit(ObjectNode event) {
+        String line;
+        try {
+            line = mapper.writeValueAsString(event);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        synchronized (out) {
+            out.println(line);
+            out.flush();
+        }
+    }
+
+    private final class Progress {
+        private final int total;
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicLong bytesIn = new AtomicLong();
+        private final AtomicLong bytesOut = new AtomicLong();
+
+        Progress(int total) {
+            this.total = total;
+        }
+
+        // Synchronized so the counters in consecutive lines never go backwards
+        synchronized void completed(BatchItem item, long in, long out, List<File> outputs, Exception failure) {
+            completed.incrementAndGet();
+            bytesIn.addAndGet(in);
+            bytesOut.addAndGet(out);
+            if (failure != null) failures.incrementAndGet();
+
+            ObjectNode event = snapshot("item");
+            event.put("input", item.getInput().getPath());
+            event.put("status", failure == null ? "ok" : "failed");
+            if (failure != null) {
+                event.put("error", failure.getMessage() != null ? failure.getMessage() : failure.getClass().getName());
+            }
+            event.put("bytesIn", in);
+            event.put("bytesOut", out);
+            event.put("itemMs", item.getElapsedNanos() / 1_000_000);
+            ArrayNode outputPaths = event.putArray("outputs");
+            outputs.forEach(file -> outputPaths.add(file.getPath()));
+            emit(event);
+        }
+
+        ObjectNode snapshot(String type) {
+            double seconds = Math.max(System.nanoTime() - startNanos, 1) / NANOS_PER_SECOND;
+            ObjectNode event = mapper.createObjectNode();
+            event.put("event", type);
+            event.put("completed", completed.get());
+            event.put("total", total);
+            event.put("failures", failures.get());
+            event.put("filesPerSec", round(completed.get() / seconds));
+            event.put("mbPerSec", round(bytesIn.get() / BYTES_PER_MB / seconds));
+            if (type.equals("summary")) {
+                event.put("bytesIn", bytesIn.get());
+                event.put("bytesOut", bytesOut.get());
+            }
+            return event;
+        }
+
+        private double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+}
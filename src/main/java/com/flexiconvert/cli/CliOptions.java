@@ -0,0 +1,175 @@
+package com.flexiconvert.cli;
+
+import com.flexiconvert.selection.Condition;
+import com.flexiconvert.selection.Selection;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Command line of the headless batch mode:
+ * <pre>
+ *   --cli --to FORMAT [--workers N] [--out DIR] [--recursive] [--columns A,B] [--where EXPR]... INPUT...
+ * </pre>
+ * An input is a file, a directory (its files, and with {@code --recursive} everything
+ * below it) or a glob such as {@code "docs/**.md"}. {@code --columns} and {@code --where}
+ * build a {@link Selection} for CSV/JSON conversions; see {@link Condition#parse} for EXPR.
+ */
+public class CliOptions {
+
+    static final String USAGE = "Usage: flexiconvert --cli --to FORMAT [--workers N] [--out DIR] [--recursive]"
+            + " [--columns A,B] [--where EXPR]... INPUT...";
+
+    private String targetFormat;
+    private int workers;
+    private File outputDirectory;
+    private boolean recursive;
+    private boolean help;
+    private Selection selection = Selection.ALL;
+    private final List<String> inputs = new ArrayList<>();
+
+    public static CliOptions parse(String[] args) {
+        CliOptions options = new CliOptions();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--cli":
+                    break;
+                case "--to":
+                    options.targetFormat = value(args, ++i, arg).toLowerCase(Locale.ROOT).replaceFirst("^\\.", "");
+                    break;
+                case "--workers":
+                    try {
+                        options.workers = Integer.parseInt(value(args, ++i, arg));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("--workers needs a number");
+                    }
+                    break;
+                case "--out":
+                    options.outputDirectory = new File(value(args, ++i, arg));
+                    break;
+                case "--columns":
+                    options.selection = options.selection.withColumns(Arrays.asList(value(args, ++i, arg).split(",")));
+                    break;
+                case "--where":
+                    options.selection = options.selection.and(value(args, ++i, arg));
+                    break;
+                case "-r":
+                case "--recursive":
+                    options.recursive = true;
+                    break;
+                case "-h":
+                case "--help":
+                    options.help = true;
+                    break;
+                default:
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option: " + arg);
+                    }
+                    options.inputs.add(arg);
+            }
+        }
+        if (!options.help) {
+            if (options.targetFormat == null) throw new IllegalArgumentException("--to is required");
+            if (options.inputs.isEmpty()) throw new IllegalArgumentException("No inputs given");
+        }
+        return options;
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(option + " needs a value");
+        }
+        return args[index];
+    }
+
+    public String getTargetFormat() {
+        return targetFormat;
+    }
+
+    /** Worker count, or 0 to size the pool from the target format. */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /** Where outputs are copied, or null to write them next to each input. */
+    public File getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    /** The columns and rows to keep, {@link Selection#ALL} unless {@code --columns} or {@code --where} was given. */
+    public Selection getSelection() {
+        return selection;
+    }
+
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    public boolean isHelp() {
+        return help;
+    }
+
+    public List<String> getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Expands every input into regular files, in a stable order and without duplicates.
+     *
+     * @throws NoSuchFileException if an input is neither an existing path nor a glob
+     */
+    public List<File> resolveInputs() throws IOException {
+        Set<File> files = new LinkedHashSet<>();
+        for (String input : inputs) {
+            Path path = Paths.get(input);
+            if (Files.isRegularFile(path)) {
+                files.add(path.toFile());
+            } else if (Files.isDirectory(path)) {
+                files.addAll(walk(path, recursive ? Integer.MAX_VALUE : 1, p -> true));
+            } else if (isGlob(input)) {
+                files.addAll(expandGlob(input));
+            } else {
+                throw new NoSuchFileException(input);
+            }
+        }
+        return new ArrayList<>(files);
+    }
+
+    private static boolean isGlob(String input) {
+        return input.chars().anyMatch(c -> c == '*' || c == '?' || c == '[' || c == '{');
+    }
+
+    private static List<File> expandGlob(String glob) throws IOException {
+        // Walk from the deepest directory that has no wildcard in it
+        String normalized = glob.replace('\\', '/');
+        int firstWildcard = normalized.length();
+        for (char c : new char[]{'*', '?', '[', '{'}) {
+            int index = normalized.indexOf(c);
+            if (index != -1) firstWildcard = Math.min(firstWildcard, index);
+        }
+        int slash = normalized.lastIndexOf('/', firstWildcard);
+        Path base = slash == -1 ? Paths.get(".") : Paths.get(slash == 0 ? "/" : normalized.substring(0, slash));
+        String pattern = normalized.substring(slash + 1);
+        if (!Files.isDirectory(base)) return List.of();
+
+        PathMatcher matcher = base.getFileSystem().getPathMatcher("glob:" + pattern);
+        int depth = pattern.contains("**") ? Integer.MAX_VALUE : pattern.split("/").length;
+        return walk(base, depth, path -> matcher.matches(base.relativize(path)));
+    }
+
+    private static List<File> walk(Path root, int depth, Predicate<Path> filter) throws IOException {
+        try (Stream<Path> paths = Files.walk(root, depth)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(filter)
+                    .sorted()
+                    .map(Path::toFile)
+                    .collect(Collectors.toList());
+        }
+    }
+}
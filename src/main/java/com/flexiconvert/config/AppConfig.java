@@ -1,73 +1,97 @@
 package com.flexiconvert.config;
 
 import com.flexiconvert.ConversionType;
-import com.flexiconvert.annotations.ConverterFor;
-import com.flexiconvert.converters.DocxToHtmlConverter;
-import com.flexiconvert.converters.GenericToPdfConverter;
-import com.flexiconvert.converters.GenericToTextConverter;
-import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.FileValidationService;
+import com.flexiconvert.cache.ConversionCache;
+import com.flexiconvert.cancellation.ConversionDeadlines;
+import com.flexiconvert.memory.MemoryBudget;
+import com.flexiconvert.metrics.JmxMetricsReporter;
+import com.flexiconvert.metrics.LoggingMetricsReporter;
+import com.flexiconvert.metrics.MetricsRegistry;
+import com.flexiconvert.registry.ConverterRegistry;
+import com.flexiconvert.staging.InputStager;
+import com.flexiconvert.workspace.WorkspaceManager;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.Map;
 
-import javax.imageio.spi.IIORegistry;
-
+/**
+ * Wires the application by hand rather than scanning the classpath; converters come from the
+ * build-time {@link ConverterRegistry} and are only instantiated when first used.
+ */
 @Configuration
-@ComponentScan(basePackages = "com.flexiconvert")
 public class AppConfig {
     @Bean
-    @ConverterFor(ConversionType.JAVA_TO_TXT)
-    public FormatConverter javaToTxt() {
-        return new GenericToTextConverter(".java");
+    public FlexiConvertProperties flexiConvertProperties() {
+        return FlexiConvertProperties.fromSystem();
+    }
+
+    @Bean
+    public FileValidationService fileValidationService() {
+        return new FileValidationService();
     }
 
     @Bean
-    @ConverterFor(ConversionType.PY_TO_TXT)
-    public FormatConverter pyToTxt() {
-        return new GenericToTextConverter(".py");
+    public InputStager inputStager() {
+        return new InputStager();
     }
 
     @Bean
-    @ConverterFor(ConversionType.HTML_TO_TXT)
-    public FormatConverter htmlToTxt() {
-        return new GenericToTextConverter(".html");
+    public ConverterRegistry converterRegistry() {
+        return ConverterRegistry.load();
     }
 
     @Bean
-    @ConverterFor(ConversionType.XML_TO_TXT)
-    public FormatConverter xmlToTxt() {
-        return new GenericToTextConverter(".xml");
+    public ConversionCache conversionCache(FlexiConvertProperties properties, FileValidationService hasher) {
+        if (properties.getCacheDirectory() == null) {
+            return ConversionCache.disabled();
+        }
+        return new ConversionCache(properties.getCacheDirectory(), properties.getCacheMaxBytes(),
+                properties.getCacheMaxAge(), hasher);
     }
 
     @Bean
-    @ConverterFor(ConversionType.JAVA_TO_PDF)
-    public FormatConverter javaToPdf() {
-        return new GenericToPdfConverter(".java");
+    public WorkspaceManager workspaceManager(FlexiConvertProperties properties) {
+        return WorkspaceManager.create(properties.getWorkspaceDirectory(), properties.getWorkspaceQuotaBytes(),
+                properties.getWorkspaceLeaseTimeout(), properties.getWorkspaceRetained());
     }
 
     @Bean
-    @ConverterFor(ConversionType.PY_TO_PDF)
-    public FormatConverter pyToPdf() {
-        return new GenericToPdfConverter(".py");
+    public MemoryBudget memoryBudget(FlexiConvertProperties properties) {
+        return MemoryBudget.create(properties.getMemoryBudgetBytes(), properties.getMemoryAdmissionTimeout());
     }
 
     @Bean
-    @ConverterFor(ConversionType.HTML_TO_PDF)
-    public FormatConverter htmlToPdf() {
-        return new GenericToPdfConverter(".html");
+    public ConversionDeadlines conversionDeadlines(FlexiConvertProperties properties) {
+        Map<ConversionType, Duration> timeouts = new EnumMap<>(ConversionType.class);
+        for (ConversionType type : ConversionType.values()) {
+            timeouts.put(type, properties.getConversionTimeout(type));
+        }
+        return new ConversionDeadlines(timeouts);
     }
 
     @Bean
-    @ConverterFor(ConversionType.XML_TO_PDF)
-    public FormatConverter xmlToPdf() {
-        return new GenericToPdfConverter(".xml");
+    public MetricsRegistry metricsRegistry(FlexiConvertProperties properties) {
+        MetricsRegistry registry = new MetricsRegistry();
+        if (properties.isMetricsJmxEnabled()) {
+            registry.addReporter(new JmxMetricsReporter());
+        }
+        if (!properties.getMetricsReportInterval().isZero()) {
+            registry.addReporter(new LoggingMetricsReporter(properties.getMetricsReportInterval(),
+                    properties.getMetricsReportFormat()));
+        }
+        return registry;
     }
 
     @Bean
-    @ConverterFor(ConversionType.DOCX_TO_HTML)
-    public FormatConverter docxToHtmlConverter() {
-        return new DocxToHtmlConverter();
+    public FileConverterService fileConverterService(ConverterRegistry converters, InputStager inputStager,
+                                                     ConversionCache cache, WorkspaceManager workspaces,
+                                                     MemoryBudget memoryBudget, ConversionDeadlines deadlines,
+                                                     MetricsRegistry metrics) {
+        return new FileConverterService(converters, inputStager, cache, workspaces, memoryBudget, deadlines, metrics);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,234 @@
+package com.flexiconvert.config;
+
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.batch.BatchOptions;
+import com.flexiconvert.metrics.LoggingMetricsReporter;
+import com.flexiconvert.scheduler.ConversionScheduler;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Runtime settings, read from {@code flexiconvert.*} system properties so they can be set
+ * with {@code -D} flags on the desktop app, the CLI and the server alike.
+ */
+public class FlexiConvertProperties {
+
+    public static final String CACHE_DIR = "flexiconvert.cache.dir";
+    public static final String CACHE_MAX_BYTES = "flexiconvert.cache.maxBytes";
+    public static final String CACHE_MAX_AGE = "flexiconvert.cache.maxAge";
+    public static final String WORKSPACE_DIR = "flexiconvert.workspace.dir";
+    public static final String WORKSPACE_QUOTA_BYTES = "flexiconvert.workspace.quotaBytes";
+    public static final String WORKSPACE_LEASE_TIMEOUT = "flexiconvert.workspace.leaseTimeout";
+    public static final String WORKSPACE_RETAINED = "flexiconvert.workspace.retained";
+    public static final String SERVER_HOST = "flexiconvert.server.host";
+    public static final String SERVER_PORT = "flexiconvert.server.port";
+    public static final String SERVER_MAX_IN_FLIGHT = "flexiconvert.server.maxInFlight";
+    public static final String SERVER_QUEUE_DEPTH = "flexiconvert.server.queueDepth";
+    public static final String SERVER_REQUEST_TIMEOUT = "flexiconvert.server.requestTimeout";
+    public static final String WATCH_INBOX = "flexiconvert.watch.inbox";
+    public static final String WATCH_OUTBOX = "flexiconvert.watch.outbox";
+    public static final String WATCH_RULES = "flexiconvert.watch.rules";
+    public static final String WATCH_WORKERS = "flexiconvert.watch.workers";
+    public static final String WATCH_SETTLE = "flexiconvert.watch.settle";
+    public static final String CONVERSION_TIMEOUT = "flexiconvert.conversion.timeout";
+    public static final String SCHEDULER_CPU_WORKERS = "flexiconvert.scheduler.cpuWorkers";
+    public static final String SCHEDULER_IO_WORKERS = "flexiconvert.scheduler.ioWorkers";
+    public static final String SCHEDULER_AGING_RATE = "flexiconvert.scheduler.agingRate";
+    public static final String MEMORY_BUDGET_BYTES = "flexiconvert.memory.budgetBytes";
+    public static final String MEMORY_ADMISSION_TIMEOUT = "flexiconvert.memory.admissionTimeout";
+    public static final String METRICS_JMX = "flexiconvert.metrics.jmx";
+    public static final String METRICS_REPORT_INTERVAL = "flexiconvert.metrics.reportInterval";
+    public static final String METRICS_REPORT_FORMAT = "flexiconvert.metrics.reportFormat";
+
+    private final Properties source;
+
+    public FlexiConvertProperties(Properties source) {
+        this.source = source;
+    }
+
+    public static FlexiConvertProperties fromSystem() {
+        return new FlexiConvertProperties(System.getProperties());
+    }
+
+    public String getString(String key, String defaultValue) {
+        String value = source.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value, e);
+        }
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return Math.toIntExact(getLong(key, defaultValue));
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = getString(key, null);
+        if (value == null) return defaultValue;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value, e);
+        }
+    }
+
+    /** ISO-8601 durations ("PT30S", "P7D"), or a plain number of seconds. */
+    public Duration getDuration(String key, Duration defaultValue) {
+        String value = getString(key, null);
+        if (value == null) return defaultValue;
+        try {
+            return value.chars().allMatch(Character::isDigit)
+                    ? Duration.ofSeconds(Long.parseLong(value))
+                    : Duration.parse(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid duration for " + key + ": " + value, e);
+        }
+    }
+
+    /** Cache root, or null when the conversion cache is disabled (the default). */
+    public File getCacheDirectory() {
+        String value = getString(CACHE_DIR, null);
+        return value != null ? new File(value) : null;
+    }
+
+    public long getCacheMaxBytes() {
+        return getLong(CACHE_MAX_BYTES, 1024L * 1024 * 1024);
+    }
+
+    public Duration getCacheMaxAge() {
+        return getDuration(CACHE_MAX_AGE, Duration.ofDays(7));
+    }
+
+    public File getWorkspaceDirectory() {
+        return new File(getString(WORKSPACE_DIR, new File(System.getProperty("java.io.tmpdir"), "flexiconvert").getPath()));
+    }
+
+    /** Disk quota for all leased workspaces, or 0 to derive one from the free space at startup. */
+    public long getWorkspaceQuotaBytes() {
+        return getLong(WORKSPACE_QUOTA_BYTES, 0);
+    }
+
+    public Duration getWorkspaceLeaseTimeout() {
+        return getDuration(WORKSPACE_LEASE_TIMEOUT, Duration.ofMinutes(10));
+    }
+
+    /** How many workspaces from the {@code File}-returning API stay on disk before the oldest go. */
+    public int getWorkspaceRetained() {
+        return getInt(WORKSPACE_RETAINED, 32);
+    }
+
+    /** Loopback by default: the server is meant to run as a sidecar, not on a public interface. */
+    public String getServerHost() {
+        return getString(SERVER_HOST, "127.0.0.1");
+    }
+
+    public int getServerPort() {
+        return getInt(SERVER_PORT, 8080);
+    }
+
+    public int getServerMaxInFlight() {
+        return getInt(SERVER_MAX_IN_FLIGHT, Runtime.getRuntime().availableProcessors());
+    }
+
+    public int getServerQueueDepth() {
+        return getInt(SERVER_QUEUE_DEPTH, getServerMaxInFlight() * 2);
+    }
+
+    public Duration getServerRequestTimeout() {
+        return getDuration(SERVER_REQUEST_TIMEOUT, Duration.ofMinutes(5));
+    }
+
+    /** Comma-separated inbox directories; empty when watch mode is not configured. */
+    public List<File> getWatchInboxes() {
+        String value = getString(WATCH_INBOX, "");
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .map(File::new)
+                .collect(Collectors.toList());
+    }
+
+    /** Where every inbox's outputs go, or null when watch mode is not configured. */
+    public File getWatchOutbox() {
+        String value = getString(WATCH_OUTBOX, null);
+        return value != null ? new File(value) : null;
+    }
+
+    /** Routing rules such as {@code "csv=json,md=pdf"}; see {@code RoutingRules}. */
+    public String getWatchRules() {
+        return getString(WATCH_RULES, "");
+    }
+
+    public int getWatchWorkers() {
+        return getInt(WATCH_WORKERS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** How long a new file must stay unchanged before it is converted. */
+    public Duration getWatchSettle() {
+        return getDuration(WATCH_SETTLE, Duration.ofSeconds(2));
+    }
+
+    /**
+     * How long a conversion of {@code type} may run before it is cancelled:
+     * {@code flexiconvert.conversion.timeout.<type>} (e.g. {@code ...timeout.pdf_to_txt}), else
+     * {@code flexiconvert.conversion.timeout}; zero (the default) means no deadline.
+     */
+    public Duration getConversionTimeout(ConversionType type) {
+        Duration fallback = getDuration(CONVERSION_TIMEOUT, Duration.ZERO);
+        return getDuration(CONVERSION_TIMEOUT + "." + type.name().toLowerCase(Locale.ROOT), fallback);
+    }
+
+    /** Workers for rendering and other CPU-bound conversions; one per core by default. */
+    public int getSchedulerCpuWorkers() {
+        return getInt(SCHEDULER_CPU_WORKERS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Workers for archive, text and structured-data conversions. */
+    public int getSchedulerIoWorkers() {
+        return getInt(SCHEDULER_IO_WORKERS,
+                Runtime.getRuntime().availableProcessors() * BatchOptions.IO_THREADS_PER_CORE);
+    }
+
+    /**
+     * Nanoseconds of estimated work a queued job is forgiven per nanosecond it waits; higher
+     * values trade shortest-job-first for arrival order.
+     */
+    public double getSchedulerAgingRate() {
+        return getDouble(SCHEDULER_AGING_RATE, ConversionScheduler.DEFAULT_AGING_RATE);
+    }
+
+    /** Heap shared by running conversions; zero (the default) means 70% of the maximum heap. */
+    public long getMemoryBudgetBytes() {
+        return getLong(MEMORY_BUDGET_BYTES, 0);
+    }
+
+    public Duration getMemoryAdmissionTimeout() {
+        return getDuration(MEMORY_ADMISSION_TIMEOUT, Duration.ofMinutes(10));
+    }
+
+    public boolean isMetricsJmxEnabled() {
+        return Boolean.parseBoolean(getString(METRICS_JMX, "true"));
+    }
+
+    /** How often converter metrics are logged; zero (the default) disables the log reporter. */
+    public Duration getMetricsReportInterval() {
+        return getDuration(METRICS_REPORT_INTERVAL, Duration.ZERO);
+    }
+
+    public LoggingMetricsReporter.Format getMetricsReportFormat() {
+        return LoggingMetricsReporter.Format.parse(getString(METRICS_REPORT_FORMAT, "text"));
+    }
+}
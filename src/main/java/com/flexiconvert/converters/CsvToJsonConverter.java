@@ -1,120 +1,255 @@
 package com.flexiconvert.converters;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.flexiconvert.ConversionType;
-import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.interfaces.OutputSink;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.metrics.ProcessedUnits;
+import com.flexiconvert.jackson.JacksonCodecs;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.csv.CellDecoder;
+import com.flexiconvert.csv.ChunkedCsvParser;
+import com.flexiconvert.csv.ColumnType;
+import com.flexiconvert.csv.CsvChunking;
+import com.flexiconvert.csv.CsvSelection;
+import com.flexiconvert.csv.JsonCells;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.progress.ProgressUnit;
+import com.flexiconvert.selection.Selection;
 import org.apache.commons.csv.*;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.logging.Logger;
 
-@Component
 @ConverterFor(ConversionType.CSV_TO_JSON)
-public class CsvToJsonConverter implements FormatConverter {
+public class CsvToJsonConverter implements StreamingFormatConverter, MemoryEstimator {
 
     private static final Logger LOGGER = Logger.getLogger(CsvToJsonConverter.class.getName());
 
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT
+            .withTrim(true)
+            .withIgnoreSurroundingSpaces()
+            .withIgnoreEmptyLines()
+            .withAllowMissingColumnNames()
+            .withSkipHeaderRecord(false); // Treat all rows as data
+
+    /** Pretty-printed JSON of a chunk's rows relative to the chunk's bytes, as Java strings. */
+    private static final int CHUNK_EXPANSION = 6;
+
     // Config flags
     private final boolean warnOnMismatch = true;
     private final boolean skipMalformedRows = false;
     private final boolean fillMissingFields = true;
 
+    private final JacksonCodecs codecs;
+    private final CsvChunking chunking;
+
+    public CsvToJsonConverter() {
+        this(JacksonCodecs.shared());
+    }
+
+    public CsvToJsonConverter(JacksonCodecs codecs) {
+        this(codecs, CsvChunking.defaults());
+    }
+
+    public CsvToJsonConverter(JacksonCodecs codecs, CsvChunking chunking) {
+        this.codecs = codecs;
+        this.chunking = chunking;
+    }
+
+    /**
+     * Large files are parsed in parallel chunks (see {@link ChunkedCsvParser}) whose rows
+     * are rendered on the pool and written in file order; the output is the same as the
+     * sequential conversion's.
+     */
     @Override
-    public void convert(File inputFile) throws IOException {
-        List<Map<String, Object>> records = new ArrayList<>();
-        List<String> headers = null;
+    public void convert(ReadableByteChannel input, String inputName, OutputSink sink) throws IOException {
+        if (!(input instanceof FileChannel file) || !chunking.shouldSplit(file.size())
+                || file.position() != 0 || !ChunkedCsvParser.supports(FORMAT)) {
+            StreamingFormatConverter.super.convert(input, inputName, sink);
+            return;
+        }
+
+        ChunkedCsvParser parser = new ChunkedCsvParser(file, FORMAT, chunking);
+        List<CSVRecord> head = parser.head(ColumnType.DEFAULT_SAMPLE_ROWS);
+        if (head.isEmpty()) {
+            throw new IOException("CSV file is empty or contains no rows.");
+        }
+        Layout layout = layout(head, CsvSelection.of(Selection.current()), new CellDecoder());
+        ObjectWriter rowWriter = codecs.prettyJsonWriter();
+        long[] rows = {0};
+
+        Progress.begin(ProgressUnit.BYTES, file.size());
+        try (JsonGenerator generator = codecs.prettyJsonWriter()
+                .createGenerator(sink.open(getOutputFileName(inputName)), JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            parser.parse(records -> {
+                // Each row is rendered on its own, exactly as it would be inside the array
+                List<String> rendered = new ArrayList<>();
+                StringWriter buffer = new StringWriter();
+                CellDecoder decoder = new CellDecoder();
+                for (CSVRecord csvRecord : records) {
+                    Cancellation.checkpoint();
+                    buffer.getBuffer().setLength(0);
+                    try (JsonGenerator row = rowWriter.createGenerator(buffer)) {
+                        if (!writeRow(row, csvRecord, layout, decoder)) continue;
+                    }
+                    rendered.add(buffer.toString());
+                }
+                return rendered;
+            }, (rendered, chunkBytes) -> {
+                for (String row : rendered) {
+                    generator.writeRawValue(row);
+                }
+                rows[0] += rendered.size();
+                Progress.advance(chunkBytes);
+            });
+            generator.writeEndArray();
+        }
+        ProcessedUnits.rows(rows[0]);
+    }
+
+    /**
+     * Infers column types from the first {@link ColumnType#DEFAULT_SAMPLE_ROWS} records, then
+     * writes each record to the JSON array as soon as it is parsed, so memory stays at the
+     * sample however large the input. Rows and columns are filtered by the current
+     * {@link Selection} before any cell is decoded.
+     */
+    @Override
+    public void convert(InputStream input, String inputName, OutputSink sink) throws IOException {
+        long rows = 0;
 
         try (
-            Reader reader = new InputStreamReader(new FileInputStream(inputFile), StandardCharsets.UTF_8);
-            CSVParser parser = new CSVParser(reader, CSVFormat.DEFAULT
-                .withTrim(true)
-                .withIgnoreSurroundingSpaces()
-                .withIgnoreEmptyLines()
-                .withAllowMissingColumnNames()
-                .withSkipHeaderRecord(false)) // Treat all rows as data
+            Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+            CSVParser parser = new CSVParser(reader, FORMAT)
         ) {
             Iterator<CSVRecord> iterator = parser.iterator();
-                if (!iterator.hasNext()) {
-                    throw new IOException("CSV file is empty or contains no rows.");
+            List<CSVRecord> head = new ArrayList<>();
+            while (head.size() < ColumnType.DEFAULT_SAMPLE_ROWS && iterator.hasNext()) {
+                Cancellation.checkpoint();
+                head.add(iterator.next());
+            }
+            if (head.isEmpty()) {
+                throw new IOException("CSV file is empty or contains no rows.");
+            }
+            CellDecoder decoder = new CellDecoder();
+            Layout layout = layout(head, CsvSelection.of(Selection.current()), decoder);
+
+            try (JsonGenerator generator = codecs.prettyJsonWriter()
+                    .createGenerator(sink.open(getOutputFileName(inputName)), JsonEncoding.UTF8)) {
+                generator.writeStartArray();
+                for (CSVRecord csvRecord : head) {
+                    if (writeRow(generator, csvRecord, layout, decoder)) {
+                        rows++;
+                    }
                 }
-
                 while (iterator.hasNext()) {
-                    CSVRecord csvRecord = iterator.next();
-                    if (headers == null) {
-                        headers = new ArrayList<>();
-                        for (int i = 0; i < csvRecord.size(); i++) {
-                            headers.add("__" + i);
-                        }
-                    }
-                if (headers == null) {
-                    headers = new ArrayList<>();
-                    for (int i = 0; i < csvRecord.size(); i++) {
-                        headers.add("__" + i);
+                    Cancellation.checkpoint();
+                    if (writeRow(generator, iterator.next(), layout, decoder)) {
+                        rows++;
                     }
                 }
+                generator.writeEndArray();
+            }
+        }
+        ProcessedUnits.rows(rows);
+    }
 
-                int actualSize = csvRecord.size();
-                int expectedSize = headers.size();
+    /** How rows are written: keyed by the first row's width, typed from the head's selected rows. */
+    private static final class Layout {
+        final int width;
+        final ColumnType[] types;
+        final CsvSelection selection;
 
-                if (actualSize < expectedSize && warnOnMismatch) {
-                    LOGGER.warning("Row " + csvRecord.getRecordNumber()
-                            + " has fewer values than headers (" + actualSize + " < " + expectedSize + ")");
-                }
+        Layout(int width, ColumnType[] types, CsvSelection selection) {
+            this.width = width;
+            this.types = types;
+            this.selection = selection;
+        }
+    }
 
-                if (skipMalformedRows && actualSize < expectedSize) {
-                    continue;
-                }
+    private static Layout layout(List<CSVRecord> head, CsvSelection selection, CellDecoder decoder) {
+        List<CSVRecord> sample = new ArrayList<>(head.size());
+        for (CSVRecord csvRecord : head) {
+            if (selection.matches(csvRecord, decoder)) {
+                sample.add(csvRecord);
+            }
+        }
+        int width = head.get(0).size();
+        return new Layout(width, ColumnType.infer(sample, Math.max(width, selection.width()), decoder), selection);
+    }
 
-                Map<String, Object> jsonRow = new LinkedHashMap<>();
+    /**
+     * Writes one record as an object keyed {@code __0..__n} by the first row's width, or by the
+     * selected columns; false if the selection or a malformed-row policy skips it.
+     */
+    private boolean writeRow(JsonGenerator generator, CSVRecord csvRecord, Layout layout, CellDecoder decoder)
+            throws IOException {
+        if (!layout.selection.matches(csvRecord, decoder)) {
+            return false;
+        }
+        int actualSize = csvRecord.size();
+
+        if (layout.selection.isProjected()) {
+            generator.writeStartObject();
+            for (int column : layout.selection.getColumns()) {
+                generator.writeFieldName("__" + column);
+                JsonCells.write(generator, column < actualSize ? csvRecord.get(column) : "", layout.types[column],
+                        decoder);
+            }
+            generator.writeEndObject();
+            return true;
+        }
 
-                for (int i = 0; i < expectedSize; i++) {
-                    String header = headers.get(i);
-                    String value = i < actualSize ? csvRecord.get(i) : "";
-                    jsonRow.put(header, parseTypedValue(value));
-                }
+        int expectedSize = layout.width;
 
-                if (fillMissingFields && actualSize < expectedSize) {
-                    for (int j = actualSize; j < expectedSize; j++) {
-                        jsonRow.put("MISSING_FIELD_" + j, "");
-                    }
-                }
+        if (actualSize < expectedSize && warnOnMismatch) {
+            LOGGER.warning("Row " + csvRecord.getRecordNumber()
+                    + " has fewer values than headers (" + actualSize + " < " + expectedSize + ")");
+        }
 
-                records.add(jsonRow);
-            }
+        if (skipMalformedRows && actualSize < expectedSize) {
+            return false;
         }
 
-        File outputFile = new File(inputFile.getParent(), getOutputFileName(inputFile));
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        generator.writeStartObject();
+        for (int i = 0; i < expectedSize; i++) {
+            generator.writeFieldName("__" + i);
+            JsonCells.write(generator, i < actualSize ? csvRecord.get(i) : "", layout.types[i], decoder);
+        }
 
-        try (Writer writer = new OutputStreamWriter(
-                new FileOutputStream(outputFile), StandardCharsets.UTF_8)) {
-            mapper.writeValue(writer, records);
+        if (fillMissingFields && actualSize < expectedSize) {
+            for (int j = actualSize; j < expectedSize; j++) {
+                generator.writeStringField("MISSING_FIELD_" + j, "");
+            }
         }
+        generator.writeEndObject();
+        return true;
     }
 
     private String cleanKey(String raw) {
         return raw == null ? "" : raw.replaceAll("[\"\\n\\r]+", " ").trim();
     }
 
-    private Object parseTypedValue(String val) {
-        if (val == null || val.isBlank()) return "";
-        try {
-            if (val.contains(".")) return Double.parseDouble(val);
-            return Integer.parseInt(val);
-        } catch (NumberFormatException ex) {
-            return val;
-        }
-    }
-
-    private String getOutputFileName(File inputFile) {
-        String name = inputFile.getName();
+    private String getOutputFileName(String name) {
         int dotIndex = name.lastIndexOf('.');
         return (dotIndex != -1 ? name.substring(0, dotIndex) : name) + ".json";
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        // Rows are written as they are parsed; only the current one is held, unless the file is
+        // chunked, when the window holds each chunk's rows rendered as pretty-printed JSON
+        return MemoryEstimates.saturatedAdd(MemoryEstimates.BASELINE_BYTES,
+                chunking.estimateHeapBytes(inputBytes, CHUNK_EXPANSION));
+    }
 }
@@ -1,89 +1,248 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.ConversionType;
-import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.interfaces.OutputSink;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.metrics.ProcessedUnits;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.csv.ChunkedCsvParser;
+import com.flexiconvert.csv.CellDecoder;
+import com.flexiconvert.csv.CsvChunking;
+import com.flexiconvert.csv.CsvSelection;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.progress.ProgressUnit;
+import com.flexiconvert.selection.Selection;
 import org.apache.commons.csv.*;
 
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
-@Component
 @ConverterFor(ConversionType.CSV_TO_XML)
-public class CsvToXmlConverter implements FormatConverter {
+public class CsvToXmlConverter implements StreamingFormatConverter, MemoryEstimator {
+
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT
+            .withTrim()
+            .withIgnoreSurroundingSpaces()
+            .withIgnoreEmptyLines()
+            .withAllowMissingColumnNames()
+            .withSkipHeaderRecord(false);
+
+    private static final XMLOutputFactory XML_OUTPUT = XMLOutputFactory.newFactory();
+
+    /** Rows read before writing, whose widest sets the width every row is padded to. */
+    private static final int LOOKAHEAD_ROWS = 100;
+
+    /** Parsed records (a String per field plus the record) relative to the chunk's bytes. */
+    private static final int CHUNK_EXPANSION = 10;
 
     private final boolean warnOnMismatch = true;
     private final boolean skipMalformedRows = false;
 
+    private final CsvChunking chunking;
+
+    public CsvToXmlConverter() {
+        this(CsvChunking.defaults());
+    }
+
+    public CsvToXmlConverter(CsvChunking chunking) {
+        this.chunking = chunking;
+    }
+
+    /**
+     * Large files are parsed in parallel chunks (see {@link ChunkedCsvParser}) and their
+     * records written in file order, exactly as the sequential conversion writes them.
+     */
     @Override
-    public void convert(File inputFile) throws IOException {
-        List<List<String>> rows = new ArrayList<>();
-        int maxCols = 0;
+    public void convert(ReadableByteChannel input, String inputName, OutputSink sink) throws IOException {
+        if (!(input instanceof FileChannel file) || !chunking.shouldSplit(file.size())
+                || file.position() != 0 || !ChunkedCsvParser.supports(FORMAT)) {
+            StreamingFormatConverter.super.convert(input, inputName, sink);
+            return;
+        }
 
-        // First pass: read all rows and track max columns
+        ChunkedCsvParser parser = new ChunkedCsvParser(file, FORMAT, chunking);
+        List<CSVRecord> lookahead = parser.head(LOOKAHEAD_ROWS);
+        if (lookahead.isEmpty()) {
+            throw new IOException("CSV file is empty or contains no rows.");
+        }
+
+        CsvSelection selection = CsvSelection.of(Selection.current());
+        Progress.begin(ProgressUnit.BYTES, file.size());
+        try (RowWriter writer = new RowWriter(sink.open(getOutputFileName(inputName)), lookahead, selection)) {
+            parser.parse(records -> {
+                // Rows the selection drops are left behind on the pool
+                List<CSVRecord> chunk = new ArrayList<>();
+                CellDecoder decoder = new CellDecoder();
+                for (CSVRecord record : records) {
+                    Cancellation.checkpoint();
+                    if (selection.matches(record, decoder)) {
+                        chunk.add(record);
+                    }
+                }
+                return chunk;
+            }, (chunk, chunkBytes) -> {
+                for (CSVRecord record : chunk) {
+                    writer.write(record);
+                }
+                Progress.advance(chunkBytes);
+            });
+            writer.finish();
+            ProcessedUnits.rows(writer.rows);
+        }
+    }
+
+    /**
+     * Streams records to the XML as they are parsed. The first {@link #LOOKAHEAD_ROWS} are read
+     * ahead to size the rows, so memory stays flat however many rows follow. Rows and columns
+     * are filtered by the current {@link Selection} before anything is written.
+     */
+    @Override
+    public void convert(InputStream input, String inputName, OutputSink sink) throws IOException {
         try (
-            Reader reader = new InputStreamReader(new FileInputStream(inputFile), StandardCharsets.UTF_8);
-            CSVParser parser = new CSVParser(reader, CSVFormat.DEFAULT
-                .withTrim()
-                .withIgnoreSurroundingSpaces()
-                .withIgnoreEmptyLines()
-                .withAllowMissingColumnNames()
-                .withSkipHeaderRecord(false))
+            Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+            CSVParser parser = new CSVParser(reader, FORMAT)
         ) {
-            for (CSVRecord record : parser) {
-                List<String> row = new ArrayList<>();
-                for (String val : record) {
-                    row.add(escapeXml(val));
+            Iterator<CSVRecord> iterator = parser.iterator();
+            List<CSVRecord> lookahead = new ArrayList<>();
+            while (lookahead.size() < LOOKAHEAD_ROWS && iterator.hasNext()) {
+                Cancellation.checkpoint();
+                lookahead.add(iterator.next());
+            }
+            if (lookahead.isEmpty()) {
+                throw new IOException("CSV file is empty or contains no rows.");
+            }
+
+            CsvSelection selection = CsvSelection.of(Selection.current());
+            try (RowWriter writer = new RowWriter(sink.open(getOutputFileName(inputName)), lookahead, selection)) {
+                for (CSVRecord record : lookahead) {
+                    writer.write(record);
+                }
+                while (iterator.hasNext()) {
+                    Cancellation.checkpoint();
+                    writer.write(iterator.next());
                 }
-                maxCols = Math.max(maxCols, row.size());
-                rows.add(row);
+                writer.finish();
+                ProcessedUnits.rows(writer.rows);
             }
         }
+    }
 
-        if (rows.isEmpty()) {
-            throw new IOException("CSV file is empty or contains no rows.");
-        }
+    /**
+     * Writes the rows a selection keeps as FIELD0..FIELDn elements, padding each one with empty
+     * fields to the widest kept row seen so far (field names are created as wider rows appear),
+     * or as the selected columns' FIELDi elements when the selection is a projection.
+     */
+    private static final class RowWriter implements Closeable {
+        private final OutputStream out;
+        private final XMLStreamWriter xml;
+        private final CsvSelection selection;
+        private final CellDecoder decoder = new CellDecoder();
+        private final List<String> tags = new ArrayList<>();
+        private int width;
+        private long rows;
 
-        // Generate FIELD0, FIELD1, ..., FIELDn
-        List<String> headers = new ArrayList<>();
-        for (int i = 0; i < maxCols; i++) {
-            headers.add("FIELD" + i);
+        RowWriter(OutputStream out, List<CSVRecord> lookahead, CsvSelection selection) throws IOException {
+            this.out = out;
+            this.selection = selection;
+            for (CSVRecord record : lookahead) {
+                if (selection.matches(record, decoder)) {
+                    width = Math.max(width, record.size());
+                }
+            }
+            try {
+                xml = XML_OUTPUT.createXMLStreamWriter(out, "UTF-8");
+                xml.writeStartDocument("UTF-8", "1.0");
+                xml.writeCharacters("\n");
+                xml.writeStartElement("root");
+                xml.writeCharacters("\n");
+            } catch (XMLStreamException e) {
+                out.close();
+                throw new IOException("Could not start the XML document", e);
+            }
         }
 
-        File outputFile = new File(inputFile.getParent(), getOutputFileName(inputFile));
-        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
-                new FileOutputStream(outputFile), StandardCharsets.UTF_8))) {
+        void write(CSVRecord record) throws IOException {
+            if (!selection.matches(record, decoder)) return;
+            width = Math.max(width, record.size());
+            try {
+                xml.writeCharacters("  ");
+                xml.writeStartElement("row");
+                xml.writeCharacters("\n");
+                if (selection.isProjected()) {
+                    for (int column : selection.getColumns()) {
+                        writeField(record, column);
+                    }
+                } else {
+                    for (int i = 0; i < width; i++) {
+                        writeField(record, i);
+                    }
+                }
+                xml.writeCharacters("  ");
+                xml.writeEndElement();
+                xml.writeCharacters("\n");
+            } catch (XMLStreamException e) {
+                throw new IOException("Could not write row " + record.getRecordNumber(), e);
+            }
+            rows++;
+        }
 
-            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<root>\n");
+        private void writeField(CSVRecord record, int column) throws XMLStreamException {
+            xml.writeCharacters("    ");
+            xml.writeStartElement(tag(column));
+            xml.writeCharacters(column < record.size() ? record.get(column) : "");
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+        }
 
-            for (List<String> row : rows) {
-                writer.write("  <row>\n");
-                for (int i = 0; i < headers.size(); i++) {
-                    String tag = headers.get(i);
-                    String val = i < row.size() ? row.get(i) : "";
-                    writer.write(String.format("    <%s>%s</%s>\n", tag, val, tag));
-                }
-                writer.write("  </row>\n");
+        void finish() throws IOException {
+            try {
+                xml.writeEndElement();
+                xml.writeCharacters("\n");
+                xml.writeEndDocument();
+                xml.flush();
+            } catch (XMLStreamException e) {
+                throw new IOException("Could not finish the XML document", e);
             }
+        }
 
-            writer.write("</root>\n");
+        private String tag(int i) {
+            while (tags.size() <= i) {
+                tags.add("FIELD" + tags.size());
+            }
+            return tags.get(i);
         }
-    }
 
-    private String escapeXml(String input) {
-        return input == null ? "" :
-            input.replace("&", "&amp;")
-                 .replace("<", "&lt;")
-                 .replace(">", "&gt;")
-                 .replace("\"", "&quot;")
-                 .replace("'", "&apos;");
+        @Override
+        public void close() throws IOException {
+            try {
+                xml.close();
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            } finally {
+                out.close();
+            }
+        }
     }
 
-    private String getOutputFileName(File inputFile) {
-        String name = inputFile.getName();
+    private String getOutputFileName(String name) {
         int dot = name.lastIndexOf('.');
         return (dot != -1 ? name.substring(0, dot) : name) + ".xml";
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        // Rows are written as they are parsed; only the lookahead is held, unless the file is
+        // chunked, when the window holds each chunk's parsed records
+        return MemoryEstimates.saturatedAdd(MemoryEstimates.BASELINE_BYTES,
+                chunking.estimateHeapBytes(inputBytes, CHUNK_EXPANSION));
+    }
 }
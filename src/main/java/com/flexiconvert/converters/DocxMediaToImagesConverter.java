@@ -3,7 +3,11 @@ package com.flexiconvert.converters;
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.interfaces.FormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.progress.ProgressUnit;
 
 import org.apache.poi.xwpf.usermodel.XWPFPictureData;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
@@ -12,9 +16,8 @@ import java.io.*;
 import java.util.List;
 
 
-@Component
 @ConverterFor(ConversionType.DOCX_MEDIA_TO_IMAGES)
-public class DocxMediaToImagesConverter implements FormatConverter {
+public class DocxMediaToImagesConverter implements FormatConverter, MemoryEstimator {
 
     @Override
     public void convert(File inputFile) throws IOException {
@@ -32,7 +35,10 @@ public class DocxMediaToImagesConverter implements FormatConverter {
                 }
 
                 int index = 1;
+                Progress.begin(ProgressUnit.ENTRIES, pictures.size());
                 for (XWPFPictureData pic : pictures) {
+                    Cancellation.checkpoint();
+                    Progress.advance(1);
                     String ext = pic.suggestFileExtension();
                     File imageFile = new File(outputDir, baseName + "_image" + index + "." + ext);
                     try (FileOutputStream fos = new FileOutputStream(imageFile)) {
@@ -42,4 +48,15 @@ public class DocxMediaToImagesConverter implements FormatConverter {
                 }
             }
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        return MemoryEstimates.scaled(inputBytes, MemoryEstimates.OOXML_SIZE_FACTOR);
+    }
+
+    @Override
+    public long estimateHeapBytes(File inputFile) {
+        long document = MemoryEstimates.officeDocumentBytes(inputFile, "word/");
+        return document >= 0 ? document : estimateHeapBytes(inputFile.length());
+    }
 }
@@ -4,14 +4,13 @@ import com.flexiconvert.ConversionType;
 import com.flexiconvert.annotations.ConverterFor;
 import com.flexiconvert.interfaces.FormatConverter;
 import org.apache.poi.xwpf.usermodel.*;
-import org.springframework.stereotype.Component;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.util.*;
 
-@Component
-@ConverterFor(ConversionType.DOCX_TO_HTML)
+// Inline images are referenced by absolute file URI, so the HTML cannot be reused elsewhere
+@ConverterFor(value = ConversionType.DOCX_TO_HTML, cacheable = false)
 public class DocxToHtmlConverter implements FormatConverter {
 
     private static final Set<String> HEADERS = Set.of(
@@ -3,7 +3,13 @@ package com.flexiconvert.converters;
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.interfaces.FormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.metrics.ConversionPhase;
+import com.flexiconvert.metrics.ConversionPhases;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.progress.ProgressUnit;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -22,9 +28,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-@Component
 @ConverterFor(ConversionType.DOCX_TO_PDF)
-public class DocxToPdfConverter implements FormatConverter {
+public class DocxToPdfConverter implements FormatConverter, MemoryEstimator {
 
     private static final float MARGIN = 50;
     private static final float FONT_SIZE = 12;
@@ -38,9 +43,11 @@ public class DocxToPdfConverter implements FormatConverter {
 
     @Override
     public void convert(File docxFile) throws IOException {
-        try (XWPFDocument docx = new XWPFDocument(new FileInputStream(docxFile));
+        try (XWPFDocument docx = ConversionPhases.time(ConversionPhase.PARSE,
+                () -> new XWPFDocument(new FileInputStream(docxFile)));
              PDDocument pdf = new PDDocument()) {
 
+            ConversionPhases.Phase layout = ConversionPhases.begin(ConversionPhase.RENDER);
             PDPage page = new PDPage(PDRectangle.A4);
             pdf.addPage(page);
 
@@ -68,7 +75,10 @@ public class DocxToPdfConverter implements FormatConverter {
 
             // Second pass - render with proper formatting
             int paraIndex = 0;
+            Progress.begin(ProgressUnit.PARAGRAPHS, docx.getParagraphs().size());
             for (XWPFParagraph para : docx.getParagraphs()) {
+                Cancellation.checkpoint();
+                Progress.advance(1);
                 boolean isBullet = para.getNumID() != null;
                 boolean isParaHeading = paraIndex < isHeading.size() && isHeading.get(paraIndex);
                 paraIndex++;
@@ -339,8 +349,9 @@ public class DocxToPdfConverter implements FormatConverter {
             }
 
             content.close();
+            layout.close();
             File output = new File(docxFile.getParent(), docxFile.getName().replace(".docx", ".pdf"));
-            pdf.save(output);
+            ConversionPhases.time(ConversionPhase.ENCODE, () -> pdf.save(output));
         }
     }
     
@@ -418,4 +429,15 @@ public class DocxToPdfConverter implements FormatConverter {
             this.imageData = imageData;
         }
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        return MemoryEstimates.scaled(inputBytes, MemoryEstimates.OOXML_SIZE_FACTOR);
+    }
+
+    @Override
+    public long estimateHeapBytes(File inputFile) {
+        long document = MemoryEstimates.officeDocumentBytes(inputFile, "word/");
+        return document >= 0 ? document : estimateHeapBytes(inputFile.length());
+    }
 }
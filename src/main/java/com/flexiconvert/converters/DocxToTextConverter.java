@@ -2,24 +2,31 @@ package com.flexiconvert.converters;
 
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.annotations.ConverterFor;
-import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.interfaces.OutputSink;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.progress.ProgressUnit;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.apache.poi.xwpf.usermodel.XWPFParagraph;
-import org.springframework.stereotype.Component;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 
-@Component
 @ConverterFor(ConversionType.DOCX_TO_TXT)
-public class DocxToTextConverter implements FormatConverter {
+public class DocxToTextConverter implements StreamingFormatConverter, MemoryEstimator {
 
     @Override
-    public void convert(File docxFile) throws IOException {
-        try (XWPFDocument doc = new XWPFDocument(new FileInputStream(docxFile))) {
+    public void convert(InputStream input, String inputName, OutputSink sink) throws IOException {
+        try (XWPFDocument doc = new XWPFDocument(input)) {
             StringBuilder sb = new StringBuilder();
 
+            Progress.begin(ProgressUnit.PARAGRAPHS, doc.getParagraphs().size());
             for (XWPFParagraph para : doc.getParagraphs()) {
+                Cancellation.checkpoint();
+                Progress.advance(1);
                 boolean isBullet = para.getNumID() != null;
                 String text = para.getText();
 
@@ -45,10 +52,21 @@ public class DocxToTextConverter implements FormatConverter {
                 }
             }
 
-            File outputFile = new File(docxFile.getParent(), docxFile.getName().replaceAll("(?i)\\.docx$", ".txt"));
-            try (Writer writer = new OutputStreamWriter(new FileOutputStream(outputFile), StandardCharsets.UTF_8)) {
+            String outputName = inputName.replaceAll("(?i)\\.docx$", ".txt");
+            try (Writer writer = new OutputStreamWriter(sink.open(outputName), StandardCharsets.UTF_8)) {
                 writer.write(sb.toString());
             }
         }
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        return MemoryEstimates.scaled(inputBytes, MemoryEstimates.OOXML_SIZE_FACTOR);
+    }
+
+    @Override
+    public long estimateHeapBytes(File inputFile) {
+        long document = MemoryEstimates.officeDocumentBytes(inputFile, "word/");
+        return document >= 0 ? document : estimateHeapBytes(inputFile.length());
+    }
 }
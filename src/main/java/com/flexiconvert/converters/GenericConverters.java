@@ -0,0 +1,53 @@
+package com.flexiconvert.converters;
+
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.annotations.ConverterFor;
+
+/**
+ * Registers the shared plain-text and PDF converters once per source format they accept.
+ */
+public final class GenericConverters {
+
+    private GenericConverters() {
+    }
+
+    @ConverterFor(ConversionType.JAVA_TO_TXT)
+    public static GenericToTextConverter javaToTxt() {
+        return new GenericToTextConverter(".java");
+    }
+
+    @ConverterFor(ConversionType.PY_TO_TXT)
+    public static GenericToTextConverter pyToTxt() {
+        return new GenericToTextConverter(".py");
+    }
+
+    @ConverterFor(ConversionType.HTML_TO_TXT)
+    public static GenericToTextConverter htmlToTxt() {
+        return new GenericToTextConverter(".html");
+    }
+
+    @ConverterFor(ConversionType.XML_TO_TXT)
+    public static GenericToTextConverter xmlToTxt() {
+        return new GenericToTextConverter(".xml");
+    }
+
+    @ConverterFor(ConversionType.JAVA_TO_PDF)
+    public static GenericToPdfConverter javaToPdf() {
+        return new GenericToPdfConverter(".java");
+    }
+
+    @ConverterFor(ConversionType.PY_TO_PDF)
+    public static GenericToPdfConverter pyToPdf() {
+        return new GenericToPdfConverter(".py");
+    }
+
+    @ConverterFor(ConversionType.HTML_TO_PDF)
+    public static GenericToPdfConverter htmlToPdf() {
+        return new GenericToPdfConverter(".html");
+    }
+
+    @ConverterFor(ConversionType.XML_TO_PDF)
+    public static GenericToPdfConverter xmlToPdf() {
+        return new GenericToPdfConverter(".xml");
+    }
+}
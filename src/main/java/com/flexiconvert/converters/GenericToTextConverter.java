@@ -1,10 +1,11 @@
 package com.flexiconvert.converters;
 
-import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.interfaces.OutputSink;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
 
 import java.io.*;
 
-public class GenericToTextConverter implements FormatConverter {
+public class GenericToTextConverter implements StreamingFormatConverter {
 
     private final String sourceExtension;
 
@@ -13,9 +14,9 @@ public class GenericToTextConverter implements FormatConverter {
     }
 
     @Override
-    public void convert(File sourceFile) throws IOException {
+    public void convert(InputStream input, String inputName, OutputSink sink) throws IOException {
         String content;
-        try (BufferedReader reader = new BufferedReader(new FileReader(sourceFile))) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
             StringBuilder sb = new StringBuilder();
             String line;
             while ((line = reader.readLine()) != null) {
@@ -24,8 +25,8 @@ public class GenericToTextConverter implements FormatConverter {
             content = sb.toString();
         }
 
-        File output = new File(sourceFile.getParent(), sourceFile.getName().replaceAll("(?i)\\" + sourceExtension + "$", ".txt"));
-        try (FileWriter writer = new FileWriter(output)) {
+        String outputName = inputName.replaceAll("(?i)\\" + sourceExtension + "$", ".txt");
+        try (Writer writer = new OutputStreamWriter(sink.open(outputName))) {
             writer.write(content);
         }
     }
@@ -3,7 +3,6 @@ package com.flexiconvert.converters;
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.interfaces.FormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
 
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
 
@@ -11,7 +10,6 @@ import java.io.*;
 import java.nio.file.Files;
 
 
-@Component
 @ConverterFor(ConversionType.GZ_TO_FOLDER)
 public class GzToFolderConverter implements FormatConverter {
 
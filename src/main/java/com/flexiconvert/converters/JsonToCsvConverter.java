@@ -1,34 +1,56 @@
 package com.flexiconvert.converters;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import com.flexiconvert.ConversionType;
-import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.interfaces.OutputSink;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.jackson.JacksonCodecs;
+import com.flexiconvert.metrics.ProcessedUnits;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.csv.CellDecoder;
+import com.flexiconvert.selection.Condition;
+import com.flexiconvert.selection.Selection;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.*;
 
 
-@Component
 @ConverterFor(ConversionType.JSON_TO_CSV)
-public class JsonToCsvConverter implements FormatConverter {
+public class JsonToCsvConverter implements StreamingFormatConverter, MemoryEstimator {
+
+    private final JacksonCodecs codecs;
+
+    public JsonToCsvConverter() {
+        this(JacksonCodecs.shared());
+    }
+
+    public JsonToCsvConverter(JacksonCodecs codecs) {
+        this.codecs = codecs;
+    }
+
     @Override
-    public void convert(File inputFile) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
+    public void convert(InputStream input, String inputName, OutputSink sink) throws IOException {
+        Selection selection = Selection.current();
+        if (!selection.isAll()) {
+            convertSelected(input, inputName, sink, selection);
+            return;
+        }
 
         List<Map<String, Object>> records;
-        try (Reader reader = Files.newBufferedReader(inputFile.toPath(), StandardCharsets.UTF_8)) {
-            records = mapper.readValue(reader, new TypeReference<List<Map<String, Object>>>() {});
+        try (Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            records = codecs.jsonRecordsReader().readValue(reader);
         }
 
         if (records.isEmpty()) {
             throw new IOException("JSON array is empty.");
         }
+        ProcessedUnits.rows(records.size());
 
         // Get all unique headers across records (preserves order of first record)
         Set<String> headers = new LinkedHashSet<>(records.get(0).keySet());
@@ -36,33 +58,148 @@ public class JsonToCsvConverter implements FormatConverter {
             headers.addAll(record.keySet());
         }
 
-        // Create output file
-        File outputFile = new File(inputFile.getParent(), getOutputFileName(inputFile));
-
-        try (BufferedWriter writer = Files.newBufferedWriter(outputFile.toPath(), StandardCharsets.UTF_8)) {
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                sink.open(getOutputFileName(inputName)), StandardCharsets.UTF_8))) {
             // Write header row
-            writer.write(String.join(",", headers));
-            writer.newLine();
+            writeRow(writer, headers);
 
             // Write data rows
             for (Map<String, Object> record : records) {
+                Cancellation.checkpoint();
                 List<String> values = new ArrayList<>();
                 for (String header : headers) {
                     Object val = record.getOrDefault(header, "");
-                    values.add(val != null ? val.toString().replaceAll(",", " ") : "");
+                    values.add(val != null ? val.toString() : "");
+                }
+                writeRow(writer, values);
+            }
+        }
+    }
+
+    /**
+     * Streams the array's objects through the parser, keeping only the fields the selection
+     * needs; the others are skipped without being decoded. A projection is written as it is
+     * read. Without one the header is every field of the kept records, so those are held.
+     */
+    private void convertSelected(InputStream input, String inputName, OutputSink sink, Selection selection)
+            throws IOException {
+        ObjectReader nested = codecs.jsonTreeReader().forType(Object.class);
+        Set<String> needed = new HashSet<>(selection.getColumns());
+        for (Condition condition : selection.getConditions()) {
+            needed.add(condition.getColumn());
+        }
+        CellDecoder decoder = new CellDecoder();
+        long rows = 0;
+
+        try (JsonParser parser = nested.createParser(new BufferedInputStream(input))) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of objects.");
+            }
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY) {
+                throw new IOException("JSON array is empty.");
+            }
+
+            List<Map<String, String>> kept = new ArrayList<>();
+            Set<String> headers = new LinkedHashSet<>(selection.getColumns());
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    sink.open(getOutputFileName(inputName)), StandardCharsets.UTF_8))) {
+                if (selection.isProjected()) {
+                    writeRow(writer, headers);
+                }
+
+                for (; token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                    Cancellation.checkpoint();
+                    if (token != JsonToken.START_OBJECT) {
+                        throw new IOException("Expected a JSON object at " + parser.getCurrentLocation());
+                    }
+                    Map<String, String> record = new LinkedHashMap<>();
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.getCurrentName();
+                        parser.nextToken();
+                        if (selection.isProjected() && !needed.contains(field)) {
+                            parser.skipChildren();
+                        } else {
+                            record.put(field, text(parser, nested));
+                        }
+                    }
+                    if (!matches(selection, record, decoder)) continue;
+
+                    rows++;
+                    if (selection.isProjected()) {
+                        writeRow(writer, values(record, headers));
+                    } else {
+                        headers.addAll(record.keySet());
+                        kept.add(record);
+                    }
                 }
-                writer.write(String.join(",", values));
-                writer.newLine();
+
+                if (!selection.isProjected()) {
+                    writeRow(writer, headers);
+                    for (Map<String, String> record : kept) {
+                        Cancellation.checkpoint();
+                        writeRow(writer, values(record, headers));
+                    }
+                }
+            }
+        }
+        ProcessedUnits.rows(rows);
+    }
+
+    /** A value as the mapped records print it: numbers and booleans as written, nested values as maps and lists. */
+    private static String text(JsonParser parser, ObjectReader nested) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NULL:
+                return "";
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue().toString();
+            case START_OBJECT:
+            case START_ARRAY:
+                return String.valueOf((Object) nested.readValue(parser));
+            default:
+                return parser.getText();
+        }
+    }
+
+    private static boolean matches(Selection selection, Map<String, String> record, CellDecoder decoder) {
+        for (Condition condition : selection.getConditions()) {
+            if (!condition.test(record.getOrDefault(condition.getColumn(), ""), decoder)) {
+                return false;
             }
         }
+        return true;
+    }
+
+    private static List<String> values(Map<String, String> record, Collection<String> headers) {
+        List<String> values = new ArrayList<>(headers.size());
+        for (String header : headers) {
+            values.add(record.getOrDefault(header, ""));
+        }
+        return values;
+    }
+
+    /** Writes one header or data row; commas inside a name or value become spaces. */
+    private static void writeRow(BufferedWriter writer, Collection<String> values) throws IOException {
+        StringJoiner line = new StringJoiner(",");
+        for (String value : values) {
+            line.add(value.replace(",", " "));
+        }
+        writer.write(line.toString());
+        writer.newLine();
     }
 
-    private String getOutputFileName(File inputFile) {
-        String name = inputFile.getName();
+    private String getOutputFileName(String name) {
         int dotIndex = name.lastIndexOf('.');
         if (dotIndex != -1) {
             name = name.substring(0, dotIndex);
         }
         return name + ".csv";
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        // Every record is held as a map before writing
+        return MemoryEstimates.scaled(inputBytes, 10);
+    }
 }
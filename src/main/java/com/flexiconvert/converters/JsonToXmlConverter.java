@@ -1,46 +1,61 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.ConversionType;
-import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.interfaces.OutputSink;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+
+import com.flexiconvert.jackson.JacksonCodecs;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 
 
-@Component
 @ConverterFor(ConversionType.JSON_TO_XML)
-public class JsonToXmlConverter implements FormatConverter {
+public class JsonToXmlConverter implements StreamingFormatConverter, MemoryEstimator {
 
-    @Override
-    public void convert(File jsonFile) throws IOException {
-        ObjectMapper jsonMapper = new ObjectMapper();
-        XmlMapper xmlMapper = new XmlMapper();
+    private final JacksonCodecs codecs;
+
+    public JsonToXmlConverter() {
+        this(JacksonCodecs.shared());
+    }
+
+    public JsonToXmlConverter(JacksonCodecs codecs) {
+        this.codecs = codecs;
+    }
 
-        JsonNode original = jsonMapper.readTree(jsonFile);
+    @Override
+    public void convert(InputStream input, String inputName, OutputSink sink) throws IOException {
+        JsonNode original = codecs.jsonTreeReader().readTree(input);
 
         // Wrap in a root object if it's an array
         JsonNode wrapped;
         if (original.isArray()) {
-            ObjectNode root = jsonMapper.createObjectNode();
+            ObjectNode root = codecs.objectNode();
             root.set("record", original); // each element will become <record>
             wrapped = root;
         } else {
             wrapped = original;
         }
 
-        String xml = xmlMapper.writerWithDefaultPrettyPrinter().writeValueAsString(wrapped);
+        String xml = codecs.prettyXmlWriter().writeValueAsString(wrapped);
 
-        File output = new File(jsonFile.getParent(), jsonFile.getName().replaceAll("(?i)\\.json$", ".xml"));
-        try (FileWriter writer = new FileWriter(output)) {
+        String outputName = inputName.replaceAll("(?i)\\.json$", ".xml");
+        try (Writer writer = new OutputStreamWriter(sink.open(outputName))) {
             writer.write(xml);
         }
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        // Full tree plus the whole XML as one string
+        return MemoryEstimates.scaled(inputBytes, 10);
+    }
 }
@@ -1,9 +1,9 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.ConversionType;
-import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.interfaces.OutputSink;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
 
 import org.commonmark.node.Node;
 import org.commonmark.parser.Parser;
@@ -12,15 +12,14 @@ import org.commonmark.renderer.html.HtmlRenderer;
 import java.io.*;
 
 
-@Component
 @ConverterFor(ConversionType.MD_TO_HTML)
-public class MdToHtmlConverter implements FormatConverter {
+public class MdToHtmlConverter implements StreamingFormatConverter {
 
     @Override
-    public void convert(File inputFile) throws IOException {
+    public void convert(InputStream input, String inputName, OutputSink sink) throws IOException {
         // Read Markdown content
         StringBuilder mdContent = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new FileReader(inputFile))) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 mdContent.append(line).append("\n");
@@ -37,11 +36,11 @@ public class MdToHtmlConverter implements FormatConverter {
 
         // Wrap in HTML boilerplate
         String finalHtml = "<!DOCTYPE html><html><head><meta charset='UTF-8'><title>" +
-                inputFile.getName() + "</title></head><body>\n" + html + "\n</body></html>";
+                inputName + "</title></head><body>\n" + html + "\n</body></html>";
 
         // Write to output file
-        File outputFile = new File(inputFile.getParent(), inputFile.getName().replaceAll("(?i)\\.md$", ".html"));
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputFile))) {
+        String outputName = inputName.replaceAll("(?i)\\.md$", ".html");
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(sink.open(outputName)))) {
             writer.write(finalHtml);
         }
     }
@@ -3,7 +3,6 @@ package com.flexiconvert.converters;
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.interfaces.FormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
 
 import org.commonmark.node.Node;
 import org.commonmark.parser.Parser;
@@ -17,7 +16,6 @@ import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import java.io.*;
 
 
-@Component
 @ConverterFor(ConversionType.MD_TO_PDF)
 public class MdToPdfConverter implements FormatConverter {
 
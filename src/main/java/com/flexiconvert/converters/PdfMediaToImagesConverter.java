@@ -3,7 +3,11 @@ package com.flexiconvert.converters;
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.interfaces.FormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.progress.ProgressUnit;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -18,9 +22,8 @@ import java.io.IOException;
 import javax.imageio.ImageIO;
 
 
-@Component
 @ConverterFor(ConversionType.PDF_MEDIA_TO_IMAGES)
-public class PdfMediaToImagesConverter implements FormatConverter {
+public class PdfMediaToImagesConverter implements FormatConverter, MemoryEstimator {
 
     @Override
     public void convert(File inputFile) throws IOException {
@@ -31,7 +34,10 @@ public class PdfMediaToImagesConverter implements FormatConverter {
         try (PDDocument document = PDDocument.load(inputFile)) {
             int imgIndex = 1;
 
+            Progress.begin(ProgressUnit.PAGES, document.getNumberOfPages());
             for (PDPage page : document.getPages()) {
+                Cancellation.checkpoint();
+                Progress.advance(1);
                 PDResources resources = page.getResources();
                 if (resources == null) continue;
 
@@ -48,4 +54,11 @@ public class PdfMediaToImagesConverter implements FormatConverter {
             }
         }
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        // Parsed objects plus one decoded image of up to page size at a time
+        return MemoryEstimates.saturatedAdd(MemoryEstimates.scaled(inputBytes, 3),
+                MemoryEstimates.RENDERED_PAGE_PIXELS * MemoryEstimates.BYTES_PER_PIXEL);
+    }
 }
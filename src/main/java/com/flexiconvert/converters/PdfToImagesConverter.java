@@ -3,7 +3,14 @@ package com.flexiconvert.converters;
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.interfaces.FormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.metrics.ConversionPhase;
+import com.flexiconvert.metrics.ConversionPhases;
+import com.flexiconvert.metrics.ProcessedUnits;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.progress.ProgressUnit;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.rendering.PDFRenderer;
@@ -14,21 +21,33 @@ import java.io.File;
 import java.io.IOException;
 
 
-@Component
 @ConverterFor(ConversionType.PDF_TO_IMAGES)
-public class PdfToImagesConverter implements FormatConverter {
+public class PdfToImagesConverter implements FormatConverter, MemoryEstimator {
 
     @Override
     public void convert(File pdfFile) throws IOException {
-        try (PDDocument document = PDDocument.load(pdfFile)) {
+        try (PDDocument document = ConversionPhases.time(ConversionPhase.PARSE, () -> PDDocument.load(pdfFile))) {
             PDFRenderer renderer = new PDFRenderer(document);
             String baseName = pdfFile.getName().replaceAll("(?i)\\.pdf$", "");
 
+            Progress.begin(ProgressUnit.PAGES, document.getNumberOfPages());
             for (int i = 0; i < document.getNumberOfPages(); i++) {
-                BufferedImage image = renderer.renderImageWithDPI(i, 300); // high-res image
+                Cancellation.checkpoint();
+                Progress.advance(1);
+                int pageIndex = i;
+                BufferedImage image = ConversionPhases.time(ConversionPhase.RENDER,
+                        () -> renderer.renderImageWithDPI(pageIndex, 300)); // high-res image
                 File output = new File(pdfFile.getParent(), baseName + "_page" + (i + 1) + ".png");
-                ImageIO.write(image, "png", output);
+                ConversionPhases.time(ConversionPhase.ENCODE, () -> ImageIO.write(image, "png", output));
+                ProcessedUnits.pages(1);
             }
         }
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        // Parsed objects plus one page rendered at 300 DPI at a time
+        return MemoryEstimates.saturatedAdd(MemoryEstimates.scaled(inputBytes, 3),
+                MemoryEstimates.RENDERED_PAGE_PIXELS * MemoryEstimates.BYTES_PER_PIXEL);
+    }
 }
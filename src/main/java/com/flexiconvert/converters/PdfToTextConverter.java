@@ -1,32 +1,61 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.ConversionType;
-import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.interfaces.OutputSink;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.metrics.ConversionPhase;
+import com.flexiconvert.metrics.ConversionPhases;
+import com.flexiconvert.metrics.ProcessedUnits;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.progress.ProgressUnit;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.text.PDFTextStripper;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 
 
-@Component
 @ConverterFor(ConversionType.PDF_TO_TXT)
-public class PdfToTextConverter implements FormatConverter {
+public class PdfToTextConverter implements StreamingFormatConverter, MemoryEstimator {
 
     @Override
-    public void convert(File pdfFile) throws IOException {
-        try (PDDocument document = PDDocument.load(pdfFile)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            String text = stripper.getText(document);
+    public void convert(InputStream input, String inputName, OutputSink sink) throws IOException {
+        try (PDDocument document = ConversionPhases.time(ConversionPhase.PARSE, () -> PDDocument.load(input))) {
+            PDFTextStripper stripper = new PDFTextStripper() {
+                @Override
+                protected void startPage(PDPage page) throws IOException {
+                    Cancellation.checkpoint();
+                    super.startPage(page);
+                }
 
-            File output = new File(pdfFile.getParent(), pdfFile.getName().replaceAll("(?i)\\.pdf$", ".txt"));
-            try (FileWriter writer = new FileWriter(output)) {
+                @Override
+                protected void endPage(PDPage page) throws IOException {
+                    super.endPage(page);
+                    Progress.advance(1);
+                }
+            };
+            Progress.begin(ProgressUnit.PAGES, document.getNumberOfPages());
+            String text = ConversionPhases.time(ConversionPhase.RENDER, () -> stripper.getText(document));
+            ProcessedUnits.pages(document.getNumberOfPages());
+
+            String outputName = inputName.replaceAll("(?i)\\.pdf$", ".txt");
+            try (Writer writer = new OutputStreamWriter(sink.open(outputName))) {
                 writer.write(text);
             }
         }
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        // Parsed objects plus the extracted text
+        return MemoryEstimates.scaled(inputBytes, 4);
+    }
 }
@@ -1,30 +1,45 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.ConversionType;
-import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.interfaces.OutputSink;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.metrics.ConversionPhase;
+import com.flexiconvert.metrics.ConversionPhases;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 
-@Component
 @ConverterFor(ConversionType.PNG_TO_JPG)
-public class PngToJpgConverter implements FormatConverter {
+public class PngToJpgConverter implements StreamingFormatConverter, MemoryEstimator {
 
     @Override
-    public void convert(File inputFile) throws IOException {
-        BufferedImage image = ImageIO.read(inputFile);
+    public void convert(InputStream input, String inputName, OutputSink sink) throws IOException {
+        BufferedImage image = ConversionPhases.time(ConversionPhase.PARSE, () -> ImageIO.read(input));
         if (image == null) {
-            throw new IOException("Failed to read image: " + inputFile.getName());
+            throw new IOException("Failed to read image: " + inputName);
         }
 
-        File output = new File(inputFile.getParent(),
-                inputFile.getName().replaceAll("(?i)\\.png$", ".jpg"));
+        String outputName = inputName.replaceAll("(?i)\\.png$", ".jpg");
+        try (OutputStream out = sink.open(outputName)) {
+            ConversionPhases.time(ConversionPhase.ENCODE, () -> ImageIO.write(image, "jpg", out));
+        }
+    }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        return MemoryEstimates.imageBytes(inputBytes);
+    }
 
-        ImageIO.write(image, "jpg", output);
+    @Override
+    public long estimateHeapBytes(File inputFile) {
+        return MemoryEstimates.imageBytes(inputFile);
     }
 }
@@ -1,33 +1,38 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.ConversionType;
-import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.interfaces.OutputSink;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.metrics.ConversionPhase;
+import com.flexiconvert.metrics.ConversionPhases;
 
 import com.luciad.imageio.webp.WebPWriteParam;
 import javax.imageio.ImageIO;
 import javax.imageio.ImageWriter;
-import javax.imageio.stream.FileImageOutputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Iterator;
 
 
-@Component
 @ConverterFor(ConversionType.PNG_TO_WEBP)
-public class PngToWebpConverter implements FormatConverter {
+public class PngToWebpConverter implements StreamingFormatConverter, MemoryEstimator {
 
     @Override
-    public void convert(File inputFile) throws IOException {
-        BufferedImage image = ImageIO.read(inputFile);
+    public void convert(InputStream input, String inputName, OutputSink sink) throws IOException {
+        BufferedImage image = ConversionPhases.time(ConversionPhase.PARSE, () -> ImageIO.read(input));
         if (image == null) {
-            throw new IOException("Could not read image: " + inputFile.getName());
+            throw new IOException("Could not read image: " + inputName);
         }
 
-        File outputFile = new File(inputFile.getParent(),
-                inputFile.getName().replaceAll("(?i)\\.png$", ".webp"));
+        String outputName = inputName.replaceAll("(?i)\\.png$", ".webp");
 
         Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType("image/webp");
         if (!writers.hasNext()) {
@@ -40,8 +45,23 @@ public class PngToWebpConverter implements FormatConverter {
         writeParam.setCompressionType("Lossy");
         writeParam.setCompressionQuality(0.8f); // Adjust quality (0.0 to 1.0)
 
-        writer.setOutput(new FileImageOutputStream(outputFile));
-        writer.write(null, new javax.imageio.IIOImage(image, null, null), writeParam);
-        writer.dispose();
+        try (OutputStream out = sink.open(outputName);
+             ImageOutputStream imageOut = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            ConversionPhases.time(ConversionPhase.ENCODE,
+                    () -> writer.write(null, new javax.imageio.IIOImage(image, null, null), writeParam));
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        return MemoryEstimates.imageBytes(inputBytes);
+    }
+
+    @Override
+    public long estimateHeapBytes(File inputFile) {
+        return MemoryEstimates.imageBytes(inputFile);
     }
 }
@@ -3,7 +3,11 @@ package com.flexiconvert.converters;
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.interfaces.FormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.progress.ProgressUnit;
 
 import org.apache.poi.xslf.usermodel.XMLSlideShow;
 import org.apache.poi.xslf.usermodel.XSLFPictureData;
@@ -12,9 +16,8 @@ import java.io.*;
 import java.util.List;
 
 
-@Component
 @ConverterFor(ConversionType.PPTX_MEDIA_TO_IMAGES)
-public class PptxMediaToImagesConverter implements FormatConverter {
+public class PptxMediaToImagesConverter implements FormatConverter, MemoryEstimator {
 
     @Override
     public void convert(File inputFile) throws IOException {
@@ -32,7 +35,10 @@ public class PptxMediaToImagesConverter implements FormatConverter {
                 }
 
                 int index = 1;
+                Progress.begin(ProgressUnit.ENTRIES, pictures.size());
                 for (XSLFPictureData pic : pictures) {
+                    Cancellation.checkpoint();
+                    Progress.advance(1);
                     String ext = pic.getType().extension.replace(".", "");
                     File out = new File(outputDir, baseName + "_image" + index + "." + ext);
                     try (FileOutputStream fos = new FileOutputStream(out)) {
@@ -42,4 +48,15 @@ public class PptxMediaToImagesConverter implements FormatConverter {
                 }
             }
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        return MemoryEstimates.scaled(inputBytes, MemoryEstimates.OOXML_SIZE_FACTOR);
+    }
+
+    @Override
+    public long estimateHeapBytes(File inputFile) {
+        long document = MemoryEstimates.officeDocumentBytes(inputFile, "ppt/");
+        return document >= 0 ? document : estimateHeapBytes(inputFile.length());
+    }
 }
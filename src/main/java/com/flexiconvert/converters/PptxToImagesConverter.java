@@ -3,7 +3,14 @@ package com.flexiconvert.converters;
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.interfaces.FormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.metrics.ConversionPhase;
+import com.flexiconvert.metrics.ConversionPhases;
+import com.flexiconvert.metrics.ProcessedUnits;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.progress.ProgressUnit;
 
 import org.apache.poi.xslf.usermodel.XMLSlideShow;
 import org.apache.poi.xslf.usermodel.XSLFSlide;
@@ -13,31 +20,50 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.*;
 
-
-@Component
 @ConverterFor(ConversionType.PPTX_TO_IMAGES)
-public class PptxToImagesConverter implements FormatConverter {
+public class PptxToImagesConverter implements FormatConverter, MemoryEstimator {
+
+    // One slide is rendered at a time, at most at full-HD page size
+    private static final long SLIDE_IMAGE_BYTES = 1920L * 1080L * MemoryEstimates.BYTES_PER_PIXEL;
 
     @Override
     public void convert(File pptxFile) throws IOException {
         try (FileInputStream fis = new FileInputStream(pptxFile);
-             XMLSlideShow ppt = new XMLSlideShow(fis)) {
+             XMLSlideShow ppt = ConversionPhases.time(ConversionPhase.PARSE, () -> new XMLSlideShow(fis))) {
 
             Dimension size = ppt.getPageSize();
             String baseName = pptxFile.getName().replaceAll("(?i)\\.pptx$", "");
 
             int i = 1;
+            Progress.begin(ProgressUnit.SLIDES, ppt.getSlides().size());
             for (XSLFSlide slide : ppt.getSlides()) {
+                Cancellation.checkpoint();
+                Progress.advance(1);
                 BufferedImage img = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
                 Graphics2D graphics = img.createGraphics();
                 graphics.setPaint(Color.white);
                 graphics.fill(new Rectangle(size));
-                slide.draw(graphics);
+                try (ConversionPhases.Phase render = ConversionPhases.begin(ConversionPhase.RENDER)) {
+                    slide.draw(graphics);
+                }
 
                 File out = new File(pptxFile.getParent(), baseName + "_slide" + i + ".png");
-                ImageIO.write(img, "png", out);
+                ConversionPhases.time(ConversionPhase.ENCODE, () -> ImageIO.write(img, "png", out));
+                ProcessedUnits.pages(1);
                 i++;
             }
         }
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        return MemoryEstimates.saturatedAdd(MemoryEstimates.scaled(inputBytes, MemoryEstimates.OOXML_SIZE_FACTOR),
+                SLIDE_IMAGE_BYTES);
+    }
+
+    @Override
+    public long estimateHeapBytes(File inputFile) {
+        long document = MemoryEstimates.officeDocumentBytes(inputFile, "ppt/");
+        return document >= 0 ? MemoryEstimates.saturatedAdd(document, SLIDE_IMAGE_BYTES) : estimateHeapBytes(inputFile.length());
+    }
 }
@@ -3,7 +3,13 @@ package com.flexiconvert.converters;
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.interfaces.FormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.metrics.ConversionPhase;
+import com.flexiconvert.metrics.ConversionPhases;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.progress.ProgressUnit;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -19,36 +25,46 @@ import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.*;
 
-
-@Component
 @ConverterFor(ConversionType.PPTX_TO_PDF)
-public class PptxToPdfConverter implements FormatConverter {
+public class PptxToPdfConverter implements FormatConverter, MemoryEstimator {
+
+    // Every slide is rasterised and kept in the PDF until it is saved
+    private static final long SLIDE_IMAGE_BYTES = 1920L * 1080L * MemoryEstimates.BYTES_PER_PIXEL;
+    private static final long SLIDE_PDF_BYTES = 1920L * 1080L * 3;
+    private static final int UNKNOWN_SLIDE_COUNT = 100;
 
     @Override
     public void convert(File inputFile) throws IOException {
-        try (XMLSlideShow ppt = new XMLSlideShow(new FileInputStream(inputFile));
+        try (XMLSlideShow ppt = ConversionPhases.time(ConversionPhase.PARSE,
+                () -> new XMLSlideShow(new FileInputStream(inputFile)));
              PDDocument pdf = new PDDocument()) {
 
             Dimension pgsize = ppt.getPageSize();
+            Progress.begin(ProgressUnit.SLIDES, ppt.getSlides().size());
             for (XSLFSlide slide : ppt.getSlides()) {
+                Cancellation.checkpoint();
+                Progress.advance(1);
                 BufferedImage img = new BufferedImage(pgsize.width, pgsize.height, BufferedImage.TYPE_INT_RGB);
                 Graphics2D graphics = img.createGraphics();
                 graphics.setPaint(Color.WHITE);
                 graphics.fill(new Rectangle2D.Float(0, 0, pgsize.width, pgsize.height));
-                slide.draw(graphics);
+                try (ConversionPhases.Phase render = ConversionPhases.begin(ConversionPhase.RENDER)) {
+                    slide.draw(graphics);
+                }
                 graphics.dispose();
 
                 PDPage page = new PDPage(new PDRectangle(pgsize.width, pgsize.height));
                 pdf.addPage(page);
 
-                PDImageXObject pdImage = LosslessFactory.createFromImage(pdf, img);
+                PDImageXObject pdImage = ConversionPhases.time(ConversionPhase.ENCODE,
+                        () -> LosslessFactory.createFromImage(pdf, img));
                 try (PDPageContentStream content = new PDPageContentStream(pdf, page)) {
                     content.drawImage(pdImage, 0, 0, pgsize.width, pgsize.height);
                 }
             }
 
             File outputFile = new File(inputFile.getParent(), getOutputFileName(inputFile));
-            pdf.save(outputFile);
+            ConversionPhases.time(ConversionPhase.ENCODE, () -> pdf.save(outputFile));
         }
     }
 
@@ -60,4 +76,21 @@ public class PptxToPdfConverter implements FormatConverter {
         }
         return name + ".pdf";
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        return estimate(MemoryEstimates.scaled(inputBytes, MemoryEstimates.OOXML_SIZE_FACTOR), UNKNOWN_SLIDE_COUNT);
+    }
+
+    @Override
+    public long estimateHeapBytes(File inputFile) {
+        long document = MemoryEstimates.officeDocumentBytes(inputFile, "ppt/");
+        int slides = MemoryEstimates.zipEntryCount(inputFile, name -> name.matches("ppt/slides/slide\\d+\\.xml"));
+        return document >= 0 ? estimate(document, slides) : estimateHeapBytes(inputFile.length());
+    }
+
+    private static long estimate(long document, int slides) {
+        return MemoryEstimates.saturatedAdd(MemoryEstimates.saturatedAdd(document, SLIDE_IMAGE_BYTES),
+                Math.max(slides, 1) * SLIDE_PDF_BYTES);
+    }
 }
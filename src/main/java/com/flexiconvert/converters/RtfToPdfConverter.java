@@ -3,7 +3,6 @@ package com.flexiconvert.converters;
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.annotations.ConverterFor;
 import com.flexiconvert.interfaces.FormatConverter;
-import org.springframework.stereotype.Component;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -19,7 +18,6 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 
-@Component
 @ConverterFor(ConversionType.RTF_TO_PDF)
 public class RtfToPdfConverter implements FormatConverter {
 
@@ -3,7 +3,6 @@ package com.flexiconvert.converters;
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.interfaces.FormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
 
 import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultStyledDocument;
@@ -12,7 +11,6 @@ import javax.swing.text.rtf.RTFEditorKit;
 import java.io.*;
 
 
-@Component
 @ConverterFor(ConversionType.RTF_TO_TXT)
 public class RtfToTextConverter implements FormatConverter {
 
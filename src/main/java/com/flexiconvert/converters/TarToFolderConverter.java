@@ -3,7 +3,9 @@ package com.flexiconvert.converters;
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.interfaces.FormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.metrics.ProcessedUnits;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.progress.Progress;
 
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
@@ -12,7 +14,6 @@ import java.io.*;
 import java.nio.file.Files;
 
 
-@Component
 @ConverterFor(ConversionType.TAR_TO_FOLDER)
 public class TarToFolderConverter implements FormatConverter {
 
@@ -33,7 +34,7 @@ public class TarToFolderConverter implements FormatConverter {
             markerFolder.mkdirs();
         }
 
-        try (InputStream fis = new FileInputStream(inputFile);
+        try (InputStream fis = Progress.track(new FileInputStream(inputFile));
             BufferedInputStream bis = new BufferedInputStream(fis);
             TarArchiveInputStream tarIn = new TarArchiveInputStream(bis)) {
 
@@ -43,6 +44,7 @@ public class TarToFolderConverter implements FormatConverter {
             }
 
             do {
+                Cancellation.checkpoint();
                 File outFile = new File(outputDir, firstEntry.getName());
                 
                 // Check for tar slip vulnerability
@@ -61,6 +63,7 @@ public class TarToFolderConverter implements FormatConverter {
                     try (OutputStream out = Files.newOutputStream(outFile.toPath())) {
                         tarIn.transferTo(out);
                     }
+                    ProcessedUnits.entries(1);
                 }
 
             } while ((firstEntry = tarIn.getNextTarEntry()) != null);
@@ -1,25 +1,24 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.ConversionType;
-import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.interfaces.OutputSink;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
 
 import java.io.*;
 
 
-@Component
 @ConverterFor(ConversionType.TXT_TO_HTML)
-public class TxtToHtmlConverter implements FormatConverter {
+public class TxtToHtmlConverter implements StreamingFormatConverter {
 
     @Override
-    public void convert(File txtFile) throws IOException {
+    public void convert(InputStream input, String inputName, OutputSink sink) throws IOException {
         StringBuilder html = new StringBuilder();
         html.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n")
-            .append("<title>").append(txtFile.getName()).append("</title>\n")
+            .append("<title>").append(inputName).append("</title>\n")
             .append("</head>\n<body>\n<pre>\n");
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(txtFile))) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 html.append(escapeHtml(line)).append("\n");
@@ -28,8 +27,8 @@ public class TxtToHtmlConverter implements FormatConverter {
 
         html.append("</pre>\n</body>\n</html>");
 
-        File output = new File(txtFile.getParent(), txtFile.getName().replaceAll("(?i)\\.txt$", ".html"));
-        try (FileWriter writer = new FileWriter(output)) {
+        String outputName = inputName.replaceAll("(?i)\\.txt$", ".html");
+        try (Writer writer = new OutputStreamWriter(sink.open(outputName))) {
             writer.write(html.toString());
         }
     }
@@ -2,25 +2,32 @@ package com.flexiconvert.converters;
 
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.annotations.ConverterFor;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.metrics.ConversionPhase;
+import com.flexiconvert.metrics.ConversionPhases;
+import com.flexiconvert.metrics.ProcessedUnits;
 import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.progress.ProgressUnit;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.springframework.stereotype.Component;
 
 import java.io.*;
 
-@Component
 @ConverterFor(ConversionType.XLSX_TO_CSV)
-public class XlsxToCsvConverter implements FormatConverter {
+public class XlsxToCsvConverter implements FormatConverter, MemoryEstimator {
 
     @Override
     public void convert(File xlsxFile) throws IOException {
         try (FileInputStream fis = new FileInputStream(xlsxFile);
-             Workbook workbook = new XSSFWorkbook(fis)) {
+             Workbook workbook = ConversionPhases.time(ConversionPhase.PARSE, () -> new XSSFWorkbook(fis))) {
 
             FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
 
             int sheetCount = workbook.getNumberOfSheets();
+            Progress.begin(ProgressUnit.ROWS, countRows(workbook));
 
             for (int i = 0; i < sheetCount; i++) {
                 Sheet sheet = workbook.getSheetAt(i);
@@ -38,6 +45,8 @@ public class XlsxToCsvConverter implements FormatConverter {
 
                 try (PrintWriter writer = new PrintWriter(new FileWriter(outputFile))) {
                     for (Row row : sheet) {
+                        Cancellation.checkpoint();
+                        Progress.advance(1);
                         StringBuilder line = new StringBuilder();
                         int lastCell = row.getLastCellNum();
                         for (int c = 0; c < lastCell; c++) {
@@ -49,6 +58,7 @@ public class XlsxToCsvConverter implements FormatConverter {
                             }
                         }
                         writer.println(line);
+                        ProcessedUnits.rows(1);
                     }
                 }
             }
@@ -74,10 +84,30 @@ public class XlsxToCsvConverter implements FormatConverter {
         }
     }
 
+    // Rows are already parsed, so the total is free to compute up front
+    static long countRows(Workbook workbook) {
+        long rows = 0;
+        for (Sheet sheet : workbook) {
+            rows += sheet.getPhysicalNumberOfRows();
+        }
+        return rows;
+    }
+
     private String escapeCsv(String value) {
         if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
             return "\"" + value.replace("\"", "\"\"") + "\"";
         }
         return value;
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        return MemoryEstimates.scaled(inputBytes, MemoryEstimates.OOXML_SIZE_FACTOR);
+    }
+
+    @Override
+    public long estimateHeapBytes(File inputFile) {
+        long document = MemoryEstimates.officeDocumentBytes(inputFile, "xl/");
+        return document >= 0 ? document : estimateHeapBytes(inputFile.length());
+    }
 }
@@ -2,23 +2,28 @@ package com.flexiconvert.converters;
 
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.annotations.ConverterFor;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.metrics.ConversionPhase;
+import com.flexiconvert.metrics.ConversionPhases;
 import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.progress.ProgressUnit;
 
 import org.apache.pdfbox.pdmodel.*;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.poi.ss.usermodel.*;
-import org.springframework.stereotype.Component;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 
 import java.io.*;
 
-@Component
 @ConverterFor(ConversionType.XLSX_TO_PDF)
-public class XlsxToPdfConverter implements FormatConverter {
+public class XlsxToPdfConverter implements FormatConverter, MemoryEstimator {
 
     @Override
     public void convert(File inputFile) throws IOException {
-        try (Workbook workbook = WorkbookFactory.create(inputFile)) {
+        try (Workbook workbook = ConversionPhases.time(ConversionPhase.PARSE, () -> WorkbookFactory.create(inputFile))) {
             File outputFile = new File(inputFile.getParent(), getOutputFileName(inputFile));
 
             try (PDDocument pdf = new PDDocument()) {
@@ -27,6 +32,8 @@ public class XlsxToPdfConverter implements FormatConverter {
                 float margin = 50;
                 float rowHeight = 20;
                 float tableWidth = PDRectangle.LETTER.getWidth() - 2 * margin;
+                ConversionPhases.Phase layout = ConversionPhases.begin(ConversionPhase.RENDER);
+                Progress.begin(ProgressUnit.ROWS, XlsxToCsvConverter.countRows(workbook));
 
                 for (int s = 0; s < workbook.getNumberOfSheets(); s++) {
                     Sheet sheet = workbook.getSheetAt(s);
@@ -41,6 +48,8 @@ public class XlsxToPdfConverter implements FormatConverter {
                     int lineCount = 0;
 
                     for (Row row : sheet) {
+                        Cancellation.checkpoint();
+                        Progress.advance(1);
                         content.beginText();
                         content.setFont(font, fontSize);
                         content.newLineAtOffset(margin, y - lineCount * rowHeight);
@@ -64,8 +73,9 @@ public class XlsxToPdfConverter implements FormatConverter {
                     }
                     content.close();
                 }
+                layout.close();
 
-                pdf.save(outputFile);
+                ConversionPhases.time(ConversionPhase.ENCODE, () -> pdf.save(outputFile));
             }
         }
     }
@@ -89,4 +99,15 @@ public class XlsxToPdfConverter implements FormatConverter {
         }
         return name + ".pdf";
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        return MemoryEstimates.scaled(inputBytes, MemoryEstimates.OOXML_SIZE_FACTOR);
+    }
+
+    @Override
+    public long estimateHeapBytes(File inputFile) {
+        long document = MemoryEstimates.officeDocumentBytes(inputFile, "xl/");
+        return document >= 0 ? document : estimateHeapBytes(inputFile.length());
+    }
 }
@@ -3,29 +3,36 @@ package com.flexiconvert.converters;
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.interfaces.FormatConverter;
 import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.interfaces.MemoryEstimator;
+import com.flexiconvert.memory.MemoryEstimates;
+
+import com.flexiconvert.jackson.JacksonCodecs;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.*;
 
 
-@Component
 @ConverterFor(ConversionType.XML_TO_JSON)
-public class XmlToJsonConverter implements FormatConverter {
+public class XmlToJsonConverter implements FormatConverter, MemoryEstimator {
+
+    private final JacksonCodecs codecs;
+
+    public XmlToJsonConverter() {
+        this(JacksonCodecs.shared());
+    }
+
+    public XmlToJsonConverter(JacksonCodecs codecs) {
+        this.codecs = codecs;
+    }
 
     @Override
     public void convert(File xmlFile) throws IOException {
-        XmlMapper xmlMapper = new XmlMapper();
-        ObjectMapper jsonMapper = new ObjectMapper();
-
-        JsonNode rawNode = xmlMapper.readTree(xmlFile);
+        JsonNode rawNode = codecs.xmlTreeReader().readValue(xmlFile);
         String rootElementName = extractRootElementName(xmlFile);
-        JsonNode wrappedNode = jsonMapper.createObjectNode().set(rootElementName, rawNode);
+        JsonNode wrappedNode = codecs.objectNode().set(rootElementName, rawNode);
 
-        String json = jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(wrappedNode);
+        String json = codecs.prettyJsonWriter().writeValueAsString(wrappedNode);
 
         File output = new File(xmlFile.getParent(), xmlFile.getName().replaceAll("(?i)\\.xml$", ".json"));
         try (FileWriter writer = new FileWriter(output)) {
@@ -45,4 +52,10 @@ public class XmlToJsonConverter implements FormatConverter {
         }
         return "root"; // fallback
     }
+
+    @Override
+    public long estimateHeapBytes(long inputBytes) {
+        // Full tree plus the whole JSON as one string
+        return MemoryEstimates.scaled(inputBytes, 10);
+    }
 }
@@ -1,9 +1,6 @@
 package com.flexiconvert.converters;
 
-import com.flexiconvert.ConversionType;
 import com.flexiconvert.interfaces.FormatConverter;
-import com.flexiconvert.annotations.ConverterFor;
-import org.springframework.stereotype.Component;
 import org.xml.sax.SAXException;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -17,9 +14,7 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
-
-@Component
-@ConverterFor(ConversionType.XML_TO_PDF)
+// XML_TO_PDF is served by GenericConverters.xmlToPdf(); this validating variant is used directly
 public class XmlToPdfConverter implements FormatConverter {
 
     @Override
@@ -2,15 +2,16 @@ package com.flexiconvert.converters;
 
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.annotations.ConverterFor;
+import com.flexiconvert.metrics.ProcessedUnits;
 import com.flexiconvert.interfaces.FormatConverter;
-import org.springframework.stereotype.Component;
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.progress.Progress;
 
 import java.io.*;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
 
-@Component
 @ConverterFor(ConversionType.ZIP_TO_FOLDER)
 public class ZipToFolderConverter implements FormatConverter {
 
@@ -44,12 +45,13 @@ public class ZipToFolderConverter implements FormatConverter {
         }
         
         // Extract contents
-        try (ZipInputStream zipStream = new ZipInputStream(new FileInputStream(zipFile))) {
+        try (ZipInputStream zipStream = new ZipInputStream(Progress.track(new FileInputStream(zipFile)))) {
             ZipEntry entry;
             byte[] buffer = new byte[1024];
             
             boolean hasEntries = false;
             while ((entry = zipStream.getNextEntry()) != null) {
+                Cancellation.checkpoint();
                 hasEntries = true;
                 File entryFile = new File(extractionFolder, entry.getName());
                 
@@ -83,6 +85,7 @@ public class ZipToFolderConverter implements FormatConverter {
                 }
                 
                 zipStream.closeEntry();
+                ProcessedUnits.entries(1);
             }
             
             if (!hasEntries) {
@@ -0,0 +1,152 @@
+package com.flexiconvert.csv;
+
+/**
+ * Decodes CSV cells into typed values with a hand-written scanner that never throws, so
+ * text cells cost a glance at their first character rather than a caught
+ * {@link NumberFormatException}. Integers are accumulated as they are scanned and read back
+ * with {@link #longValue()}; decimals are only handed to {@link Double#parseDouble} once the
+ * scanner has accepted them.
+ * <p>
+ * Accepts ASCII decimal notation: {@code [+-]digits} for integers, and for doubles a number
+ * with a {@code .} and an optional exponent ({@code 1.5}, {@code -.5}, {@code 1.}, {@code 2.5e-3}).
+ * {@code true} and {@code false} are booleans in any case. Not thread-safe; use one per thread.
+ */
+public final class CellDecoder {
+
+    private long longValue;
+    private boolean booleanValue;
+
+    // The digits scanned by scanDigits, accumulated negatively
+    private long scanned;
+    private boolean overflow;
+
+    /** Whether the cell is null or whitespace only. */
+    public static boolean isBlank(String cell) {
+        return cell == null || cell.isBlank();
+    }
+
+    /**
+     * Whether a non-blank {@code cell} starts like a number or a boolean; when it does not,
+     * {@link #decode} would call it {@link ColumnType#STRING}.
+     */
+    public static boolean mayBeTyped(String cell) {
+        char first = cell.charAt(0);
+        return isDigit(first) || first == '+' || first == '-' || first == '.'
+                || first == 't' || first == 'T' || first == 'f' || first == 'F';
+    }
+
+    /**
+     * Whether {@code cell} is an integer that fits a long, read back with {@link #longValue()},
+     * looking for nothing else; what integer columns try before a full {@link #decode}.
+     */
+    public boolean decodeInteger(String cell) {
+        int length = cell.length();
+        boolean signed = length > 0 && (cell.charAt(0) == '+' || cell.charAt(0) == '-');
+        int start = signed ? 1 : 0;
+        return length > start && scanDigits(cell, start) == length && acceptInteger(signed && cell.charAt(0) == '-');
+    }
+
+    /**
+     * Whether {@code cell} is {@code true} or {@code false} in any case, read back with
+     * {@link #booleanValue()}; what boolean columns try before a full {@link #decode}.
+     */
+    public boolean decodeBoolean(String cell) {
+        if (cell.equalsIgnoreCase("true")) {
+            booleanValue = true;
+            return true;
+        }
+        if (cell.equalsIgnoreCase("false")) {
+            booleanValue = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The type of a non-blank {@code cell}: {@link ColumnType#INT} or {@link ColumnType#LONG}
+     * by the range of the integer it holds, {@link ColumnType#DOUBLE}, {@link ColumnType#BOOLEAN},
+     * or {@link ColumnType#STRING} when it is none of these.
+     */
+    public ColumnType decode(String cell) {
+        int length = cell.length();
+        if (length == 0) return ColumnType.STRING;
+
+        char first = cell.charAt(0);
+        if (first == 't' || first == 'T' || first == 'f' || first == 'F') {
+            return decodeBoolean(cell) ? ColumnType.BOOLEAN : ColumnType.STRING;
+        }
+
+        int i = 0;
+        boolean negative = false;
+        if (first == '+' || first == '-') {
+            negative = first == '-';
+            i++;
+        }
+
+        int digitsStart = i;
+        i = scanDigits(cell, i);
+        int integerDigits = i - digitsStart;
+
+        if (i == length) {
+            if (integerDigits == 0 || !acceptInteger(negative)) {
+                return ColumnType.STRING;
+            }
+            return longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE ? ColumnType.INT : ColumnType.LONG;
+        }
+
+        if (cell.charAt(i) != '.') return ColumnType.STRING;
+        i++;
+        int fractionStart = i;
+        while (i < length && isDigit(cell.charAt(i))) i++;
+        if (integerDigits == 0 && i == fractionStart) return ColumnType.STRING;
+
+        if (i < length && (cell.charAt(i) == 'e' || cell.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (cell.charAt(i) == '+' || cell.charAt(i) == '-')) i++;
+            int exponentStart = i;
+            while (i < length && isDigit(cell.charAt(i))) i++;
+            if (i == exponentStart) return ColumnType.STRING;
+        }
+        return i == length ? ColumnType.DOUBLE : ColumnType.STRING;
+    }
+
+    /** The integer the last {@link #decode} call returned INT or LONG for. */
+    public long longValue() {
+        return longValue;
+    }
+
+    /** The boolean the last {@link #decode} call returned BOOLEAN for. */
+    public boolean booleanValue() {
+        return booleanValue;
+    }
+
+    /** Scans digits from {@code i} into {@link #scanned}, returning where they end. */
+    private int scanDigits(String cell, int i) {
+        // Accumulated negatively, like Long.parseLong, so Long.MIN_VALUE fits
+        long value = 0;
+        boolean overflowed = false;
+        for (int length = cell.length(); i < length; i++) {
+            int digit = cell.charAt(i) - '0';
+            if (digit < 0 || digit > 9) break;
+            if (value < (Long.MIN_VALUE + digit) / 10) {
+                overflowed = true;
+            } else {
+                value = value * 10 - digit;
+            }
+        }
+        scanned = value;
+        overflow = overflowed;
+        return i;
+    }
+
+    /** Sets {@link #longValue} from the digits just scanned, unless they do not fit a long. */
+    private boolean acceptInteger(boolean negative) {
+        if (overflow || (!negative && scanned == Long.MIN_VALUE)) return false;
+        longValue = negative ? scanned : -scanned;
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,342 @@
+package com.flexiconvert.csv;
+
+import com.flexiconvert.cancellation.Cancellation;
+import com.flexiconvert.cancellation.CancellationToken;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Parses a CSV file in parallel. The file is memory-mapped and cut into chunks at record
+ * boundaries, which are found without a sequential pass: every chunk is scanned once by a
+ * small lexer state machine started from each state it could begin in, then a prefix over
+ * the chunks picks the real starting state and with it the first line break that is not
+ * inside a quoted field. The resulting ranges parse concurrently and are handed back in
+ * file order, so callers can stitch per-chunk output together exactly as a sequential
+ * parse would have produced it.
+ * <p>
+ * Only plain RFC 4180 formats can be split (single-character delimiter, {@code "} or no
+ * quoting, no escape character or comments); see {@link #supports}. Line breaks are found
+ * on {@code \n}, so files with bare {@code \r} line endings parse as a single chunk.
+ */
+public final class ChunkedCsvParser {
+
+    /** Turns the records of one chunk into a result; runs on a pool thread. */
+    @FunctionalInterface
+    public interface ChunkFunction<T> {
+        T apply(Iterable<CSVRecord> records) throws IOException;
+    }
+
+    /** Receives chunk results on the calling thread, in file order. */
+    @FunctionalInterface
+    public interface ChunkConsumer<T> {
+        void accept(T result, long chunkBytes) throws IOException;
+    }
+
+    // Lexer states
+    static final int FIELD_START = 0;
+    static final int UNQUOTED = 1;
+    static final int QUOTED = 2;
+    static final int QUOTE_IN_QUOTED = 3;
+    private static final int STATES = 4;
+
+    // Byte classes
+    private static final int OTHER = 0;
+    private static final int QUOTE = 1;
+    private static final int DELIMITER = 2;
+    private static final int LF = 3;
+    private static final int CR = 4;
+    private static final int SPACE = 5;
+
+    private static final int[][] TRANSITIONS = {
+            //             OTHER     QUOTE            DELIMITER    LF           CR           SPACE
+            /* FIELD_START */ {UNQUOTED, QUOTED,          FIELD_START, FIELD_START, FIELD_START, FIELD_START},
+            /* UNQUOTED    */ {UNQUOTED, UNQUOTED,        FIELD_START, FIELD_START, FIELD_START, UNQUOTED},
+            /* QUOTED      */ {QUOTED,   QUOTE_IN_QUOTED, QUOTED,      QUOTED,      QUOTED,      QUOTED},
+            /* QUOTE_IN_Q. */ {UNQUOTED, QUOTED,          FIELD_START, FIELD_START, FIELD_START, UNQUOTED},
+    };
+
+    private final FileChannel channel;
+    private final CSVFormat format;
+    private final CsvChunking chunking;
+    private final byte[] classes = new byte[256];
+    private long[] boundaries;
+
+    public ChunkedCsvParser(FileChannel channel, CSVFormat format, CsvChunking chunking) {
+        if (!supports(format)) {
+            throw new IllegalArgumentException("Format cannot be split into chunks: " + format);
+        }
+        this.channel = channel;
+        this.format = format;
+        this.chunking = chunking;
+
+        classes[format.getDelimiterString().charAt(0)] = DELIMITER;
+        if (format.getQuoteCharacter() != null) {
+            classes[format.getQuoteCharacter()] = QUOTE;
+        }
+        classes['\n'] = LF;
+        classes['\r'] = CR;
+        // Blanks before an opening quote are skipped only when the format ignores surrounding spaces
+        if (format.getIgnoreSurroundingSpaces()) {
+            classes[' '] = SPACE;
+            classes['\t'] = SPACE;
+        }
+    }
+
+    public static boolean supports(CSVFormat format) {
+        String delimiter = format.getDelimiterString();
+        Character quote = format.getQuoteCharacter();
+        return delimiter.length() == 1 && delimiter.charAt(0) < 128
+                && "\r\n \t\"".indexOf(delimiter.charAt(0)) < 0
+                && (quote == null || quote == '"')
+                && format.getEscapeCharacter() == null
+                && format.getCommentMarker() == null;
+    }
+
+    /** Up to {@code limit} records from the start of the file, read sequentially. */
+    public List<CSVRecord> head(int limit) throws IOException {
+        long[] ranges = boundaries();
+        List<CSVRecord> head = new ArrayList<>();
+        for (int i = 0; i < ranges.length - 1 && head.size() < limit; i++) {
+            try (CSVParser parser = parser(ranges[i], ranges[i + 1])) {
+                Iterator<CSVRecord> records = parser.iterator();
+                while (head.size() < limit && records.hasNext()) {
+                    head.add(records.next());
+                }
+            }
+        }
+        return head;
+    }
+
+    /**
+     * Parses every chunk with {@code function} on the pool, at most
+     * {@link CsvChunking#getWindow()} chunks ahead of {@code consumer}, which sees the results
+     * in file order. The current conversion's cancellation token is carried to the pool
+     * threads. If parsing fails or is cancelled, chunks still running stop at their next
+     * record and are waited for, so none outlives the call or the mapped file.
+     */
+    public <T> void parse(ChunkFunction<T> function, ChunkConsumer<T> consumer) throws IOException {
+        long[] ranges = boundaries();
+        CancellationToken token = Cancellation.current();
+        AtomicBoolean stopped = new AtomicBoolean();
+        Deque<ForkJoinTask<T>> inFlight = new ArrayDeque<>();
+        int next = 0;
+        try {
+            for (int consumed = 0; consumed < ranges.length - 1; consumed++) {
+                while (next < ranges.length - 1 && inFlight.size() < chunking.getWindow()) {
+                    long start = ranges[next];
+                    long end = ranges[next + 1];
+                    inFlight.add(chunking.getPool().submit(() -> parseChunk(start, end, function, token, stopped)));
+                    next++;
+                }
+                T result = await(inFlight.poll());
+                Cancellation.checkpoint();
+                consumer.accept(result, ranges[consumed + 1] - ranges[consumed]);
+            }
+        } finally {
+            stopped.set(true);
+            abandon(inFlight);
+        }
+    }
+
+    private <T> T parseChunk(long start, long end, ChunkFunction<T> function, CancellationToken token,
+                             AtomicBoolean stopped) throws IOException {
+        if (stopped.get()) return null;
+        if (token != null) token.throwIfCancelled();
+        try (Cancellation.Scope scope = token != null ? Cancellation.open(token) : null;
+             CSVParser parser = parser(start, end)) {
+            // Cancelling a running ForkJoinTask does not stop it, so the records run dry instead;
+            // the partial result is never consumed
+            return function.apply(() -> {
+                Iterator<CSVRecord> records = parser.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return !stopped.get() && records.hasNext();
+                    }
+
+                    @Override
+                    public CSVRecord next() {
+                        return records.next();
+                    }
+                };
+            });
+        }
+    }
+
+    /*
+     * Waits for every task to return. ForkJoinTask.cancel marks even a running task done without
+     * stopping it, so the tasks are not cancelled: they see their stop flag and return at once.
+     */
+    private static void abandon(Collection<? extends ForkJoinTask<?>> tasks) {
+        tasks.forEach(ForkJoinTask::quietlyJoin);
+    }
+
+    private static <T> T await(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing CSV chunks", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            // ForkJoinPool.submit(Callable) wraps checked exceptions in a plain RuntimeException,
+            // and get() may wrap that again in a copy made on the waiting thread
+            while (cause.getClass() == RuntimeException.class && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof UncheckedIOException unchecked) throw unchecked.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw new IOException(cause);
+        }
+    }
+
+    private CSVParser parser(long start, long end) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        return new CSVParser(new InputStreamReader(new BufferInputStream(buffer), StandardCharsets.UTF_8), format);
+    }
+
+    /**
+     * Offsets at which records start, plus the file size: range {@code i} is
+     * {@code [b[i], b[i + 1])}. A chunk without a line break outside quotes is merged into
+     * the one before it.
+     */
+    long[] boundaries() throws IOException {
+        if (boundaries != null) return boundaries;
+        long size = channel.size();
+        long chunkBytes = chunking.getChunkBytes();
+        int chunks = (int) Math.max(1, (size + chunkBytes - 1) / chunkBytes);
+
+        List<ForkJoinTask<ChunkScan>> scans = new ArrayList<>(chunks);
+        List<Long> starts = new ArrayList<>();
+        AtomicBoolean stopped = new AtomicBoolean();
+        try {
+            for (int i = 1; i < chunks; i++) {
+                long start = i * chunkBytes;
+                long end = Math.min(size, start + chunkBytes);
+                scans.add(chunking.getPool().submit(() -> stopped.get() ? null : scan(start, end)));
+            }
+
+            starts.add(0L);
+            // The first chunk starts at a field start; each scan maps its start state to the next one's
+            int state = chunks > 1 ? scan(0, Math.min(size, chunkBytes)).endState[FIELD_START] : FIELD_START;
+            for (ForkJoinTask<ChunkScan> task : scans) {
+                ChunkScan scan = await(task);
+                long boundary = scan.firstBoundary[state];
+                if (boundary > 0 && boundary < size) {
+                    starts.add(boundary);
+                }
+                state = scan.endState[state];
+            }
+            starts.add(size);
+        } finally {
+            stopped.set(true);
+            abandon(scans);
+        }
+
+        long[] result = new long[starts.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = starts.get(i);
+            if (i > 0 && result[i] - result[i - 1] > Integer.MAX_VALUE) {
+                throw new IOException("CSV record spans more than " + Integer.MAX_VALUE + " bytes");
+            }
+        }
+        boundaries = result;
+        return result;
+    }
+
+    /** Runs the lexer over {@code [start, end)} once for every state the chunk could start in. */
+    ChunkScan scan(long start, long end) throws IOException {
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        int[] states = {FIELD_START, UNQUOTED, QUOTED, QUOTE_IN_QUOTED};
+        long[] firstBoundary = new long[STATES];
+        Arrays.fill(firstBoundary, -1);
+
+        int length = buffer.limit();
+        int i = 0;
+        boolean converged = false;
+        // Runs in lockstep until every start state has reached the same state, which usually
+        // happens at the first line break; from there on one lexer stands for all of them
+        while (i < length && !converged) {
+            int type = classes[buffer.get(i) & 0xff];
+            converged = true;
+            for (int s = 0; s < STATES; s++) {
+                if (type == LF && states[s] != QUOTED && firstBoundary[s] < 0) {
+                    firstBoundary[s] = start + i + 1;
+                }
+                states[s] = TRANSITIONS[states[s]][type];
+                converged &= states[s] == states[0];
+            }
+            i++;
+        }
+
+        if (converged) {
+            int state = states[0];
+            for (; i < length; i++) {
+                int type = classes[buffer.get(i) & 0xff];
+                if (type == LF && state != QUOTED) {
+                    for (int s = 0; s < STATES; s++) {
+                        if (firstBoundary[s] < 0) firstBoundary[s] = start + i + 1;
+                    }
+                }
+                state = TRANSITIONS[state][type];
+            }
+            Arrays.fill(states, state);
+        }
+        return new ChunkScan(firstBoundary, states);
+    }
+
+    static final class ChunkScan {
+        final long[] firstBoundary;
+        final int[] endState;
+
+        ChunkScan(long[] firstBoundary, int[] endState) {
+            this.firstBoundary = firstBoundary;
+            this.endState = endState;
+        }
+    }
+
+    /** Reads a mapped range without copying it onto the heap first. */
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, n);
+            return n;
+        }
+    }
+}
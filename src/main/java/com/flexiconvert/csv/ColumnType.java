@@ -0,0 +1,57 @@
+package com.flexiconvert.csv;
+
+import org.apache.commons.csv.CSVRecord;
+
+/**
+ * The type a CSV column's values are expected to hold, inferred from a sample of its first
+ * rows (see {@link #infer}), which picks the decoder {@link JsonCells} tries first. Cells that
+ * do not fit their column's type keep their own, so a text column only means its sample was
+ * mostly text.
+ */
+public enum ColumnType {
+    INT,
+    LONG,
+    DOUBLE,
+    BOOLEAN,
+    STRING;
+
+    /** Rows sampled before a converter decides its column types. */
+    public static final int DEFAULT_SAMPLE_ROWS = 100;
+
+    /**
+     * Picks a type for each of the first {@code columns} columns from the non-blank values in
+     * {@code sample}: whichever of numbers, booleans or text is most common, with numbers
+     * widened to the widest of int, long and double seen (ties favour the typed reading, so a
+     * header row does not turn a numeric column into text). A column without values in the
+     * sample gets null and every cell in it is decoded on its own.
+     */
+    public static ColumnType[] infer(Iterable<CSVRecord> sample, int columns, CellDecoder decoder) {
+        int[][] counts = new int[columns][values().length];
+        for (CSVRecord record : sample) {
+            for (int i = 0; i < Math.min(columns, record.size()); i++) {
+                String value = record.get(i);
+                if (!CellDecoder.isBlank(value)) {
+                    counts[i][decoder.decode(value).ordinal()]++;
+                }
+            }
+        }
+
+        ColumnType[] types = new ColumnType[columns];
+        for (int i = 0; i < columns; i++) {
+            int[] count = counts[i];
+            int numbers = count[INT.ordinal()] + count[LONG.ordinal()] + count[DOUBLE.ordinal()];
+            int booleans = count[BOOLEAN.ordinal()];
+            int strings = count[STRING.ordinal()];
+            if (numbers + booleans + strings == 0) {
+                types[i] = null;
+            } else if (numbers >= booleans && numbers >= strings) {
+                types[i] = count[DOUBLE.ordinal()] > 0 ? DOUBLE : count[LONG.ordinal()] > 0 ? LONG : INT;
+            } else if (booleans >= strings) {
+                types[i] = BOOLEAN;
+            } else {
+                types[i] = STRING;
+            }
+        }
+        return types;
+    }
+}
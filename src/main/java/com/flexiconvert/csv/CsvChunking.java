@@ -0,0 +1,86 @@
+package com.flexiconvert.csv;
+
+import com.flexiconvert.memory.MemoryEstimates;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * When and how {@link ChunkedCsvParser} splits a CSV file: files of at least
+ * {@code minParallelBytes} are cut into chunks of about {@code chunkBytes} that parse on
+ * {@code pool}; smaller files, and inputs that are not files, are parsed sequentially.
+ * By default chunks parse on a pool of their own, one worker per core, rather than on the
+ * common pool every other parallel stream in the process shares.
+ */
+public final class CsvChunking {
+
+    public static final long DEFAULT_CHUNK_BYTES = 8 * MemoryEstimates.MIB;
+    public static final long DEFAULT_MIN_PARALLEL_BYTES = 64 * MemoryEstimates.MIB;
+
+    /** Chunks parsed or held ahead of the consumer, per pool worker. */
+    public static final int CHUNKS_PER_WORKER = 2;
+
+    private static final ForkJoinPool DEFAULT_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("flexiconvert-csv-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+    private static final CsvChunking DEFAULTS =
+            new CsvChunking(DEFAULT_CHUNK_BYTES, DEFAULT_MIN_PARALLEL_BYTES, DEFAULT_POOL);
+    private static final CsvChunking DISABLED =
+            new CsvChunking(DEFAULT_CHUNK_BYTES, Long.MAX_VALUE, DEFAULT_POOL);
+
+    private final long chunkBytes;
+    private final long minParallelBytes;
+    private final ForkJoinPool pool;
+
+    public CsvChunking(long chunkBytes, long minParallelBytes, ForkJoinPool pool) {
+        if (chunkBytes <= 0 || chunkBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("chunkBytes must be between 1 and " + Integer.MAX_VALUE);
+        }
+        this.chunkBytes = chunkBytes;
+        this.minParallelBytes = minParallelBytes;
+        this.pool = pool;
+    }
+
+    public static CsvChunking defaults() {
+        return DEFAULTS;
+    }
+
+    public static CsvChunking disabled() {
+        return DISABLED;
+    }
+
+    public long getChunkBytes() {
+        return chunkBytes;
+    }
+
+    public long getMinParallelBytes() {
+        return minParallelBytes;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /** Whether a file of {@code size} bytes is worth splitting; a single chunk never is. */
+    public boolean shouldSplit(long size) {
+        return size >= minParallelBytes && size > chunkBytes;
+    }
+
+    /** How many chunks may be in flight or awaiting the consumer at once. */
+    public int getWindow() {
+        return Math.max(2, pool.getParallelism() * CHUNKS_PER_WORKER);
+    }
+
+    /**
+     * Heap the chunk window holds for a file of {@code size} bytes, when each chunk's result
+     * takes {@code expansion} times the chunk's bytes; 0 when the file is parsed sequentially.
+     */
+    public long estimateHeapBytes(long size, long expansion) {
+        if (!shouldSplit(size)) return 0;
+        long chunks = Math.min(getWindow(), (size + chunkBytes - 1) / chunkBytes);
+        return MemoryEstimates.saturatedMultiply(MemoryEstimates.saturatedMultiply(chunks, chunkBytes), expansion);
+    }
+}
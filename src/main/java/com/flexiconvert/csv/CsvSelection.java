@@ -0,0 +1,86 @@
+package com.flexiconvert.csv;
+
+import com.flexiconvert.selection.Condition;
+import com.flexiconvert.selection.Selection;
+import org.apache.commons.csv.CSVRecord;
+
+import java.util.List;
+
+/**
+ * A {@link Selection} resolved against CSV column indexes, so each record is tested and
+ * projected by position without looking at any other field.
+ */
+public final class CsvSelection {
+
+    private static final CsvSelection ALL = new CsvSelection(null, new int[0], new Condition[0]);
+
+    private final int[] columns;
+    private final int[] conditionColumns;
+    private final Condition[] conditions;
+
+    private CsvSelection(int[] columns, int[] conditionColumns, Condition[] conditions) {
+        this.columns = columns;
+        this.conditionColumns = conditionColumns;
+        this.conditions = conditions;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a column is not a zero-based index
+     */
+    public static CsvSelection of(Selection selection) {
+        if (selection.isAll()) return ALL;
+
+        int[] columns = null;
+        if (selection.isProjected()) {
+            List<String> names = selection.getColumns();
+            columns = new int[names.size()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = index(names.get(i));
+            }
+        }
+        List<Condition> conditions = selection.getConditions();
+        int[] conditionColumns = new int[conditions.size()];
+        for (int i = 0; i < conditionColumns.length; i++) {
+            conditionColumns[i] = index(conditions.get(i).getColumn());
+        }
+        return new CsvSelection(columns, conditionColumns, conditions.toArray(new Condition[0]));
+    }
+
+    private static int index(String column) {
+        CellDecoder decoder = new CellDecoder();
+        if (decoder.decode(column) != ColumnType.INT || decoder.longValue() < 0) {
+            throw new IllegalArgumentException("CSV columns are selected by zero-based index, not '" + column + "'");
+        }
+        return (int) decoder.longValue();
+    }
+
+    public boolean isProjected() {
+        return columns != null;
+    }
+
+    /** The selected column indexes in output order; only when {@link #isProjected()}. */
+    public int[] getColumns() {
+        return columns;
+    }
+
+    /** One past the highest column the selection refers to, or 0 when it refers to none. */
+    public int width() {
+        int width = 0;
+        for (int column : conditionColumns) width = Math.max(width, column + 1);
+        if (columns != null) {
+            for (int column : columns) width = Math.max(width, column + 1);
+        }
+        return width;
+    }
+
+    /** Whether {@code record} passes every condition; cells past its end are empty. */
+    public boolean matches(CSVRecord record, CellDecoder decoder) {
+        for (int i = 0; i < conditions.length; i++) {
+            int column = conditionColumns[i];
+            if (!conditions[i].test(column < record.size() ? record.get(column) : "", decoder)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
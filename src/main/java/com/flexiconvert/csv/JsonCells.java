@@ -0,0 +1,73 @@
+package com.flexiconvert.csv;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Writes CSV cells as typed JSON values, each through the decoder its column's inferred type
+ * picks: integer columns only scan for an integer, boolean columns only compare against
+ * {@code true} and {@code false}, and text columns write a cell that cannot start a number or
+ * boolean as it is. Double columns run the full scan and widen integers to doubles. A cell its
+ * column's decoder rejects falls back to {@link CellDecoder#decode} and is written as whatever
+ * it holds, so a number is a number even in a text column.
+ */
+public final class JsonCells {
+
+    private JsonCells() {
+    }
+
+    /** Writes {@code cell} of a column typed {@code column} (null if unknown) to {@code generator}. */
+    public static void write(JsonGenerator generator, String cell, ColumnType column, CellDecoder decoder)
+            throws IOException {
+        if (CellDecoder.isBlank(cell)) {
+            generator.writeString("");
+            return;
+        }
+        if (column != null) {
+            switch (column) {
+                case INT, LONG -> {
+                    if (decoder.decodeInteger(cell)) {
+                        writeInteger(generator, decoder.longValue());
+                        return;
+                    }
+                }
+                case BOOLEAN -> {
+                    if (decoder.decodeBoolean(cell)) {
+                        generator.writeBoolean(decoder.booleanValue());
+                        return;
+                    }
+                }
+                case STRING -> {
+                    if (!CellDecoder.mayBeTyped(cell)) {
+                        generator.writeString(cell);
+                        return;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        // No column type, or the cell does not fit it
+        ColumnType type = decoder.decode(cell);
+        if (column == ColumnType.DOUBLE && (type == ColumnType.INT || type == ColumnType.LONG)) {
+            generator.writeNumber((double) decoder.longValue());
+            return;
+        }
+        switch (type) {
+            case INT, LONG -> writeInteger(generator, decoder.longValue());
+            case DOUBLE -> generator.writeNumber(Double.parseDouble(cell));
+            case BOOLEAN -> generator.writeBoolean(decoder.booleanValue());
+            default -> generator.writeString(cell);
+        }
+    }
+
+    private static void writeInteger(JsonGenerator generator, long value) throws IOException {
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            generator.writeNumber((int) value);
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+}
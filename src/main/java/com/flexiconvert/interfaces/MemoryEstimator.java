@@ -0,0 +1,21 @@
+package com.flexiconvert.interfaces;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Pre-flight estimate of the peak heap a converter needs for one input, used to admit
+ * conversions against the shared memory budget. Estimates must be cheap: the input size and
+ * at most a format header (a ZIP central directory, image dimensions), never a full parse.
+ * Err on the high side; an underestimate lets a conversion that cannot fit start anyway.
+ */
+public interface MemoryEstimator {
+
+    /** Peak heap bytes for an input of {@code inputBytes}, when only its size is known. */
+    long estimateHeapBytes(long inputBytes);
+
+    /** Refines the estimate from the file's header; by default from its size alone. */
+    default long estimateHeapBytes(File inputFile) throws IOException {
+        return estimateHeapBytes(inputFile.length());
+    }
+}
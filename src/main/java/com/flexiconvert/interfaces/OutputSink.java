@@ -0,0 +1,17 @@
+package com.flexiconvert.interfaces;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Destination for the files a streaming converter produces. Names are relative
+ * and may contain '/' to describe nested entries (e.g. extracted archives).
+ */
+public interface OutputSink {
+
+    OutputStream open(String name) throws IOException;
+
+    default void createDirectory(String name) throws IOException {
+        // Sinks without a directory notion only materialize entries that carry data
+    }
+}
@@ -0,0 +1,39 @@
+package com.flexiconvert.interfaces;
+
+import com.flexiconvert.io.DirectoryOutputSink;
+import com.flexiconvert.progress.Progress;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Converter that reads its input from a stream and writes its outputs to an
+ * {@link OutputSink}, so callers never have to stage the input on disk.
+ * The file-based {@link FormatConverter} contract is derived from it: outputs
+ * are written next to the input file, exactly as before.
+ */
+public interface StreamingFormatConverter extends FormatConverter {
+
+    void convert(InputStream input, String inputName, OutputSink sink) throws IOException;
+
+    /**
+     * Reads from a channel; files arrive as a {@link FileChannel}, which converters that
+     * benefit from random access (e.g. to map the file and split it) can use directly.
+     */
+    default void convert(ReadableByteChannel input, String inputName, OutputSink sink) throws IOException {
+        convert(new BufferedInputStream(Progress.track(Channels.newInputStream(input))), inputName, sink);
+    }
+
+    @Override
+    default void convert(File inputFile) throws IOException {
+        try (FileChannel in = FileChannel.open(inputFile.toPath(), StandardOpenOption.READ)) {
+            convert(in, inputFile.getName(), new DirectoryOutputSink(inputFile.getAbsoluteFile().getParentFile()));
+        }
+    }
+}
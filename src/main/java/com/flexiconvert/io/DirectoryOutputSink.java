@@ -0,0 +1,52 @@
+package com.flexiconvert.io;
+
+import com.flexiconvert.interfaces.OutputSink;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+public class DirectoryOutputSink implements OutputSink {
+
+    private final File directory;
+
+    public DirectoryOutputSink(File directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public OutputStream open(String name) throws IOException {
+        File target = resolve(name);
+        File parent = target.getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Failed to create directory: " + parent);
+        }
+        return new BufferedOutputStream(Files.newOutputStream(target.toPath()));
+    }
+
+    @Override
+    public void createDirectory(String name) throws IOException {
+        File target = resolve(name);
+        if (!target.exists() && !target.mkdirs()) {
+            throw new IOException("Failed to create directory: " + target);
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    private File resolve(String name) throws IOException {
+        File target = new File(directory, name);
+
+        // Same guard the archive converters use against entries escaping the output folder
+        String canonicalTarget = target.getCanonicalPath();
+        String canonicalDirectory = directory.getCanonicalPath();
+        if (!canonicalTarget.startsWith(canonicalDirectory + File.separator)) {
+            throw new IOException("Entry is outside of the target directory: " + name);
+        }
+        return target;
+    }
+}
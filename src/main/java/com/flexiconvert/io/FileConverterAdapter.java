@@ -0,0 +1,119 @@
+package com.flexiconvert.io;
+
+import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.interfaces.OutputSink;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
+import com.flexiconvert.metrics.ConversionPhase;
+import com.flexiconvert.metrics.ConversionPhases;
+import com.flexiconvert.progress.Progress;
+import com.flexiconvert.workspace.Workspace;
+import com.flexiconvert.workspace.WorkspaceManager;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Lets a file-based {@link FormatConverter} take part in the streaming contract.
+ * The input is spooled into a scratch directory leased from a {@link WorkspaceManager},
+ * so it counts against the disk quota and is swept if the process dies, the wrapped
+ * converter runs there, and everything it writes next to the input is published to the sink.
+ */
+public class FileConverterAdapter implements StreamingFormatConverter {
+
+    private final FormatConverter delegate;
+    private final WorkspaceManager workspaces;
+
+    public FileConverterAdapter(FormatConverter delegate, WorkspaceManager workspaces) {
+        this.delegate = delegate;
+        this.workspaces = workspaces;
+    }
+
+    public static StreamingFormatConverter adapt(FormatConverter converter, WorkspaceManager workspaces) {
+        if (converter instanceof StreamingFormatConverter streaming) {
+            return streaming;
+        }
+        return new FileConverterAdapter(converter, workspaces);
+    }
+
+    public FormatConverter getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void convert(File inputFile) throws IOException {
+        delegate.convert(inputFile);
+    }
+
+    @Override
+    public void convert(InputStream input, String inputName, OutputSink sink) throws IOException {
+        convert(input, -1, inputName, sink);
+    }
+
+    @Override
+    public void convert(ReadableByteChannel input, String inputName, OutputSink sink) throws IOException {
+        long inputBytes = input instanceof FileChannel file ? file.size() : -1;
+        convert(new BufferedInputStream(Progress.track(Channels.newInputStream(input))), inputBytes, inputName, sink);
+    }
+
+    /**
+     * Like {@link #convert(InputStream, String, OutputSink)} for an input of {@code inputBytes},
+     * which sizes the workspace lease; when it is unknown (-1) the lease is settled to the
+     * spooled size instead.
+     */
+    public void convert(InputStream input, long inputBytes, String inputName, OutputSink sink) throws IOException {
+        try (Workspace workspace = workspaces.lease(WorkspaceManager.estimateBytes(Math.max(inputBytes, 0)))) {
+            File spooled = spool(input, inputName, workspace);
+            if (inputBytes < 0) workspace.settle();
+            convertSpooled(spooled, sink);
+        }
+    }
+
+    /** Copies {@code input} into {@code workspace} under the last segment of {@code inputName}. */
+    public static File spool(InputStream input, String inputName, Workspace workspace) throws IOException {
+        Path spooled = workspace.getDirectory().toPath().resolve(new File(inputName).getName());
+        ConversionPhases.time(ConversionPhase.STAGE, () -> Files.copy(input, spooled));
+        return spooled.toFile();
+    }
+
+    /**
+     * Converts {@code spooled}, alone in a scratch directory the caller owns, and publishes
+     * everything else the wrapped converter writes there to {@code sink}.
+     */
+    public void convertSpooled(File spooled, OutputSink sink) throws IOException {
+        delegate.convert(spooled);
+
+        Path scratch = spooled.toPath().getParent();
+        ConversionPhases.time(ConversionPhase.DISCOVER, () -> publish(scratch, spooled.toPath(), sink));
+    }
+
+    private void publish(Path scratch, Path spooled, OutputSink sink) throws IOException {
+        List<Path> produced;
+        try (Stream<Path> walk = Files.walk(scratch)) {
+            produced = walk.filter(p -> !p.equals(scratch) && !p.equals(spooled))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        for (Path path : produced) {
+            String name = scratch.relativize(path).toString().replace(File.separatorChar, '/');
+            if (Files.isDirectory(path)) {
+                sink.createDirectory(name);
+            } else {
+                try (OutputStream out = sink.open(name)) {
+                    Files.copy(path, out);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.flexiconvert.io;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Recursive helpers for the scratch, cache and output directories the service manages.
+ */
+public final class FileTrees {
+
+    private FileTrees() {
+    }
+
+    /** Copies a file, or a directory and everything below it, to {@code target}. */
+    public static void copy(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            Files.createDirectories(target.getParent());
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(source)) {
+            for (Path path : walk.collect(Collectors.toList())) {
+                Path destination = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(destination);
+                } else {
+                    Files.copy(path, destination, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    /** Deletes a file or directory tree; missing paths are ignored. */
+    public static void delete(Path root) throws IOException {
+        if (!Files.exists(root)) return;
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(root)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /** Total size of the regular files at or below {@code root}. */
+    public static long size(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return Files.exists(root) ? Files.size(root) : 0;
+        }
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.flexiconvert.io;
+
+import com.flexiconvert.interfaces.OutputSink;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps every produced entry in memory, in the order the converter opened them.
+ */
+public class MemoryOutputSink implements OutputSink {
+
+    private final Map<String, ByteArrayOutputStream> entries = new LinkedHashMap<>();
+
+    @Override
+    public synchronized OutputStream open(String name) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        entries.put(name, buffer);
+        return buffer;
+    }
+
+    public synchronized Map<String, byte[]> getEntries() {
+        Map<String, byte[]> copy = new LinkedHashMap<>();
+        entries.forEach((name, buffer) -> copy.put(name, buffer.toByteArray()));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    public synchronized byte[] get(String name) {
+        ByteArrayOutputStream buffer = entries.get(name);
+        return buffer != null ? buffer.toByteArray() : null;
+    }
+}
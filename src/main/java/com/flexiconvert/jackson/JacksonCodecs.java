@@ -0,0 +1,90 @@
+package com.flexiconvert.jackson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-built Jackson readers and writers for the JSON and XML converters. Mappers are costly
+ * to create and keep their serializer and deserializer caches per instance, so building one
+ * per conversion dominated small-file conversions. {@link ObjectReader} and
+ * {@link ObjectWriter} are immutable and thread-safe, so one set is shared by every converter.
+ */
+public final class JacksonCodecs {
+
+    private static final TypeReference<List<Map<String, Object>>> RECORDS = new TypeReference<>() {};
+
+    private static final JacksonCodecs SHARED = new JacksonCodecs();
+
+    private final ObjectReader jsonTreeReader;
+    private final ObjectReader jsonRecordsReader;
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter prettyJsonWriter;
+    private final ObjectReader xmlTreeReader;
+    private final ObjectWriter xmlWriter;
+    private final ObjectWriter prettyXmlWriter;
+    private final JsonNodeFactory nodeFactory;
+
+    public JacksonCodecs() {
+        this(new ObjectMapper(), new XmlMapper());
+    }
+
+    public JacksonCodecs(ObjectMapper jsonMapper, XmlMapper xmlMapper) {
+        jsonTreeReader = jsonMapper.readerFor(JsonNode.class);
+        jsonRecordsReader = jsonMapper.readerFor(RECORDS);
+        jsonWriter = jsonMapper.writer();
+        prettyJsonWriter = jsonMapper.writerWithDefaultPrettyPrinter();
+        xmlTreeReader = xmlMapper.readerFor(JsonNode.class);
+        xmlWriter = xmlMapper.writer();
+        prettyXmlWriter = xmlMapper.writerWithDefaultPrettyPrinter();
+        nodeFactory = jsonMapper.getNodeFactory();
+    }
+
+    /** The instance converters use unless they are given their own. */
+    public static JacksonCodecs shared() {
+        return SHARED;
+    }
+
+    /** Reads any JSON document as a tree. */
+    public ObjectReader jsonTreeReader() {
+        return jsonTreeReader;
+    }
+
+    /** Reads a JSON array of objects as {@code List<Map<String, Object>>}. */
+    public ObjectReader jsonRecordsReader() {
+        return jsonRecordsReader;
+    }
+
+    public ObjectWriter jsonWriter() {
+        return jsonWriter;
+    }
+
+    public ObjectWriter prettyJsonWriter() {
+        return prettyJsonWriter;
+    }
+
+    /** Reads any XML document as a tree, the way {@code XmlMapper.readTree} does. */
+    public ObjectReader xmlTreeReader() {
+        return xmlTreeReader;
+    }
+
+    public ObjectWriter xmlWriter() {
+        return xmlWriter;
+    }
+
+    public ObjectWriter prettyXmlWriter() {
+        return prettyXmlWriter;
+    }
+
+    public ObjectNode objectNode() {
+        return nodeFactory.objectNode();
+    }
+}
@@ -0,0 +1,150 @@
+package com.flexiconvert.memory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits conversions against a global heap budget using their pre-flight estimates.
+ * A conversion whose estimate does not fit next to those already running waits until
+ * enough is released; one that could never fit is rejected up front instead of taking
+ * every concurrent conversion down with an {@link OutOfMemoryError}.
+ */
+public class MemoryBudget {
+
+    /** Share of the maximum heap given to conversions when no budget is configured. */
+    static final double DEFAULT_HEAP_FRACTION = 0.7;
+
+    private final long budgetBytes;
+    private final Duration admissionTimeout;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private long reservedBytes;
+    private int waiting;
+
+    public MemoryBudget(long budgetBytes, Duration admissionTimeout) {
+        if (budgetBytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive: " + budgetBytes);
+        }
+        this.budgetBytes = budgetBytes;
+        this.admissionTimeout = admissionTimeout;
+    }
+
+    /** A budget of {@code budgetBytes}, or a share of the maximum heap when it is zero or less. */
+    public static MemoryBudget create(long budgetBytes, Duration admissionTimeout) {
+        long budget = budgetBytes > 0
+                ? budgetBytes
+                : (long) (Runtime.getRuntime().maxMemory() * DEFAULT_HEAP_FRACTION);
+        return new MemoryBudget(budget, admissionTimeout);
+    }
+
+    /** Reserves {@code bytes}, waiting up to the admission timeout. */
+    public Reservation reserve(long bytes) throws IOException {
+        return reserve(bytes, admissionTimeout.toNanos());
+    }
+
+    /**
+     * Reserves {@code bytes}, waiting up to {@code timeoutNanos} for running conversions to
+     * release enough of the budget.
+     *
+     * @throws MemoryBudgetExceededException if the estimate exceeds the whole budget, or the
+     *                                       timeout passes first
+     */
+    public Reservation reserve(long bytes, long timeoutNanos) throws IOException {
+        long requested = Math.max(bytes, 0);
+        if (requested > budgetBytes) {
+            throw new MemoryBudgetExceededException("Conversion needs an estimated " + toMiB(requested)
+                    + " MiB of heap, more than the whole " + toMiB(budgetBytes) + " MiB budget", requested, false);
+        }
+
+        long deadline = System.nanoTime() + timeoutNanos;
+        lock.lock();
+        try {
+            waiting++;
+            try {
+                while (reservedBytes + requested > budgetBytes) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new MemoryBudgetExceededException("Timed out after "
+                                + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms waiting for " + toMiB(requested)
+                                + " MiB of heap; " + toMiB(reservedBytes) + " of " + toMiB(budgetBytes)
+                                + " MiB in use", requested, true);
+                    }
+                    released.awaitNanos(remaining);
+                }
+            } finally {
+                waiting--;
+            }
+            reservedBytes += requested;
+            return new Reservation(requested);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for memory budget", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long bytes) {
+        lock.lock();
+        try {
+            reservedBytes -= bytes;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public long getReservedBytes() {
+        lock.lock();
+        try {
+            return reservedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Conversions currently queued for admission. */
+    public int getWaitingCount() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long toMiB(long bytes) {
+        return (bytes + MemoryEstimates.MIB - 1) / MemoryEstimates.MIB;
+    }
+
+    /** Admission of one conversion; closing it returns the reserved bytes. */
+    public final class Reservation implements AutoCloseable {
+
+        private final long bytes;
+        private boolean closed;
+
+        private Reservation(long bytes) {
+            this.bytes = bytes;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                release(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.flexiconvert.memory;
+
+import java.io.IOException;
+
+/**
+ * A conversion was not admitted because its memory estimate does not fit the budget, either
+ * ever ({@link #isRetryable()} false) or before the admission timeout.
+ */
+public class MemoryBudgetExceededException extends IOException {
+
+    private final long requestedBytes;
+    private final boolean retryable;
+
+    public MemoryBudgetExceededException(String message, long requestedBytes, boolean retryable) {
+        super(message);
+        this.requestedBytes = requestedBytes;
+        this.retryable = retryable;
+    }
+
+    public long getRequestedBytes() {
+        return requestedBytes;
+    }
+
+    /** True if the job only timed out waiting for others to finish and may fit later. */
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -0,0 +1,129 @@
+package com.flexiconvert.memory;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/** Cheap header probes and rules of thumb shared by the converters' {@code MemoryEstimator}s. */
+public final class MemoryEstimates {
+
+    public static final long MIB = 1024 * 1024;
+
+    /** Fixed overhead of any conversion: libraries' working buffers, small documents. */
+    public static final long BASELINE_BYTES = 8 * MIB;
+
+    /** Heap of a decoded ARGB raster, plus a second copy for the encoder's working set. */
+    public static final int BYTES_PER_PIXEL = 8;
+
+    /** Decoded size of a compressed image relative to its file, when its header is unreadable. */
+    public static final int IMAGE_SIZE_FACTOR = 40;
+
+    /** XMLBeans DOM size relative to the uncompressed XML it was parsed from. */
+    public static final int OOXML_DOM_FACTOR = 10;
+
+    /** The same, relative to the compressed file when only its size is known. */
+    public static final int OOXML_SIZE_FACTOR = 60;
+
+    /** 300 DPI rendering of a US Letter page, the largest common page size. */
+    public static final long RENDERED_PAGE_PIXELS = 2550L * 3300L;
+
+    private MemoryEstimates() {
+    }
+
+    /** {@code inputBytes * factor} plus the baseline, saturating instead of overflowing. */
+    public static long scaled(long inputBytes, long factor) {
+        return saturatedAdd(saturatedMultiply(Math.max(inputBytes, 0), factor), BASELINE_BYTES);
+    }
+
+    /** Heap to decode and re-encode an image of {@code inputBytes} whose dimensions are unknown. */
+    public static long imageBytes(long inputBytes) {
+        return scaled(inputBytes, IMAGE_SIZE_FACTOR);
+    }
+
+    /**
+     * Heap to decode and re-encode the image in {@code file}: its raster at
+     * {@link #BYTES_PER_PIXEL} per pixel from the header's dimensions, or
+     * {@link #imageBytes(long)} when the header cannot be read.
+     */
+    public static long imageBytes(File file) {
+        long pixels = imagePixels(file);
+        return pixels > 0
+                ? saturatedAdd(saturatedMultiply(pixels, BYTES_PER_PIXEL), BASELINE_BYTES)
+                : imageBytes(file.length());
+    }
+
+    /**
+     * Heap to load an OOXML document whose parts live under {@code root} ("word/", "xl/",
+     * "ppt/"): the XML DOM costs about {@link #OOXML_DOM_FACTOR} times the uncompressed XML,
+     * and embedded media is held as bytes. -1 if the file is not a readable ZIP.
+     */
+    public static long officeDocumentBytes(File file, String root) {
+        long xml = zipEntryBytes(file, name -> name.startsWith(root) && name.endsWith(".xml"));
+        if (xml < 0) return -1;
+        long media = zipEntryBytes(file, name -> name.startsWith(root + "media/"));
+        return saturatedAdd(scaled(xml, OOXML_DOM_FACTOR), media);
+    }
+
+    /** {@code a * b} for non-negative operands, capped at {@link Long#MAX_VALUE}. */
+    public static long saturatedMultiply(long a, long b) {
+        return b != 0 && a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+    }
+
+    public static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    /**
+     * Total uncompressed size of the ZIP entries (e.g. OOXML parts) whose names match, read
+     * from the central directory only; -1 if the file is not a readable ZIP.
+     */
+    public static long zipEntryBytes(File file, Predicate<String> names) {
+        try (ZipFile zip = new ZipFile(file)) {
+            long total = 0;
+            for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements(); ) {
+                ZipEntry entry = entries.nextElement();
+                if (names.test(entry.getName()) && entry.getSize() > 0) {
+                    total = saturatedAdd(total, entry.getSize());
+                }
+            }
+            return total;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /** Number of ZIP entries whose names match, or -1 if the file is not a readable ZIP. */
+    public static int zipEntryCount(File file, Predicate<String> names) {
+        try (ZipFile zip = new ZipFile(file)) {
+            return (int) zip.stream().filter(entry -> names.test(entry.getName())).count();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /** Pixel count of the first image in {@code file}, from its header; -1 if unknown. */
+    public static long imagePixels(File file) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file)) {
+            if (in == null) return -1;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return -1;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return (long) reader.getWidth(0) * reader.getHeight(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+}
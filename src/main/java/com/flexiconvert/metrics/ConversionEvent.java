@@ -0,0 +1,33 @@
+package com.flexiconvert.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(ConversionEvent.NAME)
+@Label("Conversion")
+@Category({"FlexiConvert", "Conversion"})
+@Description("A single run of a converter; its phases are recorded as Conversion Phase events on the same thread")
+@StackTrace(false)
+final class ConversionEvent extends Event {
+
+    static final String NAME = "com.flexiconvert.Conversion";
+
+    @Label("Conversion Type")
+    String conversionType;
+
+    @Label("Input Size")
+    @DataAmount
+    long inputBytes;
+
+    @Label("Output Size")
+    @DataAmount
+    long outputBytes;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
@@ -0,0 +1,15 @@
+package com.flexiconvert.metrics;
+
+/** The stages a conversion's wall time is split into in flight recordings. */
+public enum ConversionPhase {
+    /** Copying or linking the input into the workspace, or spooling a stream to disk. */
+    STAGE,
+    /** Reading the input into the converter's model, e.g. loading a workbook or PDF. */
+    PARSE,
+    /** Laying out or drawing pages, slides and rows. */
+    RENDER,
+    /** Writing the output format: image encoding, PDF save. */
+    ENCODE,
+    /** Finding and measuring what the converter wrote. */
+    DISCOVER
+}
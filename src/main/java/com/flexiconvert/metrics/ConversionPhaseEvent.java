@@ -0,0 +1,29 @@
+package com.flexiconvert.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(ConversionPhaseEvent.NAME)
+@Label("Conversion Phase")
+@Category({"FlexiConvert", "Conversion"})
+@Description("One phase of a conversion: staging, parsing, rendering, encoding or output discovery")
+@StackTrace(false)
+final class ConversionPhaseEvent extends Event {
+
+    static final String NAME = "com.flexiconvert.ConversionPhase";
+
+    @Label("Conversion Type")
+    String conversionType;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Input Size")
+    @DataAmount
+    long inputBytes;
+}
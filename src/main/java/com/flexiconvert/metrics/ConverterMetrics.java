@@ -0,0 +1,125 @@
+package com.flexiconvert.metrics;
+
+import com.flexiconvert.ConversionType;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for one {@link ConversionType}: latency of successful runs, failures,
+ * bytes moved and the pages, rows and archive entries the converter reported processing.
+ */
+public class ConverterMetrics {
+
+    private final ConversionType type;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder outputs = new LongAdder();
+    private final LongAdder pages = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder entries = new LongAdder();
+
+    ConverterMetrics(ConversionType type) {
+        this.type = type;
+    }
+
+    public ConversionType getType() {
+        return type;
+    }
+
+    public void recordSuccess(long nanos, long bytesIn, long bytesOut, long outputs, ProcessedUnits units) {
+        latency.record(nanos);
+        this.bytesIn.add(bytesIn);
+        this.bytesOut.add(bytesOut);
+        this.outputs.add(outputs);
+        recordUnits(units);
+    }
+
+    public void recordFailure(ProcessedUnits units) {
+        failures.increment();
+        recordUnits(units);
+    }
+
+    private void recordUnits(ProcessedUnits units) {
+        pages.add(units.getPages());
+        rows.add(units.getRows());
+        entries.add(units.getEntries());
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(type, latency.snapshot(), failures.sum(), bytesIn.sum(), bytesOut.sum(), outputs.sum(),
+                pages.sum(), rows.sum(), entries.sum());
+    }
+
+    public static final class Snapshot {
+
+        private final ConversionType type;
+        private final LatencyHistogram.Snapshot latency;
+        private final long failures;
+        private final long bytesIn;
+        private final long bytesOut;
+        private final long outputs;
+        private final long pages;
+        private final long rows;
+        private final long entries;
+
+        Snapshot(ConversionType type, LatencyHistogram.Snapshot latency, long failures, long bytesIn, long bytesOut,
+                 long outputs, long pages, long rows, long entries) {
+            this.type = type;
+            this.latency = latency;
+            this.failures = failures;
+            this.bytesIn = bytesIn;
+            this.bytesOut = bytesOut;
+            this.outputs = outputs;
+            this.pages = pages;
+            this.rows = rows;
+            this.entries = entries;
+        }
+
+        public ConversionType getType() {
+            return type;
+        }
+
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency;
+        }
+
+        public long getSuccesses() {
+            return latency.getCount();
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getBytesIn() {
+            return bytesIn;
+        }
+
+        public long getBytesOut() {
+            return bytesOut;
+        }
+
+        /** Top-level files and directories written. */
+        public long getOutputs() {
+            return outputs;
+        }
+
+        public long getPages() {
+            return pages;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getEntries() {
+            return entries;
+        }
+
+        public boolean isIdle() {
+            return getSuccesses() == 0 && failures == 0;
+        }
+    }
+}
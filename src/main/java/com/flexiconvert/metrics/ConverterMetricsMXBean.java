@@ -0,0 +1,31 @@
+package com.flexiconvert.metrics;
+
+/** JMX view of one conversion type's {@link ConverterMetrics}; latencies are in milliseconds. */
+public interface ConverterMetricsMXBean {
+
+    long getSuccesses();
+
+    long getFailures();
+
+    long getBytesIn();
+
+    long getBytesOut();
+
+    long getOutputs();
+
+    long getPages();
+
+    long getRows();
+
+    long getEntries();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP95Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+}
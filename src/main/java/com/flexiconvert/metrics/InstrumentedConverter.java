@@ -0,0 +1,235 @@
+package com.flexiconvert.metrics;
+
+import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.interfaces.OutputSink;
+import com.flexiconvert.interfaces.StreamingFormatConverter;
+import com.flexiconvert.io.FileTrees;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorator that records every run of a converter into its {@link ConverterMetrics}.
+ * Streaming converters are measured at the stream and sink; file-based converters by the
+ * input's length and what appeared next to it, which is cheap because inputs are always
+ * staged into a directory of their own. Each run is also a {@code com.flexiconvert.Conversion}
+ * flight recorder event.
+ */
+public class InstrumentedConverter implements FormatConverter {
+
+    private final FormatConverter delegate;
+    private final ConverterMetrics metrics;
+
+    InstrumentedConverter(FormatConverter delegate, ConverterMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    /** Wraps {@code converter}, keeping it streaming if it was. */
+    public static FormatConverter instrument(FormatConverter converter, ConverterMetrics metrics) {
+        if (converter instanceof StreamingFormatConverter streaming) {
+            return new Streaming(streaming, metrics);
+        }
+        return new InstrumentedConverter(converter, metrics);
+    }
+
+    /** The converter itself, e.g. to read its annotations. */
+    public static FormatConverter unwrap(FormatConverter converter) {
+        return converter instanceof InstrumentedConverter instrumented ? instrumented.delegate : converter;
+    }
+
+    public FormatConverter getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void convert(File inputFile) throws IOException {
+        File directory = inputFile.getAbsoluteFile().getParentFile();
+        Set<String> before = list(directory);
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try (ProcessedUnits.Scope scope = ProcessedUnits.open();
+             ConversionPhases.Scope phases = enterPhases(inputFile.length())) {
+            try {
+                delegate.convert(inputFile);
+            } catch (IOException | RuntimeException | Error e) {
+                metrics.recordFailure(scope.getUnits());
+                commit(event, inputFile.length(), 0, false);
+                throw e;
+            }
+            long nanos = System.nanoTime() - start;
+
+            long bytesOut = 0;
+            int outputs = 0;
+            for (String name : list(directory)) {
+                if (before.contains(name)) continue;
+                bytesOut += FileTrees.size(new File(directory, name).toPath());
+                outputs++;
+            }
+            metrics.recordSuccess(nanos, inputFile.length(), bytesOut, outputs, scope.getUnits());
+            commit(event, inputFile.length(), bytesOut, true);
+        }
+    }
+
+    /** Tags phase events with this converter's type, unless the caller already did. */
+    ConversionPhases.Scope enterPhases(long inputBytes) {
+        return ConversionPhases.currentType() == metrics.getType()
+                ? null
+                : ConversionPhases.enter(metrics.getType(), inputBytes);
+    }
+
+    void commit(ConversionEvent event, long bytesIn, long bytesOut, boolean succeeded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.conversionType = metrics.getType().name();
+            event.inputBytes = bytesIn;
+            event.outputBytes = bytesOut;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+
+    private static Set<String> list(File directory) {
+        String[] names = directory.list();
+        return names == null ? Set.of() : Set.of(names);
+    }
+
+    private static final class Streaming extends InstrumentedConverter implements StreamingFormatConverter {
+
+        private final StreamingFormatConverter delegate;
+        private final ConverterMetrics metrics;
+
+        Streaming(StreamingFormatConverter delegate, ConverterMetrics metrics) {
+            super(delegate, metrics);
+            this.delegate = delegate;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void convert(File inputFile) throws IOException {
+            // Measured once, through the stream
+            StreamingFormatConverter.super.convert(inputFile);
+        }
+
+        @Override
+        public void convert(InputStream input, String inputName, OutputSink sink) throws IOException {
+            CountingInputStream in = new CountingInputStream(input);
+            measure(() -> in.count, out -> delegate.convert(in, inputName, out), sink);
+        }
+
+        @Override
+        public void convert(ReadableByteChannel input, String inputName, OutputSink sink) throws IOException {
+            if (!(input instanceof FileChannel file)) {
+                StreamingFormatConverter.super.convert(input, inputName, sink);
+                return;
+            }
+            // The delegate may map the file instead of reading it, so the input counts by its size
+            long size = file.size() - file.position();
+            measure(() -> size, out -> delegate.convert(file, inputName, out), sink);
+        }
+
+        private void measure(LongSupplier bytesIn, Run run, OutputSink sink) throws IOException {
+            CountingSink out = new CountingSink(sink);
+            ConversionEvent event = new ConversionEvent();
+            event.begin();
+            long start = System.nanoTime();
+            try (ProcessedUnits.Scope scope = ProcessedUnits.open();
+                 ConversionPhases.Scope phases = enterPhases(-1)) {
+                try {
+                    run.convert(out);
+                } catch (IOException | RuntimeException | Error e) {
+                    metrics.recordFailure(scope.getUnits());
+                    commit(event, bytesIn.getAsLong(), out.bytes, false);
+                    throw e;
+                }
+                metrics.recordSuccess(System.nanoTime() - start, bytesIn.getAsLong(), out.bytes, out.topLevel.size(),
+                        scope.getUnits());
+                commit(event, bytesIn.getAsLong(), out.bytes, true);
+            }
+        }
+
+        private interface Run {
+            void convert(OutputSink out) throws IOException;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    private static final class CountingSink implements OutputSink {
+
+        private final OutputSink sink;
+        private final Set<String> topLevel = new HashSet<>();
+        private long bytes;
+
+        CountingSink(OutputSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public OutputStream open(String name) throws IOException {
+            topLevel.add(topLevelName(name));
+            return new FilterOutputStream(sink.open(name)) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    bytes++;
+                }
+
+                @Override
+                public void write(byte[] buffer, int offset, int length) throws IOException {
+                    out.write(buffer, offset, length);
+                    bytes += length;
+                }
+            };
+        }
+
+        @Override
+        public void createDirectory(String name) throws IOException {
+            topLevel.add(topLevelName(name));
+            sink.createDirectory(name);
+        }
+
+        private static String topLevelName(String name) {
+            int slash = name.indexOf('/');
+            return slash == -1 ? name : name.substring(0, slash);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.flexiconvert.metrics;
+
+import com.flexiconvert.ConversionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers one {@link ConverterMetricsMXBean} per conversion type under
+ * {@code com.flexiconvert:type=ConverterMetrics,conversion=<TYPE>}. Beans read the live
+ * metrics on every call, so JConsole and JMX exporters always see current values.
+ */
+public class JmxMetricsReporter implements MetricsReporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JmxMetricsReporter.class);
+
+    static final String DOMAIN = "com.flexiconvert";
+
+    private final MBeanServer server;
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    public JmxMetricsReporter() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public JmxMetricsReporter(MBeanServer server) {
+        this.server = server;
+    }
+
+    public static ObjectName objectName(ConversionType type) {
+        try {
+            return new ObjectName(DOMAIN + ":type=ConverterMetrics,conversion=" + type.name());
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public synchronized void start(MetricsRegistry registry) {
+        for (ConversionType type : registry.snapshot().keySet()) {
+            register(registry.forType(type));
+        }
+    }
+
+    @Override
+    public synchronized void typeAdded(ConverterMetrics metrics) {
+        register(metrics);
+    }
+
+    private void register(ConverterMetrics metrics) {
+        ObjectName name = objectName(metrics.getType());
+        View view = new View(metrics);
+        try {
+            try {
+                server.registerMBean(view, name);
+            } catch (InstanceAlreadyExistsException e) {
+                // Another context in this JVM registered first; the newest one wins
+                server.unregisterMBean(name);
+                server.registerMBean(view, name);
+            }
+            registered.add(name);
+        } catch (JMException e) {
+            LOGGER.warn("Could not register {} with JMX", name, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (InstanceNotFoundException e) {
+                // Replaced and released by another registry
+            } catch (JMException e) {
+                LOGGER.debug("Could not unregister {}", name, e);
+            }
+        }
+        registered.clear();
+    }
+
+    private static final class View implements ConverterMetricsMXBean {
+
+        private final ConverterMetrics metrics;
+
+        View(ConverterMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public long getSuccesses() {
+            return metrics.snapshot().getSuccesses();
+        }
+
+        @Override
+        public long getFailures() {
+            return metrics.snapshot().getFailures();
+        }
+
+        @Override
+        public long getBytesIn() {
+            return metrics.snapshot().getBytesIn();
+        }
+
+        @Override
+        public long getBytesOut() {
+            return metrics.snapshot().getBytesOut();
+        }
+
+        @Override
+        public long getOutputs() {
+            return metrics.snapshot().getOutputs();
+        }
+
+        @Override
+        public long getPages() {
+            return metrics.snapshot().getPages();
+        }
+
+        @Override
+        public long getRows() {
+            return metrics.snapshot().getRows();
+        }
+
+        @Override
+        public long getEntries() {
+            return metrics.snapshot().getEntries();
+        }
+
+        @Override
+        public double getMeanMillis() {
+            return metrics.snapshot().getLatency().getMeanMillis();
+        }
+
+        @Override
+        public double getP50Millis() {
+            return metrics.snapshot().getLatency().getPercentileMillis(0.50);
+        }
+
+        @Override
+        public double getP95Millis() {
+            return metrics.snapshot().getLatency().getPercentileMillis(0.95);
+        }
+
+        @Override
+        public double getP99Millis() {
+            return metrics.snapshot().getLatency().getPercentileMillis(0.99);
+        }
+
+        @Override
+        public double getMaxMillis() {
+            return metrics.snapshot().getLatency().getMaxMillis();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.flexiconvert.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs cumulative metrics of every conversion type that has run, once per interval, as
+ * readable text or as one JSON object per type for log shippers. Lines go to the
+ * {@code com.flexiconvert.metrics} logger so they can be routed on their own.
+ */
+public class LoggingMetricsReporter implements MetricsReporter {
+
+    private static final Logger METRICS_LOGGER = LoggerFactory.getLogger("com.flexiconvert.metrics");
+
+    public enum Format {
+        TEXT, JSON;
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown metrics format: " + value + " (expected text or json)");
+            }
+        }
+    }
+
+    private final Duration interval;
+    private final Format format;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private ScheduledExecutorService scheduler;
+    private MetricsRegistry registry;
+
+    public LoggingMetricsReporter(Duration interval, Format format) {
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Reporting interval must be positive: " + interval);
+        }
+        this.interval = interval;
+        this.format = format;
+    }
+
+    @Override
+    public synchronized void start(MetricsRegistry registry) {
+        this.registry = registry;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "flexiconvert-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleAtFixedRate(() -> report(registry), millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Logs the current metrics now; also used for the final report on close. */
+    void report(MetricsRegistry registry) {
+        try {
+            for (ConverterMetrics.Snapshot snapshot : registry.snapshot().values()) {
+                if (!snapshot.isIdle()) {
+                    METRICS_LOGGER.info(format(snapshot));
+                }
+            }
+        } catch (RuntimeException e) {
+            // Never let a reporting failure cancel the schedule
+            METRICS_LOGGER.warn("Metrics report failed", e);
+        }
+    }
+
+    String format(ConverterMetrics.Snapshot snapshot) {
+        LatencyHistogram.Snapshot latency = snapshot.getLatency();
+        if (format == Format.TEXT) {
+            return String.format(Locale.ROOT,
+                    "%s ok=%d failed=%d in=%dB out=%dB outputs=%d pages=%d rows=%d entries=%d "
+                            + "mean=%.1fms p50=%.0fms p95=%.0fms p99=%.0fms max=%.1fms",
+                    snapshot.getType(), snapshot.getSuccesses(), snapshot.getFailures(), snapshot.getBytesIn(),
+                    snapshot.getBytesOut(), snapshot.getOutputs(), snapshot.getPages(), snapshot.getRows(),
+                    snapshot.getEntries(), latency.getMeanMillis(), latency.getPercentileMillis(0.50),
+                    latency.getPercentileMillis(0.95), latency.getPercentileMillis(0.99), latency.getMaxMillis());
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("type", snapshot.getType().name());
+        json.put("successes", snapshot.getSuccesses());
+        json.put("failures", snapshot.getFailures());
+        json.put("bytesIn", snapshot.getBytesIn());
+        json.put("bytesOut", snapshot.getBytesOut());
+        json.put("outputs", snapshot.getOutputs());
+        json.put("pages", snapshot.getPages());
+        json.put("rows", snapshot.getRows());
+        json.put("entries", snapshot.getEntries());
+        json.put("meanMillis", latency.getMeanMillis());
+        json.put("p50Millis", latency.getPercentileMillis(0.50));
+        json.put("p95Millis", latency.getPercentileMillis(0.95));
+        json.put("p99Millis", latency.getPercentileMillis(0.99));
+        json.put("maxMillis", latency.getMaxMillis());
+        try {
+            return mapper.writeValueAsString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            report(registry);
+        }
+    }
+}
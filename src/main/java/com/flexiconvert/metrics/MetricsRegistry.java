@@ -0,0 +1,65 @@
+package com.flexiconvert.metrics;
+
+import com.flexiconvert.ConversionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Per-{@link ConversionType} converter metrics and the reporters that publish them.
+ * Closing the registry stops its reporters.
+ */
+public class MetricsRegistry implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    private final Map<ConversionType, ConverterMetrics> metrics = new ConcurrentHashMap<>();
+    private final List<MetricsReporter> reporters = new CopyOnWriteArrayList<>();
+
+    public ConverterMetrics forType(ConversionType type) {
+        ConverterMetrics existing = metrics.get(type);
+        if (existing != null) return existing;
+
+        ConverterMetrics created = new ConverterMetrics(type);
+        existing = metrics.putIfAbsent(type, created);
+        if (existing != null) return existing;
+        for (MetricsReporter reporter : reporters) {
+            reporter.typeAdded(created);
+        }
+        return created;
+    }
+
+    /** Current metrics of every type seen so far, in declaration order. */
+    public Map<ConversionType, ConverterMetrics.Snapshot> snapshot() {
+        Map<ConversionType, ConverterMetrics.Snapshot> snapshot = new EnumMap<>(ConversionType.class);
+        metrics.forEach((type, m) -> snapshot.put(type, m.snapshot()));
+        return snapshot;
+    }
+
+    public void addReporter(MetricsReporter reporter) {
+        reporter.start(this);
+        reporters.add(reporter);
+    }
+
+    public List<MetricsReporter> getReporters() {
+        return new ArrayList<>(reporters);
+    }
+
+    @Override
+    public void close() {
+        for (MetricsReporter reporter : reporters) {
+            try {
+                reporter.close();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to stop metrics reporter {}", reporter, e);
+            }
+        }
+        reporters.clear();
+    }
+}
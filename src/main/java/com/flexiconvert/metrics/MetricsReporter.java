@@ -0,0 +1,17 @@
+package com.flexiconvert.metrics;
+
+/**
+ * Publishes a {@link MetricsRegistry} somewhere: JMX, the log, or any other sink plugged in
+ * with {@link MetricsRegistry#addReporter}.
+ */
+public interface MetricsReporter extends AutoCloseable {
+
+    void start(MetricsRegistry registry);
+
+    /** Called once for each conversion type that gains metrics after {@link #start}. */
+    default void typeAdded(ConverterMetrics metrics) {
+    }
+
+    @Override
+    void close();
+}
@@ -0,0 +1,77 @@
+package com.flexiconvert.metrics;
+
+/**
+ * Work counters a converter reports while it runs: pages rendered or read, rows parsed and
+ * archive entries extracted. Converters call the static methods from the converting thread;
+ * outside an instrumented conversion they are no-ops.
+ */
+public final class ProcessedUnits {
+
+    private static final ThreadLocal<ProcessedUnits> CURRENT = new ThreadLocal<>();
+
+    private long pages;
+    private long rows;
+    private long entries;
+
+    public static void pages(long count) {
+        ProcessedUnits units = CURRENT.get();
+        if (units != null) units.pages += count;
+    }
+
+    public static void rows(long count) {
+        ProcessedUnits units = CURRENT.get();
+        if (units != null) units.rows += count;
+    }
+
+    public static void entries(long count) {
+        ProcessedUnits units = CURRENT.get();
+        if (units != null) units.entries += count;
+    }
+
+    /**
+     * Starts counting for the current thread. Nested scopes (a converter delegating to
+     * another) count separately; the outer scope resumes when the inner one is closed.
+     */
+    static Scope open() {
+        ProcessedUnits previous = CURRENT.get();
+        ProcessedUnits units = new ProcessedUnits();
+        CURRENT.set(units);
+        return new Scope(units, previous);
+    }
+
+    public long getPages() {
+        return pages;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    static final class Scope implements AutoCloseable {
+
+        private final ProcessedUnits units;
+        private final ProcessedUnits previous;
+
+        private Scope(ProcessedUnits units, ProcessedUnits previous) {
+            this.units = units;
+            this.previous = previous;
+        }
+
+        ProcessedUnits getUnits() {
+            return units;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.flexiconvert.planner;
+
+import com.flexiconvert.ConversionType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Learns how expensive each conversion type is from the conversions that actually ran,
+ * as an exponentially smoothed cost per input byte. Types that have never run are priced
+ * from whether they are CPU-bound, so the planner still prefers cheap text hops.
+ */
+public class ConversionCostModel {
+
+    static final double CPU_BOUND_PRIOR_NANOS_PER_BYTE = 50.0;
+    static final double IO_BOUND_PRIOR_NANOS_PER_BYTE = 5.0;
+    // Fixed cost of one more hop (converter setup, buffering), so equal paths favour fewer hops
+    static final long HOP_OVERHEAD_NANOS = 2_000_000;
+    private static final double SMOOTHING = 0.2;
+
+    private final Map<ConversionType, Double> nanosPerByte = new ConcurrentHashMap<>();
+
+    public void record(ConversionType type, long bytesIn, long nanos) {
+        if (bytesIn <= 0 || nanos <= 0) return;
+        double sample = (double) nanos / bytesIn;
+        nanosPerByte.merge(type, sample, (previous, next) -> previous + SMOOTHING * (next - previous));
+    }
+
+    public double getNanosPerByte(ConversionType type) {
+        Double measured = nanosPerByte.get(type);
+        if (measured != null) return measured;
+        return type.isCpuBound() ? CPU_BOUND_PRIOR_NANOS_PER_BYTE : IO_BOUND_PRIOR_NANOS_PER_BYTE;
+    }
+
+    public boolean isMeasured(ConversionType type) {
+        return nanosPerByte.containsKey(type);
+    }
+
+    public double estimateNanos(ConversionType type, long inputBytes) {
+        return HOP_OVERHEAD_NANOS + getNanosPerByte(type) * Math.max(inputBytes, 1);
+    }
+}
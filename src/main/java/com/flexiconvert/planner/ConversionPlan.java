@@ -0,0 +1,55 @@
+package com.flexiconvert.planner;
+
+import com.flexiconvert.ConversionType;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * An ordered chain of conversions from one format to another, with the cost the
+ * planner expected when it chose the chain.
+ */
+public class ConversionPlan {
+
+    private final List<ConversionType> hops;
+    private final double estimatedNanos;
+
+    public ConversionPlan(List<ConversionType> hops, double estimatedNanos) {
+        if (hops.isEmpty()) {
+            throw new IllegalArgumentException("A plan needs at least one conversion");
+        }
+        this.hops = List.copyOf(hops);
+        this.estimatedNanos = estimatedNanos;
+    }
+
+    public List<ConversionType> getHops() {
+        return hops;
+    }
+
+    public boolean isDirect() {
+        return hops.size() == 1;
+    }
+
+    public String getSourceFormat() {
+        return hops.get(0).getSourceFormat();
+    }
+
+    public String getTargetFormat() {
+        return hops.get(hops.size() - 1).getTargetFormat();
+    }
+
+    public ConversionType getFinalHop() {
+        return hops.get(hops.size() - 1);
+    }
+
+    public double getEstimatedNanos() {
+        return estimatedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return getSourceFormat() + " -> " + hops.stream()
+                .map(ConversionType::getTargetFormat)
+                .collect(Collectors.joining(" -> "));
+    }
+}
@@ -0,0 +1,78 @@
+package com.flexiconvert.planner;
+
+import com.flexiconvert.ConversionType;
+
+import java.util.*;
+
+/**
+ * Finds the cheapest chain of registered conversions between two formats. Formats are the
+ * nodes and conversion types the edges, weighted by {@link ConversionCostModel}.
+ * <p>
+ * Types that produce folders (archive folders, image sets, media folders) have no file to
+ * feed the next hop, so they can only end a chain. Types that produce several files, like
+ * one CSV per worksheet, may sit mid-chain: the remaining hops run once per file.
+ */
+public class ConversionPlanner {
+
+    private static final Set<String> MULTI_OUTPUT_FORMATS = Set.of("folder", "images");
+
+    private final Set<ConversionType> available;
+    private final ConversionCostModel costModel;
+
+    public ConversionPlanner(Set<ConversionType> available, ConversionCostModel costModel) {
+        this.available = available.isEmpty() ? EnumSet.noneOf(ConversionType.class) : EnumSet.copyOf(available);
+        this.costModel = costModel;
+    }
+
+    public ConversionCostModel getCostModel() {
+        return costModel;
+    }
+
+    public Optional<ConversionPlan> plan(String sourceFormat, String targetFormat) {
+        return plan(sourceFormat, targetFormat, 1024 * 1024);
+    }
+
+    /**
+     * Dijkstra over formats, pricing every hop as if it received {@code inputBytes}.
+     */
+    public Optional<ConversionPlan> plan(String sourceFormat, String targetFormat, long inputBytes) {
+        String source = sourceFormat.toLowerCase(Locale.ROOT);
+        String target = targetFormat.toLowerCase(Locale.ROOT);
+        if (source.equals(target)) return Optional.empty();
+
+        Map<String, Double> cost = new HashMap<>();
+        Map<String, ConversionType> via = new HashMap<>();
+        PriorityQueue<Map.Entry<String, Double>> queue = new PriorityQueue<>(Map.Entry.comparingByValue());
+        cost.put(source, 0.0);
+        queue.add(Map.entry(source, 0.0));
+
+        while (!queue.isEmpty()) {
+            Map.Entry<String, Double> next = queue.poll();
+            String format = next.getKey();
+            if (next.getValue() > cost.get(format)) continue;
+            if (format.equals(target)) break;
+            if (MULTI_OUTPUT_FORMATS.contains(format)) continue;
+
+            for (ConversionType edge : available) {
+                if (!edge.getSourceFormat().equals(format)) continue;
+                String reached = edge.getTargetFormat();
+                double candidate = cost.get(format) + costModel.estimateNanos(edge, inputBytes);
+                if (candidate < cost.getOrDefault(reached, Double.POSITIVE_INFINITY)) {
+                    cost.put(reached, candidate);
+                    via.put(reached, edge);
+                    queue.add(Map.entry(reached, candidate));
+                }
+            }
+        }
+
+        if (!via.containsKey(target)) return Optional.empty();
+
+        LinkedList<ConversionType> hops = new LinkedList<>();
+        for (String format = target; !format.equals(source); ) {
+            ConversionType hop = via.get(format);
+            hops.addFirst(hop);
+            format = hop.getSourceFormat();
+        }
+        return Optional.of(new ConversionPlan(hops, cost.get(target)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.flexiconvert.progress;
+
+import com.flexiconvert.ConversionType;
+
+/** A point-in-time view of how far a conversion has got. */
+public final class ConversionProgress {
+
+    private final ConversionType type;
+    private final ProgressUnit unit;
+    private final long completed;
+    private final long total;
+    private final long elapsedNanos;
+    private final boolean finished;
+
+    public ConversionProgress(ConversionType type, ProgressUnit unit, long completed, long total, long elapsedNanos,
+                              boolean finished) {
+        this.type = type;
+        this.unit = unit;
+        this.completed = completed;
+        this.total = total;
+        this.elapsedNanos = elapsedNanos;
+        this.finished = finished;
+    }
+
+    public ConversionType getType() {
+        return type;
+    }
+
+    public ProgressUnit getUnit() {
+        return unit;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    /** Expected units in total, or -1 when the converter cannot know it cheaply. */
+    public long getTotal() {
+        return total;
+    }
+
+    public boolean hasTotal() {
+        return total >= 0;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** True for the last update of a conversion, whether it succeeded or not. */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /** Share of the total completed, between 0 and 1, or -1 without a total. */
+    public double getFraction() {
+        if (!hasTotal()) return -1;
+        if (total == 0) return 1;
+        return Math.min(1.0, (double) completed / total);
+    }
+
+    /**
+     * Time left if the conversion keeps its pace so far, or -1 without a total or before any
+     * unit has completed.
+     */
+    public long estimateRemainingNanos() {
+        if (!hasTotal() || completed <= 0) return -1;
+        long remaining = Math.max(total - completed, 0);
+        return (long) (elapsedNanos * ((double) remaining / completed));
+    }
+
+    @Override
+    public String toString() {
+        return type + ": " + completed + (hasTotal() ? "/" + total : "") + " " + unit.name().toLowerCase();
+    }
+}
@@ -0,0 +1,146 @@
+package com.flexiconvert.progress;
+
+import com.flexiconvert.ConversionType;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Progress of the conversion running on the current thread. Converters announce the unit
+ * they count with {@link #begin} and report work with {@link #advance}; outside a tracked
+ * conversion both are no-ops. The service counts input bytes for streaming converters until
+ * a converter begins a unit of its own.
+ */
+public final class Progress {
+
+    public static final long NOTIFY_INTERVAL_MILLIS = 100;
+
+    private static final long NOTIFY_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(NOTIFY_INTERVAL_MILLIS);
+
+    private static final ThreadLocal<Tracker> CURRENT = new ThreadLocal<>();
+
+    private Progress() {
+    }
+
+    /** Starts counting {@code unit}, with {@code total} expected, or -1 when unknown. */
+    public static void begin(ProgressUnit unit, long total) {
+        Tracker tracker = CURRENT.get();
+        if (tracker != null) tracker.begin(unit, total);
+    }
+
+    public static void advance(long units) {
+        Tracker tracker = CURRENT.get();
+        if (tracker != null) tracker.advance(null, units);
+    }
+
+    /**
+     * Counts the bytes read from {@code input} as {@link ProgressUnit#BYTES}, out of the input
+     * size the conversion was started with, for as long as no other unit is begun.
+     */
+    public static InputStream track(InputStream input) {
+        Tracker tracker = CURRENT.get();
+        if (tracker == null) return input;
+        tracker.begin(ProgressUnit.BYTES, tracker.inputBytes);
+        return new FilterInputStream(input) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) tracker.advance(ProgressUnit.BYTES, 1);
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) tracker.advance(ProgressUnit.BYTES, n);
+                return n;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                if (skipped > 0) tracker.advance(ProgressUnit.BYTES, skipped);
+                return skipped;
+            }
+        };
+    }
+
+    /**
+     * Tracks a conversion of {@code type} reading {@code inputBytes} on the current thread until
+     * the scope is closed, which sends the final update and restores any outer conversion.
+     */
+    public static Scope open(ConversionType type, long inputBytes, ProgressListener listener) {
+        Tracker previous = CURRENT.get();
+        Tracker tracker = new Tracker(type, inputBytes, listener);
+        CURRENT.set(tracker);
+        return new Scope(tracker, previous);
+    }
+
+    private static final class Tracker {
+
+        private final ConversionType type;
+        private final long inputBytes;
+        private final ProgressListener listener;
+        private final long startNanos = System.nanoTime();
+
+        private ProgressUnit unit = ProgressUnit.BYTES;
+        private long total = -1;
+        private long completed;
+        private long lastNotifyNanos;
+
+        Tracker(ConversionType type, long inputBytes, ProgressListener listener) {
+            this.type = type;
+            this.inputBytes = inputBytes;
+            this.listener = listener;
+        }
+
+        synchronized void begin(ProgressUnit unit, long total) {
+            this.unit = unit;
+            this.total = total;
+            this.completed = 0;
+            notifyListener(System.nanoTime(), false);
+        }
+
+        /** Advances by {@code units} if they are of the current unit; null means whatever it is. */
+        synchronized void advance(ProgressUnit of, long units) {
+            if (of != null && of != unit) return;
+            completed += units;
+            long now = System.nanoTime();
+            if (now - lastNotifyNanos >= NOTIFY_INTERVAL_NANOS || completed == total) {
+                notifyListener(now, false);
+            }
+        }
+
+        synchronized void finish() {
+            notifyListener(System.nanoTime(), true);
+        }
+
+        private void notifyListener(long now, boolean finished) {
+            lastNotifyNanos = now;
+            listener.onProgress(new ConversionProgress(type, unit, completed, total, now - startNanos, finished));
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Tracker tracker;
+        private final Tracker previous;
+
+        private Scope(Tracker tracker, Tracker previous) {
+            this.tracker = tracker;
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+            tracker.finish();
+        }
+    }
+}
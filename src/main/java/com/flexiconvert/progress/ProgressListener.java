@@ -0,0 +1,15 @@
+package com.flexiconvert.progress;
+
+/**
+ * Receives progress of a running conversion. Called on the converting thread, at most every
+ * {@link Progress#NOTIFY_INTERVAL_MILLIS} ms while work advances, and once more when the
+ * conversion ends; implementations must return quickly. A conversion that stops producing
+ * updates has stopped advancing.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    ProgressListener NONE = progress -> { };
+
+    void onProgress(ConversionProgress progress);
+}
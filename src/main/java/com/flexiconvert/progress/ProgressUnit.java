@@ -0,0 +1,13 @@
+package com.flexiconvert.progress;
+
+/** What a converter counts while it works. */
+public enum ProgressUnit {
+    /** Input bytes read: text, CSV, JSON, XML and archives. */
+    BYTES,
+    PAGES,
+    SLIDES,
+    ROWS,
+    PARAGRAPHS,
+    /** Archive entries or embedded media extracted. */
+    ENTRIES
+}
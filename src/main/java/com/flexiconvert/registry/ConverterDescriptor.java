@@ -0,0 +1,47 @@
+package com.flexiconvert.registry;
+
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.annotations.ConverterFor;
+
+/**
+ * The {@link ConverterFor} metadata of one registered converter, recorded at build time so
+ * it can be read without loading the converter class.
+ */
+public final class ConverterDescriptor {
+
+    private final ConversionType type;
+    private final String source;
+    private final int version;
+    private final boolean cacheable;
+
+    public ConverterDescriptor(ConversionType type, String source, int version, boolean cacheable) {
+        this.type = type;
+        this.source = source;
+        this.version = version;
+        this.cacheable = cacheable;
+    }
+
+    public ConversionType getType() {
+        return type;
+    }
+
+    /** The annotated converter class or factory method, e.g. for diagnostics. */
+    public String getSource() {
+        return source;
+    }
+
+    /** @see ConverterFor#version() */
+    public int getVersion() {
+        return version;
+    }
+
+    /** @see ConverterFor#cacheable() */
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    @Override
+    public String toString() {
+        return type + " -> " + source;
+    }
+}
@@ -0,0 +1,67 @@
+package com.flexiconvert.registry;
+
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.interfaces.FormatConverter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Every {@code @ConverterFor} in the build, indexed at compile time. Converters are created
+ * on first use, so startup neither scans the classpath nor loads the POI, PDFBox and ImageIO
+ * classes behind converters that are never run.
+ */
+public final class ConverterRegistry {
+
+    private final Map<ConversionType, ConverterDescriptor> descriptors = new EnumMap<>(ConversionType.class);
+    private final Function<ConversionType, FormatConverter> factory;
+    private final ConcurrentMap<ConversionType, FormatConverter> instances = new ConcurrentHashMap<>();
+
+    public ConverterRegistry(Collection<ConverterDescriptor> descriptors, Function<ConversionType, FormatConverter> factory) {
+        for (ConverterDescriptor descriptor : descriptors) {
+            this.descriptors.put(descriptor.getType(), descriptor);
+        }
+        this.factory = factory;
+    }
+
+    /** The registry generated from the {@code @ConverterFor} annotations in this build. */
+    public static ConverterRegistry load() {
+        return new ConverterRegistry(GeneratedConverterRegistry.descriptors(), GeneratedConverterRegistry::newConverter);
+    }
+
+    public Set<ConversionType> getTypes() {
+        return Collections.unmodifiableSet(descriptors.keySet());
+    }
+
+    public boolean supports(ConversionType type) {
+        return descriptors.containsKey(type);
+    }
+
+    public Optional<ConverterDescriptor> getDescriptor(ConversionType type) {
+        return Optional.ofNullable(descriptors.get(type));
+    }
+
+    /**
+     * The converter for {@code type}, created on the first call.
+     *
+     * @throws UnsupportedOperationException if no converter is registered for {@code type}
+     */
+    public FormatConverter getConverter(ConversionType type) {
+        if (!supports(type)) {
+            throw new UnsupportedOperationException("Conversion type not supported: " + type);
+        }
+        return instances.computeIfAbsent(type, factory);
+    }
+
+    /** Whether {@link #getConverter(ConversionType)} has created the converter yet. */
+    public boolean isInstantiated(ConversionType type) {
+        return instances.containsKey(type);
+    }
+}
@@ -0,0 +1,190 @@
+package com.flexiconvert.scheduler;
+
+import com.flexiconvert.ConversionResult;
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.cancellation.CancellationToken;
+import com.flexiconvert.config.FlexiConvertProperties;
+import com.flexiconvert.planner.ConversionPlan;
+import com.flexiconvert.progress.ProgressListener;
+import com.flexiconvert.selection.Selection;
+
+import java.io.File;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs conversions shortest-job-first instead of in arrival order, so a handful of huge
+ * inputs cannot hold up many small ones. Each job is priced from its input size and the
+ * throughput past conversions of its type achieved ({@link FileConverterService#estimateNanos}).
+ * <p>
+ * Waiting jobs age: every nanosecond spent queued counts as {@code agingRate} nanoseconds
+ * less estimated work, so a job is never passed over for longer than its own estimate
+ * divided by the aging rate. Rendering and archive extraction run in separate lanes with
+ * their own workers, sized for CPU-bound and I/O-bound work respectively, so neither kind
+ * can occupy every worker.
+ */
+public class ConversionScheduler implements AutoCloseable {
+
+    public static final double DEFAULT_AGING_RATE = 1.0;
+
+    public enum Lane {
+        /** Layout, rendering and image codecs; one worker per core by default. */
+        CPU,
+        /** Archive extraction, text and structured data. */
+        IO;
+
+        public static Lane of(ConversionType type) {
+            return type.isCpuBound() ? CPU : IO;
+        }
+
+        public static Lane of(ConversionPlan plan) {
+            return plan.getHops().stream().anyMatch(ConversionType::isCpuBound) ? CPU : IO;
+        }
+    }
+
+    private final FileConverterService service;
+    private final double agingRate;
+    private final Map<Lane, ThreadPoolExecutor> lanes = new EnumMap<>(Lane.class);
+    private final AtomicLong sequence = new AtomicLong();
+    // Priorities are doubles, so keep the clock small enough to stay exact
+    private final long startNanos = System.nanoTime();
+
+    public ConversionScheduler(FileConverterService service, int cpuWorkers, int ioWorkers, double agingRate,
+                               String threadPrefix) {
+        if (!(agingRate > 0)) throw new IllegalArgumentException("agingRate must be positive");
+        this.service = service;
+        this.agingRate = agingRate;
+        lanes.put(Lane.CPU, lane(threadPrefix + "-cpu-", cpuWorkers));
+        lanes.put(Lane.IO, lane(threadPrefix + "-io-", ioWorkers));
+    }
+
+    /** Builds a scheduler from the {@code flexiconvert.scheduler.*} properties. */
+    public static ConversionScheduler create(FileConverterService service, FlexiConvertProperties properties) {
+        return new ConversionScheduler(service, properties.getSchedulerCpuWorkers(),
+                properties.getSchedulerIoWorkers(), properties.getSchedulerAgingRate(), "flexiconvert-scheduler");
+    }
+
+    private static ThreadPoolExecutor lane(String prefix, int workers) {
+        int threads = Math.max(1, workers);
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public CompletableFuture<ConversionResult> submit(File input, ConversionType type) {
+        return submit(input, type, CancellationToken.create(), ProgressListener.NONE);
+    }
+
+    public CompletableFuture<ConversionResult> submit(File input, ConversionType type, CancellationToken cancellation,
+                                                      ProgressListener progress) {
+        return submit(Lane.of(type), service.estimateNanos(input, type),
+                () -> service.execute(input, type, cancellation, progress));
+    }
+
+    /**
+     * Schedules a conversion of {@code input} to {@code targetFormat}, priced and placed by
+     * the chain of conversions it will take. Fails at once when there is no such chain.
+     */
+    public CompletableFuture<ConversionResult> submit(File input, String targetFormat, CancellationToken cancellation,
+                                                      ProgressListener progress) {
+        Optional<ConversionPlan> plan = service.plan(input, targetFormat);
+        if (plan.isEmpty()) {
+            return CompletableFuture.failedFuture(new UnsupportedOperationException(
+                    "No conversion path from " + input.getName() + " to " + targetFormat));
+        }
+        return submit(Lane.of(plan.get()), plan.get().getEstimatedNanos(),
+                () -> service.execute(input, plan.get(), cancellation, progress, Selection.ALL));
+    }
+
+    /**
+     * Queues {@code job} on {@code lane} behind the jobs expected to finish sooner. Cancelling
+     * the returned future before the job starts removes it from the queue's work.
+     */
+    public <T> CompletableFuture<T> submit(Lane lane, double estimatedNanos, Callable<T> job) {
+        ScheduledJob<T> scheduled = new ScheduledJob<>(priority(System.nanoTime() - startNanos, estimatedNanos),
+                sequence.getAndIncrement(), job);
+        lanes.get(lane).execute(scheduled);
+        return scheduled.future;
+    }
+
+    /*
+     * A job queued at e with estimate c is served as if it had c - agingRate * (now - e) work
+     * left. Every job shares the now term, so ordering by c / agingRate + e is the same order
+     * at any moment and the queue never needs re-sorting.
+     */
+    double priority(long enqueuedNanos, double estimatedNanos) {
+        return enqueuedNanos + Math.max(estimatedNanos, 0) / agingRate;
+    }
+
+    public int getQueued(Lane lane) {
+        return lanes.get(lane).getQueue().size();
+    }
+
+    public int getRunning(Lane lane) {
+        return lanes.get(lane).getActiveCount();
+    }
+
+    /**
+     * Runs every job already submitted, then stops the workers. If interrupted, queued jobs
+     * are dropped and running ones interrupted.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        lanes.values().forEach(ThreadPoolExecutor::shutdown);
+        try {
+            for (ThreadPoolExecutor executor : lanes.values()) {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            for (ThreadPoolExecutor executor : lanes.values()) {
+                for (Runnable dropped : executor.shutdownNow()) {
+                    ((ScheduledJob<?>) dropped).future.cancel(false);
+                }
+            }
+        }
+    }
+
+    static final class ScheduledJob<T> implements Runnable, Comparable<ScheduledJob<?>> {
+
+        private final double priority;
+        private final long sequence;
+        private final Callable<T> job;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        ScheduledJob(double priority, long sequence, Callable<T> job) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.job = job;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) return; // cancelled while queued
+            try {
+                future.complete(job.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+                if (e instanceof Error) throw (Error) e;
+            }
+        }
+
+        @Override
+        public int compareTo(ScheduledJob<?> other) {
+            int byPriority = Double.compare(priority, other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
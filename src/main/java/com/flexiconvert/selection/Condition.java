@@ -0,0 +1,140 @@
+package com.flexiconvert.selection;
+
+import com.flexiconvert.csv.CellDecoder;
+import com.flexiconvert.csv.ColumnType;
+
+import java.util.Objects;
+
+/**
+ * A comparison of one column against a literal, written {@code column OP value}, e.g.
+ * {@code 3>=100}, {@code country=NL} or {@code name~smith}. Against a number, only cells that
+ * are numbers compare (numerically): any other cell, such as {@code n/a} or a header, is
+ * neither less nor greater, is not equal ({@code =} fails) and so is different ({@code !=}
+ * holds). Against text, cells compare as text. A missing or blank cell is empty text.
+ */
+public final class Condition {
+
+    public enum Operator {
+        // Two-character symbols first, so parsing finds "<=" before "<"
+        NOT_EQUAL("!="),
+        LESS_OR_EQUAL("<="),
+        GREATER_OR_EQUAL(">="),
+        EQUAL("="),
+        LESS("<"),
+        GREATER(">"),
+        CONTAINS("~");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+    }
+
+    private final String column;
+    private final Operator operator;
+    private final String value;
+    private final boolean numeric;
+    private final double number;
+
+    public Condition(String column, Operator operator, String value) {
+        if (column == null || column.isBlank()) {
+            throw new IllegalArgumentException("A condition needs a column");
+        }
+        this.column = column.trim();
+        this.operator = Objects.requireNonNull(operator, "operator");
+        this.value = value != null ? value.trim() : "";
+
+        CellDecoder decoder = new CellDecoder();
+        ColumnType type = CellDecoder.isBlank(this.value) ? ColumnType.STRING : decoder.decode(this.value);
+        this.numeric = type == ColumnType.INT || type == ColumnType.LONG || type == ColumnType.DOUBLE;
+        this.number = !numeric ? 0 : type == ColumnType.DOUBLE ? Double.parseDouble(this.value) : decoder.longValue();
+    }
+
+    /**
+     * Parses {@code column OP value} at its first operator.
+     *
+     * @throws IllegalArgumentException if there is no operator or no column before it
+     */
+    public static Condition parse(String expression) {
+        int best = -1;
+        Operator found = null;
+        for (Operator operator : Operator.values()) {
+            int index = expression.indexOf(operator.symbol);
+            if (index > 0 && (best < 0 || index < best)) {
+                best = index;
+                found = operator;
+            }
+        }
+        if (found == null) {
+            throw new IllegalArgumentException("Not a condition (column OP value, OP one of != <= >= = < > ~): "
+                    + expression);
+        }
+        return new Condition(expression.substring(0, best), found, expression.substring(best + found.symbol.length()));
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /** Whether {@code cell} satisfies the condition; {@code decoder} reads numbers without exceptions. */
+    public boolean test(String cell, CellDecoder decoder) {
+        String text = CellDecoder.isBlank(cell) ? "" : cell.trim();
+        if (operator == Operator.CONTAINS) {
+            return text.contains(value);
+        }
+
+        int comparison;
+        ColumnType type = text.isEmpty() || !numeric ? ColumnType.STRING : decoder.decode(text);
+        if (type == ColumnType.INT || type == ColumnType.LONG) {
+            comparison = Double.compare(decoder.longValue(), number);
+        } else if (type == ColumnType.DOUBLE) {
+            comparison = Double.compare(Double.parseDouble(text), number);
+        } else if (numeric) {
+            // Text is not ordered against a number
+            return operator == Operator.NOT_EQUAL;
+        } else {
+            comparison = text.compareTo(value);
+        }
+
+        return switch (operator) {
+            case EQUAL -> comparison == 0;
+            case NOT_EQUAL -> comparison != 0;
+            case LESS -> comparison < 0;
+            case LESS_OR_EQUAL -> comparison <= 0;
+            case GREATER -> comparison > 0;
+            case GREATER_OR_EQUAL -> comparison >= 0;
+            case CONTAINS -> throw new AssertionError();
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Condition)) return false;
+        Condition other = (Condition) o;
+        return column.equals(other.column) && operator == other.operator && value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(column, operator, value);
+    }
+
+    @Override
+    public String toString() {
+        return column + operator.symbol + value;
+    }
+}
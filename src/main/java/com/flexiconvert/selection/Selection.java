@@ -0,0 +1,192 @@
+package com.flexiconvert.selection;
+
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.csv.CsvSelection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Which columns and rows a tabular conversion keeps: a projection onto {@link #getColumns()}
+ * (all columns when empty) and the rows matching every {@link Condition}. The converters push
+ * both down into their parsers, so rows that fail a condition are never rendered and columns
+ * that are not selected are never decoded or written.
+ * <p>
+ * CSV columns are named by their zero-based index ({@code 0}, {@code 3}), JSON columns by
+ * field name. Like {@link com.flexiconvert.cancellation.Cancellation}, the selection of the
+ * conversion running on the current thread is set by the service with {@link #open} and read
+ * by converters with {@link #current()}. Immutable.
+ */
+public final class Selection {
+
+    public static final Selection ALL = new Selection(List.of(), List.of());
+
+    private static final Set<ConversionType> SUPPORTED =
+            EnumSet.of(ConversionType.CSV_TO_JSON, ConversionType.CSV_TO_XML, ConversionType.JSON_TO_CSV);
+
+    private static final ThreadLocal<Selection> CURRENT = new ThreadLocal<>();
+
+    private final List<String> columns;
+    private final List<Condition> conditions;
+
+    private Selection(List<String> columns, List<Condition> conditions) {
+        this.columns = columns;
+        this.conditions = conditions;
+    }
+
+    /** Keeps only {@code columns}, in the given order. */
+    public static Selection columns(String... columns) {
+        return ALL.withColumns(List.of(columns));
+    }
+
+    /** Keeps only the rows matching {@code expression}; see {@link Condition#parse}. */
+    public static Selection where(String expression) {
+        return ALL.and(Condition.parse(expression));
+    }
+
+    public Selection withColumns(List<String> columns) {
+        List<String> trimmed = new ArrayList<>(columns.size());
+        for (String column : new LinkedHashSet<>(columns)) {
+            if (column == null || column.isBlank()) {
+                throw new IllegalArgumentException("Selected column names cannot be blank");
+            }
+            trimmed.add(column.trim());
+        }
+        return new Selection(Collections.unmodifiableList(trimmed), conditions);
+    }
+
+    public Selection and(Condition condition) {
+        List<Condition> all = new ArrayList<>(conditions);
+        all.add(condition);
+        return new Selection(columns, Collections.unmodifiableList(all));
+    }
+
+    public Selection and(String expression) {
+        return and(Condition.parse(expression));
+    }
+
+    /** The selected columns in output order, or empty for all of them. */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public List<Condition> getConditions() {
+        return conditions;
+    }
+
+    public boolean isProjected() {
+        return !columns.isEmpty();
+    }
+
+    /** Whether everything is kept. */
+    public boolean isAll() {
+        return columns.isEmpty() && conditions.isEmpty();
+    }
+
+    /** Whether the converter for {@code type} applies selections. */
+    public static boolean supports(ConversionType type) {
+        return SUPPORTED.contains(type);
+    }
+
+    /**
+     * Checks that the converter for {@code type} can resolve every column this selection
+     * names, so a bad request fails before any work starts rather than mid-conversion.
+     *
+     * @throws IllegalArgumentException if {@code type} reads CSV and a column is not a
+     *                                  zero-based index
+     */
+    public void validate(ConversionType type) {
+        if (!isAll() && supports(type) && "csv".equals(type.getSourceFormat())) {
+            CsvSelection.of(this);
+        }
+    }
+
+    /** The current thread's selection, or {@link #ALL} outside a selective conversion. */
+    public static Selection current() {
+        Selection selection = CURRENT.get();
+        return selection != null ? selection : ALL;
+    }
+
+    /**
+     * Makes {@code selection} the current thread's until the scope is closed, which restores
+     * the previous one. Worker threads a converter starts read it on the thread that opened it.
+     */
+    public static Scope open(Selection selection) {
+        Selection previous = CURRENT.get();
+        CURRENT.set(selection);
+        return new Scope(previous);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Selection)) return false;
+        Selection other = (Selection) o;
+        return columns.equals(other.columns) && conditions.equals(other.conditions);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * columns.hashCode() + conditions.hashCode();
+    }
+
+    /**
+     * An unambiguous form that keys cached conversions, empty for {@link #ALL}. Every name and
+     * value is length-prefixed, so no separator inside a JSON field name or a condition's value
+     * can make two different selections encode alike.
+     */
+    public String toKey() {
+        if (isAll()) return "";
+        StringBuilder key = new StringBuilder();
+        for (String column : columns) {
+            appendField(key.append('c'), column);
+        }
+        for (Condition condition : conditions) {
+            appendField(key.append('w'), condition.getColumn());
+            appendField(key, condition.getOperator().getSymbol());
+            appendField(key, condition.getValue());
+        }
+        return key.toString();
+    }
+
+    private static void appendField(StringBuilder key, String field) {
+        key.append(field.length()).append(':').append(field);
+    }
+
+    /** A readable form, empty for {@link #ALL}; see {@link #toKey()} for an unambiguous one. */
+    @Override
+    public String toString() {
+        if (isAll()) return "";
+        StringBuilder text = new StringBuilder();
+        if (isProjected()) {
+            text.append("columns=").append(String.join(",", columns));
+        }
+        for (Condition condition : conditions) {
+            if (text.length() > 0) text.append(';');
+            text.append("where=").append(condition);
+        }
+        return text.toString();
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Selection previous;
+
+        private Scope(Selection previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.flexiconvert.server;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds how many conversions run at once and how many may wait for a slot. Requests
+ * beyond both limits are turned away immediately rather than piling up threads.
+ */
+class AdmissionControl {
+
+    enum Outcome { ADMITTED, QUEUE_FULL, TIMED_OUT }
+
+    private final int maxInFlight;
+    private final int queueDepth;
+    private final Semaphore slots;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    AdmissionControl(int maxInFlight, int queueDepth) {
+        if (maxInFlight < 1) throw new IllegalArgumentException("maxInFlight must be at least 1");
+        if (queueDepth < 0) throw new IllegalArgumentException("queueDepth must not be negative");
+        this.maxInFlight = maxInFlight;
+        this.queueDepth = queueDepth;
+        this.slots = new Semaphore(maxInFlight, true);
+    }
+
+    Outcome acquire(long timeoutNanos) throws InterruptedException {
+        if (slots.tryAcquire()) return Outcome.ADMITTED;
+
+        if (waiting.incrementAndGet() > queueDepth) {
+            waiting.decrementAndGet();
+            return Outcome.QUEUE_FULL;
+        }
+        try {
+            return slots.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS) ? Outcome.ADMITTED : Outcome.TIMED_OUT;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    void release() {
+        slots.release();
+    }
+
+    int getInFlight() {
+        return maxInFlight - slots.availablePermits();
+    }
+
+    int getQueued() {
+        return waiting.get();
+    }
+
+    int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    int getQueueDepth() {
+        return queueDepth;
+    }
+}
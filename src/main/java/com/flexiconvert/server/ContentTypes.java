@@ -0,0 +1,29 @@
+package com.flexiconvert.server;
+
+import java.util.Locale;
+import java.util.Map;
+
+/** Content types for the formats FlexiConvert produces. */
+final class ContentTypes {
+
+    private static final Map<String, String> BY_EXTENSION = Map.ofEntries(
+            Map.entry("pdf", "application/pdf"),
+            Map.entry("txt", "text/plain; charset=UTF-8"),
+            Map.entry("html", "text/html; charset=UTF-8"),
+            Map.entry("csv", "text/csv; charset=UTF-8"),
+            Map.entry("json", "application/json"),
+            Map.entry("xml", "application/xml"),
+            Map.entry("png", "image/png"),
+            Map.entry("jpg", "image/jpeg"),
+            Map.entry("webp", "image/webp"),
+            Map.entry("zip", "application/zip"));
+
+    private ContentTypes() {
+    }
+
+    static String forName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot != -1 ? fileName.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+        return BY_EXTENSION.getOrDefault(extension, "application/octet-stream");
+    }
+}
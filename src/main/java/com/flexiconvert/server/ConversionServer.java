@@ -0,0 +1,112 @@
+package com.flexiconvert.server;
+
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.config.FlexiConvertProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves {@link FileConverterService} over HTTP with the JDK's built-in server:
+ * <ul>
+ *   <li>{@code POST /convert/{type}?name=file.ext} streams the request body into the
+ *       converter and the output back as the response</li>
+ *   <li>{@code GET /health} reports in-flight and queued conversions</li>
+ * </ul>
+ * At most {@code maxInFlight} conversions run at once and {@code queueDepth} more may wait;
+ * anything beyond that gets 503 straight away. Each request, including its time in the
+ * queue, is bounded by {@code requestTimeout}.
+ * <p>
+ * Requests run on a bounded pool of platform threads, one per admitted or queued request.
+ */
+public class ConversionServer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConversionServer.class);
+
+    // One worker beyond the limits answers overflow with 503 without stalling the dispatcher
+    private static final int OVERFLOW_WORKERS = 1;
+
+    private final HttpServer server;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService watchdog;
+    private final AdmissionControl admission;
+
+    public ConversionServer(FileConverterService service, InetSocketAddress address,
+                            int maxInFlight, int queueDepth, Duration requestTimeout) throws IOException {
+        this.admission = new AdmissionControl(maxInFlight, queueDepth);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "flexiconvert-http-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        AtomicInteger counter = new AtomicInteger();
+        int threads = maxInFlight + queueDepth + OVERFLOW_WORKERS;
+        this.workers = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> new WorkerThread(runnable, "flexiconvert-http-" + counter.incrementAndGet()),
+                // Saturated: the dispatcher runs the handler, which only answers 503 off a worker
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.workers.allowCoreThreadTimeOut(true);
+
+        this.server = HttpServer.create(address, 0);
+        server.createContext("/convert/", new ConvertHandler(service, admission, watchdog, requestTimeout));
+        server.createContext("/health", new HealthHandler(admission));
+        server.setExecutor(workers);
+    }
+
+    public static ConversionServer create(FileConverterService service, FlexiConvertProperties properties)
+            throws IOException {
+        InetSocketAddress address = new InetSocketAddress(properties.getServerHost(), properties.getServerPort());
+        return new ConversionServer(service, address, properties.getServerMaxInFlight(),
+                properties.getServerQueueDepth(), properties.getServerRequestTimeout());
+    }
+
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--server")) return true;
+        }
+        return false;
+    }
+
+    public void start() {
+        server.start();
+        LOGGER.info("Conversion server listening on {} (maxInFlight={}, queueDepth={})",
+                getAddress(), admission.getMaxInFlight(), admission.getQueueDepth());
+    }
+
+    /** Stops accepting requests, gives running ones a few seconds, then shuts the pools down. */
+    public void stop() {
+        stop(Duration.ofSeconds(5));
+    }
+
+    public void stop(Duration grace) {
+        server.stop((int) grace.toSeconds());
+        workers.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    static boolean isWorkerThread() {
+        return Thread.currentThread() instanceof WorkerThread;
+    }
+
+    private static final class WorkerThread extends Thread {
+        WorkerThread(Runnable runnable, String name) {
+            super(runnable, name);
+            setDaemon(true);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.flexiconvert.server;
+
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.cancellation.CancellationToken;
+import com.flexiconvert.cancellation.ConversionCancelledException;
+import com.flexiconvert.memory.MemoryBudgetExceededException;
+import com.flexiconvert.selection.Selection;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code POST /convert/{type}}. The type is a {@link ConversionType} name in any case
+ * ({@code csv_to_json}); the optional {@code name} query parameter is the upload's file name,
+ * which converters use to name their outputs. CSV/JSON conversions also take {@code columns}
+ * ({@code columns=0,3}) and any number of {@code where} conditions ({@code where=2>=100}),
+ * see {@link Selection}.
+ * <p>
+ * Folder and image-set conversions always answer with a zip; others do when the request
+ * accepts {@code application/zip}.
+ */
+class ConvertHandler implements HttpHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConvertHandler.class);
+
+    private static final int RUNNING = 0;
+    private static final int FINISHED = 1;
+    private static final int TIMED_OUT = 2;
+
+    private final FileConverterService service;
+    private final AdmissionControl admission;
+    private final ScheduledExecutorService watchdog;
+    private final Duration requestTimeout;
+
+    ConvertHandler(FileConverterService service, AdmissionControl admission,
+                   ScheduledExecutorService watchdog, Duration requestTimeout) {
+        this.service = service;
+        this.admission = admission;
+        this.watchdog = watchdog;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) {
+        try {
+            if (!ConversionServer.isWorkerThread()) {
+                sendError(exchange, 503, "Server is at capacity");
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Use POST");
+                return;
+            }
+
+            ConversionType type = parseType(exchange.getRequestURI().getPath());
+            if (type == null) {
+                sendError(exchange, 404, "Unknown conversion type: " + exchange.getRequestURI().getPath());
+                return;
+            }
+            if (!service.supports(type)) {
+                sendError(exchange, 404, "Conversion type not supported: " + type);
+                return;
+            }
+            Selection selection;
+            try {
+                selection = selection(exchange, type);
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+            if (!selection.isAll() && !Selection.supports(type)) {
+                sendError(exchange, 400, "Column and row selection is not supported for " + type);
+                return;
+            }
+
+            long deadline = System.nanoTime() + requestTimeout.toNanos();
+            switch (admission.acquire(requestTimeout.toNanos())) {
+                case QUEUE_FULL:
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    sendError(exchange, 503, "Too many conversions in progress");
+                    return;
+                case TIMED_OUT:
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    sendError(exchange, 503, "Timed out waiting for a conversion slot");
+                    return;
+                default:
+                    break;
+            }
+            try {
+                convert(exchange, type, selection, deadline - System.nanoTime());
+            } finally {
+                admission.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Request {} failed", exchange.getRequestURI(), e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void convert(HttpExchange exchange, ConversionType type, Selection selection, long remainingNanos)
+            throws IOException {
+        String inputName = inputName(exchange, type);
+        ResponseOutputSink sink = new ResponseOutputSink(exchange, wantsZip(exchange, type), zipName(inputName, type));
+
+        Thread worker = Thread.currentThread();
+        CancellationToken cancellation = CancellationToken.create();
+        AtomicInteger state = new AtomicInteger(RUNNING);
+        ScheduledFuture<?> timeout = watchdog.schedule(() -> {
+            if (!state.compareAndSet(RUNNING, TIMED_OUT)) return;
+            cancellation.cancel("Conversion exceeded " + requestTimeout.toMillis() + " ms");
+            if (sink.abort()) {
+                // Not closed here: closing drains the unread upload, which a stalled client never ends
+                writeError(exchange, 504, "Conversion exceeded " + requestTimeout.toMillis() + " ms");
+            }
+            // Interrupting a worker blocked on the upload closes its channel and frees the slot
+            worker.interrupt();
+        }, Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS);
+
+        try {
+            // The service admits the conversion against the heap budget, spooling uploads without a length first
+            service.convert(exchange.getRequestBody(), contentLength(exchange), inputName, type, sink, cancellation,
+                    selection);
+            sink.finish();
+        } catch (Exception e) {
+            if (!state.compareAndSet(RUNNING, FINISHED)) return; // the watchdog already answered
+            if (sink.abort()) {
+                if (e instanceof MemoryBudgetExceededException budget) {
+                    if (budget.isRetryable()) exchange.getResponseHeaders().set("Retry-After", "1");
+                    sendError(exchange, budget.isRetryable() ? 503 : 413, e.getMessage());
+                    return;
+                }
+                int status = e instanceof ConversionCancelledException ? 504 : e instanceof IOException ? 422 : 500;
+                sendError(exchange, status, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            } else {
+                LOGGER.warn("Conversion {} of {} failed after the response started", type, inputName, e);
+            }
+        } finally {
+            state.compareAndSet(RUNNING, FINISHED);
+            timeout.cancel(false);
+            // A watchdog interrupt that lost the race must not leak into the next request
+            Thread.interrupted();
+        }
+    }
+
+    private static ConversionType parseType(String path) {
+        String name = path.substring(path.lastIndexOf('/') + 1).toUpperCase(Locale.ROOT);
+        try {
+            return ConversionType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** The upload's declared size, or -1 for a chunked upload or an unreadable length. */
+    private static long contentLength(HttpExchange exchange) {
+        String value = exchange.getRequestHeaders().getFirst("Content-Length");
+        try {
+            return value != null ? Math.max(Long.parseLong(value.trim()), -1) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String inputName(HttpExchange exchange, ConversionType type) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith("name=")) {
+                    // Only the last path segment; an upload name must never steer where outputs go
+                    String name = new File(URLDecoder.decode(parameter.substring(5), StandardCharsets.UTF_8)).getName();
+                    if (!name.isBlank()) return name;
+                }
+            }
+        }
+        return "upload." + type.getSourceFormat();
+    }
+
+    private static Selection selection(HttpExchange exchange, ConversionType type) {
+        Selection selection = Selection.ALL;
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) return selection;
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith("columns=")) {
+                String columns = URLDecoder.decode(parameter.substring(8), StandardCharsets.UTF_8);
+                selection = selection.withColumns(Arrays.asList(columns.split(",")));
+            } else if (parameter.startsWith("where=")) {
+                selection = selection.and(URLDecoder.decode(parameter.substring(6), StandardCharsets.UTF_8));
+            }
+        }
+        selection.validate(type);
+        return selection;
+    }
+
+    private static boolean wantsZip(HttpExchange exchange, ConversionType type) {
+        String target = type.getTargetFormat();
+        if (target.equals("folder") || target.equals("images")) return true;
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        return accept != null && accept.contains("application/zip");
+    }
+
+    private static String zipName(String inputName, ConversionType type) {
+        int dot = inputName.lastIndexOf('.');
+        String baseName = dot != -1 ? inputName.substring(0, dot) : inputName;
+        return baseName + "_" + type.getTargetFormat() + ".zip";
+    }
+
+    static void sendError(HttpExchange exchange, int status, String message) {
+        if (writeError(exchange, status, message)) {
+            try {
+                exchange.getResponseBody().close();
+            } catch (IOException e) {
+                LOGGER.debug("Could not finish {} for {}", status, exchange.getRequestURI(), e);
+            }
+        }
+    }
+
+    private static boolean writeError(HttpExchange exchange, int status, String message) {
+        byte[] body = ("{\"error\":\"" + message.replace("\\", "\\\\").replace("\"", "\\\"")
+                .replace("\n", " ") + "\"}").getBytes(StandardCharsets.UTF_8);
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            OutputStream out = exchange.getResponseBody();
+            out.write(body);
+            out.flush();
+            return true;
+        } catch (IOException e) {
+            LOGGER.debug("Could not send {} for {}", status, exchange.getRequestURI(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.flexiconvert.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/** {@code GET /health}: load figures for sidecar health checks and autoscalers. */
+class HealthHandler implements HttpHandler {
+
+    private final AdmissionControl admission;
+
+    HealthHandler(AdmissionControl admission) {
+        this.admission = admission;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            byte[] body = String.format("{\"status\":\"up\",\"inFlight\":%d,\"queued\":%d,\"maxInFlight\":%d,\"queueDepth\":%d}",
+                    admission.getInFlight(), admission.getQueued(), admission.getMaxInFlight(), admission.getQueueDepth())
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
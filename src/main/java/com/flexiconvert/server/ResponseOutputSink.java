@@ -0,0 +1,125 @@
+package com.flexiconvert.server;
+
+import com.flexiconvert.interfaces.OutputSink;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams converter output straight into an HTTP response. Headers are committed when the
+ * converter opens its first entry, so errors before that still get a proper status.
+ * <p>
+ * In single mode the response body is that one entry; a converter that opens a second
+ * entry fails the request, and the client has to ask for a zip instead. In zip mode every
+ * entry and directory becomes a zip entry.
+ */
+class ResponseOutputSink implements OutputSink {
+
+    private final HttpExchange exchange;
+    private final boolean zip;
+    private final String zipName;
+
+    private boolean committed;
+    private boolean aborted;
+    private int entries;
+    private ZipOutputStream zipStream;
+
+    ResponseOutputSink(HttpExchange exchange, boolean zip, String zipName) {
+        this.exchange = exchange;
+        this.zip = zip;
+        this.zipName = zipName;
+    }
+
+    @Override
+    public synchronized OutputStream open(String name) throws IOException {
+        checkNotAborted();
+        if (zip) {
+            ZipOutputStream out = zipStream();
+            out.putNextEntry(new ZipEntry(name));
+            return new EntryStream(out);
+        }
+        if (entries++ > 0) {
+            throw new IOException("Conversion produced more than one output (next: " + name
+                    + "); request it with Accept: application/zip");
+        }
+        commit(ContentTypes.forName(name), name);
+        return exchange.getResponseBody();
+    }
+
+    @Override
+    public synchronized void createDirectory(String name) throws IOException {
+        checkNotAborted();
+        if (zip) {
+            zipStream().putNextEntry(new ZipEntry(name.endsWith("/") ? name : name + "/"));
+            zipStream.closeEntry();
+        }
+    }
+
+    /** Finishes the response; commits an empty zip when the converter produced nothing. */
+    synchronized void finish() throws IOException {
+        checkNotAborted();
+        if (zip) {
+            zipStream().finish();
+        } else if (!committed) {
+            throw new IOException("Conversion produced no output");
+        }
+        exchange.getResponseBody().close();
+    }
+
+    synchronized boolean isCommitted() {
+        return committed;
+    }
+
+    /**
+     * Stops the response for good. Returns true when nothing had been sent yet, so the
+     * caller can still answer with an error status.
+     */
+    synchronized boolean abort() {
+        aborted = true;
+        return !committed;
+    }
+
+    private void checkNotAborted() throws IOException {
+        if (aborted) throw new IOException("Request was aborted");
+    }
+
+    private ZipOutputStream zipStream() throws IOException {
+        if (zipStream == null) {
+            commit("application/zip", zipName);
+            zipStream = new ZipOutputStream(exchange.getResponseBody());
+        }
+        return zipStream;
+    }
+
+    private void commit(String contentType, String fileName) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Content-Disposition",
+                "attachment; filename=\"" + fileName.replace("\"", "") + "\"");
+        exchange.sendResponseHeaders(200, 0);
+        committed = true;
+    }
+
+    /** Closing a zip entry must not close the whole response. */
+    private static final class EntryStream extends FilterOutputStream {
+        private final ZipOutputStream zip;
+
+        EntryStream(ZipOutputStream zip) {
+            super(zip);
+            this.zip = zip;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            zip.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            zip.closeEntry();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.flexiconvert.staging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Places a conversion input into a scratch directory as cheaply as the filesystem allows.
+ * File-based converters write their outputs next to the input, so they need the input to
+ * live in the scratch directory; the bytes themselves rarely need to be duplicated.
+ */
+public class InputStager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InputStager.class);
+
+    private volatile boolean hardLinksSupported = true;
+
+    /**
+     * @param readOnlyHandoff the converter never writes next to its input, so it may read the original
+     * @param allowHardLink   no output of the converter can share the input's name; a converter that
+     *                        rewrote a linked input would otherwise write through to the original
+     */
+    public StagedInput stage(File inputFile, File scratchDir, boolean readOnlyHandoff, boolean allowHardLink)
+            throws IOException {
+        long start = System.nanoTime();
+
+        if (readOnlyHandoff) {
+            return new StagedInput(inputFile, StagingStrategy.READ_ONLY_HANDOFF, System.nanoTime() - start);
+        }
+
+        Path source = inputFile.toPath();
+        Path target = new File(scratchDir, inputFile.getName()).toPath();
+
+        if (allowHardLink && hardLinksSupported && tryHardLink(source, target)) {
+            return new StagedInput(target.toFile(), StagingStrategy.HARD_LINK, System.nanoTime() - start);
+        }
+
+        if (tryChannelTransfer(source, target)) {
+            return new StagedInput(target.toFile(), StagingStrategy.CHANNEL_TRANSFER, System.nanoTime() - start);
+        }
+
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        return new StagedInput(target.toFile(), StagingStrategy.COPY, System.nanoTime() - start);
+    }
+
+    private boolean tryHardLink(Path source, Path target) {
+        try {
+            Files.createLink(target, source);
+            return true;
+        } catch (UnsupportedOperationException e) {
+            // The default filesystem cannot link at all; stop trying for the rest of the run
+            hardLinksSupported = false;
+            LOGGER.info("Hard links unsupported, staging inputs by copy from now on");
+            return false;
+        } catch (IOException e) {
+            // Typically a cross-device link (input and temp dir on different filesystems)
+            LOGGER.debug("Hard link staging failed for {}: {}", source, e.toString());
+            return false;
+        }
+    }
+
+    private boolean tryChannelTransfer(Path source, Path target) {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = in.transferTo(position, size - position, out);
+                if (transferred <= 0) {
+                    return false;
+                }
+                position += transferred;
+            }
+            return true;
+        } catch (IOException e) {
+            LOGGER.debug("Channel transfer staging failed for {}: {}", source, e.toString());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.flexiconvert.staging;
+
+import java.io.File;
+
+public class StagedInput {
+
+    private final File file;
+    private final StagingStrategy strategy;
+    private final long stagingNanos;
+
+    public StagedInput(File file, StagingStrategy strategy, long stagingNanos) {
+        this.file = file;
+        this.strategy = strategy;
+        this.stagingNanos = stagingNanos;
+    }
+
+    /** The file the converter should read; the original itself for a read-only handoff. */
+    public File getFile() {
+        return file;
+    }
+
+    public StagingStrategy getStrategy() {
+        return strategy;
+    }
+
+    public long getStagingNanos() {
+        return stagingNanos;
+    }
+}
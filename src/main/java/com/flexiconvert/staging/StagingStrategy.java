@@ -0,0 +1,15 @@
+package com.flexiconvert.staging;
+
+/**
+ * How an input was made available to a converter, cheapest first.
+ */
+public enum StagingStrategy {
+    /** The converter reads the original file and writes elsewhere; nothing is staged. */
+    READ_ONLY_HANDOFF,
+    /** A hard link to the original inside the scratch directory (same filesystem only). */
+    HARD_LINK,
+    /** An in-kernel copy through FileChannel.transferTo (sendfile/copy_file_range where available). */
+    CHANNEL_TRANSFER,
+    /** A plain Files.copy, used only when nothing cheaper works. */
+    COPY
+}
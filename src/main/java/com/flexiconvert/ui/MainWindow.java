@@ -2,6 +2,7 @@ package com.flexiconvert.ui;
 
 import com.flexiconvert.ConversionType;
 import com.flexiconvert.FileConverterService;
+import com.flexiconvert.progress.ConversionProgress;
 import com.flexiconvert.ui.components.FileInputPanel;
 import com.flexiconvert.ui.components.FormatSelectionPanel;
 import com.flexiconvert.ui.components.OutputPanel;
@@ -12,6 +13,7 @@ import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 
 public class MainWindow extends JFrame {
 
@@ -20,6 +22,7 @@ public class MainWindow extends JFrame {
     private final OutputPanel outputPanel;
     private final JButton convertButton;
     private final JTextArea resultLog;
+    private final JProgressBar progressBar;
 
     private final FileConverterService fileConverterService;
 
@@ -44,6 +47,11 @@ public class MainWindow extends JFrame {
 
         convertButton = new JButton("Convert");
 
+        progressBar = new JProgressBar(0, 1000);
+        progressBar.setStringPainted(true);
+        progressBar.setPreferredSize(new Dimension(200, 20));
+        progressBar.setVisible(false);
+
         resultLog = new JTextArea(8, 50);
         resultLog.setEditable(false);
         JScrollPane logScroll = new JScrollPane(resultLog);
@@ -63,6 +71,7 @@ public class MainWindow extends JFrame {
         convertButton.setPreferredSize(new Dimension(150, 40));
         convertButton.setMaximumSize(new Dimension(200, 40));
         buttonPanel.add(convertButton);
+        buttonPanel.add(progressBar);
 
         // Add vertical spacing between output panel and button
         buttonPanel.setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0));
@@ -112,26 +121,63 @@ public class MainWindow extends JFrame {
         }
 
         ConversionType type = typeOpt.get();
+        File outputDir = outputPanel.getOutputDirectory();
+
+        convertButton.setEnabled(false);
+        progressBar.setIndeterminate(true);
+        progressBar.setString("Starting...");
+        progressBar.setVisible(true);
+        progressBar.getParent().revalidate();
+
+        // Convert off the event thread so the window stays responsive and the bar can move
+        new SwingWorker<File, Void>() {
+            @Override
+            protected File doInBackground() throws Exception {
+                // Always convert to a temporary file first
+                File tempOutput = fileConverterService.convert(inputFile, type,
+                        progress -> SwingUtilities.invokeLater(() -> showProgress(progress)));
+
+                // If using default output directory, also save a copy there now
+                if (outputDir != null) {
+                    File uniqueDestFile = fileConverterService.createUniqueFile(new File(outputDir, tempOutput.getName()));
+                    Files.copy(tempOutput.toPath(), uniqueDestFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    publishLog("✅ Saved to default output: " + uniqueDestFile.getAbsolutePath() + "\n");
+                } else {
+                    publishLog("✅ Converted. Click 'Download...' to save it.\n");
+                }
+                return tempOutput;
+            }
 
-        try {
-            // Always convert to a temporary file first
-            File tempOutput = fileConverterService.convert(inputFile, type);
-            
-            // Store the temporary output file for the Download button
-            outputPanel.setLastOutputFile(tempOutput);
-            
-            // If using default output directory, also save a copy there now
-            File outputDir = outputPanel.getOutputDirectory();
-            if (outputDir != null) {
-                File uniqueDestFile = fileConverterService.createUniqueFile(new File(outputDir, tempOutput.getName()));
-                Files.copy(tempOutput.toPath(), uniqueDestFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                resultLog.append("✅ Saved to default output: " + uniqueDestFile.getAbsolutePath() + "\n");
-            } else {
-                resultLog.append("✅ Converted. Click 'Download...' to save it.\n");
+            @Override
+            protected void done() {
+                try {
+                    // Store the temporary output file for the Download button
+                    outputPanel.setLastOutputFile(get());
+                } catch (ExecutionException ex) {
+                    resultLog.append("❌ Conversion failed: " + ex.getCause().getMessage() + "\n");
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                progressBar.setVisible(false);
+                convertButton.setEnabled(true);
+                progressBar.getParent().revalidate();
             }
-        } catch (Exception ex) {
-            resultLog.append("❌ Conversion failed: " + ex.getMessage() + "\n");
+        }.execute();
+    }
+
+    private void publishLog(String line) {
+        SwingUtilities.invokeLater(() -> resultLog.append(line));
+    }
+
+    private void showProgress(ConversionProgress progress) {
+        if (progress.hasTotal()) {
+            progressBar.setIndeterminate(false);
+            progressBar.setValue((int) (progress.getFraction() * progressBar.getMaximum()));
+        } else {
+            progressBar.setIndeterminate(true);
         }
+        progressBar.setString(progress.getCompleted() + (progress.hasTotal() ? " / " + progress.getTotal() : "")
+                + " " + progress.getUnit().name().toLowerCase());
     }
 
     private void toggleTheme(boolean darkMode) {
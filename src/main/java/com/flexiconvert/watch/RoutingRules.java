@@ -0,0 +1,87 @@
+package com.flexiconvert.watch;
+
+import com.flexiconvert.ConversionType;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Decides what each inbox file becomes, keyed by its extension. A rule's target is either
+ * a format ("csv=json", planned through intermediates when needed) or an exact conversion
+ * type ("docx=DOCX_TO_HTML"). The key {@code *} matches every other extension.
+ */
+public class RoutingRules {
+
+    public static final String ANY = "*";
+
+    private final Map<String, String> targets;
+
+    public RoutingRules(Map<String, String> targets) {
+        Map<String, String> normalized = new LinkedHashMap<>();
+        targets.forEach((extension, target) ->
+                normalized.put(extension.toLowerCase(Locale.ROOT).replaceFirst("^\\.", ""), target.trim()));
+        this.targets = Collections.unmodifiableMap(normalized);
+    }
+
+    /** Parses {@code "csv=json, md=pdf, docx=DOCX_TO_HTML"}. */
+    public static RoutingRules parse(String spec) {
+        Map<String, String> targets = new LinkedHashMap<>();
+        for (String rule : spec.split(",")) {
+            if (rule.isBlank()) continue;
+            String[] parts = rule.split("=", 2);
+            if (parts.length != 2 || parts[0].isBlank() || parts[1].isBlank()) {
+                throw new IllegalArgumentException("Invalid routing rule '" + rule.trim() + "', expected ext=target");
+            }
+            targets.put(parts[0].trim(), parts[1].trim());
+        }
+        return new RoutingRules(targets);
+    }
+
+    public Optional<Route> route(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot != -1 ? fileName.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+        String target = targets.getOrDefault(extension, targets.get(ANY));
+        return target == null ? Optional.empty() : Optional.of(Route.of(target));
+    }
+
+    public Map<String, String> getTargets() {
+        return targets;
+    }
+
+    /** Either an exact conversion type or a target format to plan towards. */
+    public static final class Route {
+        private final ConversionType type;
+        private final String targetFormat;
+
+        private Route(ConversionType type, String targetFormat) {
+            this.type = type;
+            this.targetFormat = targetFormat;
+        }
+
+        static Route of(String target) {
+            try {
+                return new Route(ConversionType.valueOf(target.toUpperCase(Locale.ROOT)), null);
+            } catch (IllegalArgumentException e) {
+                return new Route(null, target.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        /** The exact conversion, or null when the route names a format. */
+        public ConversionType getType() {
+            return type;
+        }
+
+        /** The format to plan towards, or null when the route names a conversion type. */
+        public String getTargetFormat() {
+            return targetFormat;
+        }
+
+        @Override
+        public String toString() {
+            return type != null ? type.name() : targetFormat;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.flexiconvert.watch;
+
+import java.nio.file.Path;
+
+/**
+ * One inbox, where its outputs go and how its files are routed.
+ */
+public class WatchFolder {
+
+    private final Path inbox;
+    private final Path outbox;
+    private final RoutingRules rules;
+
+    public WatchFolder(Path inbox, Path outbox, RoutingRules rules) {
+        this.inbox = inbox.toAbsolutePath().normalize();
+        this.outbox = outbox.toAbsolutePath().normalize();
+        this.rules = rules;
+    }
+
+    public Path getInbox() {
+        return inbox;
+    }
+
+    public Path getOutbox() {
+        return outbox;
+    }
+
+    public RoutingRules getRules() {
+        return rules;
+    }
+
+    @Override
+    public String toString() {
+        return inbox + " -> " + outbox;
+    }
+}
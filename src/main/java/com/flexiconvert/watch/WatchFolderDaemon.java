@@ -0,0 +1,417 @@
+package com.flexiconvert.watch;
+
+import com.flexiconvert.ConversionResult;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.config.FlexiConvertProperties;
+import com.flexiconvert.io.FileTrees;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Converts files as they land in one or more inbox directories.
+ * <ul>
+ *   <li>A new file is only picked up once its size and modification time have been stable
+ *       for the settle time, so half-written uploads and scanner output are left alone.
+ *       Dot-files and {@code .tmp}/{@code .part}/{@code .crdownload} names are ignored.</li>
+ *   <li>Picking a file up atomically moves it into {@code <inbox>/.flexiconvert/processing/<job>/}.
+ *       That directory is the in-flight record: on restart every job still in it is converted
+ *       again, and every file still in the inbox is picked up as if it had just arrived.</li>
+ *   <li>Outputs are copied to a hidden name in the outbox and renamed into place, replacing an
+ *       earlier output of the same name, so readers of the outbox never see partial files and
+ *       a job re-run after a crash does not leave duplicates.</li>
+ *   <li>Failed inputs are moved to {@code <inbox>/.flexiconvert/failed/} next to an
+ *       {@code .error.txt} describing why.</li>
+ * </ul>
+ * At most {@code workers} conversions run at once; further settled files wait in the inbox.
+ */
+public class WatchFolderDaemon implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WatchFolderDaemon.class);
+
+    static final String STATE_DIRECTORY = ".flexiconvert";
+    static final String PROCESSING_DIRECTORY = "processing";
+    static final String FAILED_DIRECTORY = "failed";
+    private static final String PUBLISHED_MARKER = ".published";
+    private static final List<String> PARTIAL_SUFFIXES = List.of(".tmp", ".part", ".partial", ".crdownload");
+    private static final long TICK_MILLIS = 100;
+
+    private final FileConverterService service;
+    private final List<WatchFolder> folders;
+    private final Duration settleTime;
+    private final ExecutorService pool;
+    private final Semaphore slots;
+
+    private final Map<WatchKey, WatchFolder> watchKeys = new HashMap<>();
+    private final Map<Path, Candidate> candidates = new LinkedHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong converted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private WatchService watchService;
+    private Thread watcher;
+    private volatile boolean running;
+
+    public WatchFolderDaemon(FileConverterService service, List<WatchFolder> folders, int workers, Duration settleTime) {
+        if (folders.isEmpty()) throw new IllegalArgumentException("No inbox to watch");
+        this.service = service;
+        this.folders = List.copyOf(folders);
+        this.settleTime = settleTime;
+        this.slots = new Semaphore(Math.max(1, workers));
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "flexiconvert-watch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Builds a daemon from the {@code flexiconvert.watch.*} properties.
+     *
+     * @throws IllegalArgumentException if inboxes, outbox or rules are missing
+     */
+    public static WatchFolderDaemon create(FileConverterService service, FlexiConvertProperties properties) {
+        List<File> inboxes = properties.getWatchInboxes();
+        File outbox = properties.getWatchOutbox();
+        if (inboxes.isEmpty() || outbox == null || properties.getWatchRules().isBlank()) {
+            throw new IllegalArgumentException("Watch mode needs " + FlexiConvertProperties.WATCH_INBOX + ", "
+                    + FlexiConvertProperties.WATCH_OUTBOX + " and " + FlexiConvertProperties.WATCH_RULES);
+        }
+        RoutingRules rules = RoutingRules.parse(properties.getWatchRules());
+        List<WatchFolder> folders = new ArrayList<>();
+        for (File inbox : inboxes) {
+            folders.add(new WatchFolder(inbox.toPath(), outbox.toPath(), rules));
+        }
+        return new WatchFolderDaemon(service, folders, properties.getWatchWorkers(), properties.getWatchSettle());
+    }
+
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--watch")) return true;
+        }
+        return false;
+    }
+
+    public synchronized void start() throws IOException {
+        if (running) return;
+        watchService = FileSystems.getDefault().newWatchService();
+        for (WatchFolder folder : folders) {
+            Files.createDirectories(processingDirectory(folder));
+            Files.createDirectories(failedDirectory(folder));
+            Files.createDirectories(folder.getOutbox());
+            watchKeys.put(folder.getInbox().register(watchService, ENTRY_CREATE, ENTRY_MODIFY), folder);
+        }
+        for (WatchFolder folder : folders) {
+            discardIncoming(folder.getOutbox());
+            recover(folder);
+            scan(folder);
+        }
+
+        running = true;
+        watcher = new Thread(this::watch, "flexiconvert-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        LOGGER.info("Watching {} (settle {} ms)", folders, settleTime.toMillis());
+    }
+
+    /**
+     * Stops watching and waits for running conversions. Jobs that do not finish in time stay in
+     * their processing directory and are picked up again on the next start.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!running) return;
+        running = false;
+        try {
+            watcher.join(TimeUnit.SECONDS.toMillis(5));
+            pool.shutdown();
+            if (!pool.awaitTermination(30, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        } finally {
+            watchService.close();
+        }
+    }
+
+    public long getConvertedCount() {
+        return converted.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    private void watch() {
+        while (running) {
+            try {
+                WatchKey key = watchService.poll(TICK_MILLIS, TimeUnit.MILLISECONDS);
+                while (key != null) {
+                    handleEvents(key);
+                    key = watchService.poll();
+                }
+                dispatchSettled();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.error("Watch loop error", e);
+            }
+        }
+    }
+
+    private void handleEvents(WatchKey key) {
+        WatchFolder folder = watchKeys.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (folder == null) continue;
+            if (event.kind() == OVERFLOW) {
+                scan(folder);
+            } else {
+                observe(folder, folder.getInbox().resolve((Path) event.context()));
+            }
+        }
+        if (!key.reset() && folder != null) {
+            LOGGER.warn("Inbox {} is no longer accessible", folder.getInbox());
+        }
+    }
+
+    private void scan(WatchFolder folder) {
+        try (Stream<Path> files = Files.list(folder.getInbox())) {
+            files.forEach(path -> observe(folder, path));
+        } catch (IOException e) {
+            LOGGER.warn("Could not scan inbox {}", folder.getInbox(), e);
+        }
+    }
+
+    private void observe(WatchFolder folder, Path path) {
+        if (!isEligible(path) || !Files.isRegularFile(path)) return;
+        if (folder.getRules().route(path.getFileName().toString()).isEmpty()) {
+            if (!candidates.containsKey(path)) {
+                LOGGER.debug("No routing rule for {}; leaving it in the inbox", path);
+            }
+            return;
+        }
+        candidates.computeIfAbsent(path, p -> new Candidate(folder));
+    }
+
+    private static boolean isEligible(Path path) {
+        String name = path.getFileName().toString();
+        if (name.startsWith(".")) return false;
+        String lower = name.toLowerCase(Locale.ROOT);
+        return PARTIAL_SUFFIXES.stream().noneMatch(lower::endsWith);
+    }
+
+    /** Hands files whose size and mtime have not changed for the settle time to the pool. */
+    private void dispatchSettled() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path, Candidate>> iterator = candidates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, Candidate> entry = iterator.next();
+            Path path = entry.getKey();
+            Candidate candidate = entry.getValue();
+
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (IOException e) {
+                iterator.remove(); // deleted or renamed before it settled
+                continue;
+            }
+            if (candidate.changed(attributes.size(), attributes.lastModifiedTime().toMillis(), now)) continue;
+            if (now - candidate.lastChangeNanos < settleTime.toNanos()) continue;
+            if (!slots.tryAcquire()) return; // the rest wait for a free worker
+
+            iterator.remove();
+            Path job = claim(candidate.folder, path);
+            if (job != null) {
+                submit(candidate.folder, job);
+            } else {
+                slots.release();
+            }
+        }
+    }
+
+    private Path claim(WatchFolder folder, Path path) {
+        Path job = processingDirectory(folder).resolve(UUID.randomUUID().toString());
+        try {
+            Files.createDirectories(job);
+            Files.move(path, job.resolve(path.getFileName()), StandardCopyOption.ATOMIC_MOVE);
+            return job;
+        } catch (IOException e) {
+            LOGGER.debug("Could not claim {}: {}", path, e.toString());
+            deleteQuietly(job);
+            return null;
+        }
+    }
+
+    /** Removes half-published outputs left behind when a previous run died mid-copy. */
+    private static void discardIncoming(Path outbox) throws IOException {
+        try (Stream<Path> entries = Files.list(outbox)) {
+            entries.filter(path -> path.getFileName().toString().startsWith(".incoming-"))
+                    .forEach(WatchFolderDaemon::deleteQuietly);
+        }
+    }
+
+    private void recover(WatchFolder folder) throws IOException {
+        List<Path> jobs;
+        try (Stream<Path> entries = Files.list(processingDirectory(folder))) {
+            jobs = entries.filter(Files::isDirectory).sorted().collect(Collectors.toList());
+        }
+        if (!jobs.isEmpty()) {
+            LOGGER.info("Resuming {} interrupted jobs in {}", jobs.size(), folder.getInbox());
+        }
+        for (Path job : jobs) {
+            slots.acquireUninterruptibly();
+            submit(folder, job);
+        }
+    }
+
+    private void submit(WatchFolder folder, Path job) {
+        inFlight.incrementAndGet();
+        pool.execute(() -> {
+            try {
+                process(folder, job);
+            } finally {
+                inFlight.decrementAndGet();
+                slots.release();
+            }
+        });
+    }
+
+    private void process(WatchFolder folder, Path job) {
+        Path source = findSource(job);
+        if (source == null) {
+            deleteQuietly(job);
+            return;
+        }
+        if (Files.exists(job.resolve(PUBLISHED_MARKER))) {
+            // Outputs went out before a crash; only the cleanup is left
+            deleteQuietly(job);
+            return;
+        }
+
+        String name = source.getFileName().toString();
+        try {
+            RoutingRules.Route route = folder.getRules().route(name)
+                    .orElseThrow(() -> new IOException("No routing rule for " + name));
+            File input = source.toFile();
+            try (ConversionResult result = route.getType() != null
+                    ? service.execute(input, route.getType())
+                    : service.execute(input, route.getTargetFormat())) {
+                publish(result, folder.getOutbox());
+            }
+            Files.createFile(job.resolve(PUBLISHED_MARKER));
+            deleteQuietly(job);
+            converted.incrementAndGet();
+            LOGGER.info("Converted {} via {}", name, route);
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            LOGGER.warn("Failed to convert {} from {}", name, folder.getInbox(), e);
+            quarantine(folder, job, source, e);
+        }
+    }
+
+    private static Path findSource(Path job) {
+        try (Stream<Path> entries = Files.list(job)) {
+            return entries.filter(path -> !path.getFileName().toString().startsWith("."))
+                    .filter(Files::isRegularFile)
+                    .findFirst().orElse(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void publish(ConversionResult result, Path outbox) throws IOException {
+        List<File> outputs = new ArrayList<>(result.getOutputFiles());
+        outputs.addAll(result.getOutputDirectories());
+        for (File output : outputs) {
+            Path incoming = outbox.resolve(".incoming-" + UUID.randomUUID() + "-" + output.getName());
+            Path target = outbox.resolve(output.getName());
+            try {
+                FileTrees.copy(output.toPath(), incoming);
+                if (Files.isDirectory(target)) {
+                    // A directory cannot be renamed over a non-empty one
+                    FileTrees.delete(target);
+                }
+                Files.move(incoming, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                deleteQuietly(incoming);
+            }
+        }
+    }
+
+    private void quarantine(WatchFolder folder, Path job, Path source, Exception failure) {
+        File target = service.createUniqueFile(failedDirectory(folder).resolve(source.getFileName()).toFile());
+        try {
+            Files.move(source, target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            StringWriter trace = new StringWriter();
+            failure.printStackTrace(new PrintWriter(trace));
+            Files.writeString(new File(target.getParentFile(), target.getName() + ".error.txt").toPath(),
+                    trace.toString(), StandardCharsets.UTF_8);
+            deleteQuietly(job);
+        } catch (IOException e) {
+            LOGGER.error("Could not move failed input {} to {}", source, target, e);
+        }
+    }
+
+    private static Path processingDirectory(WatchFolder folder) {
+        return folder.getInbox().resolve(STATE_DIRECTORY).resolve(PROCESSING_DIRECTORY);
+    }
+
+    private static Path failedDirectory(WatchFolder folder) {
+        return folder.getInbox().resolve(STATE_DIRECTORY).resolve(FAILED_DIRECTORY);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            FileTrees.delete(path);
+        } catch (IOException e) {
+            LOGGER.debug("Could not delete {}", path, e);
+        }
+    }
+
+    /** Last observed size and mtime of a file that has not settled yet. */
+    private static final class Candidate {
+        private final WatchFolder folder;
+        private long size = -1;
+        private long modified = -1;
+        private long lastChangeNanos;
+
+        Candidate(WatchFolder folder) {
+            this.folder = folder;
+        }
+
+        boolean changed(long size, long modified, long now) {
+            if (size == this.size && modified == this.modified) return false;
+            this.size = size;
+            this.modified = modified;
+            this.lastChangeNanos = now;
+            return true;
+        }
+    }
+}
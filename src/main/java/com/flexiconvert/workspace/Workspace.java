@@ -0,0 +1,60 @@
+package com.flexiconvert.workspace;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A leased scratch directory for one conversion job. Closing it deletes the directory
+ * and returns its share of the disk quota.
+ */
+public class Workspace implements AutoCloseable {
+
+    private final WorkspaceManager manager;
+    private final File directory;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile long reservedBytes;
+
+    Workspace(WorkspaceManager manager, File directory, long reservedBytes) {
+        this.manager = manager;
+        this.directory = directory;
+        this.reservedBytes = reservedBytes;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public long getReservedBytes() {
+        return reservedBytes;
+    }
+
+    void setReservedBytes(long reservedBytes) {
+        this.reservedBytes = reservedBytes;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Replaces the up-front estimate with what the job actually left on disk.
+     */
+    public void settle() throws IOException {
+        if (!closed.get()) {
+            manager.settle(this);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            manager.release(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return directory.getName();
+    }
+}
@@ -0,0 +1,257 @@
+package com.flexiconvert.workspace;
+
+import com.flexiconvert.io.FileTrees;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Leases per-job scratch directories under a single root and keeps their combined size
+ * within a disk quota. A lease that would exceed the quota waits until other jobs release
+ * theirs; one job on its own is always admitted so an oversized input cannot deadlock.
+ * <p>
+ * Every workspace is recorded with a sibling {@code .lease} file naming the owning process,
+ * which lets {@link #sweepOrphans()} reclaim directories left behind by crashed processes.
+ */
+public class WorkspaceManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceManager.class);
+
+    static final String PREFIX = "flexiconvert-temp-";
+    private static final String LEASE_SUFFIX = ".lease";
+    private static final Duration ORPHAN_GRACE = Duration.ofHours(1);
+
+    private final File root;
+    private final long quotaBytes;
+    private final Duration leaseTimeout;
+    private final int maxRetained;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private long reservedBytes;
+
+    private final Set<Workspace> active = ConcurrentHashMap.newKeySet();
+    private final Deque<Workspace> retained = new ArrayDeque<>();
+
+    public WorkspaceManager(File root, long quotaBytes, Duration leaseTimeout, int maxRetained) {
+        this.root = root;
+        this.quotaBytes = quotaBytes;
+        this.leaseTimeout = leaseTimeout;
+        this.maxRetained = maxRetained;
+
+        root.mkdirs();
+        int swept = sweepOrphans();
+        if (swept > 0) {
+            LOGGER.info("Reclaimed {} orphaned workspaces under {}", swept, root);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(this::releaseAll, "flexiconvert-workspace-cleanup"));
+    }
+
+    public File getRoot() {
+        return root;
+    }
+
+    public long getQuotaBytes() {
+        return quotaBytes;
+    }
+
+    public long getReservedBytes() {
+        lock.lock();
+        try {
+            return reservedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    /** Room for a staged copy of an input of {@code inputBytes} plus outputs of similar size. */
+    public static long estimateBytes(long inputBytes) {
+        return Math.max(inputBytes, 0) * 3;
+    }
+
+    /**
+     * Leases a new workspace, waiting while {@code expectedBytes} would not fit in the quota.
+     *
+     * @throws IOException if the quota stays exhausted for longer than the lease timeout
+     */
+    public Workspace lease(long expectedBytes) throws IOException {
+        reserve(expectedBytes);
+
+        File directory = new File(root, PREFIX + UUID.randomUUID());
+        try {
+            Files.createDirectories(directory.toPath());
+            Files.writeString(leaseFile(directory).toPath(),
+                    Long.toString(ProcessHandle.current().pid()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            unreserve(expectedBytes);
+            throw e;
+        }
+
+        Workspace workspace = new Workspace(this, directory, expectedBytes);
+        active.add(workspace);
+        return workspace;
+    }
+
+    /**
+     * Hands a workspace over to callers that cannot close it themselves (the legacy
+     * {@code File}-returning API). Retained workspaces are reclaimed oldest first once more
+     * than the retention limit exist, and at shutdown.
+     */
+    public void retain(Workspace workspace) {
+        Workspace evicted = null;
+        synchronized (retained) {
+            retained.addLast(workspace);
+            if (retained.size() > maxRetained) {
+                evicted = retained.removeFirst();
+            }
+        }
+        if (evicted != null) {
+            evicted.close();
+        }
+    }
+
+    /**
+     * Deletes workspaces whose owning process is gone, and unleased directories older than
+     * an hour. Safe to run while this process holds leases of its own.
+     */
+    public int sweepOrphans() {
+        File[] entries = root.listFiles((dir, name) -> name.startsWith(PREFIX));
+        if (entries == null) return 0;
+
+        int swept = 0;
+        long now = System.currentTimeMillis();
+        for (File entry : entries) {
+            if (entry.getName().endsWith(LEASE_SUFFIX)) {
+                File directory = new File(root, entry.getName().substring(0, entry.getName().length() - LEASE_SUFFIX.length()));
+                if (!isOwnerAlive(entry) && delete(directory, entry)) {
+                    swept++;
+                }
+            } else if (entry.isDirectory() && !leaseFile(entry).exists()
+                    && now - entry.lastModified() > ORPHAN_GRACE.toMillis()) {
+                if (delete(entry, null)) {
+                    swept++;
+                }
+            }
+        }
+        return swept;
+    }
+
+    void settle(Workspace workspace) throws IOException {
+        long actual = FileTrees.size(workspace.getDirectory().toPath());
+        lock.lock();
+        try {
+            reservedBytes += actual - workspace.getReservedBytes();
+            workspace.setReservedBytes(actual);
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(Workspace workspace) {
+        active.remove(workspace);
+        synchronized (retained) {
+            retained.remove(workspace);
+        }
+        delete(workspace.getDirectory(), leaseFile(workspace.getDirectory()));
+        unreserve(workspace.getReservedBytes());
+    }
+
+    private void reserve(long bytes) throws IOException {
+        long deadline = System.nanoTime() + leaseTimeout.toNanos();
+        lock.lock();
+        try {
+            while (reservedBytes > 0 && reservedBytes + bytes > quotaBytes) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IOException("Workspace quota exhausted: " + reservedBytes + " of " + quotaBytes
+                            + " bytes in use, " + bytes + " requested");
+                }
+                released.awaitNanos(remaining);
+            }
+            reservedBytes += bytes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for workspace quota", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void unreserve(long bytes) {
+        lock.lock();
+        try {
+            reservedBytes = Math.max(0, reservedBytes - bytes);
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseAll() {
+        for (Workspace workspace : active.toArray(new Workspace[0])) {
+            workspace.close();
+        }
+    }
+
+    private boolean isOwnerAlive(File leaseFile) {
+        try {
+            long pid = Long.parseLong(Files.readString(leaseFile.toPath(), StandardCharsets.UTF_8).trim());
+            return ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+        } catch (IOException | NumberFormatException e) {
+            // Unreadable lease: assume the owner is alive until the lease is clearly stale
+            return System.currentTimeMillis() - leaseFile.lastModified() < ORPHAN_GRACE.toMillis();
+        }
+    }
+
+    private boolean delete(File directory, File leaseFile) {
+        try {
+            FileTrees.delete(directory.toPath());
+            if (leaseFile != null) {
+                Files.deleteIfExists(leaseFile.toPath());
+            }
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Failed to reclaim workspace {}: {}", directory, e.toString());
+            return false;
+        }
+    }
+
+    private static File leaseFile(File directory) {
+        return new File(directory.getParentFile(), directory.getName() + LEASE_SUFFIX);
+    }
+
+    @Override
+    public String toString() {
+        return "WorkspaceManager{" + root + ", reserved=" + getReservedBytes() + "/" + quotaBytes
+                + ", active=" + active.size() + ", waitLimit=" + leaseTimeout.toSeconds() + "s}";
+    }
+
+    /**
+     * Creates a manager; a {@code quotaBytes} of 0 or less means half of the space that is
+     * free under {@code root} right now, which leaves room for everything else on the disk.
+     */
+    public static WorkspaceManager create(File root, long quotaBytes, Duration leaseTimeout, int maxRetained) {
+        if (quotaBytes <= 0) {
+            root.mkdirs();
+            quotaBytes = Math.max(64L * 1024 * 1024, root.getUsableSpace() / 2);
+        }
+        return new WorkspaceManager(root, quotaBytes, leaseTimeout, maxRetained);
+    }
+}
@@ -1,10 +1,28 @@
 package com.flexiconvert;
 
+import com.flexiconvert.batch.BatchOptions;
+import com.flexiconvert.batch.BatchResult;
+import com.flexiconvert.cancellation.CancellationToken;
 import com.flexiconvert.config.AppConfig;
+import com.flexiconvert.io.MemoryOutputSink;
+import com.flexiconvert.progress.ProgressListener;
+import com.flexiconvert.selection.Selection;
+import com.flexiconvert.staging.StagingStrategy;
+import com.flexiconvert.workspace.WorkspaceManager;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,6 +46,157 @@ public class FileConverterServiceTest extends AbstractConverterTest {
         assertTrue(output.getName().endsWith(".html"));
     }
 
+    @Test
+    public void testExecuteReportsProducedOutputs() throws Exception {
+        File input = createTempFile("report.csv", "1,Alice,30\n2,Bob,25");
+        ConversionResult result = service.execute(input, ConversionType.CSV_TO_JSON);
+
+        assertEquals(1, result.getOutputFiles().size());
+        assertTrue(result.getOutputDirectories().isEmpty());
+        assertEquals("report.json", result.getPrimaryOutput().getName());
+        assertEquals(result.getPrimaryOutput().length(), result.getBytesOut());
+        assertEquals(input.length(), result.getBytesIn());
+        assertTrue(result.getConversionNanos() > 0);
+    }
+
+    @Test
+    public void testStreamingConverterReadsOriginalInPlace() throws Exception {
+        File input = createTempFile("inplace.csv", "1,Alice,30");
+        ConversionResult result = service.execute(input, ConversionType.CSV_TO_JSON);
+
+        assertEquals(StagingStrategy.READ_ONLY_HANDOFF, result.getStagingStrategy());
+        assertNotEquals(input.getParentFile(), result.getPrimaryOutput().getParentFile(),
+                "Outputs must not be written next to the caller's file");
+    }
+
+    @Test
+    public void testFileConverterInputIsNotCopiedWhenItCanBeLinked() throws Exception {
+        File input = createTempFile("linked.txt", "Hello");
+        ConversionResult result = service.execute(input, ConversionType.TXT_TO_PDF);
+
+        assertNotEquals(StagingStrategy.COPY, result.getStagingStrategy());
+        assertEquals("linked.pdf", result.getPrimaryOutput().getName());
+    }
+
+    @Test
+    public void testMisnamedInputIsNeverLinked() throws Exception {
+        // TextToPdfConverter keeps the name of a ".TXT" input, so it overwrites its staged input
+        File input = createTempFile("shout.TXT", "Hello");
+        ConversionResult result = service.execute(input, ConversionType.TXT_TO_PDF);
+
+        assertNotEquals(StagingStrategy.HARD_LINK, result.getStagingStrategy());
+        assertEquals("Hello", Files.readString(input.toPath()), "Original input must be left untouched");
+    }
+
+    @Test
+    public void testConvertAllAggregatesFailuresWithoutAborting() throws Exception {
+        List<File> inputs = List.of(
+                createTempFile("a.csv", "1,Alice"),
+                createTempFile("b.csv", ""),
+                createTempFile("c.csv", "3,Carol"),
+                createTempFile("d.csv", "4,Dave"));
+        AtomicInteger reported = new AtomicInteger();
+
+        BatchResult result = service.convertAll(inputs, ConversionType.CSV_TO_JSON,
+                BatchOptions.defaults().setParallelism(2).setListener(item -> reported.incrementAndGet()));
+
+        assertEquals(4, result.getItems().size());
+        assertEquals(4, reported.get(), "Every item should be reported as it completes");
+        assertEquals(1, result.getFailures().size());
+        assertEquals("b.csv", result.getFailures().get(0).getInput().getName());
+        assertTrue(result.getSuccesses().stream().allMatch(item -> item.getResult().getPrimaryOutput().exists()));
+    }
+
+    @Test
+    public void testConvertAllAdmitsInputsThroughABoundedWindow() throws Exception {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            files.add(createTempFile("w" + i + ".csv", i + ",Alice"));
+        }
+        AtomicInteger handedOut = new AtomicInteger();
+        AtomicInteger handedOutAtFirstCompletion = new AtomicInteger(-1);
+        List<File> inputs = new AbstractList<>() {
+            @Override
+            public File get(int index) {
+                handedOut.accumulateAndGet(index + 1, Math::max);
+                return files.get(index);
+            }
+
+            @Override
+            public int size() {
+                return files.size();
+            }
+        };
+
+        BatchResult result = service.convertAll(inputs, "json", BatchOptions.defaults().setParallelism(1)
+                .setListener(item -> handedOutAtFirstCompletion.compareAndSet(-1, handedOut.get())));
+
+        assertEquals(100, result.getSuccesses().size());
+        assertTrue(handedOutAtFirstCompletion.get() < 10,
+                "Inputs are planned as room frees up, not all up front: " + handedOutAtFirstCompletion.get());
+    }
+
+    @Test
+    public void testMultiHopConversionWritesOnlyFinalOutput() throws Exception {
+        File input = createTempFile("notes.md", "# Title\n\nSome *notes*.");
+        try (ConversionResult result = service.execute(input, "txt")) {
+            assertEquals(ConversionType.HTML_TO_TXT, result.getType());
+            assertEquals(List.of(result.getPrimaryOutput()), result.getOutputFiles(),
+                    "The intermediate HTML must never reach the workspace");
+            assertEquals("notes.txt", result.getPrimaryOutput().getName());
+            assertTrue(Files.readString(result.getPrimaryOutput().toPath()).contains("Title"));
+        }
+    }
+
+    @Test
+    public void testUnreachableTargetFormatIsRejected() throws Exception {
+        File input = createTempFile("archive.zip", "not really a zip");
+        assertThrows(UnsupportedOperationException.class, () -> service.execute(input, "json"));
+    }
+
+    @Test
+    public void testChainRunsRemainingHopsForEveryIntermediate() throws Exception {
+        File input = new File(tempDir.toFile(), "book.xlsx");
+        try (Workbook workbook = new XSSFWorkbook(); FileOutputStream out = new FileOutputStream(input)) {
+            workbook.createSheet("North").createRow(0).createCell(0).setCellValue("n1");
+            workbook.createSheet("South").createRow(0).createCell(0).setCellValue("s1");
+            workbook.write(out);
+        }
+
+        try (ConversionResult result = service.execute(input, "json")) {
+            File workspace = result.getPrimaryOutput().getParentFile();
+            assertEquals(List.of("North.json", "South.json"),
+                    result.getOutputFiles().stream().map(File::getName).toList());
+            assertTrue(result.getOutputDirectories().isEmpty(), "Intermediates are removed: " + result.getOutputDirectories());
+            assertTrue(Files.readString(new File(workspace, "South.json").toPath()).contains("s1"));
+        }
+    }
+
+    @Test
+    public void testClosingResultReclaimsWorkspace() throws Exception {
+        File input = createTempFile("reclaim.csv", "1,Alice,30");
+        ConversionResult result = service.execute(input, ConversionType.CSV_TO_JSON);
+        File workspace = result.getPrimaryOutput().getParentFile();
+        assertTrue(workspace.exists());
+
+        result.close();
+
+        assertFalse(workspace.exists());
+    }
+
+    @Test
+    public void testFailedConversionReclaimsWorkspace() throws Exception {
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            FileConverterService isolated = ctx.getBean(FileConverterService.class);
+            WorkspaceManager workspaces = ctx.getBean(WorkspaceManager.class);
+            int before = workspaces.getActiveCount();
+
+            assertThrows(Exception.class,
+                    () -> isolated.execute(createTempFile("empty.csv", ""), ConversionType.CSV_TO_JSON));
+            assertEquals(before, workspaces.getActiveCount());
+        }
+    }
+
     @Test
     public void testInvalidConversionType() {
         File dummy = new File("fake.txt");
@@ -36,4 +205,65 @@ public class FileConverterServiceTest extends AbstractConverterTest {
             service.convert(dummy, null)
         );
     }
+
+    @Test
+    public void testStreamingConversionWritesToSink() throws Exception {
+        MemoryOutputSink sink = new MemoryOutputSink();
+        byte[] csv = "1,Alice,30\n2,Bob,25".getBytes(StandardCharsets.UTF_8);
+
+        service.convert(new ByteArrayInputStream(csv), "people.csv", ConversionType.CSV_TO_JSON, sink);
+
+        byte[] json = sink.get("people.json");
+        assertNotNull(json, "Streaming converter should publish people.json");
+        assertTrue(new String(json, StandardCharsets.UTF_8).contains("\"Alice\""));
+    }
+
+    @Test
+    public void testFileBasedConverterIsAdaptedToStreaming() throws Exception {
+        MemoryOutputSink sink = new MemoryOutputSink();
+        byte[] text = "Hello\nWorld".getBytes(StandardCharsets.UTF_8);
+
+        service.convert(new ByteArrayInputStream(text), "notes.txt", ConversionType.TXT_TO_PDF, sink);
+
+        assertEquals(1, sink.getEntries().size(), "Only the produced PDF should be published");
+        byte[] pdf = sink.get("notes.pdf");
+        assertNotNull(pdf);
+        assertEquals("%PDF", new String(pdf, 0, 4, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testSelectionIsAppliedAndCachedSeparately() throws Exception {
+        File input = createTempFile("selected.csv", "1,Alice,30\n2,Bob,25\n3,Carol,41");
+        Selection selection = Selection.columns("1").and("2>28");
+
+        try (ConversionResult all = service.execute(input, "json");
+             ConversionResult selected = service.execute(input, "json", CancellationToken.create(),
+                     ProgressListener.NONE, selection)) {
+            assertTrue(Files.readString(all.getPrimaryOutput().toPath()).contains("Bob"));
+            String json = Files.readString(selected.getPrimaryOutput().toPath());
+            assertTrue(json.contains("Alice") && json.contains("Carol"), json);
+            assertFalse(json.contains("Bob") || json.contains("__0"), json);
+        }
+    }
+
+    @Test
+    public void testSelectionOnUnsupportedConversionIsRejected() throws Exception {
+        File input = createTempFile("notes.md", "# Title");
+        assertThrows(UnsupportedOperationException.class, () -> service.execute(input, ConversionType.MD_TO_HTML,
+                CancellationToken.create(), ProgressListener.NONE, Selection.columns("0")));
+        assertThrows(UnsupportedOperationException.class, () -> service.execute(input, "pdf",
+                CancellationToken.create(), ProgressListener.NONE, Selection.where("0=1")));
+    }
+
+    @Test
+    public void testNamedCsvColumnsAreRejectedBeforeConverting() throws Exception {
+        File input = createTempFile("named.csv", "id,name\n1,Alice");
+        assertThrows(IllegalArgumentException.class, () -> service.execute(input, ConversionType.CSV_TO_JSON,
+                CancellationToken.create(), ProgressListener.NONE, Selection.columns("name")));
+        assertThrows(IllegalArgumentException.class, () -> service.execute(input, "xml",
+                CancellationToken.create(), ProgressListener.NONE, Selection.where("id=1")));
+        assertThrows(IllegalArgumentException.class, () -> service.convert(new ByteArrayInputStream(new byte[0]),
+                "named.csv", ConversionType.CSV_TO_JSON, new MemoryOutputSink(), CancellationToken.create(),
+                Selection.columns("name")));
+    }
 }
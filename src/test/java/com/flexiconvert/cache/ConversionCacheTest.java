@@ -0,0 +1,104 @@
+package com.flexiconvert.cache;
+
+import com.flexiconvert.AbstractConverterTest;
+import com.flexiconvert.ConversionResult;
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.FileValidationService;
+import com.flexiconvert.cancellation.ConversionDeadlines;
+import com.flexiconvert.config.AppConfig;
+import com.flexiconvert.memory.MemoryBudget;
+import com.flexiconvert.metrics.MetricsRegistry;
+import com.flexiconvert.registry.ConverterRegistry;
+import com.flexiconvert.staging.InputStager;
+import com.flexiconvert.workspace.WorkspaceManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConversionCacheTest extends AbstractConverterTest {
+
+    private FileConverterService serviceWith(ConversionCache cache) {
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            return new FileConverterService(ctx.getBean(ConverterRegistry.class), ctx.getBean(InputStager.class), cache, ctx.getBean(WorkspaceManager.class),
+                    ctx.getBean(MemoryBudget.class), ctx.getBean(ConversionDeadlines.class), ctx.getBean(MetricsRegistry.class));
+        }
+    }
+
+    @Test
+    public void testRepeatConversionIsServedFromCache() throws Exception {
+        File cacheDir = new File(tempDir.toFile(), "cache");
+        ConversionCache cache = new ConversionCache(cacheDir, 10_000_000, Duration.ofDays(1), new FileValidationService());
+        FileConverterService service = serviceWith(cache);
+        File input = createTempFile("cached.csv", "1,Alice,30\n2,Bob,25");
+
+        ConversionResult first = service.execute(input, ConversionType.CSV_TO_JSON);
+        ConversionResult second = service.execute(input, ConversionType.CSV_TO_JSON);
+
+        assertFalse(first.isCacheHit());
+        assertTrue(second.isCacheHit());
+        assertEquals("cached.json", second.getPrimaryOutput().getName());
+        assertEquals(Files.readString(first.getPrimaryOutput().toPath()),
+                Files.readString(second.getPrimaryOutput().toPath()));
+    }
+
+    @Test
+    public void testDifferentContentMisses() throws Exception {
+        File cacheDir = new File(tempDir.toFile(), "cache");
+        ConversionCache cache = new ConversionCache(cacheDir, 10_000_000, Duration.ofDays(1), new FileValidationService());
+        FileConverterService service = serviceWith(cache);
+
+        File input = createTempFile("changing.csv", "1,Alice");
+        service.execute(input, ConversionType.CSV_TO_JSON);
+        Files.writeString(input.toPath(), "2,Bob");
+
+        ConversionResult result = service.execute(input, ConversionType.CSV_TO_JSON);
+        assertFalse(result.isCacheHit());
+        assertTrue(Files.readString(result.getPrimaryOutput().toPath()).contains("Bob"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvictedBeyondMaxSize() throws Exception {
+        File cacheDir = new File(tempDir.toFile(), "cache");
+        ConversionCache cache = new ConversionCache(cacheDir, 60, Duration.ofDays(1), new FileValidationService());
+        FileConverterService service = serviceWith(cache);
+
+        service.execute(createTempFile("old.csv", "1,Alice"), ConversionType.CSV_TO_JSON);
+        File[] entries = cacheDir.listFiles(f -> !f.getName().startsWith("."));
+        assertNotNull(entries);
+        assertEquals(1, entries.length);
+        File oldEntry = entries[0];
+        assertTrue(oldEntry.setLastModified(System.currentTimeMillis() - 3_600_000));
+
+        service.execute(createTempFile("new.csv", "2,Bob"), ConversionType.CSV_TO_JSON);
+
+        assertFalse(oldEntry.exists(), "The least recently used entry should be evicted");
+        assertEquals(1, cacheDir.listFiles(f -> !f.getName().startsWith(".")).length);
+    }
+
+    @Test
+    public void testFailedRestoreLeavesNothingBehind() throws Exception {
+        File cacheDir = new File(tempDir.toFile(), "cache");
+        ConversionCache cache = new ConversionCache(cacheDir, 10_000_000, Duration.ofDays(1), new FileValidationService());
+        File input = createTempFile("partial.csv", "1,Alice");
+        CacheKey key = cache.keyFor(input, ConversionType.CSV_TO_JSON, "", 1);
+
+        File outputs = new File(cacheDir, key.toFileName() + "/outputs");
+        assertTrue(outputs.mkdirs());
+        Files.writeString(new File(outputs, "a.json").toPath(), "[]");
+        Files.writeString(new File(outputs, "b.json").toPath(), "[]");
+        Files.writeString(new File(cacheDir, key.toFileName() + "/entry.properties").toPath(), "primary=a.json\n");
+
+        // A non-empty directory in the way makes the second copy fail after the first succeeded
+        File target = new File(tempDir.toFile(), "target");
+        assertTrue(new File(target, "b.json/blocker").mkdirs());
+
+        assertTrue(cache.lookup(key, input, target, 0).isEmpty());
+        assertFalse(new File(target, "a.json").exists(), "Partially restored outputs must be removed");
+    }
+}
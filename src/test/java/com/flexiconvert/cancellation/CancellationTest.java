@@ -0,0 +1,150 @@
+package com.flexiconvert.cancellation;
+
+import com.flexiconvert.AbstractConverterTest;
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.cache.ConversionCache;
+import com.flexiconvert.config.AppConfig;
+import com.flexiconvert.interfaces.FormatConverter;
+import com.flexiconvert.memory.MemoryBudget;
+import com.flexiconvert.metrics.MetricsRegistry;
+import com.flexiconvert.registry.ConverterDescriptor;
+import com.flexiconvert.registry.ConverterRegistry;
+import com.flexiconvert.staging.InputStager;
+import com.flexiconvert.workspace.WorkspaceManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CancellationTest extends AbstractConverterTest {
+
+    private FileConverterService serviceWith(ConverterRegistry registry, WorkspaceManager workspaces,
+                                             ConversionDeadlines deadlines) {
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            return new FileConverterService(registry, ctx.getBean(InputStager.class), ConversionCache.disabled(),
+                    workspaces, ctx.getBean(MemoryBudget.class), deadlines, ctx.getBean(MetricsRegistry.class));
+        }
+    }
+
+    private WorkspaceManager workspaces() {
+        return new WorkspaceManager(new File(tempDir.toFile(), "workspaces"), Long.MAX_VALUE, Duration.ofMinutes(1), 0);
+    }
+
+    @Test
+    public void testChildIsCancelledWithParent() {
+        CancellationToken parent = CancellationToken.create();
+        CancellationToken child = parent.child(Duration.ZERO);
+        assertFalse(child.isCancelled());
+        assertEquals(Long.MAX_VALUE, child.remainingNanos());
+
+        parent.cancel("Stopped by user");
+
+        assertTrue(child.isCancelled());
+        ConversionCancelledException e = assertThrows(ConversionCancelledException.class, child::throwIfCancelled);
+        assertEquals("Stopped by user", e.getMessage());
+        assertFalse(e.isTimedOut());
+    }
+
+    @Test
+    public void testDeadlineCancelsToken() throws Exception {
+        CancellationToken token = CancellationToken.withTimeout(Duration.ofMillis(20));
+        assertFalse(token.isCancelled());
+
+        Thread.sleep(40);
+
+        assertTrue(token.isCancelled());
+        assertTrue(assertThrows(ConversionCancelledException.class, token::throwIfCancelled).isTimedOut());
+    }
+
+    @Test
+    public void testCheckpointOnlyThrowsInsideCancelledScope() throws Exception {
+        Cancellation.checkpoint();
+
+        CancellationToken token = CancellationToken.create();
+        try (Cancellation.Scope scope = Cancellation.open(token)) {
+            Cancellation.checkpoint();
+            token.cancel();
+            assertThrows(ConversionCancelledException.class, Cancellation::checkpoint);
+        }
+        assertNull(Cancellation.current());
+        Cancellation.checkpoint();
+    }
+
+    @Test
+    public void testCancelStopsRunningConversionAndDiscardsPartialOutput() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<File> partial = new AtomicReference<>();
+        FormatConverter stuck = input -> {
+            File output = new File(input.getParentFile(), "partial.pdf");
+            Files.writeString(output.toPath(), "half a document");
+            partial.set(output);
+            started.countDown();
+            long giveUp = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (System.nanoTime() < giveUp) {
+                Cancellation.checkpoint();
+                Thread.onSpinWait();
+            }
+            throw new IOException("never cancelled");
+        };
+        ConverterRegistry registry = new ConverterRegistry(
+                List.of(new ConverterDescriptor(ConversionType.TXT_TO_PDF, "stuck", 1, true)), type -> stuck);
+        WorkspaceManager workspaces = workspaces();
+        FileConverterService service = serviceWith(registry, workspaces, ConversionDeadlines.none());
+        File input = createTempFile("notes.txt", "hello");
+
+        CancellationToken token = CancellationToken.create();
+        CompletableFuture<?> conversion = CompletableFuture.runAsync(() -> {
+            try {
+                service.execute(input, ConversionType.TXT_TO_PDF, token).close();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertTrue(partial.get().exists());
+
+        token.cancel();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> conversion.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(ConversionCancelledException.class, e.getCause().getCause());
+        assertFalse(partial.get().exists());
+        assertEquals(0, workspaces.getActiveCount());
+    }
+
+    @Test
+    public void testPerTypeDeadlineStopsConversion() throws Exception {
+        ConversionDeadlines deadlines = new ConversionDeadlines(Map.of(ConversionType.ZIP_TO_FOLDER, Duration.ofNanos(1)));
+        WorkspaceManager workspaces = workspaces();
+        FileConverterService service = serviceWith(ConverterRegistry.load(), workspaces, deadlines);
+        File csv = createTempFile("data.csv", "1,Alice\n2,Bob\n");
+
+        assertEquals(Duration.ZERO, deadlines.getTimeout(ConversionType.CSV_TO_JSON));
+        service.execute(csv, ConversionType.CSV_TO_JSON).close();
+
+        File zip = createTempFile("archive.zip", "");
+        try (var out = new ZipOutputStream(Files.newOutputStream(zip.toPath()))) {
+            out.putNextEntry(new ZipEntry("a.txt"));
+            out.write("a".getBytes());
+            out.closeEntry();
+        }
+        ConversionCancelledException e = assertThrows(ConversionCancelledException.class,
+                () -> service.execute(zip, ConversionType.ZIP_TO_FOLDER));
+        assertTrue(e.isTimedOut());
+        assertEquals(0, workspaces.getActiveCount());
+    }
+}
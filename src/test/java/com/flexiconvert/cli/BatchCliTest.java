@@ -0,0 +1,138 @@
+package com.flexiconvert.cli;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flexiconvert.AbstractConverterTest;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.config.AppConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchCliTest extends AbstractConverterTest {
+
+    private final FileConverterService service;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    public BatchCliTest() {
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            service = ctx.getBean(FileConverterService.class);
+        }
+    }
+
+    private int run(String... args) {
+        return new BatchCli(service, new PrintStream(out, true), new PrintStream(err, true)).run(args);
+    }
+
+    private File createNestedFile(String path, String content) throws Exception {
+        File file = new File(tempDir.toFile(), path);
+        file.getParentFile().mkdirs();
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+
+    private List<JsonNode> events() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\\R")) {
+            if (!line.isBlank()) events.add(mapper.readTree(line));
+        }
+        return events;
+    }
+
+    @Test
+    public void testConvertsDirectoryAndReportsProgress() throws Exception {
+        createNestedFile("in/a.csv", "1,Alice");
+        createNestedFile("in/b.csv", "2,Bob");
+        File outDir = new File(tempDir.toFile(), "out");
+
+        int exit = run("--cli", "--to", "json", "--workers", "2", "--out", outDir.getPath(),
+                new File(tempDir.toFile(), "in").getPath());
+
+        assertEquals(BatchCli.EXIT_OK, exit, err.toString());
+        assertTrue(new File(outDir, "a.json").exists());
+        assertTrue(new File(outDir, "b.json").exists());
+
+        List<JsonNode> events = events();
+        assertEquals(3, events.size());
+        assertEquals("item", events.get(0).get("event").asText());
+        assertEquals(1, events.get(0).get("completed").asInt());
+        JsonNode summary = events.get(2);
+        assertEquals("summary", summary.get("event").asText());
+        assertEquals(2, summary.get("completed").asInt());
+        assertEquals(0, summary.get("failures").asInt());
+        assertTrue(summary.has("filesPerSec") && summary.has("mbPerSec"));
+    }
+
+    @Test
+    public void testFailuresSetExitStatus() throws Exception {
+        createNestedFile("mixed/good.csv", "1,Alice");
+        createNestedFile("mixed/empty.csv", "");
+
+        int exit = run("--cli", "--to", "json", new File(tempDir.toFile(), "mixed").getPath());
+
+        assertEquals(BatchCli.EXIT_FAILURES, exit);
+        JsonNode failed = events().stream()
+                .filter(e -> "failed".equals(e.path("status").asText()))
+                .findFirst().orElseThrow();
+        assertTrue(failed.get("input").asText().endsWith("empty.csv"));
+        assertTrue(failed.has("error"));
+    }
+
+    @Test
+    public void testGlobSelectsMatchingFilesRecursively() throws Exception {
+        createNestedFile("tree/top.csv", "1,a");
+        createNestedFile("tree/deep/nested.csv", "2,b");
+        createNestedFile("tree/deep/skip.md", "# no");
+
+        CliOptions options = CliOptions.parse(new String[]{"--to", "json",
+                new File(tempDir.toFile(), "tree").getPath() + "/**.csv"});
+        List<File> inputs = options.resolveInputs();
+
+        assertEquals(2, inputs.size());
+        assertTrue(inputs.stream().allMatch(file -> file.getName().endsWith(".csv")));
+    }
+
+    @Test
+    public void testUsageErrors() throws Exception {
+        assertEquals(BatchCli.EXIT_USAGE, run("--cli", "some.csv"));
+        assertEquals(BatchCli.EXIT_USAGE, run("--cli", "--to", "json", "--workers", "many", "some.csv"));
+        assertEquals(BatchCli.EXIT_USAGE, run("--cli", "--to", "json", new File(tempDir.toFile(), "missing.csv").getPath()));
+        assertTrue(out.toString(StandardCharsets.UTF_8).isEmpty(), "Usage errors must not write to the progress stream");
+    }
+
+    @Test
+    public void testExistingOutputsAreNotOverwritten() throws Exception {
+        File input = createTempFile("keep.csv", "1,Alice");
+        File existing = createTempFile("keep.json", "original");
+
+        assertEquals(BatchCli.EXIT_OK, run("--cli", "--to", "json", input.getPath()));
+
+        assertEquals("original", Files.readString(existing.toPath()));
+        assertTrue(new File(existing.getParentFile(), "keep-1.json").exists());
+    }
+
+    @Test
+    public void testColumnsAndWhereSelectFromEveryInput() throws Exception {
+        File input = createTempFile("people.csv", "1,Alice,30\n2,Bob,25\n3,Carol,41");
+
+        assertEquals(BatchCli.EXIT_OK, run("--cli", "--to", "json", "--columns", "1", "--where", "2>=30",
+                "--where", "1!=Carol", input.getPath()), err.toString());
+
+        JsonNode rows = new ObjectMapper().readTree(getOutputFile(input, "json"));
+        assertEquals(1, rows.size());
+        assertEquals("Alice", rows.get(0).get("__1").asText());
+        assertEquals(1, rows.get(0).size());
+        assertEquals(BatchCli.EXIT_USAGE, run("--cli", "--to", "json", "--where", "no-operator", input.getPath()));
+    }
+}
@@ -0,0 +1,75 @@
+package com.flexiconvert.converters;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** CSV inputs, and a sink for their outputs, shared by the CSV converter tests. */
+final class CsvFixtures {
+
+    private CsvFixtures() {
+    }
+
+    /**
+     * Rows with quoted delimiters, doubled quotes and line breaks, blank and decimal cells,
+     * XML metacharacters and a narrower row every eleventh: small chunks cut through all of it.
+     */
+    static String trickyRows(int rows) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            content.append(i).append(",\"name ").append(i).append(", \"\"quoted\"\"\n second line\",")
+                    .append(i % 7 == 0 ? "" : i + ".5").append(i % 11 == 0 ? "\n" : ",<&>\n");
+        }
+        return content.toString();
+    }
+
+    /**
+     * {@code rows} lines of {@code id,name,number}, generated as they are read so a test never
+     * holds the whole input; {@code onEnd} runs when the reader first hits the end.
+     */
+    static InputStream generatedRows(int rows, Runnable onEnd) {
+        return new InputStream() {
+            private int row;
+            private byte[] line = new byte[0];
+            private int position;
+            private boolean ended;
+
+            @Override
+            public int read() {
+                if (position == line.length) {
+                    if (row == rows) {
+                        if (!ended) {
+                            ended = true;
+                            onEnd.run();
+                        }
+                        return -1;
+                    }
+                    line = (row + ",name" + row + "," + (row % 90) + "\n").getBytes(StandardCharsets.UTF_8);
+                    position = 0;
+                    row++;
+                }
+                return line[position++];
+            }
+        };
+    }
+
+    /** Discards everything written to it, counting the bytes. */
+    static final class CountingOutputStream extends OutputStream {
+        private final AtomicLong count = new AtomicLong();
+
+        @Override
+        public void write(int b) {
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count.addAndGet(len);
+        }
+
+        long getCount() {
+            return count.get();
+        }
+    }
+}
@@ -3,13 +3,20 @@ package com.flexiconvert.converters;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
+import com.flexiconvert.csv.ColumnType;
+import com.flexiconvert.csv.CsvChunking;
+import com.flexiconvert.jackson.JacksonCodecs;
+import com.flexiconvert.selection.Selection;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,32 +28,28 @@ public class CsvToJsonConverterTest extends AbstractConverterTest {
         String content = "1,Alice,30\n2,Bob,25";
 
         File input = createTempFile("sample.csv", content);
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            CsvToJsonConverter converter = ctx.getBean(CsvToJsonConverter.class);
-            converter.convert(input);
+        CsvToJsonConverter converter = new CsvToJsonConverter();
+        converter.convert(input);
 
-            File output = getOutputFile(input, "json");
-            assertTrue(output.exists(), "JSON output should be created");
-            String json = Files.readString(output.toPath());
+        File output = getOutputFile(input, "json");
+        assertTrue(output.exists(), "JSON output should be created");
+        String json = Files.readString(output.toPath());
 
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(json);
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode root = mapper.readTree(json);
 
-            assertEquals(2, root.size(), "Should contain 2 rows");
-            assertEquals("Alice", root.get(0).get("__1").asText());
-            assertEquals(30, root.get(0).get("__2").asInt());
-            assertEquals("Bob", root.get(1).get("__1").asText());
-        }
+        assertEquals(2, root.size(), "Should contain 2 rows");
+        assertEquals("Alice", root.get(0).get("__1").asText());
+        assertEquals(30, root.get(0).get("__2").asInt());
+        assertEquals("Bob", root.get(1).get("__1").asText());
     }
 
     @Test
     public void testEmptyCsvThrowsException() throws Exception {
         File input = createTempFile("empty.csv", "");
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            CsvToJsonConverter converter = ctx.getBean(CsvToJsonConverter.class);
-            assertThrows(IOException.class, () -> converter.convert(input), "Should throw IOException for empty CSV file");
-        }
+        CsvToJsonConverter converter = new CsvToJsonConverter();
+        assertThrows(IOException.class, () -> converter.convert(input), "Should throw IOException for empty CSV file");
     }
 
     @Test
@@ -54,20 +57,117 @@ public class CsvToJsonConverterTest extends AbstractConverterTest {
         String content = "1,Alice\n2,Bob,25"; // First row has only 2 values
 
         File input = createTempFile("incomplete.csv", content);
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            CsvToJsonConverter converter = ctx.getBean(CsvToJsonConverter.class);
-            converter.convert(input);
+        CsvToJsonConverter converter = new CsvToJsonConverter();
+        converter.convert(input);
+
+        File output = getOutputFile(input, "json");
+        assertTrue(output.exists(), "Output should still be created even with missing values");
+
+        String json = Files.readString(output.toPath());
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode root = mapper.readTree(json);
 
-            File output = getOutputFile(input, "json");
-            assertTrue(output.exists(), "Output should still be created even with missing values");
+        assertEquals(2, root.size());
+        assertEquals("Alice", root.get(0).get("__1").asText());
+        assertEquals("", root.get(0).path("__2").asText(""), "Missing age should be empty string in first row");
+    }
 
-            String json = Files.readString(output.toPath());
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(json);
+    @Test
+    public void testColumnsAreTypedFromTheFirstRows() throws Exception {
+        String content = "id,price,active,name\n"
+                + "1,10,true,Alice\n"
+                + "3000000000,10.5,false,42\n"
+                + "3,n/a,TRUE,Bob\n";
+
+        File input = createTempFile("typed.csv", content);
+        new CsvToJsonConverter().convert(input);
+        JsonNode root = new ObjectMapper().readTree(getOutputFile(input, "json"));
+
+        // The header row does not fit the typed columns, so its cells stay text
+        assertEquals("id", root.get(0).get("__0").asText());
+        assertTrue(root.get(1).get("__0").isInt());
+        assertEquals(3000000000L, root.get(2).get("__0").asLong());
+        assertTrue(root.get(1).get("__1").isDouble(), "Integers are widened in a double column");
+        assertEquals(10.0, root.get(1).get("__1").asDouble());
+        assertEquals("n/a", root.get(3).get("__1").asText());
+        assertTrue(root.get(3).get("__2").isBoolean());
+        assertTrue(root.get(3).get("__2").asBoolean());
+        assertTrue(root.get(2).get("__3").isInt(), "Numbers in a text column are still numbers");
+        assertEquals(42, root.get(2).get("__3").asInt());
+    }
 
-            assertEquals(2, root.size());
-            assertEquals("Alice", root.get(0).get("__1").asText());
-            assertEquals("", root.get(0).path("__2").asText(""), "Missing age should be empty string in first row");
+    @Test
+    public void testNumbersAfterTheSampleAreTypedInTextColumns() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < ColumnType.DEFAULT_SAMPLE_ROWS; i++) {
+            content.append("pending\n");
         }
+        content.append("17\n2.5\n");
+
+        File input = createTempFile("late.csv", content.toString());
+        new CsvToJsonConverter().convert(input);
+        JsonNode root = new ObjectMapper().readTree(getOutputFile(input, "json"));
+
+        assertTrue(root.get(ColumnType.DEFAULT_SAMPLE_ROWS).get("__0").isInt());
+        assertTrue(root.get(ColumnType.DEFAULT_SAMPLE_ROWS + 1).get("__0").isDouble());
+    }
+
+    @Test
+    public void testRowsAreWrittenWhileParsing() throws Exception {
+        int rows = 200_000;
+        CsvFixtures.CountingOutputStream counting = new CsvFixtures.CountingOutputStream();
+        AtomicLong writtenBeforeInputEnded = new AtomicLong(-1);
+        InputStream input = CsvFixtures.generatedRows(rows, () -> writtenBeforeInputEnded.set(counting.getCount()));
+
+        new CsvToJsonConverter().convert(input, "large.csv", name -> counting);
+
+        assertTrue(writtenBeforeInputEnded.get() > counting.getCount() / 2,
+                "Most of the JSON should be written before the last row is read");
+    }
+
+    @Test
+    public void testChunkedParsingMatchesSequential() throws Exception {
+        File input = createTempFile("chunks.csv", CsvFixtures.trickyRows(200));
+        File output = getOutputFile(input, "json");
+
+        new CsvToJsonConverter(JacksonCodecs.shared(), CsvChunking.disabled()).convert(input);
+        String sequential = Files.readString(output.toPath());
+        new CsvToJsonConverter(JacksonCodecs.shared(), new CsvChunking(64, 0, ForkJoinPool.commonPool())).convert(input);
+
+        assertEquals(sequential, Files.readString(output.toPath()));
+    }
+
+    @Test
+    public void testSelectionProjectsAndFiltersRows() throws Exception {
+        StringBuilder content = new StringBuilder("id,name,age,city\n");
+        for (int i = 0; i < 300; i++) {
+            content.append(i).append(",\"name, ").append(i).append("\",").append(i % 90).append(",c").append(i % 3)
+                    .append('\n');
+        }
+        File input = createTempFile("people.csv", content.toString());
+        File output = getOutputFile(input, "json");
+
+        try (Selection.Scope scope = Selection.open(Selection.columns("3", "0").and("2>=80").and("3=c1"))) {
+            new CsvToJsonConverter(JacksonCodecs.shared(), CsvChunking.disabled()).convert(input);
+            String sequential = Files.readString(output.toPath());
+            new CsvToJsonConverter(JacksonCodecs.shared(), new CsvChunking(256, 0, ForkJoinPool.commonPool()))
+                    .convert(input);
+            assertEquals(sequential, Files.readString(output.toPath()), "Chunked parsing selects the same rows");
+        }
+
+        JsonNode root = new ObjectMapper().readTree(output);
+        assertTrue(root.size() > 0);
+        for (JsonNode row : root) {
+            assertEquals(List.of("__3", "__0"), fieldNames(row), "Only the selected columns, in order");
+            assertEquals("c1", row.get("__3").asText());
+            assertTrue(row.get("__0").isInt());
+            assertTrue(row.get("__0").asInt() % 90 >= 80);
+        }
+    }
+
+    private static List<String> fieldNames(JsonNode row) {
+        List<String> names = new ArrayList<>();
+        row.fieldNames().forEachRemaining(names::add);
+        return names;
     }
 }
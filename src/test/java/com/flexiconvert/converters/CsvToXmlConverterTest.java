@@ -1,12 +1,15 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
+import com.flexiconvert.csv.CsvChunking;
+import com.flexiconvert.selection.Selection;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import java.io.File;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -22,28 +25,24 @@ public class CsvToXmlConverterTest extends AbstractConverterTest {
         String content = "1,Alice,30\n2,Bob,25";
 
         File input = createTempFile("sample.csv", content);
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            CsvToXmlConverter converter = ctx.getBean(CsvToXmlConverter.class);
-            converter.convert(input);
+        CsvToXmlConverter converter = new CsvToXmlConverter();
+        converter.convert(input);
 
-            File output = getOutputFile(input, "xml");
-            assertTrue(output.exists(), "XML file should be created");
+        File output = getOutputFile(input, "xml");
+        assertTrue(output.exists(), "XML file should be created");
 
-            String xml = Files.readString(output.toPath());
-            assertTrue(xml.contains("<root>"), "Should contain <root>");
-            assertTrue(xml.contains("<row>"), "Should contain <row>");
-            assertTrue(xml.contains("<FIELD1>Alice</FIELD1>"), "Should contain converted field content");
-        }
+        String xml = Files.readString(output.toPath());
+        assertTrue(xml.contains("<root>"), "Should contain <root>");
+        assertTrue(xml.contains("<row>"), "Should contain <row>");
+        assertTrue(xml.contains("<FIELD1>Alice</FIELD1>"), "Should contain converted field content");
     }
 
     @Test
     public void testEmptyCsvThrowsException() throws Exception {
         File input = createTempFile("empty.csv", "");
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            CsvToXmlConverter converter = ctx.getBean(CsvToXmlConverter.class);
-            assertThrows(Exception.class, () -> converter.convert(input), "Should throw exception for empty CSV");
-        }
+        CsvToXmlConverter converter = new CsvToXmlConverter();
+        assertThrows(Exception.class, () -> converter.convert(input), "Should throw exception for empty CSV");
     }
 
     @Test
@@ -51,27 +50,88 @@ public class CsvToXmlConverterTest extends AbstractConverterTest {
         String content = "1,Alice\n2,Bob,25";  // row 1 is missing FIELD2
 
         File input = createTempFile("incomplete.csv", content);
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            CsvToXmlConverter converter = ctx.getBean(CsvToXmlConverter.class);
-            converter.convert(input);
-
-            File output = getOutputFile(input, "xml");
-            assertTrue(output.exists());
-
-            // Parse the XML with DOM
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(output);
-
-            NodeList rows = doc.getElementsByTagName("row");
-            assertEquals(2, rows.getLength(), "Should have 2 <row> elements");
-
-            Element firstRow = (Element) rows.item(0);
-            Node field2 = firstRow.getElementsByTagName("FIELD2").item(0);
-            assertNotNull(field2, "FIELD2 should exist even if empty");
-            assertEquals("", field2.getTextContent().trim(), "FIELD2 should be empty");
-            System.out.println("== XML Preview ==");
-            System.out.println(Files.readString(output.toPath()));
+        CsvToXmlConverter converter = new CsvToXmlConverter();
+        converter.convert(input);
+
+        File output = getOutputFile(input, "xml");
+        assertTrue(output.exists());
+
+        // Parse the XML with DOM
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        Document doc = builder.parse(output);
+
+        NodeList rows = doc.getElementsByTagName("row");
+        assertEquals(2, rows.getLength(), "Should have 2 <row> elements");
+
+        Element firstRow = (Element) rows.item(0);
+        Node field2 = firstRow.getElementsByTagName("FIELD2").item(0);
+        assertNotNull(field2, "FIELD2 should exist even if empty");
+        assertEquals("", field2.getTextContent().trim(), "FIELD2 should be empty");
+        System.out.println("== XML Preview ==");
+        System.out.println(Files.readString(output.toPath()));
+    }
+
+    @Test
+    public void testWiderRowsAfterTheLookaheadWidenTheRowsAfterThem() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 150; i++) {
+            content.append(i).append(i == 120 ? ",a<b & \"c\",'d'\n" : ",x\n");
+        }
+
+        File input = createTempFile("wide.csv", content.toString());
+        new CsvToXmlConverter().convert(input);
+
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(getOutputFile(input, "xml"));
+        NodeList rows = doc.getElementsByTagName("row");
+        assertEquals(150, rows.getLength());
+        assertEquals(2, ((Element) rows.item(119)).getElementsByTagName("*").getLength());
+        assertEquals("a<b & \"c\"", ((Element) rows.item(120)).getElementsByTagName("FIELD1").item(0).getTextContent());
+        assertEquals("'d'", ((Element) rows.item(120)).getElementsByTagName("FIELD2").item(0).getTextContent());
+        assertEquals("", ((Element) rows.item(149)).getElementsByTagName("FIELD2").item(0).getTextContent(),
+                "Rows after a wider one are padded to it");
+    }
+
+    @Test
+    public void testRowsAreWrittenWhileParsing() throws Exception {
+        int rows = 100_000;
+        CsvFixtures.CountingOutputStream counting = new CsvFixtures.CountingOutputStream();
+        AtomicLong writtenBeforeInputEnded = new AtomicLong(-1);
+        InputStream input = CsvFixtures.generatedRows(rows, () -> writtenBeforeInputEnded.set(counting.getCount()));
+
+        new CsvToXmlConverter().convert(input, "large.csv", name -> counting);
+
+        assertTrue(writtenBeforeInputEnded.get() > counting.getCount() / 2,
+                "Most of the XML should be written before the last row is read");
+    }
+
+    @Test
+    public void testChunkedParsingMatchesSequential() throws Exception {
+        File input = createTempFile("chunks.csv", CsvFixtures.trickyRows(200));
+        File output = getOutputFile(input, "xml");
+
+        new CsvToXmlConverter(CsvChunking.disabled()).convert(input);
+        String sequential = Files.readString(output.toPath());
+        new CsvToXmlConverter(new CsvChunking(64, 0, ForkJoinPool.commonPool())).convert(input);
+
+        assertEquals(sequential, Files.readString(output.toPath()));
+    }
+
+    @Test
+    public void testSelectionProjectsAndFiltersRows() throws Exception {
+        File input = createTempFile("people.csv", "1,Alice,30,NL\n2,Bob,25\n3,Carol,41,DE\n");
+
+        try (Selection.Scope scope = Selection.open(Selection.columns("1", "3").and("2>26"))) {
+            new CsvToXmlConverter().convert(input);
         }
+
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(getOutputFile(input, "xml"));
+        NodeList rows = doc.getElementsByTagName("row");
+        assertEquals(2, rows.getLength());
+        Element carol = (Element) rows.item(1);
+        assertEquals(2, carol.getElementsByTagName("*").getLength());
+        assertEquals("Carol", carol.getElementsByTagName("FIELD1").item(0).getTextContent());
+        assertEquals("DE", carol.getElementsByTagName("FIELD3").item(0).getTextContent());
+        assertEquals(0, carol.getElementsByTagName("FIELD0").getLength());
     }
 }
@@ -1,13 +1,11 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 import org.apache.poi.util.Units;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 import org.apache.poi.xwpf.usermodel.XWPFRun;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -50,17 +48,15 @@ public class DocxMediaToImagesConverterTest extends AbstractConverterTest {
             doc.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            DocxMediaToImagesConverter converter = ctx.getBean(DocxMediaToImagesConverter.class);
-            converter.convert(input);
+        DocxMediaToImagesConverter converter = new DocxMediaToImagesConverter();
+        converter.convert(input);
 
-            File outputDir = new File(tempDir.toFile(), "sample_media");
-            assertTrue(outputDir.exists() && outputDir.isDirectory(), "Output directory should exist");
+        File outputDir = new File(tempDir.toFile(), "sample_media");
+        assertTrue(outputDir.exists() && outputDir.isDirectory(), "Output directory should exist");
 
-            File[] imageFiles = outputDir.listFiles((dir, name) -> name.matches("sample_image\\d+\\..+"));
-            assertNotNull(imageFiles);
-            assertTrue(imageFiles.length > 0, "At least one image should be extracted");
-        }
+        File[] imageFiles = outputDir.listFiles((dir, name) -> name.matches("sample_image\\d+\\..+"));
+        assertNotNull(imageFiles);
+        assertTrue(imageFiles.length > 0, "At least one image should be extracted");
     }
 
     @Test
@@ -74,16 +70,14 @@ public class DocxMediaToImagesConverterTest extends AbstractConverterTest {
             doc.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            DocxMediaToImagesConverter converter = ctx.getBean(DocxMediaToImagesConverter.class);
-            converter.convert(input);
+        DocxMediaToImagesConverter converter = new DocxMediaToImagesConverter();
+        converter.convert(input);
 
-            File outputDir = new File(tempDir.toFile(), "noimage_media");
-            assertTrue(outputDir.exists(), "Output dir should still be created even if empty");
+        File outputDir = new File(tempDir.toFile(), "noimage_media");
+        assertTrue(outputDir.exists(), "Output dir should still be created even if empty");
 
-            File[] imageFiles = outputDir.listFiles((dir, name) -> name.endsWith(".png") || name.endsWith(".jpg"));
-            assertNotNull(imageFiles);
-            assertEquals(0, imageFiles.length, "No images should be extracted");
-        }
+        File[] imageFiles = outputDir.listFiles((dir, name) -> name.endsWith(".png") || name.endsWith(".jpg"));
+        assertNotNull(imageFiles);
+        assertEquals(0, imageFiles.length, "No images should be extracted");
     }
 }
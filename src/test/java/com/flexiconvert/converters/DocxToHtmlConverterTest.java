@@ -1,10 +1,8 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 import org.apache.poi.xwpf.usermodel.*;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import java.io.*;
 import java.nio.file.Files;
@@ -41,20 +39,18 @@ public class DocxToHtmlConverterTest extends AbstractConverterTest {
             doc.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            DocxToHtmlConverter converter = ctx.getBean(DocxToHtmlConverter.class);
-            converter.convert(input);
+        DocxToHtmlConverter converter = new DocxToHtmlConverter();
+        converter.convert(input);
 
-            File output = getOutputFile(input, "html");
-            assertTrue(output.exists(), "HTML output should be created");
+        File output = getOutputFile(input, "html");
+        assertTrue(output.exists(), "HTML output should be created");
 
-            String html = Files.readString(output.toPath());
-            assertTrue(html.contains("BoldItalicText"), "Text content should be present");
-            assertTrue(html.contains("<b>") && html.contains("<i>"), "Bold and italic tags should be present");
-            assertTrue(html.contains("<a href=\"http://example.com\">ExampleLink</a>"), "Hyperlink should be present");
-            assertTrue(html.contains("<img src=\"") && html.contains(".png"), "Image tag with .png file URI should be present");
-            assertTrue(html.contains("</html>"), "HTML should be well formed");
-        }
+        String html = Files.readString(output.toPath());
+        assertTrue(html.contains("BoldItalicText"), "Text content should be present");
+        assertTrue(html.contains("<b>") && html.contains("<i>"), "Bold and italic tags should be present");
+        assertTrue(html.contains("<a href=\"http://example.com\">ExampleLink</a>"), "Hyperlink should be present");
+        assertTrue(html.contains("<img src=\"") && html.contains(".png"), "Image tag with .png file URI should be present");
+        assertTrue(html.contains("</html>"), "HTML should be well formed");
     }
 
     @Test
@@ -65,14 +61,12 @@ public class DocxToHtmlConverterTest extends AbstractConverterTest {
             doc.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            DocxToHtmlConverter converter = ctx.getBean(DocxToHtmlConverter.class);
-            converter.convert(input);
+        DocxToHtmlConverter converter = new DocxToHtmlConverter();
+        converter.convert(input);
 
-            File output = getOutputFile(input, "html");
-            assertTrue(output.exists(), "HTML output should be created");
-            String html = Files.readString(output.toPath());
-            assertTrue(html.contains("<body>"), "Body should be present");
-        }
+        File output = getOutputFile(input, "html");
+        assertTrue(output.exists(), "HTML output should be created");
+        String html = Files.readString(output.toPath());
+        assertTrue(html.contains("<body>"), "Body should be present");
     }
 }
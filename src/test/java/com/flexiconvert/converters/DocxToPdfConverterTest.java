@@ -1,10 +1,8 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 import org.apache.poi.xwpf.usermodel.*;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -26,14 +24,12 @@ public class DocxToPdfConverterTest extends AbstractConverterTest {
             doc.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            DocxToPdfConverter converter = ctx.getBean(DocxToPdfConverter.class);
-            converter.convert(input);
+        DocxToPdfConverter converter = new DocxToPdfConverter();
+        converter.convert(input);
 
-            File output = getOutputFile(input, "pdf");
-            assertTrue(output.exists(), "PDF should be created");
-            assertTrue(Files.size(output.toPath()) > 0, "PDF should not be empty");
-        }
+        File output = getOutputFile(input, "pdf");
+        assertTrue(output.exists(), "PDF should be created");
+        assertTrue(Files.size(output.toPath()) > 0, "PDF should not be empty");
     }
 
     @Test
@@ -44,14 +40,12 @@ public class DocxToPdfConverterTest extends AbstractConverterTest {
             doc.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            DocxToPdfConverter converter = ctx.getBean(DocxToPdfConverter.class);
-            converter.convert(input);
+        DocxToPdfConverter converter = new DocxToPdfConverter();
+        converter.convert(input);
 
-            File output = getOutputFile(input, "pdf");
-            assertTrue(output.exists(), "PDF should still be created for empty DOCX");
-            assertTrue(Files.size(output.toPath()) > 0, "PDF file should not be zero bytes");
-        }
+        File output = getOutputFile(input, "pdf");
+        assertTrue(output.exists(), "PDF should still be created for empty DOCX");
+        assertTrue(Files.size(output.toPath()) > 0, "PDF file should not be zero bytes");
     }
 
     @Test
@@ -89,13 +83,11 @@ public class DocxToPdfConverterTest extends AbstractConverterTest {
             doc.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            DocxToPdfConverter converter = ctx.getBean(DocxToPdfConverter.class);
-            converter.convert(input);
+        DocxToPdfConverter converter = new DocxToPdfConverter();
+        converter.convert(input);
 
-            File output = getOutputFile(input, "pdf");
-            assertTrue(output.exists(), "PDF with styled content and image should be created");
-            assertTrue(Files.size(output.toPath()) > 0, "PDF file should not be zero bytes");
-        }
+        File output = getOutputFile(input, "pdf");
+        assertTrue(output.exists(), "PDF with styled content and image should be created");
+        assertTrue(Files.size(output.toPath()) > 0, "PDF file should not be zero bytes");
     }
 }
@@ -1,11 +1,9 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -25,15 +23,13 @@ public class DocxToTextConverterTest extends AbstractConverterTest {
             doc.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            DocxToTextConverter converter = ctx.getBean(DocxToTextConverter.class);
-            converter.convert(input);
+        DocxToTextConverter converter = new DocxToTextConverter();
+        converter.convert(input);
 
-            File output = getOutputFile(input, "txt");
-            assertTrue(output.exists(), "Text file should be created from DOCX");
-            String content = Files.readString(output.toPath(), java.nio.charset.StandardCharsets.UTF_8);
-            assertTrue(content.contains("Extract this text."), "Text file should contain expected content");
-        }
+        File output = getOutputFile(input, "txt");
+        assertTrue(output.exists(), "Text file should be created from DOCX");
+        String content = Files.readString(output.toPath(), java.nio.charset.StandardCharsets.UTF_8);
+        assertTrue(content.contains("Extract this text."), "Text file should contain expected content");
     }
 
     @Test
@@ -44,14 +40,12 @@ public class DocxToTextConverterTest extends AbstractConverterTest {
             doc.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            DocxToTextConverter converter = ctx.getBean(DocxToTextConverter.class);
-            converter.convert(input);
+        DocxToTextConverter converter = new DocxToTextConverter();
+        converter.convert(input);
 
-            File output = getOutputFile(input, "txt");
-            assertTrue(output.exists(), "Text file should be created for empty DOCX");
-            String content = Files.readString(output.toPath(), java.nio.charset.StandardCharsets.UTF_8);
-            assertTrue(content.isBlank(), "Text file should be empty for empty DOCX");
-        }
+        File output = getOutputFile(input, "txt");
+        assertTrue(output.exists(), "Text file should be created for empty DOCX");
+        String content = Files.readString(output.toPath(), java.nio.charset.StandardCharsets.UTF_8);
+        assertTrue(content.isBlank(), "Text file should be empty for empty DOCX");
     }
 }
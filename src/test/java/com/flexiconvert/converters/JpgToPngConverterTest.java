@@ -1,9 +1,7 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -28,24 +26,20 @@ public class JpgToPngConverterTest extends AbstractConverterTest {
         File jpgFile = new File(tempDir.toFile(), "sample.jpg");
         ImageIO.write(img, "jpg", jpgFile);
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            JpgToPngConverter converter = ctx.getBean(JpgToPngConverter.class);
-            converter.convert(jpgFile);
+        JpgToPngConverter converter = new JpgToPngConverter();
+        converter.convert(jpgFile);
 
-            File output = getOutputFile(jpgFile, "png");
-            assertTrue(output.exists(), "PNG file should be created from JPG");
-            BufferedImage outImg = ImageIO.read(output);
-            assertNotNull(outImg, "Converted PNG should be readable");
-        }
+        File output = getOutputFile(jpgFile, "png");
+        assertTrue(output.exists(), "PNG file should be created from JPG");
+        BufferedImage outImg = ImageIO.read(output);
+        assertNotNull(outImg, "Converted PNG should be readable");
     }
 
     @Test
     public void testInvalidJpgThrowsException() throws Exception {
         File badFile = createTempFile("invalid.jpg", "not a real image");
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            JpgToPngConverter converter = ctx.getBean(JpgToPngConverter.class);
-            assertThrows(IOException.class, () -> converter.convert(badFile), "Should fail on invalid JPG file");
-        }
+        JpgToPngConverter converter = new JpgToPngConverter();
+        assertThrows(IOException.class, () -> converter.convert(badFile), "Should fail on invalid JPG file");
     }
 }
@@ -1,15 +1,15 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
+import com.flexiconvert.selection.Selection;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -44,36 +44,34 @@ public class JsonToCsvConverterTest extends AbstractConverterTest {
 
         File input = createTempFile("test.json", jsonContent);
         
-        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            JsonToCsvConverter converter = ctx.getBean(JsonToCsvConverter.class);
-            converter.convert(input);
-
-            File output = getOutputFile(input, "csv");
-            assertTrue(output.exists(), "CSV file should be created from JSON");
-            assertTrue(output.length() > 0, "CSV file should not be empty");
-
-            // Verify the CSV content
-            List<String> lines = readLines(output);
-            assertEquals(4, lines.size(), "CSV should have header plus 3 data rows");
-            
-            // Check header
-            String headerLine = lines.get(0);
-            assertTrue(headerLine.contains("id"), "Header should contain id");
-            assertTrue(headerLine.contains("name"), "Header should contain name");
-            assertTrue(headerLine.contains("email"), "Header should contain email");
-            assertTrue(headerLine.contains("active"), "Header should contain active");
-            assertTrue(headerLine.contains("phone"), "Header should contain phone");
-            
-            // Check data rows
-            String row1 = lines.get(1);
-            assertTrue(row1.contains("1"), "Row 1 should contain id 1");
-            assertTrue(row1.contains("John Doe"), "Row 1 should contain name John Doe");
-            assertTrue(row1.contains("john@example.com"), "Row 1 should contain email");
-            
-            String row2 = lines.get(2);
-            assertTrue(row2.contains("2"), "Row 2 should contain id 2");
-            assertTrue(row2.contains("true"), "Row 2 should contain active=true");
-        }
+        JsonToCsvConverter converter = new JsonToCsvConverter();
+        converter.convert(input);
+
+        File output = getOutputFile(input, "csv");
+        assertTrue(output.exists(), "CSV file should be created from JSON");
+        assertTrue(output.length() > 0, "CSV file should not be empty");
+
+        // Verify the CSV content
+        List<String> lines = readLines(output);
+        assertEquals(4, lines.size(), "CSV should have header plus 3 data rows");
+        
+        // Check header
+        String headerLine = lines.get(0);
+        assertTrue(headerLine.contains("id"), "Header should contain id");
+        assertTrue(headerLine.contains("name"), "Header should contain name");
+        assertTrue(headerLine.contains("email"), "Header should contain email");
+        assertTrue(headerLine.contains("active"), "Header should contain active");
+        assertTrue(headerLine.contains("phone"), "Header should contain phone");
+        
+        // Check data rows
+        String row1 = lines.get(1);
+        assertTrue(row1.contains("1"), "Row 1 should contain id 1");
+        assertTrue(row1.contains("John Doe"), "Row 1 should contain name John Doe");
+        assertTrue(row1.contains("john@example.com"), "Row 1 should contain email");
+        
+        String row2 = lines.get(2);
+        assertTrue(row2.contains("2"), "Row 2 should contain id 2");
+        assertTrue(row2.contains("true"), "Row 2 should contain active=true");
     }
 
     @Test
@@ -82,13 +80,11 @@ public class JsonToCsvConverterTest extends AbstractConverterTest {
 
         File input = createTempFile("empty.json", jsonContent);
         
-        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            JsonToCsvConverter converter = ctx.getBean(JsonToCsvConverter.class);
-            
-            // The converter should throw IOException for empty arrays
-            assertThrows(IOException.class, () -> converter.convert(input), 
-                    "Should throw IOException for empty JSON array");
-        }
+        JsonToCsvConverter converter = new JsonToCsvConverter();
+        
+        // The converter should throw IOException for empty arrays
+        assertThrows(IOException.class, () -> converter.convert(input), 
+                "Should throw IOException for empty JSON array");
     }
 
     @Test
@@ -98,13 +94,11 @@ public class JsonToCsvConverterTest extends AbstractConverterTest {
 
         File input = createTempFile("invalid.json", jsonContent);
         
-        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            JsonToCsvConverter converter = ctx.getBean(JsonToCsvConverter.class);
-            
-            // Should throw an exception when trying to parse invalid JSON
-            assertThrows(IOException.class, () -> converter.convert(input), 
-                    "Should throw IOException for invalid JSON");
-        }
+        JsonToCsvConverter converter = new JsonToCsvConverter();
+        
+        // Should throw an exception when trying to parse invalid JSON
+        assertThrows(IOException.class, () -> converter.convert(input), 
+                "Should throw IOException for invalid JSON");
     }
     
     @Test
@@ -130,15 +124,13 @@ public class JsonToCsvConverterTest extends AbstractConverterTest {
 
         File input = createTempFile("nested.json", jsonContent);
         
-        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            JsonToCsvConverter converter = ctx.getBean(JsonToCsvConverter.class);
-            
-            // The converter should handle nested structures by flattening or using string representation
-            converter.convert(input);
-            
-            File output = getOutputFile(input, "csv");
-            assertTrue(output.exists(), "CSV file should be created from JSON with nested structures");
-        }
+        JsonToCsvConverter converter = new JsonToCsvConverter();
+        
+        // The converter should handle nested structures by flattening or using string representation
+        converter.convert(input);
+        
+        File output = getOutputFile(input, "csv");
+        assertTrue(output.exists(), "CSV file should be created from JSON with nested structures");
     }
     
     private List<String> readLines(File file) throws IOException {
@@ -151,4 +143,43 @@ public class JsonToCsvConverterTest extends AbstractConverterTest {
         }
         return lines;
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSelectionProjectsAndFiltersRecords() throws Exception {
+        String jsonContent = """
+            [
+              {"id": 1, "name": "Ann", "age": 41, "address": {"city": "Utrecht"}, "score": 1.5},
+              {"id": 2, "name": "Ben", "age": 17, "tags": ["a", "b"]},
+              {"name": "Cy, Jr.", "id": 3, "age": 65, "score": null}
+            ]
+            """;
+        File input = createTempFile("people.json", jsonContent);
+        File output = getOutputFile(input, "csv");
+
+        try (Selection.Scope scope = Selection.open(Selection.columns("name", "score", "id").and("age>=18"))) {
+            new JsonToCsvConverter().convert(input);
+        }
+        assertEquals(List.of("name,score,id", "Ann,1.5,1", "Cy  Jr.,,3"), Files.readAllLines(output.toPath()));
+
+        try (Selection.Scope scope = Selection.open(Selection.where("age<18"))) {
+            new JsonToCsvConverter().convert(input);
+        }
+        assertEquals(List.of("id,name,age,tags", "2,Ben,17,[a  b]"), Files.readAllLines(output.toPath()),
+                "Without a projection the header has every field of the kept records");
+    }
+
+    @Test
+    public void testSelectionWritesTheSameHeaderAndRows() throws Exception {
+        File input = createTempFile("commas.json", "[{\"last, first\": \"Doe, J\", \"n\": 1}]");
+        File output = getOutputFile(input, "csv");
+
+        new JsonToCsvConverter().convert(input);
+        List<String> all = Files.readAllLines(output.toPath());
+        try (Selection.Scope scope = Selection.open(Selection.where("n=1"))) {
+            new JsonToCsvConverter().convert(input);
+        }
+
+        assertEquals(List.of("last  first,n", "Doe  J,1"), all);
+        assertEquals(all, Files.readAllLines(output.toPath()));
+    }
+}
@@ -1,14 +1,12 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -48,17 +46,15 @@ public class PdfMediaToImagesConverterTest extends AbstractConverterTest {
             document.save(input);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            PdfMediaToImagesConverter converter = ctx.getBean(PdfMediaToImagesConverter.class);
-            converter.convert(input);
+        PdfMediaToImagesConverter converter = new PdfMediaToImagesConverter();
+        converter.convert(input);
 
-            File outputDir = new File(tempDir.toFile(), "sample_media");
-            assertTrue(outputDir.exists() && outputDir.isDirectory(), "Output directory should exist");
+        File outputDir = new File(tempDir.toFile(), "sample_media");
+        assertTrue(outputDir.exists() && outputDir.isDirectory(), "Output directory should exist");
 
-            File[] imageFiles = outputDir.listFiles((dir, name) -> name.endsWith(".png"));
-            assertNotNull(imageFiles);
-            assertTrue(imageFiles.length > 0, "At least one image should be extracted");
-        }
+        File[] imageFiles = outputDir.listFiles((dir, name) -> name.endsWith(".png"));
+        assertNotNull(imageFiles);
+        assertTrue(imageFiles.length > 0, "At least one image should be extracted");
     }
 
     @Test
@@ -70,15 +66,13 @@ public class PdfMediaToImagesConverterTest extends AbstractConverterTest {
             doc.save(input);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            PdfMediaToImagesConverter converter = ctx.getBean(PdfMediaToImagesConverter.class);
-            converter.convert(input);
+        PdfMediaToImagesConverter converter = new PdfMediaToImagesConverter();
+        converter.convert(input);
 
-            File outputDir = new File(tempDir.toFile(), "noimage_media");
-            assertTrue(outputDir.exists(), "Directory should still be created");
-            File[] imageFiles = outputDir.listFiles((dir, name) -> name.endsWith(".png"));
-            assertNotNull(imageFiles);
-            assertEquals(0, imageFiles.length, "No image files should be extracted");
-        }
+        File outputDir = new File(tempDir.toFile(), "noimage_media");
+        assertTrue(outputDir.exists(), "Directory should still be created");
+        File[] imageFiles = outputDir.listFiles((dir, name) -> name.endsWith(".png"));
+        assertNotNull(imageFiles);
+        assertEquals(0, imageFiles.length, "No image files should be extracted");
     }
 }
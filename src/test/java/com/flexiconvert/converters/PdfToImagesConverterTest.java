@@ -1,11 +1,9 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import javax.imageio.ImageIO;
 import java.io.File;
@@ -23,14 +21,12 @@ public class PdfToImagesConverterTest extends AbstractConverterTest {
             doc.save(input);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            PdfToImagesConverter converter = ctx.getBean(PdfToImagesConverter.class);
-            converter.convert(input);
+        PdfToImagesConverter converter = new PdfToImagesConverter();
+        converter.convert(input);
 
-            File output = new File(tempDir.toFile(), "single_page1.png");
-            assertTrue(output.exists(), "Image for page 1 should be created");
-            assertTrue(Files.size(output.toPath()) > 0, "Image should not be empty");
-        }
+        File output = new File(tempDir.toFile(), "single_page1.png");
+        assertTrue(output.exists(), "Image for page 1 should be created");
+        assertTrue(Files.size(output.toPath()) > 0, "Image should not be empty");
     }
 
     @Test
@@ -42,15 +38,13 @@ public class PdfToImagesConverterTest extends AbstractConverterTest {
             doc.save(input);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            PdfToImagesConverter converter = ctx.getBean(PdfToImagesConverter.class);
-            converter.convert(input);
+        PdfToImagesConverter converter = new PdfToImagesConverter();
+        converter.convert(input);
 
-            File page1 = new File(tempDir.toFile(), "multi_page1.png");
-            File page2 = new File(tempDir.toFile(), "multi_page2.png");
+        File page1 = new File(tempDir.toFile(), "multi_page1.png");
+        File page2 = new File(tempDir.toFile(), "multi_page2.png");
 
-            assertTrue(page1.exists(), "Page 1 image should be created");
-            assertTrue(page2.exists(), "Page 2 image should be created");
-        }
+        assertTrue(page1.exists(), "Page 1 image should be created");
+        assertTrue(page2.exists(), "Page 2 image should be created");
     }
 }
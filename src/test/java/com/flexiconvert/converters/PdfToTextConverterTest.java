@@ -1,14 +1,12 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import java.io.File;
 import java.nio.file.Files;
@@ -34,15 +32,13 @@ public class PdfToTextConverterTest extends AbstractConverterTest {
             document.save(input);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            PdfToTextConverter converter = ctx.getBean(PdfToTextConverter.class);
-            converter.convert(input);
+        PdfToTextConverter converter = new PdfToTextConverter();
+        converter.convert(input);
 
-            File output = getOutputFile(input, "txt");
-            assertTrue(output.exists(), "Text file should be created");
-            String content = Files.readString(output.toPath());
-            assertTrue(content.contains("Hello from PDFBox!"), "Extracted text should match PDF content");
-        }
+        File output = getOutputFile(input, "txt");
+        assertTrue(output.exists(), "Text file should be created");
+        String content = Files.readString(output.toPath());
+        assertTrue(content.contains("Hello from PDFBox!"), "Extracted text should match PDF content");
     }
 
     @Test
@@ -54,14 +50,12 @@ public class PdfToTextConverterTest extends AbstractConverterTest {
             doc.save(input);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            PdfToTextConverter converter = ctx.getBean(PdfToTextConverter.class);
-            converter.convert(input);
+        PdfToTextConverter converter = new PdfToTextConverter();
+        converter.convert(input);
 
-            File output = getOutputFile(input, "txt");
-            assertTrue(output.exists(), "Text file should be created for empty PDF");
-            String content = Files.readString(output.toPath());
-            assertTrue(content.isBlank(), "Text file should be empty for blank PDF");
-        }
+        File output = getOutputFile(input, "txt");
+        assertTrue(output.exists(), "Text file should be created for empty PDF");
+        String content = Files.readString(output.toPath());
+        assertTrue(content.isBlank(), "Text file should be empty for blank PDF");
     }
 }
@@ -1,9 +1,7 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -28,25 +26,21 @@ public class PngToJpgConverterTest extends AbstractConverterTest {
         File input = new File(tempDir.toFile(), "test.png");
         ImageIO.write(img, "png", input);
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            PngToJpgConverter converter = ctx.getBean(PngToJpgConverter.class);
-            converter.convert(input);
+        PngToJpgConverter converter = new PngToJpgConverter();
+        converter.convert(input);
 
-            File output = getOutputFile(input, "jpg");
-            assertTrue(output.exists(), "JPG file should be created");
-            BufferedImage result = ImageIO.read(output);
-            assertNotNull(result, "Resulting JPG image should be readable");
-        }
+        File output = getOutputFile(input, "jpg");
+        assertTrue(output.exists(), "JPG file should be created");
+        BufferedImage result = ImageIO.read(output);
+        assertNotNull(result, "Resulting JPG image should be readable");
     }
 
     @Test
     public void testInvalidPngThrowsException() throws Exception {
         File input = createTempFile("notanimage.png", "not-a-real-image");
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            PngToJpgConverter converter = ctx.getBean(PngToJpgConverter.class);
-            assertThrows(IOException.class, () -> converter.convert(input), 
-                    "Should throw IOException for invalid PNG file");
-        }
+        PngToJpgConverter converter = new PngToJpgConverter();
+        assertThrows(IOException.class, () -> converter.convert(input), 
+                "Should throw IOException for invalid PNG file");
     }
 }
@@ -1,14 +1,12 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 import org.apache.poi.sl.usermodel.PictureData;
 import org.apache.poi.util.IOUtils;
 import org.apache.poi.xslf.usermodel.XMLSlideShow;
 import org.apache.poi.xslf.usermodel.XSLFPictureData;
 import org.apache.poi.xslf.usermodel.XSLFSlide;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -44,17 +42,15 @@ public class PptxMediaToImagesConverterTest extends AbstractConverterTest {
             ppt.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            PptxMediaToImagesConverter converter = ctx.getBean(PptxMediaToImagesConverter.class);
-            converter.convert(input);
+        PptxMediaToImagesConverter converter = new PptxMediaToImagesConverter();
+        converter.convert(input);
 
-            File outputDir = new File(tempDir.toFile(), "slides_media");
-            assertTrue(outputDir.exists() && outputDir.isDirectory(), "Output dir should be created");
+        File outputDir = new File(tempDir.toFile(), "slides_media");
+        assertTrue(outputDir.exists() && outputDir.isDirectory(), "Output dir should be created");
 
-            File[] files = outputDir.listFiles((dir, name) -> name.endsWith(".png"));
-            assertNotNull(files);
-            assertTrue(files.length > 0, "At least one image should be extracted");
-        }
+        File[] files = outputDir.listFiles((dir, name) -> name.endsWith(".png"));
+        assertNotNull(files);
+        assertTrue(files.length > 0, "At least one image should be extracted");
     }
 
     @Test
@@ -66,15 +62,13 @@ public class PptxMediaToImagesConverterTest extends AbstractConverterTest {
             ppt.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            PptxMediaToImagesConverter converter = ctx.getBean(PptxMediaToImagesConverter.class);
-            converter.convert(input);
+        PptxMediaToImagesConverter converter = new PptxMediaToImagesConverter();
+        converter.convert(input);
 
-            File outputDir = new File(tempDir.toFile(), "empty_media");
-            assertTrue(outputDir.exists(), "Output dir should still be created");
-            File[] files = outputDir.listFiles((dir, name) -> name.matches(".*\\.(png|jpg|jpeg|bmp|gif)"));
-            assertNotNull(files);
-            assertEquals(0, files.length, "No images should be extracted from a media-less PPTX");
-        }
+        File outputDir = new File(tempDir.toFile(), "empty_media");
+        assertTrue(outputDir.exists(), "Output dir should still be created");
+        File[] files = outputDir.listFiles((dir, name) -> name.matches(".*\\.(png|jpg|jpeg|bmp|gif)"));
+        assertNotNull(files);
+        assertEquals(0, files.length, "No images should be extracted from a media-less PPTX");
     }
 }
@@ -1,12 +1,10 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 import org.apache.poi.xslf.usermodel.XMLSlideShow;
 import org.apache.poi.xslf.usermodel.XSLFSlide;
 import org.apache.poi.xslf.usermodel.XSLFTextBox;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import java.awt.*;
 import java.io.File;
@@ -36,16 +34,14 @@ public class PptxToImagesConverterTest extends AbstractConverterTest {
             ppt.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            PptxToImagesConverter converter = ctx.getBean(PptxToImagesConverter.class);
-            converter.convert(input);
+        PptxToImagesConverter converter = new PptxToImagesConverter();
+        converter.convert(input);
 
-            File slide1 = new File(tempDir.toFile(), "presentation_slide1.png");
-            File slide2 = new File(tempDir.toFile(), "presentation_slide2.png");
+        File slide1 = new File(tempDir.toFile(), "presentation_slide1.png");
+        File slide2 = new File(tempDir.toFile(), "presentation_slide2.png");
 
-            assertTrue(slide1.exists(), "Slide 1 image should be created");
-            assertTrue(slide2.exists(), "Slide 2 image should be created");
-        }
+        assertTrue(slide1.exists(), "Slide 1 image should be created");
+        assertTrue(slide2.exists(), "Slide 2 image should be created");
     }
 
     @Test
@@ -56,12 +52,10 @@ public class PptxToImagesConverterTest extends AbstractConverterTest {
             ppt.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            PptxToImagesConverter converter = ctx.getBean(PptxToImagesConverter.class);
-            converter.convert(input);
+        PptxToImagesConverter converter = new PptxToImagesConverter();
+        converter.convert(input);
 
-            File slide1 = new File(tempDir.toFile(), "empty_slide1.png");
-            assertFalse(slide1.exists(), "No slide images should be created for empty PPTX");
-        }
+        File slide1 = new File(tempDir.toFile(), "empty_slide1.png");
+        assertFalse(slide1.exists(), "No slide images should be created for empty PPTX");
     }
 }
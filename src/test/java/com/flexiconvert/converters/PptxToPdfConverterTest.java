@@ -1,12 +1,10 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 import org.apache.poi.xslf.usermodel.XMLSlideShow;
 import org.apache.poi.xslf.usermodel.XSLFSlide;
 import org.apache.poi.xslf.usermodel.XSLFTextBox;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import java.awt.*;
 import java.io.File;
@@ -37,14 +35,12 @@ public class PptxToPdfConverterTest extends AbstractConverterTest {
             ppt.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            PptxToPdfConverter converter = ctx.getBean(PptxToPdfConverter.class);
-            converter.convert(input);
+        PptxToPdfConverter converter = new PptxToPdfConverter();
+        converter.convert(input);
 
-            File output = getOutputFile(input, "pdf");
-            assertTrue(output.exists(), "PDF file should be created from PPTX");
-            assertTrue(Files.size(output.toPath()) > 0, "PDF file should not be empty");
-        }
+        File output = getOutputFile(input, "pdf");
+        assertTrue(output.exists(), "PDF file should be created from PPTX");
+        assertTrue(Files.size(output.toPath()) > 0, "PDF file should not be empty");
     }
 
     @Test
@@ -56,13 +52,11 @@ public class PptxToPdfConverterTest extends AbstractConverterTest {
             ppt.write(out);
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            PptxToPdfConverter converter = ctx.getBean(PptxToPdfConverter.class);
-            converter.convert(input);
+        PptxToPdfConverter converter = new PptxToPdfConverter();
+        converter.convert(input);
 
-            File output = getOutputFile(input, "pdf");
-            assertTrue(output.exists(), "PDF should still be created from empty PPTX");
-            assertTrue(Files.size(output.toPath()) > 0, "PDF should not be zero bytes");
-        }
+        File output = getOutputFile(input, "pdf");
+        assertTrue(output.exists(), "PDF should still be created from empty PPTX");
+        assertTrue(Files.size(output.toPath()) > 0, "PDF should not be zero bytes");
     }
 }
@@ -1,11 +1,9 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.context.ApplicationContext;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import java.io.File;
 import java.io.IOException;
@@ -21,23 +19,19 @@ public class RtfToPdfConverterTest extends AbstractConverterTest {
                          "\\f0\\fs24 Hello RTF World!\n}";
 
         File input = createTempFile("sample.rtf", content);
-        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            RtfToPdfConverter converter = ctx.getBean(RtfToPdfConverter.class);
-            converter.convert(input);
-
-            File output = getOutputFile(input, "pdf");
-            assertTrue(output.exists(), "PDF file should be created from RTF");
-            assertTrue(Files.size(output.toPath()) > 0, "PDF file should not be empty");
-        }
+        RtfToPdfConverter converter = new RtfToPdfConverter();
+        converter.convert(input);
+
+        File output = getOutputFile(input, "pdf");
+        assertTrue(output.exists(), "PDF file should be created from RTF");
+        assertTrue(Files.size(output.toPath()) > 0, "PDF file should not be empty");
     }
 
     @Test
     public void testEmptyRtfFile() throws Exception {
         File input = createTempFile("empty.rtf", "");
 
-        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            RtfToPdfConverter converter = ctx.getBean(RtfToPdfConverter.class);
-            assertThrows(IOException.class, () -> converter.convert(input));
-        }
+        RtfToPdfConverter converter = new RtfToPdfConverter();
+        assertThrows(IOException.class, () -> converter.convert(input));
     }
 }
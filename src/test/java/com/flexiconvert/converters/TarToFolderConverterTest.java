@@ -1,11 +1,9 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import java.io.*;
 import java.nio.file.Files;
@@ -27,27 +25,23 @@ public class TarToFolderConverterTest extends AbstractConverterTest {
             tarOut.closeArchiveEntry();
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            TarToFolderConverter converter = ctx.getBean(TarToFolderConverter.class);
-            converter.convert(tarFile);
+        TarToFolderConverter converter = new TarToFolderConverter();
+        converter.convert(tarFile);
 
-            File outputDir = new File(tempDir.toFile(), "sample_untarred");
-            File extracted = new File(outputDir, "hello.txt");
+        File outputDir = new File(tempDir.toFile(), "sample_untarred");
+        File extracted = new File(outputDir, "hello.txt");
 
-            assertTrue(extracted.exists(), "Extracted file should exist");
-            String fileContent = Files.readString(extracted.toPath());
-            assertEquals("Hello from tar!", fileContent.trim());
-        }
+        assertTrue(extracted.exists(), "Extracted file should exist");
+        String fileContent = Files.readString(extracted.toPath());
+        assertEquals("Hello from tar!", fileContent.trim());
     }
 
     @Test
     public void testInvalidTarThrowsException() throws Exception {
         File fakeTar = createTempFile("invalid.tar", "not a real tar archive");
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            TarToFolderConverter converter = ctx.getBean(TarToFolderConverter.class);
-            assertThrows(IOException.class, () -> converter.convert(fakeTar),
-                    "Should throw IOException for invalid tar input");
-        }
+        TarToFolderConverter converter = new TarToFolderConverter();
+        assertThrows(IOException.class, () -> converter.convert(fakeTar),
+                "Should throw IOException for invalid tar input");
     }
 }
@@ -3,10 +3,8 @@ package com.flexiconvert.converters;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import java.io.File;
 import java.io.IOException;
@@ -33,22 +31,20 @@ public class XmlToJsonConverterTest extends AbstractConverterTest {
 
         File input = createTempFile("person.xml", xmlContent);
         
-        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            XmlToJsonConverter converter = ctx.getBean(XmlToJsonConverter.class);
-            converter.convert(input);
-
-            File output = getOutputFile(input, "json");
-            assertTrue(output.exists(), "JSON file should be created from XML");
-            assertTrue(output.length() > 0, "JSON file should not be empty");
-
-            // Validate the JSON content
-            JsonNode rootNode = mapper.readTree(output);
-            JsonNode personNode = rootNode.get("person");
-            
-            assertEquals("John Doe", personNode.get("name").asText(), "Name should match");
-            assertEquals("john@example.com", personNode.get("email").asText(), "Email should match");
-            assertEquals(30, personNode.get("age").asInt(), "Age should match");
-        }
+        XmlToJsonConverter converter = new XmlToJsonConverter();
+        converter.convert(input);
+
+        File output = getOutputFile(input, "json");
+        assertTrue(output.exists(), "JSON file should be created from XML");
+        assertTrue(output.length() > 0, "JSON file should not be empty");
+
+        // Validate the JSON content
+        JsonNode rootNode = mapper.readTree(output);
+        JsonNode personNode = rootNode.get("person");
+        
+        assertEquals("John Doe", personNode.get("name").asText(), "Name should match");
+        assertEquals("john@example.com", personNode.get("email").asText(), "Email should match");
+        assertEquals(30, personNode.get("age").asInt(), "Age should match");
     }
 
     @Test
@@ -65,29 +61,27 @@ public class XmlToJsonConverterTest extends AbstractConverterTest {
 
         File input = createTempFile("book.xml", xmlContent);
         
-        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            XmlToJsonConverter converter = ctx.getBean(XmlToJsonConverter.class);
-            converter.convert(input);
-
-            File output = getOutputFile(input, "json");
-            assertTrue(output.exists(), "JSON file should be created");
-            
-            String jsonContent = new String(Files.readAllBytes(output.toPath()));
-            JsonNode rootNode = mapper.readTree(jsonContent);
-            
-            // Verify that XML attributes were properly converted
-            JsonNode bookNode = rootNode.get("book");
-            assertEquals("123", bookNode.get("id").asText(), "Book ID attribute should be preserved");
-            assertEquals("fiction", bookNode.get("category").asText(), "Category attribute should be preserved");
-            assertEquals("The Great Gatsby", bookNode.get("title").asText(), "Title should match");
-            
-            // Check nested attribute handling
-            JsonNode authorNode = bookNode.get("author");
-            assertTrue(authorNode.has("birthyear"), "Author should have birthyear attribute");
-            
-            JsonNode priceNode = bookNode.get("price");
-            assertTrue(priceNode.has("currency"), "Price should have currency attribute");
-        }
+        XmlToJsonConverter converter = new XmlToJsonConverter();
+        converter.convert(input);
+
+        File output = getOutputFile(input, "json");
+        assertTrue(output.exists(), "JSON file should be created");
+        
+        String jsonContent = new String(Files.readAllBytes(output.toPath()));
+        JsonNode rootNode = mapper.readTree(jsonContent);
+        
+        // Verify that XML attributes were properly converted
+        JsonNode bookNode = rootNode.get("book");
+        assertEquals("123", bookNode.get("id").asText(), "Book ID attribute should be preserved");
+        assertEquals("fiction", bookNode.get("category").asText(), "Category attribute should be preserved");
+        assertEquals("The Great Gatsby", bookNode.get("title").asText(), "Title should match");
+        
+        // Check nested attribute handling
+        JsonNode authorNode = bookNode.get("author");
+        assertTrue(authorNode.has("birthyear"), "Author should have birthyear attribute");
+        
+        JsonNode priceNode = bookNode.get("price");
+        assertTrue(priceNode.has("currency"), "Price should have currency attribute");
     }
 
     @Test
@@ -96,18 +90,16 @@ public class XmlToJsonConverterTest extends AbstractConverterTest {
 
         File input = createTempFile("empty.xml", xmlContent);
         
-        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            XmlToJsonConverter converter = ctx.getBean(XmlToJsonConverter.class);
-            converter.convert(input);
-
-            File output = getOutputFile(input, "json");
-            assertTrue(output.exists(), "JSON file should be created from empty XML");
-            
-            // Check the JSON output - for empty XML, expect a simple object
-            JsonNode rootNode = mapper.readTree(output);
-            assertTrue(rootNode.has("root"), "Should have a root node");
-            assertTrue(rootNode.get("root").isEmpty(), "Root node should be empty");
-        }
+        XmlToJsonConverter converter = new XmlToJsonConverter();
+        converter.convert(input);
+
+        File output = getOutputFile(input, "json");
+        assertTrue(output.exists(), "JSON file should be created from empty XML");
+        
+        // Check the JSON output - for empty XML, expect a simple object
+        JsonNode rootNode = mapper.readTree(output);
+        assertTrue(rootNode.has("root"), "Should have a root node");
+        assertTrue(rootNode.get("root").isEmpty(), "Root node should be empty");
     }
 
     @Test
@@ -117,13 +109,11 @@ public class XmlToJsonConverterTest extends AbstractConverterTest {
 
         File input = createTempFile("invalid.xml", xmlContent);
         
-        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            XmlToJsonConverter converter = ctx.getBean(XmlToJsonConverter.class);
-            
-            // Should throw an exception when trying to parse invalid XML
-            assertThrows(Exception.class, () -> converter.convert(input), 
-                    "Should throw exception for invalid XML");
-        }
+        XmlToJsonConverter converter = new XmlToJsonConverter();
+        
+        // Should throw an exception when trying to parse invalid XML
+        assertThrows(Exception.class, () -> converter.convert(input), 
+                "Should throw exception for invalid XML");
     }
     
     @Test
@@ -158,38 +148,36 @@ public class XmlToJsonConverterTest extends AbstractConverterTest {
 
         File input = createTempFile("nested.xml", xmlContent);
         
-        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            XmlToJsonConverter converter = ctx.getBean(XmlToJsonConverter.class);
-            converter.convert(input);
-
-            File output = getOutputFile(input, "json");
-            JsonNode rootNode = mapper.readTree(output);
-            
-            // Validate nested structure
-            JsonNode libraryNode = rootNode.get("library");
-            JsonNode books = libraryNode.get("book");
-            assertTrue(books.isArray(), "Books should be an array");
-            assertEquals(2, books.size(), "Should have 2 books");
-            
-            // Check first book's nested elements
-            JsonNode firstBook = books.get(0);
-            assertEquals("Book 1", firstBook.get("title").asText(), "First book title should match");
-            
-            // Check deeply nested elements
-            JsonNode author = firstBook.get("author");
-            assertEquals("John", author.get("firstName").asText(), "Author first name should match");
-            assertEquals("Smith", author.get("lastName").asText(), "Author last name should match");
-            
-            // Check very deep nesting
-            JsonNode contact = author.get("contact");
-            assertEquals("john@example.com", contact.get("email").asText(), "Email should match");
-            
-            // Check array handling
-            JsonNode genres = firstBook.get("genres").get("genre");
-            assertTrue(genres.isArray(), "Genres should be an array");
-            assertEquals(2, genres.size(), "Should have 2 genres");
-            assertEquals("Fiction", genres.get(0).asText(), "First genre should be Fiction");
-        }
+        XmlToJsonConverter converter = new XmlToJsonConverter();
+        converter.convert(input);
+
+        File output = getOutputFile(input, "json");
+        JsonNode rootNode = mapper.readTree(output);
+        
+        // Validate nested structure
+        JsonNode libraryNode = rootNode.get("library");
+        JsonNode books = libraryNode.get("book");
+        assertTrue(books.isArray(), "Books should be an array");
+        assertEquals(2, books.size(), "Should have 2 books");
+        
+        // Check first book's nested elements
+        JsonNode firstBook = books.get(0);
+        assertEquals("Book 1", firstBook.get("title").asText(), "First book title should match");
+        
+        // Check deeply nested elements
+        JsonNode author = firstBook.get("author");
+        assertEquals("John", author.get("firstName").asText(), "Author first name should match");
+        assertEquals("Smith", author.get("lastName").asText(), "Author last name should match");
+        
+        // Check very deep nesting
+        JsonNode contact = author.get("contact");
+        assertEquals("john@example.com", contact.get("email").asText(), "Email should match");
+        
+        // Check array handling
+        JsonNode genres = firstBook.get("genres").get("genre");
+        assertTrue(genres.isArray(), "Genres should be an array");
+        assertEquals(2, genres.size(), "Should have 2 genres");
+        assertEquals("Fiction", genres.get(0).asText(), "First genre should be Fiction");
     }
     
     @Test
@@ -221,22 +209,20 @@ public class XmlToJsonConverterTest extends AbstractConverterTest {
 
         File input = createTempFile("namespaces.xml", xmlContent);
         
-        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            XmlToJsonConverter converter = ctx.getBean(XmlToJsonConverter.class);
-            converter.convert(input);
-
-            File output = getOutputFile(input, "json");
-            assertTrue(output.exists(), "JSON file should be created");
-            
-            // We're mainly checking that the conversion process completes without errors
-            // The exact JSON representation of namespaces depends on the converter implementation
-            String jsonContent = new String(Files.readAllBytes(output.toPath()));
-            assertNotNull(jsonContent, "Should produce JSON content");
-            assertTrue(jsonContent.length() > 0, "JSON should not be empty");
-            
-            // Just validate it's valid JSON
-            JsonNode rootNode = mapper.readTree(output);
-            assertNotNull(rootNode, "Should parse as valid JSON");
-        }
+        XmlToJsonConverter converter = new XmlToJsonConverter();
+        converter.convert(input);
+
+        File output = getOutputFile(input, "json");
+        assertTrue(output.exists(), "JSON file should be created");
+        
+        // We're mainly checking that the conversion process completes without errors
+        // The exact JSON representation of namespaces depends on the converter implementation
+        String jsonContent = new String(Files.readAllBytes(output.toPath()));
+        assertNotNull(jsonContent, "Should produce JSON content");
+        assertTrue(jsonContent.length() > 0, "JSON should not be empty");
+        
+        // Just validate it's valid JSON
+        JsonNode rootNode = mapper.readTree(output);
+        assertNotNull(rootNode, "Should parse as valid JSON");
     }
 }
\ No newline at end of file
@@ -1,10 +1,8 @@
 package com.flexiconvert.converters;
 
 import com.flexiconvert.AbstractConverterTest;
-import com.flexiconvert.config.AppConfig;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import java.io.*;
 import java.nio.file.Files;
@@ -25,17 +23,15 @@ public class ZipToFolderConverterTest extends AbstractConverterTest {
             zos.closeEntry();
         }
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            ZipToFolderConverter converter = ctx.getBean(ZipToFolderConverter.class);
-            converter.convert(zipFile);
+        ZipToFolderConverter converter = new ZipToFolderConverter();
+        converter.convert(zipFile);
 
-            File outputFolder = new File(tempDir.toFile(), "test_unzipped");
-            File extracted = new File(outputFolder, "hello.txt");
+        File outputFolder = new File(tempDir.toFile(), "test_unzipped");
+        File extracted = new File(outputFolder, "hello.txt");
 
-            assertTrue(extracted.exists(), "Extracted file should exist");
-            String content = Files.readString(extracted.toPath());
-            assertEquals("Hello from zip!", content.trim());
-        }
+        assertTrue(extracted.exists(), "Extracted file should exist");
+        String content = Files.readString(extracted.toPath());
+        assertEquals("Hello from zip!", content.trim());
     }
 
     @Test
@@ -43,9 +39,7 @@ public class ZipToFolderConverterTest extends AbstractConverterTest {
         // Create a file with a .zip extension but invalid content
         File fakeZip = createTempFile("corrupt.zip", "not-a-real-zip-content");
 
-        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
-            ZipToFolderConverter converter = ctx.getBean(ZipToFolderConverter.class);
-            assertThrows(IOException.class, () -> converter.convert(fakeZip), "Should throw IOException for corrupt zip");
-        }
+        ZipToFolderConverter converter = new ZipToFolderConverter();
+        assertThrows(IOException.class, () -> converter.convert(fakeZip), "Should throw IOException for corrupt zip");
     }
 }
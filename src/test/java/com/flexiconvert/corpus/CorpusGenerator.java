@@ -0,0 +1,480 @@
+package com.flexiconvert.corpus;
+
+import com.flexiconvert.ConversionType;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.sl.usermodel.PictureData;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.util.Units;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFPictureData;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.apache.poi.xslf.usermodel.XSLFTextBox;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+import javax.imageio.ImageIO;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Deterministic inputs of any size for every source format in {@link ConversionType}, for
+ * load tests, soak tests and benchmarks. Generation streams wherever the format allows
+ * (text, spreadsheets through SXSSF, PDFs through a scratch file, PNG row by row, archives),
+ * so a multi-GB corpus needs no more heap than the converters reading it. DOCX, PPTX, JPG and
+ * WebP are built in memory, as their libraries require.
+ * <p>
+ * Text, archive and PNG outputs are byte-identical for the same spec; office documents and
+ * PDFs have identical content but embed their creation time. Documents carry one image so
+ * the media extractors have something to extract.
+ * <pre>
+ * java -cp benchmarks.jar com.flexiconvert.corpus.CorpusGenerator out/ soak csv xlsx pdf
+ * </pre>
+ */
+public final class CorpusGenerator {
+
+    private static final String[] WORDS = {
+            "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel",
+            "india", "juliet", "kilo", "lima", "mike", "november", "oscar", "papa",
+            "quebec", "romeo", "sierra", "tango", "uniform", "victor", "whiskey", "yankee"};
+
+    // Fixed so archives are reproducible byte for byte
+    private static final long ENTRY_TIME = 1_600_000_000_000L;
+    private static final int TEXT_BUFFER = 1 << 16;
+
+    private CorpusGenerator() {
+    }
+
+    /** Every format some {@link ConversionType} converts from. */
+    public static SortedSet<String> sourceFormats() {
+        SortedSet<String> formats = new TreeSet<>();
+        for (ConversionType type : ConversionType.values()) {
+            formats.add(type.getSourceFormat());
+        }
+        return formats;
+    }
+
+    /** Generates one input of each source format into {@code directory}. */
+    public static Map<String, File> generateAll(CorpusSpec spec, Path directory) throws IOException {
+        Map<String, File> files = new LinkedHashMap<>();
+        for (String format : sourceFormats()) {
+            files.put(format, generate(format, spec, directory));
+        }
+        return files;
+    }
+
+    /** Generates {@code corpus.<format>} in {@code directory}. */
+    public static File generate(String format, CorpusSpec spec, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        File file = directory.resolve("corpus." + format).toFile();
+        Random random = new Random(spec.getSeed());
+        switch (format) {
+            case "txt":
+                writeText(file, spec.getTextBytes(), "", "", i -> sentence(random) + "\n");
+                break;
+            case "md":
+                writeText(file, spec.getTextBytes(), "# Corpus\n\n", "", i -> i % 10 == 0
+                        ? "\n## Section " + i + "\n\n"
+                        : "- " + sentence(random) + " **" + word(random) + "** `" + word(random) + "`\n");
+                break;
+            case "html":
+                writeText(file, spec.getTextBytes(), "<html><head><title>Corpus</title></head><body>\n",
+                        "</body></html>\n", i -> i % 20 == 0
+                                ? "<h2>Section " + i + "</h2>\n"
+                                : "<p>" + sentence(random) + " <b>" + word(random) + "</b></p>\n");
+                break;
+            case "java":
+                writeText(file, spec.getTextBytes(), "public class Corpus {\n", "}\n",
+                        i -> "    int method" + i + "(int x) { return x * " + random.nextInt(1000) + "; } // "
+                                + word(random) + "\n");
+                break;
+            case "py":
+                writeText(file, spec.getTextBytes(), "", "",
+                        i -> "def method_" + i + "(x):\n    return x * " + random.nextInt(1000) + "  # "
+                                + word(random) + "\n\n");
+                break;
+            case "rtf":
+                writeText(file, spec.getTextBytes(), "{\\rtf1\\ansi\\deff0 {\\fonttbl {\\f0 Helvetica;}}\n", "}\n",
+                        i -> sentence(random) + "\\par\n");
+                break;
+            case "xml":
+                writeText(file, spec.getTextBytes(), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<records>\n",
+                        "</records>\n", i -> "  <record id=\"" + i + "\"><name>" + word(random) + "</name><value>"
+                                + random.nextInt(100_000) + "</value><active>" + random.nextBoolean()
+                                + "</active></record>\n");
+                break;
+            case "csv":
+                writeText(file, spec.getTextBytes(), "", "", i -> csvRow(i, random) + "\n");
+                break;
+            case "json":
+                // The closing record keeps the array valid wherever the size limit cuts it off
+                writeText(file, spec.getTextBytes(), "[\n", "{\"id\":-1,\"name\":\"end\",\"score\":0,\"ratio\":0.0,\"active\":false}\n]\n",
+                        i -> "{\"id\":" + i + ",\"name\":\"" + word(random) + "\",\"score\":" + random.nextInt(100_000)
+                                + ",\"ratio\":" + ratio(random) + ",\"active\":" + random.nextBoolean() + "},\n");
+                break;
+            case "gz":
+                try (OutputStream out = new GzipCompressorOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                    writeText(out, spec.getTextBytes(), "", "", i -> sentence(random) + "\n");
+                }
+                break;
+            case "zip":
+                writeZip(file, spec, random);
+                break;
+            case "tar":
+                writeTar(file, spec, random);
+                break;
+            case "xlsx":
+                writeXlsx(file, spec, random);
+                break;
+            case "docx":
+                writeDocx(file, spec, random);
+                break;
+            case "pptx":
+                writePptx(file, spec, random);
+                break;
+            case "pdf":
+                writePdf(file, spec, random);
+                break;
+            case "png":
+                writePng(file, spec.getImageWidth(), spec.getImageHeight(), spec.getSeed());
+                break;
+            case "jpg":
+            case "webp":
+                BufferedImage image = image(spec.getImageWidth(), spec.getImageHeight(), spec.getSeed());
+                if (!ImageIO.write(image, format.equals("jpg") ? "jpeg" : format, file)) {
+                    throw new IOException("No ImageIO writer for " + format);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("No generator for format " + format);
+        }
+        return file;
+    }
+
+    private interface Line {
+        String next(long index);
+    }
+
+    private static void writeText(File file, long bytes, String header, String footer, Line line) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            writeText(out, bytes, header, footer, line);
+        }
+    }
+
+    /** Lines until {@code bytes} is reached (ASCII, so characters are bytes); at least one line. */
+    private static void writeText(OutputStream out, long bytes, String header, String footer, Line line)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), TEXT_BUFFER);
+        writer.write(header);
+        long written = header.length() + footer.length();
+        long index = 0;
+        do {
+            String next = line.next(index++);
+            writer.write(next);
+            written += next.length();
+        } while (written < bytes);
+        writer.write(footer);
+        writer.flush();
+    }
+
+    private static String csvRow(long index, Random random) {
+        return index + "," + word(random) + "," + random.nextInt(100_000) + "," + ratio(random) + ","
+                + random.nextBoolean() + ",\"" + word(random) + ", " + word(random) + "\"";
+    }
+
+    private static void writeZip(File file, CorpusSpec spec, Random random) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            for (int i = 0; i < spec.getEntries(); i++) {
+                ZipEntry entry = new ZipEntry(entryName(i));
+                entry.setTime(ENTRY_TIME);
+                zip.putNextEntry(entry);
+                zip.write(entryContent(random));
+                zip.closeEntry();
+            }
+        }
+    }
+
+    private static void writeTar(File file, CorpusSpec spec, Random random) throws IOException {
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            tar.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            for (int i = 0; i < spec.getEntries(); i++) {
+                byte[] data = entryContent(random);
+                TarArchiveEntry entry = new TarArchiveEntry(entryName(i));
+                entry.setSize(data.length);
+                entry.setModTime(ENTRY_TIME);
+                tar.putArchiveEntry(entry);
+                tar.write(data);
+                tar.closeArchiveEntry();
+            }
+        }
+    }
+
+    private static String entryName(int index) {
+        return "dir" + (index % 100) + "/entry" + index + ".txt";
+    }
+
+    private static byte[] entryContent(Random random) {
+        StringBuilder content = new StringBuilder();
+        for (int lines = 1 + random.nextInt(8); lines > 0; lines--) {
+            content.append(sentence(random)).append('\n');
+        }
+        return content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeXlsx(File file, CorpusSpec spec, Random random) throws IOException {
+        // SXSSF flushes rows to a temp file past the window, so a million rows stay cheap
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100); OutputStream out = new FileOutputStream(file)) {
+            workbook.setCompressTempFiles(true);
+            Sheet sheet = workbook.createSheet("data");
+            for (int r = 0; r < spec.getRows(); r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue(r);
+                row.createCell(1).setCellValue(word(random));
+                row.createCell(2).setCellValue(random.nextInt(100_000));
+                row.createCell(3).setCellValue(ratio(random));
+                row.createCell(4).setCellValue(random.nextBoolean());
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+    }
+
+    private static void writeDocx(File file, CorpusSpec spec, Random random) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); OutputStream out = new FileOutputStream(file)) {
+            try (InputStream png = new ByteArrayInputStream(smallPng(spec.getSeed()))) {
+                document.createParagraph().createRun()
+                        .addPicture(png, XWPFDocument.PICTURE_TYPE_PNG, "image.png", Units.toEMU(64), Units.toEMU(64));
+            } catch (InvalidFormatException e) {
+                throw new IOException(e);
+            }
+            // About forty short paragraphs fill a page
+            for (int i = 0; i < spec.getPages() * 40; i++) {
+                if (i % 40 == 0) {
+                    document.createParagraph().createRun().setText("Page " + (i / 40 + 1));
+                }
+                document.createParagraph().createRun().setText(sentence(random));
+            }
+            document.write(out);
+        }
+    }
+
+    private static void writePptx(File file, CorpusSpec spec, Random random) throws IOException {
+        try (XMLSlideShow deck = new XMLSlideShow(); OutputStream out = new FileOutputStream(file)) {
+            XSLFPictureData picture = deck.addPicture(smallPng(spec.getSeed()), PictureData.PictureType.PNG);
+            for (int i = 0; i < spec.getSlides(); i++) {
+                XSLFSlide slide = deck.createSlide();
+                XSLFTextBox box = slide.createTextBox();
+                box.setAnchor(new Rectangle(40, 40, 600, 300));
+                box.setText("Slide " + (i + 1) + ": " + sentence(random));
+                for (int bullet = 0; bullet < 4; bullet++) {
+                    box.addNewTextParagraph().addNewTextRun().setText(sentence(random));
+                }
+                if (i == 0) {
+                    slide.createPicture(picture).setAnchor(new Rectangle(40, 360, 64, 64));
+                }
+            }
+            deck.write(out);
+        }
+    }
+
+    private static void writePdf(File file, CorpusSpec spec, Random random) throws IOException {
+        // Page content goes to a scratch file, so 10k-page documents do not fill the heap
+        try (PDDocument document = new PDDocument(MemoryUsageSetting.setupTempFileOnly())) {
+            PDImageXObject image = LosslessFactory.createFromImage(document, image(64, 64, spec.getSeed()));
+            for (int p = 0; p < spec.getPages(); p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    if (p == 0) {
+                        content.drawImage(image, 50, 680);
+                    }
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 10);
+                    content.setLeading(12);
+                    content.newLineAtOffset(50, 650);
+                    content.showText("Page " + (p + 1));
+                    for (int line = 0; line < 50; line++) {
+                        content.newLine();
+                        content.showText(sentence(random));
+                    }
+                    content.endText();
+                }
+            }
+            document.save(file);
+        }
+    }
+
+    /** Writes an RGB PNG one row at a time, so 50-megapixel images need no image buffer. */
+    static void writePng(File file, int width, int height, long seed) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.write(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            DataOutputStream ihdr = new DataOutputStream(header);
+            ihdr.writeInt(width);
+            ihdr.writeInt(height);
+            ihdr.write(new byte[]{8, 2, 0, 0, 0}); // 8-bit RGB, deflate, no filter method, no interlace
+            writeChunk(out, "IHDR", header.toByteArray(), header.size());
+
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (DeflaterOutputStream idat = new DeflaterOutputStream(new ChunkOutputStream(out, "IDAT"), deflater, TEXT_BUFFER)) {
+                byte[] row = new byte[1 + width * 3];
+                for (int y = 0; y < height; y++) {
+                    row[0] = 0; // no per-row filter
+                    for (int x = 0; x < width; x++) {
+                        int rgb = pixel(x, y, width, height, seed);
+                        row[1 + x * 3] = (byte) (rgb >> 16);
+                        row[2 + x * 3] = (byte) (rgb >> 8);
+                        row[3 + x * 3] = (byte) rgb;
+                    }
+                    idat.write(row);
+                }
+            } finally {
+                deflater.end();
+            }
+            writeChunk(out, "IEND", new byte[0], 0);
+        }
+    }
+
+    private static void writeChunk(DataOutputStream out, String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    /** Splits compressed image data into IDAT chunks; closing writes the last one but leaves the file open. */
+    private static final class ChunkOutputStream extends OutputStream {
+
+        private final DataOutputStream out;
+        private final String type;
+        private final byte[] buffer = new byte[TEXT_BUFFER];
+        private int count;
+
+        ChunkOutputStream(DataOutputStream out, String type) {
+            this.out = out;
+            this.type = type;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) flushChunk();
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] data, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (count == buffer.length) flushChunk();
+                int n = Math.min(length, buffer.length - count);
+                System.arraycopy(data, offset, buffer, count, n);
+                count += n;
+                offset += n;
+                length -= n;
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            if (count > 0) {
+                writeChunk(out, type, buffer, count);
+                count = 0;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushChunk();
+        }
+    }
+
+    private static BufferedImage image(int width, int height, long seed) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        for (int y = 0, i = 0; y < height; y++) {
+            for (int x = 0; x < width; x++, i += 3) {
+                int rgb = pixel(x, y, width, height, seed);
+                data[i] = (byte) rgb;
+                data[i + 1] = (byte) (rgb >> 8);
+                data[i + 2] = (byte) (rgb >> 16);
+            }
+        }
+        return image;
+    }
+
+    private static byte[] smallPng(long seed) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image(64, 64, seed), "png", out);
+        return out.toByteArray();
+    }
+
+    /** A gradient with some hashed noise, so images neither compress to nothing nor look like static. */
+    private static int pixel(int x, int y, int width, int height, long seed) {
+        int hash = (int) (x * 0x9E3779B1L ^ y * 0x85EBCA77L ^ seed);
+        hash ^= hash >>> 15;
+        int noise = hash & 0x1F;
+        int r = (x * 255 / Math.max(1, width - 1) + noise) & 0xFF;
+        int g = (y * 255 / Math.max(1, height - 1) + noise) & 0xFF;
+        int b = ((x ^ y) & 0xFF) >> 1;
+        return (r << 16) | (g << 8) | b;
+    }
+
+    private static String ratio(Random random) {
+        return String.valueOf(random.nextInt(1_000_000) / 1000.0);
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String sentence(Random random) {
+        StringBuilder sentence = new StringBuilder(96);
+        for (int i = 0, words = 6 + random.nextInt(8); i < words; i++) {
+            if (i > 0) sentence.append(' ');
+            sentence.append(word(random));
+        }
+        return sentence.append('.').toString();
+    }
+
+    /** {@code CorpusGenerator <directory> [small|medium|large|soak] [format ...]} */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: CorpusGenerator <directory> [small|medium|large|soak] [format ...]");
+            System.err.println("Formats: " + String.join(" ", sourceFormats()));
+            System.exit(2);
+        }
+        Path directory = Path.of(args[0]);
+        CorpusSpec spec = CorpusSpec.preset(args.length > 1 ? args[1] : "small");
+        Collection<String> formats = args.length > 2 ? Arrays.asList(args).subList(2, args.length) : sourceFormats();
+
+        for (String format : formats) {
+            long start = System.nanoTime();
+            File file = generate(format, spec, directory);
+            System.out.printf("%s\t%d bytes\t%d ms%n", file, file.length(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
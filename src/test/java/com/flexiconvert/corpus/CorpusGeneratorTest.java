@@ -0,0 +1,82 @@
+package com.flexiconvert.corpus;
+
+import com.flexiconvert.AbstractConverterTest;
+import com.flexiconvert.ConversionResult;
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.config.AppConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CorpusGeneratorTest extends AbstractConverterTest {
+
+    @Test
+    public void testEveryConversionAcceptsGeneratedInput() throws Exception {
+        Map<String, File> corpus = CorpusGenerator.generateAll(CorpusSpec.small(), tempDir.resolve("corpus"));
+
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            FileConverterService service = ctx.getBean(FileConverterService.class);
+            List<Executable> conversions = new ArrayList<>();
+            for (ConversionType type : ConversionType.values()) {
+                File input = corpus.get(type.getSourceFormat());
+                conversions.add(() -> {
+                    try (ConversionResult result = service.execute(input, type)) {
+                        assertTrue(result.getBytesOut() > 0, type + " produced no output");
+                    }
+                });
+            }
+            assertAll(conversions);
+        }
+    }
+
+    @Test
+    public void testSameSpecGivesIdenticalBytes() throws Exception {
+        CorpusSpec spec = CorpusSpec.small().setEntries(50);
+        for (String format : List.of("csv", "json", "zip", "tar", "gz", "png")) {
+            File first = CorpusGenerator.generate(format, spec, tempDir.resolve("first"));
+            File second = CorpusGenerator.generate(format, spec, tempDir.resolve("second"));
+            File reseeded = CorpusGenerator.generate(format, CorpusSpec.small().setEntries(50).setSeed(7),
+                    tempDir.resolve("reseeded"));
+
+            assertEquals(-1, Files.mismatch(first.toPath(), second.toPath()), format + " is not deterministic");
+            assertNotEquals(-1, Files.mismatch(first.toPath(), reseeded.toPath()), format + " ignores the seed");
+        }
+    }
+
+    @Test
+    public void testTextIsSizedInBytes() throws Exception {
+        File csv = CorpusGenerator.generate("csv", CorpusSpec.small().setTextBytes(1_000_000), tempDir);
+
+        assertTrue(csv.length() >= 1_000_000 && csv.length() < 1_000_200, "Unexpected size " + csv.length());
+    }
+
+    @Test
+    public void testStreamedPngDecodes() throws Exception {
+        Path directory = tempDir.resolve("images");
+        File png = CorpusGenerator.generate("png", CorpusSpec.small().setImageSize(1500, 700), directory);
+
+        BufferedImage image = ImageIO.read(png);
+        assertEquals(1500, image.getWidth());
+        assertEquals(700, image.getHeight());
+    }
+
+    @Test
+    public void testEverySourceFormatHasAGenerator() {
+        for (String format : CorpusGenerator.sourceFormats()) {
+            assertDoesNotThrow(() -> CorpusGenerator.generate(format, CorpusSpec.small(), tempDir.resolve(format)), format);
+        }
+        assertThrows(IllegalArgumentException.class, () -> CorpusGenerator.generate("bmp", CorpusSpec.small(), tempDir));
+    }
+}
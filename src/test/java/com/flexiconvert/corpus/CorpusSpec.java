@@ -0,0 +1,120 @@
+package com.flexiconvert.corpus;
+
+/**
+ * How large {@link CorpusGenerator} makes each input. Text-like formats (txt, md, html, java,
+ * py, xml, rtf, csv, json and the gzip payload) are sized in bytes; the others in rows, pages,
+ * slides, archive entries or pixels. Same spec and seed, same content.
+ */
+public class CorpusSpec {
+
+    private long seed = 42;
+    private long textBytes = 16 * 1024;
+    private int rows = 400;
+    private int pages = 1;
+    private int slides = 1;
+    private int entries = 16;
+    private int imageWidth = 256;
+    private int imageHeight = 256;
+
+    /** Tiny inputs for unit tests. */
+    public static CorpusSpec small() {
+        return new CorpusSpec();
+    }
+
+    public static CorpusSpec medium() {
+        return new CorpusSpec().setTextBytes(1024 * 1024).setRows(25_000).setPages(10).setSlides(10)
+                .setEntries(1_000).setImageSize(1024, 1024);
+    }
+
+    public static CorpusSpec large() {
+        return new CorpusSpec().setTextBytes(16 * 1024 * 1024).setRows(400_000).setPages(50).setSlides(50)
+                .setEntries(10_000).setImageSize(3000, 3000);
+    }
+
+    /**
+     * Production-sized inputs for soak tests: multi-GB text, a million spreadsheet rows,
+     * 10k-page documents, hundreds of slides, 100k archive entries and 50-megapixel images.
+     */
+    public static CorpusSpec soak() {
+        return new CorpusSpec().setTextBytes(2L * 1024 * 1024 * 1024).setRows(1_000_000).setPages(10_000)
+                .setSlides(500).setEntries(100_000).setImageSize(8660, 5774);
+    }
+
+    public static CorpusSpec preset(String name) {
+        switch (name.toLowerCase()) {
+            case "small": return small();
+            case "medium": return medium();
+            case "large": return large();
+            case "soak": return soak();
+            default: throw new IllegalArgumentException("Unknown corpus preset: " + name);
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public CorpusSpec setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public long getTextBytes() {
+        return textBytes;
+    }
+
+    public CorpusSpec setTextBytes(long textBytes) {
+        this.textBytes = textBytes;
+        return this;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public CorpusSpec setRows(int rows) {
+        this.rows = rows;
+        return this;
+    }
+
+    public int getPages() {
+        return pages;
+    }
+
+    public CorpusSpec setPages(int pages) {
+        this.pages = pages;
+        return this;
+    }
+
+    public int getSlides() {
+        return slides;
+    }
+
+    public CorpusSpec setSlides(int slides) {
+        this.slides = slides;
+        return this;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public CorpusSpec setEntries(int entries) {
+        this.entries = entries;
+        return this;
+    }
+
+    public int getImageWidth() {
+        return imageWidth;
+    }
+
+    public int getImageHeight() {
+        return imageHeight;
+    }
+
+    public CorpusSpec setImageSize(int width, int height) {
+        this.imageWidth = width;
+        this.imageHeight = height;
+        return this;
+    }
+}
@@ -0,0 +1,90 @@
+package com.flexiconvert.csv;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CellDecoderTest {
+
+    private final CellDecoder decoder = new CellDecoder();
+
+    @Test
+    public void testIntegers() {
+        assertDecodes(ColumnType.INT, "0", 0);
+        assertDecodes(ColumnType.INT, "+42", 42);
+        assertDecodes(ColumnType.INT, "-007", -7);
+        assertDecodes(ColumnType.INT, "2147483647", Integer.MAX_VALUE);
+        assertDecodes(ColumnType.INT, "-2147483648", Integer.MIN_VALUE);
+        assertDecodes(ColumnType.LONG, "2147483648", 2147483648L);
+        assertDecodes(ColumnType.LONG, "-9223372036854775808", Long.MIN_VALUE);
+        assertDecodes(ColumnType.LONG, "9223372036854775807", Long.MAX_VALUE);
+        assertEquals(ColumnType.STRING, decoder.decode("9223372036854775808"), "past Long.MAX_VALUE");
+        assertEquals(ColumnType.STRING, decoder.decode("-92233720368547758080"));
+    }
+
+    @Test
+    public void testDoubles() {
+        for (String cell : new String[] {"1.5", "-.5", "+1.", "2.5e-3", "6.02E23", "0.0"}) {
+            assertEquals(ColumnType.DOUBLE, decoder.decode(cell), cell);
+        }
+        // A decimal needs a point, as it always has; hex and suffixed literals are text
+        for (String cell : new String[] {"1e5", ".", "-.", "1.2.3", "1.5e", "1.5e+", "0x1.8p1", "1.5f", "NaN"}) {
+            assertEquals(ColumnType.STRING, decoder.decode(cell), cell);
+        }
+    }
+
+    @Test
+    public void testBooleansAndText() {
+        assertEquals(ColumnType.BOOLEAN, decoder.decode("TRUE"));
+        assertTrue(decoder.booleanValue());
+        assertEquals(ColumnType.BOOLEAN, decoder.decode("false"));
+        assertFalse(decoder.booleanValue());
+        for (String cell : new String[] {"", "+", "-", "t", "falsey", "Alice", "12ab", "1 000", "١٢"}) {
+            assertEquals(ColumnType.STRING, decoder.decode(cell), cell);
+        }
+    }
+
+    @Test
+    public void testColumnDecodersOnlyAcceptTheirOwnType() {
+        assertTrue(decoder.decodeInteger("-42"));
+        assertEquals(-42, decoder.longValue());
+        assertTrue(decoder.decodeInteger("9223372036854775807"));
+        assertEquals(Long.MAX_VALUE, decoder.longValue());
+        for (String cell : new String[] {"", "+", "1.5", "12ab", "9223372036854775808", "true"}) {
+            assertFalse(decoder.decodeInteger(cell), cell);
+        }
+
+        assertTrue(decoder.decodeBoolean("False"));
+        assertFalse(decoder.booleanValue());
+        assertFalse(decoder.decodeBoolean("1"));
+
+        for (String cell : new String[] {"Alice", " 1", "n/a", "#3"}) {
+            assertFalse(CellDecoder.mayBeTyped(cell), cell);
+        }
+        for (String cell : new String[] {"1", "-x", ".5", "true", "Fred"}) {
+            assertTrue(CellDecoder.mayBeTyped(cell), cell);
+        }
+    }
+
+    @Test
+    public void testInferPicksTheMostCommonKindOfValue() throws Exception {
+        String csv = "id,price,active,name,,big\n"
+                + "1,10,true,Alice,,1\n"
+                + "2,10.5,false,Bob,,3000000000\n"
+                + "3,11,true,7,,2\n";
+        try (CSVParser parser = new CSVParser(new StringReader(csv), CSVFormat.DEFAULT)) {
+            ColumnType[] types = ColumnType.infer(parser, 6, decoder);
+            assertArrayEquals(new ColumnType[] {ColumnType.INT, ColumnType.DOUBLE, ColumnType.BOOLEAN,
+                    ColumnType.STRING, null, ColumnType.LONG}, types);
+        }
+    }
+
+    private void assertDecodes(ColumnType type, String cell, long value) {
+        assertEquals(type, decoder.decode(cell), cell);
+        assertEquals(value, decoder.longValue(), cell);
+    }
+}
@@ -0,0 +1,176 @@
+package com.flexiconvert.csv;
+
+import com.flexiconvert.AbstractConverterTest;
+import com.flexiconvert.memory.MemoryEstimates;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkedCsvParserTest extends AbstractConverterTest {
+
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT.builder()
+            .setTrim(true)
+            .setIgnoreSurroundingSpaces(true)
+            .setIgnoreEmptyLines(true)
+            .build();
+
+    // Quoted line breaks and delimiters, doubled quotes, stray quotes, CRLF, blank lines and
+    // blanks before an opening quote
+    private static final String TRICKY = "id,name,note\n"
+            + "1,\"Smith, Jane\",\"line one\nline two\"\r\n"
+            + "2,O\"Brien,\"say \"\"hi\"\"\n,x\",\"\"\"\"\n"
+            + "\n"
+            + "3,  \"spaced, quoted\",plain\n"
+            + "4,\"\n\n\n\",\"\"\n"
+            + "5,last,row";
+
+    @Test
+    public void testChunksParseLikeTheWholeFile() throws Exception {
+        File input = createTempFile("tricky.csv", TRICKY);
+        List<List<String>> expected = sequential(TRICKY);
+
+        // Every chunk size, so boundaries land on and inside every kind of token
+        for (int chunkBytes = 1; chunkBytes <= TRICKY.length() + 1; chunkBytes++) {
+            assertEquals(expected, chunked(input, chunkBytes), "chunkBytes=" + chunkBytes);
+        }
+    }
+
+    @Test
+    public void testBoundariesStartRecords() throws Exception {
+        File input = createTempFile("tricky.csv", TRICKY);
+        try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+            long[] boundaries = new ChunkedCsvParser(channel, FORMAT, chunking(4)).boundaries();
+
+            assertEquals(0, boundaries[0]);
+            assertEquals(TRICKY.length(), boundaries[boundaries.length - 1]);
+            for (int i = 1; i < boundaries.length - 1; i++) {
+                assertEquals('\n', TRICKY.charAt((int) boundaries[i] - 1), "boundary " + boundaries[i]);
+                assertEquals(sequential(TRICKY.substring(0, (int) boundaries[i])).size()
+                                + sequential(TRICKY.substring((int) boundaries[i])).size(),
+                        sequential(TRICKY).size(), "boundary " + boundaries[i] + " splits a record");
+            }
+        }
+    }
+
+    @Test
+    public void testHead() throws Exception {
+        File input = createTempFile("tricky.csv", TRICKY);
+        try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+            List<CSVRecord> head = new ChunkedCsvParser(channel, FORMAT, chunking(5)).head(2);
+            assertEquals(List.of("id", "name", "note"), head.get(0).toList());
+            assertEquals(sequential(TRICKY).subList(1, 2), List.of(head.get(1).toList()));
+        }
+
+        File empty = createTempFile("empty.csv", "");
+        try (FileChannel channel = FileChannel.open(empty.toPath(), StandardOpenOption.READ)) {
+            assertTrue(new ChunkedCsvParser(channel, FORMAT, chunking(5)).head(2).isEmpty());
+        }
+    }
+
+    @Test
+    public void testOnlyPlainFormatsAreSplit() {
+        assertTrue(ChunkedCsvParser.supports(FORMAT));
+        assertTrue(ChunkedCsvParser.supports(CSVFormat.RFC4180));
+        assertFalse(ChunkedCsvParser.supports(CSVFormat.MYSQL), "escape character");
+        assertFalse(ChunkedCsvParser.supports(CSVFormat.DEFAULT.builder().setCommentMarker('#').build()));
+        assertFalse(ChunkedCsvParser.supports(CSVFormat.DEFAULT.builder().setQuote('\'').build()));
+        assertFalse(ChunkedCsvParser.supports(CSVFormat.DEFAULT.builder().setDelimiter('§').build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ChunkedCsvParser(null, CSVFormat.MYSQL, CsvChunking.defaults()));
+    }
+
+    @Test
+    public void testSplitsOnlyLargeFiles() {
+        CsvChunking chunking = new CsvChunking(10, 100, ForkJoinPool.commonPool());
+        assertFalse(chunking.shouldSplit(99));
+        assertTrue(chunking.shouldSplit(100));
+        assertFalse(new CsvChunking(1000, 100, ForkJoinPool.commonPool()).shouldSplit(1000), "one chunk");
+        assertFalse(CsvChunking.disabled().shouldSplit(Long.MAX_VALUE - 1));
+    }
+
+    @Test
+    public void testHeapEstimateCoversTheChunkWindow() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            CsvChunking chunking = new CsvChunking(MemoryEstimates.MIB, 4 * MemoryEstimates.MIB, pool);
+            assertEquals(8, chunking.getWindow());
+            assertEquals(0, chunking.estimateHeapBytes(2 * MemoryEstimates.MIB, 6), "parsed sequentially");
+            assertEquals(5 * MemoryEstimates.MIB * 6, chunking.estimateHeapBytes(5 * MemoryEstimates.MIB, 6));
+            assertEquals(8 * MemoryEstimates.MIB * 6, chunking.estimateHeapBytes(1024 * MemoryEstimates.MIB, 6));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailureWaitsForRunningChunks() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 400; i++) {
+            content.append(i).append(",row\n");
+        }
+        File input = createTempFile("rows.csv", content.toString());
+        AtomicInteger running = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+            ChunkedCsvParser parser = new ChunkedCsvParser(channel, FORMAT, new CsvChunking(64, 0, pool));
+            assertThrows(IOException.class, () -> parser.parse(chunk -> {
+                running.incrementAndGet();
+                try {
+                    for (CSVRecord record : chunk) {
+                        if (record.get(0).equals("0")) throw new IOException("bad first chunk");
+                        Thread.sleep(5);
+                    }
+                    return null;
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                } finally {
+                    running.decrementAndGet();
+                }
+            }, (rows, bytes) -> { }));
+            assertEquals(0, running.get(), "No chunk may still be parsing once parse() has failed");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static CsvChunking chunking(int chunkBytes) {
+        return new CsvChunking(chunkBytes, 0, ForkJoinPool.commonPool());
+    }
+
+    private static List<List<String>> chunked(File input, int chunkBytes) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+            new ChunkedCsvParser(channel, FORMAT, chunking(chunkBytes)).parse(chunk -> {
+                List<List<String>> rows = new ArrayList<>();
+                for (CSVRecord record : chunk) {
+                    rows.add(record.toList());
+                }
+                return rows;
+            }, (rows, bytes) -> records.addAll(rows));
+        }
+        return records;
+    }
+
+    private static List<List<String>> sequential(String content) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CSVParser parser = new CSVParser(new StringReader(content), FORMAT)) {
+            for (CSVRecord record : parser) {
+                records.add(record.toList());
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,44 @@
+package com.flexiconvert.csv;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonCellsTest {
+
+    private final CellDecoder decoder = new CellDecoder();
+
+    @Test
+    public void testCellsFittingTheirColumnAreWrittenAsItsType() throws IOException {
+        assertEquals("[7,3000000000]", write(ColumnType.INT, "7", "3000000000"));
+        assertEquals("[true,false]", write(ColumnType.BOOLEAN, "TRUE", "false"));
+        assertEquals("[\"Alice\",\"n/a\"]", write(ColumnType.STRING, "Alice", "n/a"));
+        assertEquals("[2.0,2.5]", write(ColumnType.DOUBLE, "2", "2.5"));
+        assertEquals("[\"\"]", write(ColumnType.INT, " "));
+    }
+
+    @Test
+    public void testCellsNotFittingTheirColumnFallBackToTheirOwnType() throws IOException {
+        assertEquals("[\"n/a\",1.5,true]", write(ColumnType.INT, "n/a", "1.5", "true"));
+        assertEquals("[42,\"yes\"]", write(ColumnType.BOOLEAN, "42", "yes"));
+        assertEquals("[42,-0.5,false,\"-x\"]", write(ColumnType.STRING, "42", "-.5", "false", "-x"));
+        assertEquals("[42,\"x\"]", write(null, "42", "x"));
+    }
+
+    private String write(ColumnType column, String... cells) throws IOException {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = new JsonFactory().createGenerator(json)) {
+            generator.writeStartArray();
+            for (String cell : cells) {
+                JsonCells.write(generator, cell, column, decoder);
+            }
+            generator.writeEndArray();
+        }
+        return json.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.flexiconvert.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.flexiconvert.converters.JsonToXmlConverter;
+import com.flexiconvert.io.MemoryOutputSink;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JacksonCodecsTest {
+
+    @Test
+    public void testReadersAndWritersRoundTrip() throws Exception {
+        JacksonCodecs codecs = JacksonCodecs.shared();
+
+        List<Map<String, Object>> records = codecs.jsonRecordsReader().readValue("[{\"id\":1,\"name\":\"Alice\"}]");
+        assertEquals(Map.of("id", 1, "name", "Alice"), records.get(0));
+        assertEquals("[{\"id\":1,\"name\":\"Alice\"}]", codecs.jsonWriter().writeValueAsString(records));
+
+        JsonNode xml = codecs.xmlTreeReader().readValue("<root><name>Alice</name></root>");
+        assertEquals("Alice", xml.get("name").asText());
+        assertTrue(codecs.prettyJsonWriter().writeValueAsString(xml).contains("\n"));
+    }
+
+    @Test
+    public void testSharedCodecsAreSafeAcrossThreads() throws Exception {
+        JsonToXmlConverter converter = new JsonToXmlConverter(JacksonCodecs.shared());
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                int id = i;
+                results.add(pool.submit(() -> {
+                    String json = "[{\"id\":" + id + ",\"name\":\"user" + id + "\"}]";
+                    MemoryOutputSink sink = new MemoryOutputSink();
+                    converter.convert(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "in.json", sink);
+                    return new String(sink.get("in.xml"), StandardCharsets.UTF_8);
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                String xml = results.get(i).get();
+                assertTrue(xml.contains("<id>" + i + "</id>"), xml);
+                assertTrue(xml.contains("<name>user" + i + "</name>"), xml);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.flexiconvert.memory;
+
+import com.flexiconvert.AbstractConverterTest;
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.cache.ConversionCache;
+import com.flexiconvert.cancellation.CancellationToken;
+import com.flexiconvert.cancellation.ConversionDeadlines;
+import com.flexiconvert.config.AppConfig;
+import com.flexiconvert.corpus.CorpusGenerator;
+import com.flexiconvert.corpus.CorpusSpec;
+import com.flexiconvert.io.MemoryOutputSink;
+import com.flexiconvert.metrics.MetricsRegistry;
+import com.flexiconvert.registry.ConverterRegistry;
+import com.flexiconvert.selection.Selection;
+import com.flexiconvert.staging.InputStager;
+import com.flexiconvert.workspace.WorkspaceManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemoryBudgetTest extends AbstractConverterTest {
+
+    private static final long MIB = MemoryEstimates.MIB;
+
+    private FileConverterService serviceWith(MemoryBudget budget) {
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            return new FileConverterService(ctx.getBean(ConverterRegistry.class), ctx.getBean(InputStager.class), ConversionCache.disabled(),
+                    ctx.getBean(WorkspaceManager.class), budget, ctx.getBean(ConversionDeadlines.class), ctx.getBean(MetricsRegistry.class));
+        }
+    }
+
+    @Test
+    public void testReservationIsReturnedOnClose() throws Exception {
+        MemoryBudget budget = new MemoryBudget(100 * MIB, Duration.ofSeconds(1));
+
+        MemoryBudget.Reservation reservation = budget.reserve(40 * MIB);
+        assertEquals(40 * MIB, budget.getReservedBytes());
+        reservation.close();
+        reservation.close();
+        assertEquals(0, budget.getReservedBytes());
+    }
+
+    @Test
+    public void testEstimateLargerThanBudgetIsRejectedUpFront() {
+        MemoryBudget budget = new MemoryBudget(10 * MIB, Duration.ofMinutes(1));
+
+        MemoryBudgetExceededException e = assertThrows(MemoryBudgetExceededException.class,
+                () -> budget.reserve(11 * MIB));
+        assertFalse(e.isRetryable());
+        assertEquals(11 * MIB, e.getRequestedBytes());
+        assertEquals(0, budget.getWaitingCount());
+    }
+
+    @Test
+    public void testConversionWaitsUntilMemoryIsReleased() throws Exception {
+        MemoryBudget budget = new MemoryBudget(100 * MIB, Duration.ofSeconds(10));
+        MemoryBudget.Reservation first = budget.reserve(70 * MIB);
+
+        CompletableFuture<MemoryBudget.Reservation> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return budget.reserve(50 * MIB);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (budget.getWaitingCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, budget.getWaitingCount());
+        assertFalse(second.isDone());
+
+        first.close();
+        try (MemoryBudget.Reservation admitted = second.get(5, TimeUnit.SECONDS)) {
+            assertEquals(50 * MIB, budget.getReservedBytes());
+        }
+        assertEquals(0, budget.getReservedBytes());
+    }
+
+    @Test
+    public void testAdmissionTimeoutIsRetryable() throws Exception {
+        MemoryBudget budget = new MemoryBudget(100 * MIB, Duration.ofMillis(50));
+
+        try (MemoryBudget.Reservation held = budget.reserve(90 * MIB)) {
+            MemoryBudgetExceededException e = assertThrows(MemoryBudgetExceededException.class,
+                    () -> budget.reserve(20 * MIB));
+            assertTrue(e.isRetryable());
+        }
+        assertEquals(0, budget.getWaitingCount());
+    }
+
+    @Test
+    public void testOfficeEstimateUsesUncompressedPartSizes() throws Exception {
+        FileConverterService service = serviceWith(new MemoryBudget(Long.MAX_VALUE, Duration.ZERO));
+        File xlsx = CorpusGenerator.generate("xlsx", CorpusSpec.small().setRows(20_000), tempDir);
+
+        long estimate = service.estimateHeapBytes(ConversionType.XLSX_TO_CSV, xlsx);
+        long uncompressed = MemoryEstimates.zipEntryBytes(xlsx, name -> name.startsWith("xl/") && name.endsWith(".xml"));
+        assertTrue(uncompressed > xlsx.length(), "worksheet XML should inflate well beyond the zip size");
+        assertTrue(estimate >= uncompressed * MemoryEstimates.OOXML_DOM_FACTOR);
+    }
+
+    @Test
+    public void testImageEstimateUsesDecodedPixels() throws Exception {
+        FileConverterService service = serviceWith(new MemoryBudget(Long.MAX_VALUE, Duration.ZERO));
+        File png = CorpusGenerator.generate("png", CorpusSpec.small().setImageSize(1000, 800), tempDir);
+
+        long estimate = service.estimateHeapBytes(ConversionType.PNG_TO_JPG, png);
+        assertTrue(estimate >= 1000L * 800 * MemoryEstimates.BYTES_PER_PIXEL);
+    }
+
+    @Test
+    public void testHugeImageHeaderSaturatesInsteadOfOverflowing() throws Exception {
+        // A 2^31-1 square PNG header: width * height * BYTES_PER_PIXEL overflows a long
+        ByteBuffer ihdr = ByteBuffer.allocate(17).put("IHDR".getBytes(StandardCharsets.US_ASCII))
+                .putInt(Integer.MAX_VALUE).putInt(Integer.MAX_VALUE).put(new byte[]{8, 6, 0, 0, 0});
+        CRC32 crc = new CRC32();
+        crc.update(ihdr.array());
+        ByteBuffer png = ByteBuffer.allocate(33)
+                .put(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'})
+                .putInt(13).put(ihdr.array()).putInt((int) crc.getValue());
+        File input = new File(tempDir.toFile(), "huge.png");
+        Files.write(input.toPath(), png.array());
+
+        assertEquals((long) Integer.MAX_VALUE * Integer.MAX_VALUE, MemoryEstimates.imagePixels(input));
+        assertEquals(Long.MAX_VALUE, MemoryEstimates.imageBytes(input));
+    }
+
+    @Test
+    public void testServiceRejectsConversionThatCanNeverFit() throws Exception {
+        FileConverterService service = serviceWith(new MemoryBudget(MIB, Duration.ofSeconds(1)));
+        File input = createTempFile("tiny.csv", "1,Alice,30\n2,Bob,25");
+
+        MemoryBudgetExceededException e = assertThrows(MemoryBudgetExceededException.class,
+                () -> service.execute(input, ConversionType.CSV_TO_JSON));
+        assertFalse(e.isRetryable());
+        assertEquals(0, service.getMemoryBudget().getReservedBytes());
+    }
+
+    @Test
+    public void testStreamsAreAdmittedByDeclaredOrSpooledSize() throws Exception {
+        FileConverterService service = serviceWith(new MemoryBudget(16 * MIB, Duration.ofSeconds(1)));
+        byte[] large = ("[" + "{\"a\": 1},".repeat((int) (MIB / 9)) + "{\"a\": 1}]").getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayInputStream declared = new ByteArrayInputStream(large);
+        assertThrows(MemoryBudgetExceededException.class, () -> service.convert(declared, large.length, "large.json",
+                ConversionType.JSON_TO_CSV, new MemoryOutputSink(), CancellationToken.create(), Selection.ALL));
+        assertEquals(large.length, declared.available(), "A declared size is admitted before anything is read");
+
+        MemoryBudgetExceededException e = assertThrows(MemoryBudgetExceededException.class,
+                () -> service.convert(new ByteArrayInputStream(large), -1, "large.json", ConversionType.JSON_TO_CSV,
+                        new MemoryOutputSink(), CancellationToken.create(), Selection.ALL));
+        assertFalse(e.isRetryable(), "An unknown size is measured by spooling, not estimated as empty");
+
+        MemoryOutputSink sink = new MemoryOutputSink();
+        service.convert(new ByteArrayInputStream("[{\"a\": 1}]".getBytes(StandardCharsets.UTF_8)), "small.json",
+                ConversionType.JSON_TO_CSV, sink);
+        assertNotNull(sink.get("small.csv"));
+        assertEquals(0, service.getMemoryBudget().getReservedBytes());
+    }
+}
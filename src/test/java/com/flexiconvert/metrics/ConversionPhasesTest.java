@@ -0,0 +1,94 @@
+package com.flexiconvert.metrics;
+
+import com.flexiconvert.AbstractConverterTest;
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.config.AppConfig;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConversionPhasesTest extends AbstractConverterTest {
+
+    @Test
+    public void testDocxToPdfPhasesAreRecorded() throws Exception {
+        File input = new File(tempDir.toFile(), "report.docx");
+        try (XWPFDocument doc = new XWPFDocument(); FileOutputStream out = new FileOutputStream(input)) {
+            doc.createParagraph().createRun().setText("Phases of a conversion");
+            doc.write(out);
+        }
+
+        List<RecordedEvent> events;
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            FileConverterService service = ctx.getBean(FileConverterService.class);
+            events = record(() -> service.execute(input, ConversionType.DOCX_TO_PDF).close());
+        }
+
+        List<RecordedEvent> phases = eventsNamed(events, ConversionPhaseEvent.NAME);
+        Set<String> recorded = phases.stream().map(e -> e.getString("phase")).collect(Collectors.toSet());
+        assertEquals(Set.of("STAGE", "PARSE", "RENDER", "ENCODE", "DISCOVER"), recorded);
+        for (RecordedEvent phase : phases) {
+            assertEquals("DOCX_TO_PDF", phase.getString("conversionType"));
+            assertEquals(input.length(), phase.getLong("inputBytes"));
+        }
+
+        List<RecordedEvent> conversions = eventsNamed(events, ConversionEvent.NAME);
+        assertEquals(1, conversions.size());
+        assertTrue(conversions.get(0).getBoolean("succeeded"));
+        assertTrue(conversions.get(0).getLong("outputBytes") > 0);
+    }
+
+    @Test
+    public void testChainedHopsAreTaggedWithTheirOwnType() throws Exception {
+        File input = createTempFile("notes.md", "# Title\n\nSome *text*.\n");
+
+        List<RecordedEvent> events;
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            FileConverterService service = ctx.getBean(FileConverterService.class);
+            events = record(() -> service.execute(input, "txt").close());
+        }
+
+        Set<String> types = eventsNamed(events, ConversionEvent.NAME).stream()
+                .map(e -> e.getString("conversionType")).collect(Collectors.toSet());
+        assertEquals(Set.of("MD_TO_HTML", "HTML_TO_TXT"), types);
+    }
+
+    @Test
+    public void testPhasesAreFreeWhenNotRecording() throws Exception {
+        assertSame(ConversionPhases.begin(ConversionPhase.PARSE), ConversionPhases.begin(ConversionPhase.ENCODE));
+        assertEquals("parsed", ConversionPhases.time(ConversionPhase.PARSE, () -> "parsed"));
+    }
+
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    private List<RecordedEvent> record(Action action) throws Exception {
+        Path dump = tempDir.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ConversionPhaseEvent.NAME);
+            recording.enable(ConversionEvent.NAME);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(dump);
+        }
+        return RecordingFile.readAllEvents(dump);
+    }
+
+    private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,134 @@
+package com.flexiconvert.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flexiconvert.AbstractConverterTest;
+import com.flexiconvert.ConversionResult;
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.config.AppConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsRegistryTest extends AbstractConverterTest {
+
+    @Test
+    public void testStreamingConversionIsMeasured() throws Exception {
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            FileConverterService service = ctx.getBean(FileConverterService.class);
+            File input = createTempFile("data.csv", "1,a\n2,b\n3,c\n");
+
+            try (ConversionResult result = service.execute(input, ConversionType.CSV_TO_JSON)) {
+                ConverterMetrics.Snapshot metrics = service.getMetrics().snapshot().get(ConversionType.CSV_TO_JSON);
+
+                assertEquals(1, metrics.getSuccesses());
+                assertEquals(0, metrics.getFailures());
+                assertEquals(input.length(), metrics.getBytesIn());
+                assertEquals(result.getBytesOut(), metrics.getBytesOut());
+                assertEquals(1, metrics.getOutputs());
+                assertEquals(3, metrics.getRows());
+            }
+        }
+    }
+
+    @Test
+    public void testFailuresAreCountedSeparately() throws Exception {
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            FileConverterService service = ctx.getBean(FileConverterService.class);
+            File empty = createTempFile("empty.csv", "");
+
+            assertThrows(IOException.class, () -> service.execute(empty, ConversionType.CSV_TO_JSON));
+
+            ConverterMetrics.Snapshot metrics = service.getMetrics().snapshot().get(ConversionType.CSV_TO_JSON);
+            assertEquals(0, metrics.getSuccesses());
+            assertEquals(1, metrics.getFailures());
+        }
+    }
+
+    @Test
+    public void testFileConverterOutputsAndEntriesAreMeasured() throws Exception {
+        File zip = new File(tempDir.toFile(), "bundle.zip");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+            for (int i = 0; i < 3; i++) {
+                out.putNextEntry(new ZipEntry("file" + i + ".txt"));
+                out.write(("entry " + i).getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            FileConverterService service = ctx.getBean(FileConverterService.class);
+            try (ConversionResult result = service.execute(zip, ConversionType.ZIP_TO_FOLDER)) {
+                ConverterMetrics.Snapshot metrics = service.getMetrics().snapshot().get(ConversionType.ZIP_TO_FOLDER);
+
+                assertEquals(1, metrics.getSuccesses());
+                assertEquals(zip.length(), metrics.getBytesIn());
+                assertEquals(result.getBytesOut(), metrics.getBytesOut());
+                assertEquals(result.getOutputFiles().size() + result.getOutputDirectories().size(), metrics.getOutputs());
+                assertEquals(3, metrics.getEntries());
+            }
+        }
+    }
+
+    @Test
+    public void testJmxExposesEveryRegisteredConverter() throws Exception {
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            FileConverterService service = ctx.getBean(FileConverterService.class);
+            service.execute(createTempFile("data.csv", "1,2\n"), ConversionType.CSV_TO_JSON).close();
+
+            var server = ManagementFactory.getPlatformMBeanServer();
+            var name = JmxMetricsReporter.objectName(ConversionType.CSV_TO_JSON);
+            assertEquals(1L, server.getAttribute(name, "Successes"));
+            assertTrue((Double) server.getAttribute(name, "MaxMillis") > 0);
+            assertTrue(server.isRegistered(JmxMetricsReporter.objectName(ConversionType.XML_TO_PDF)));
+        }
+    }
+
+    @Test
+    public void testHistogramPercentilesUseBucketBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) histogram.record(Duration.ofMillis(3).toNanos());
+        histogram.record(Duration.ofMillis(150).toNanos());
+        histogram.record(Duration.ofMinutes(20).toNanos());
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(5, snapshot.getPercentileMillis(0.50));
+        assertEquals(200, snapshot.getPercentileMillis(0.99));
+        assertEquals(Duration.ofMinutes(20).toMillis(), snapshot.getPercentileMillis(1.0));
+    }
+
+    @Test
+    public void testJsonReportIsOneObjectPerType() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        ConverterMetrics metrics = registry.forType(ConversionType.PDF_TO_TXT);
+        ProcessedUnits units;
+        try (ProcessedUnits.Scope scope = ProcessedUnits.open()) {
+            ProcessedUnits.pages(12);
+            units = scope.getUnits();
+        }
+        metrics.recordSuccess(Duration.ofMillis(40).toNanos(), 1000, 200, 1, units);
+
+        try (LoggingMetricsReporter reporter = new LoggingMetricsReporter(Duration.ofHours(1),
+                LoggingMetricsReporter.Format.JSON)) {
+            JsonNode json = new ObjectMapper().readTree(reporter.format(registry.snapshot().get(ConversionType.PDF_TO_TXT)));
+
+            assertEquals("PDF_TO_TXT", json.get("type").asText());
+            assertEquals(1, json.get("successes").asLong());
+            assertEquals(12, json.get("pages").asLong());
+            // Bucket bound is 50 ms, but never reported above the observed maximum
+            assertEquals(40, json.get("p99Millis").asDouble(), 0.001);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.flexiconvert.planner;
+
+import com.flexiconvert.ConversionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConversionPlannerTest {
+
+    private final ConversionPlanner planner =
+            new ConversionPlanner(EnumSet.allOf(ConversionType.class), new ConversionCostModel());
+
+    @Test
+    public void testDirectConversionIsPreferred() {
+        ConversionPlan plan = planner.plan("csv", "json").orElseThrow();
+
+        assertTrue(plan.isDirect());
+        assertEquals(ConversionType.CSV_TO_JSON, plan.getFinalHop());
+    }
+
+    @Test
+    public void testChainsThroughIntermediateFormat() {
+        ConversionPlan plan = planner.plan("xlsx", "json").orElseThrow();
+
+        assertEquals(List.of(ConversionType.XLSX_TO_CSV, ConversionType.CSV_TO_JSON), plan.getHops());
+        assertEquals("xlsx -> csv -> json", plan.toString());
+    }
+
+    @Test
+    public void testMeasuredCostsChangeThePlan() {
+        ConversionCostModel costs = new ConversionCostModel();
+        ConversionPlanner measured = new ConversionPlanner(EnumSet.allOf(ConversionType.class), costs);
+        assertEquals(List.of(ConversionType.MD_TO_PDF), measured.plan("md", "pdf").orElseThrow().getHops());
+
+        // Direct MD rendering turns out to be far slower than going through HTML
+        costs.record(ConversionType.MD_TO_PDF, 1000, 1_000_000_000L);
+        costs.record(ConversionType.MD_TO_HTML, 1000, 1000);
+        costs.record(ConversionType.HTML_TO_PDF, 1000, 1000);
+
+        assertEquals(List.of(ConversionType.MD_TO_HTML, ConversionType.HTML_TO_PDF),
+                measured.plan("md", "pdf").orElseThrow().getHops());
+    }
+
+    @Test
+    public void testMultiOutputFormatsOnlyEndAChain() {
+        assertTrue(planner.plan("zip", "folder").isPresent());
+        assertTrue(planner.plan("pdf", "images").isPresent());
+        assertTrue(planner.plan("zip", "txt").isEmpty());
+    }
+
+    @Test
+    public void testUnknownFormatsHaveNoPlan() {
+        assertTrue(planner.plan("bmp", "pdf").isEmpty());
+        assertTrue(planner.plan("csv", "csv").isEmpty());
+        assertTrue(new ConversionPlanner(EnumSet.of(ConversionType.CSV_TO_JSON), new ConversionCostModel())
+                .plan("xlsx", "json").isEmpty());
+    }
+}
@@ -0,0 +1,119 @@
+package com.flexiconvert.progress;
+
+import com.flexiconvert.AbstractConverterTest;
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.batch.BatchOptions;
+import com.flexiconvert.cancellation.CancellationToken;
+import com.flexiconvert.config.AppConfig;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProgressTest extends AbstractConverterTest {
+
+    private final FileConverterService service;
+
+    public ProgressTest() {
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            service = ctx.getBean(FileConverterService.class);
+        }
+    }
+
+    @Test
+    public void testUpdatesOnlyInsideScope() {
+        List<ConversionProgress> updates = new ArrayList<>();
+        Progress.begin(ProgressUnit.PAGES, 4);
+        Progress.advance(1);
+
+        try (Progress.Scope scope = Progress.open(ConversionType.PDF_TO_TXT, 100, updates::add)) {
+            Progress.begin(ProgressUnit.PAGES, 4);
+            Progress.advance(1);
+            Progress.advance(3);
+        }
+        Progress.advance(1);
+
+        ConversionProgress last = updates.get(updates.size() - 1);
+        assertTrue(last.isFinished());
+        assertEquals(ConversionType.PDF_TO_TXT, last.getType());
+        assertEquals(ProgressUnit.PAGES, last.getUnit());
+        assertEquals(4, last.getCompleted());
+        assertEquals(1.0, last.getFraction());
+        assertEquals(0, last.estimateRemainingNanos());
+        assertEquals(1, updates.stream().filter(ConversionProgress::isFinished).count());
+    }
+
+    @Test
+    public void testTrackedStreamCountsBytesUntilAnotherUnitBegins() throws Exception {
+        List<ConversionProgress> updates = new ArrayList<>();
+        try (Progress.Scope scope = Progress.open(ConversionType.PDF_TO_TXT, 10, updates::add);
+             InputStream in = Progress.track(new ByteArrayInputStream(new byte[10]))) {
+            in.readNBytes(6);
+            assertEquals(ProgressUnit.BYTES, updates.get(updates.size() - 1).getUnit());
+
+            Progress.begin(ProgressUnit.PAGES, 2);
+            in.readAllBytes();
+        }
+
+        ConversionProgress last = updates.get(updates.size() - 1);
+        assertEquals(ProgressUnit.PAGES, last.getUnit());
+        assertEquals(0, last.getCompleted());
+        assertEquals(0.0, last.getFraction());
+        assertEquals(-1, last.estimateRemainingNanos());
+    }
+
+    @Test
+    public void testUnknownTotal() {
+        ConversionProgress progress = new ConversionProgress(ConversionType.ZIP_TO_FOLDER, ProgressUnit.ENTRIES,
+                5, -1, 1_000, false);
+        assertFalse(progress.hasTotal());
+        assertEquals(-1, progress.getFraction());
+        assertEquals(-1, progress.estimateRemainingNanos());
+    }
+
+    @Test
+    public void testStreamingConversionReportsBytesRead() throws Exception {
+        File input = createTempFile("progress.csv", "id,name\n1,Alice\n2,Bob\n");
+        List<ConversionProgress> updates = new ArrayList<>();
+
+        service.execute(input, ConversionType.CSV_TO_JSON, CancellationToken.create(), updates::add).close();
+
+        ConversionProgress last = updates.get(updates.size() - 1);
+        assertTrue(last.isFinished());
+        assertEquals(ProgressUnit.BYTES, last.getUnit());
+        assertEquals(input.length(), last.getTotal());
+        assertEquals(input.length(), last.getCompleted());
+    }
+
+    @Test
+    public void testPdfConversionReportsPages() throws Exception {
+        File input = new File(tempDir.toFile(), "pages.pdf");
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < 3; i++) {
+                document.addPage(new PDPage());
+            }
+            document.save(input);
+        }
+        List<ConversionProgress> updates = new CopyOnWriteArrayList<>();
+
+        service.convertAll(List.of(input), ConversionType.PDF_TO_IMAGES,
+                BatchOptions.defaults().setProgressListener(updates::add));
+
+        ConversionProgress last = updates.get(updates.size() - 1);
+        assertTrue(last.isFinished());
+        assertEquals(ProgressUnit.PAGES, last.getUnit());
+        assertEquals(3, last.getTotal());
+        assertEquals(3, last.getCompleted());
+        assertTrue(updates.stream().anyMatch(p -> p.getUnit() == ProgressUnit.PAGES && p.getCompleted() == 0));
+    }
+}
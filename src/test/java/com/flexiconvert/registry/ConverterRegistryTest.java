@@ -0,0 +1,76 @@
+package com.flexiconvert.registry;
+
+import com.flexiconvert.AbstractConverterTest;
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.config.AppConfig;
+import com.flexiconvert.converters.CsvToJsonConverter;
+import com.flexiconvert.converters.GenericToPdfConverter;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConverterRegistryTest extends AbstractConverterTest {
+
+    @Test
+    public void testEveryConversionTypeIsRegistered() {
+        ConverterRegistry registry = ConverterRegistry.load();
+
+        assertEquals(EnumSet.allOf(ConversionType.class), EnumSet.copyOf(registry.getTypes()));
+        assertEquals("com.flexiconvert.converters.CsvToJsonConverter",
+                registry.getDescriptor(ConversionType.CSV_TO_JSON).orElseThrow().getSource());
+        assertFalse(registry.getDescriptor(ConversionType.DOCX_TO_HTML).orElseThrow().isCacheable());
+        assertEquals(1, registry.getDescriptor(ConversionType.PDF_TO_TXT).orElseThrow().getVersion());
+    }
+
+    @Test
+    public void testConvertersAreCreatedOnFirstUse() {
+        ConverterRegistry registry = ConverterRegistry.load();
+        for (ConversionType type : ConversionType.values()) {
+            assertFalse(registry.isInstantiated(type), type.name());
+        }
+
+        var converter = registry.getConverter(ConversionType.CSV_TO_JSON);
+        assertInstanceOf(CsvToJsonConverter.class, converter);
+        assertSame(converter, registry.getConverter(ConversionType.CSV_TO_JSON));
+        assertTrue(registry.isInstantiated(ConversionType.CSV_TO_JSON));
+        assertFalse(registry.isInstantiated(ConversionType.CSV_TO_XML));
+    }
+
+    @Test
+    public void testFactoryMethodsAreRegistered() {
+        ConverterRegistry registry = ConverterRegistry.load();
+
+        assertInstanceOf(GenericToPdfConverter.class, registry.getConverter(ConversionType.JAVA_TO_PDF));
+        assertNotSame(registry.getConverter(ConversionType.JAVA_TO_PDF), registry.getConverter(ConversionType.PY_TO_PDF));
+    }
+
+    @Test
+    public void testUnregisteredTypeIsRejected() {
+        ConverterRegistry registry = new ConverterRegistry(
+                List.of(new ConverterDescriptor(ConversionType.CSV_TO_JSON, "test", 1, true)),
+                type -> new CsvToJsonConverter());
+
+        assertThrows(UnsupportedOperationException.class, () -> registry.getConverter(ConversionType.CSV_TO_XML));
+        assertTrue(registry.getDescriptor(ConversionType.CSV_TO_XML).isEmpty());
+    }
+
+    @Test
+    public void testServiceStartupInstantiatesNoConverters() throws Exception {
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            FileConverterService service = ctx.getBean(FileConverterService.class);
+            ConverterRegistry registry = ctx.getBean(ConverterRegistry.class);
+            for (ConversionType type : ConversionType.values()) {
+                assertFalse(registry.isInstantiated(type), type.name());
+            }
+
+            service.execute(createTempFile("data.csv", "1,2\n"), ConversionType.CSV_TO_JSON).close();
+            assertTrue(registry.isInstantiated(ConversionType.CSV_TO_JSON));
+            assertFalse(registry.isInstantiated(ConversionType.DOCX_TO_PDF));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.flexiconvert.scheduler;
+
+import com.flexiconvert.AbstractConverterTest;
+import com.flexiconvert.ConversionResult;
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.config.AppConfig;
+import com.flexiconvert.scheduler.ConversionScheduler.Lane;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConversionSchedulerTest extends AbstractConverterTest {
+
+    private static final double SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final FileConverterService service;
+
+    public ConversionSchedulerTest() {
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            service = ctx.getBean(FileConverterService.class);
+        }
+    }
+
+    private ConversionScheduler scheduler() {
+        return new ConversionScheduler(service, 1, 1, ConversionScheduler.DEFAULT_AGING_RATE, "test-scheduler");
+    }
+
+    /** Occupies the lane's only worker until the returned latch is counted down. */
+    private static CountDownLatch block(ConversionScheduler scheduler, Lane lane) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit(lane, 0, () -> {
+            started.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    @Test
+    public void testShortJobsOvertakeLongOnes() throws Exception {
+        List<String> order = new CopyOnWriteArrayList<>();
+        try (ConversionScheduler scheduler = scheduler()) {
+            CountDownLatch release = block(scheduler, Lane.IO);
+            scheduler.submit(Lane.IO, 600 * SECOND, () -> order.add("zip"));
+            for (int i = 0; i < 3; i++) {
+                String name = "csv" + i;
+                scheduler.submit(Lane.IO, 0.001 * SECOND, () -> order.add(name));
+            }
+            assertEquals(4, scheduler.getQueued(Lane.IO));
+            release.countDown();
+        }
+        assertEquals(List.of("csv0", "csv1", "csv2", "zip"), order);
+    }
+
+    @Test
+    public void testWaitingJobsAge() throws Exception {
+        try (ConversionScheduler scheduler = scheduler()) {
+            double longJobQueuedFirst = scheduler.priority(0, 10 * SECOND);
+            double shortJobSoonAfter = scheduler.priority((long) SECOND, 0.1 * SECOND);
+            double shortJobMuchLater = scheduler.priority((long) (11 * SECOND), 0.1 * SECOND);
+
+            assertTrue(shortJobSoonAfter < longJobQueuedFirst);
+            assertTrue(longJobQueuedFirst < shortJobMuchLater);
+        }
+    }
+
+    @Test
+    public void testBusyCpuLaneDoesNotHoldUpIoLane() throws Exception {
+        try (ConversionScheduler scheduler = scheduler()) {
+            CountDownLatch release = block(scheduler, Lane.CPU);
+            CompletableFuture<String> io = scheduler.submit(Lane.IO, SECOND, () -> "done");
+
+            assertEquals("done", io.get(5, TimeUnit.SECONDS));
+            assertEquals(1, scheduler.getRunning(Lane.CPU));
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testCancelledJobIsSkipped() throws Exception {
+        List<String> ran = new CopyOnWriteArrayList<>();
+        try (ConversionScheduler scheduler = scheduler()) {
+            CountDownLatch release = block(scheduler, Lane.IO);
+            CompletableFuture<Boolean> queued = scheduler.submit(Lane.IO, SECOND, () -> ran.add("cancelled"));
+            assertTrue(queued.cancel(false));
+            release.countDown();
+        }
+        assertTrue(ran.isEmpty());
+    }
+
+    @Test
+    public void testSchedulesConversions() throws Exception {
+        File input = createTempFile("scheduled.csv", "id,name\n1,Alice\n");
+        assertEquals(Lane.IO, Lane.of(ConversionType.CSV_TO_JSON));
+        assertEquals(Lane.CPU, Lane.of(ConversionType.PDF_TO_IMAGES));
+
+        try (ConversionScheduler scheduler = scheduler();
+             ConversionResult result = scheduler.submit(input, ConversionType.CSV_TO_JSON).get(30, TimeUnit.SECONDS)) {
+            assertEquals("scheduled.json", result.getPrimaryOutput().getName());
+        }
+
+        try (ConversionScheduler scheduler = scheduler()) {
+            CompletableFuture<ConversionResult> unsupported = scheduler.submit(input, "pptx", null, null);
+            assertTrue(unsupported.isCompletedExceptionally());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.flexiconvert.selection;
+
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.csv.CellDecoder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SelectionTest {
+
+    private final CellDecoder decoder = new CellDecoder();
+
+    @Test
+    public void testParsesTheFirstOperator() {
+        Condition condition = Condition.parse("price >= 10");
+        assertEquals("price", condition.getColumn());
+        assertEquals(Condition.Operator.GREATER_OR_EQUAL, condition.getOperator());
+        assertEquals("10", condition.getValue());
+
+        assertEquals(Condition.Operator.NOT_EQUAL, Condition.parse("a!=b").getOperator());
+        assertEquals("x<y", Condition.parse("note=x<y").getValue());
+        assertThrows(IllegalArgumentException.class, () -> Condition.parse("no operator"));
+        assertThrows(IllegalArgumentException.class, () -> Condition.parse("=5"));
+    }
+
+    @Test
+    public void testNumbersCompareNumericallyAndTextAsText() {
+        assertTrue(Condition.parse("0>9").test("10", decoder), "10 > 9 as numbers");
+        assertTrue(Condition.parse("0<9.5").test("9", decoder));
+        assertTrue(Condition.parse("0=1.0").test("1", decoder));
+        assertTrue(Condition.parse("0<b").test("a", decoder), "Text compares as text");
+        assertTrue(Condition.parse("0>b").test("c", decoder));
+        assertTrue(Condition.parse("0~li").test("Alice", decoder));
+        assertTrue(Condition.parse("0=").test(null, decoder), "Missing cells compare as empty");
+        assertFalse(Condition.parse("0=").test("x", decoder));
+        assertFalse(Condition.parse("0!= NL ").test("NL", decoder));
+    }
+
+    @Test
+    public void testTextNeverMatchesAnOrderingAgainstANumber() {
+        for (String cell : new String[]{"n/a", "unknown", "age", "", null}) {
+            for (String expression : new String[]{"0>=80", "0>80", "0<=80", "0<80", "0=80"}) {
+                assertFalse(Condition.parse(expression).test(cell, decoder), expression + " on " + cell);
+            }
+            assertTrue(Condition.parse("0!=80").test(cell, decoder), "0!=80 on " + cell);
+        }
+        assertTrue(Condition.parse("0~8").test("n/a 8", decoder), "Contains is always textual");
+    }
+
+    @Test
+    public void testKeysTellApartSelectionsThatPrintAlike() {
+        Selection joined = Selection.columns("a,b");
+        Selection separate = Selection.columns("a", "b");
+        assertEquals(joined.toString(), separate.toString());
+        assertNotEquals(joined.toKey(), separate.toKey());
+
+        Selection oneCondition = Selection.where("0=x;where=1=y");
+        Selection twoConditions = Selection.where("0=x").and("1=y");
+        assertEquals(oneCondition.toString(), twoConditions.toString());
+        assertNotEquals(oneCondition.toKey(), twoConditions.toKey());
+
+        assertEquals(Selection.columns("a").and("0>1").toKey(), Selection.columns("a").and("0>1").toKey());
+        assertEquals("", Selection.ALL.toKey());
+    }
+
+    @Test
+    public void testSelectionsAreValuesWithAStableForm() {
+        Selection selection = Selection.columns("0", " 3", "0").and("2>=100").and("1~x");
+        assertEquals(List.of("0", "3"), selection.getColumns());
+        assertEquals("columns=0,3;where=2>=100;where=1~x", selection.toString());
+        assertEquals(selection, Selection.columns("0", "3").and("2 >= 100").and("1~x"));
+        assertEquals("", Selection.ALL.toString());
+        assertTrue(Selection.ALL.isAll());
+        assertFalse(Selection.where("0=1").isProjected());
+
+        assertTrue(Selection.supports(ConversionType.CSV_TO_JSON));
+        assertFalse(Selection.supports(ConversionType.PDF_TO_TXT));
+    }
+
+    @Test
+    public void testScopesNest() {
+        Selection outer = Selection.columns("a");
+        try (Selection.Scope scope = Selection.open(outer)) {
+            try (Selection.Scope inner = Selection.open(Selection.ALL)) {
+                assertSame(Selection.ALL, Selection.current());
+            }
+            assertSame(outer, Selection.current());
+        }
+        assertSame(Selection.ALL, Selection.current());
+    }
+}
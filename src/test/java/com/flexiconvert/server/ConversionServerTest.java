@@ -0,0 +1,201 @@
+package com.flexiconvert.server;
+
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.cache.ConversionCache;
+import com.flexiconvert.cancellation.ConversionDeadlines;
+import com.flexiconvert.config.AppConfig;
+import com.flexiconvert.memory.MemoryBudget;
+import com.flexiconvert.memory.MemoryEstimates;
+import com.flexiconvert.metrics.MetricsRegistry;
+import com.flexiconvert.registry.ConverterRegistry;
+import com.flexiconvert.staging.InputStager;
+import com.flexiconvert.workspace.WorkspaceManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConversionServerTest {
+
+    private final FileConverterService service;
+    private final FileConverterService smallBudgetService;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private ConversionServer server;
+
+    public ConversionServerTest() {
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            service = ctx.getBean(FileConverterService.class);
+            smallBudgetService = new FileConverterService(ctx.getBean(ConverterRegistry.class),
+                    ctx.getBean(InputStager.class), ConversionCache.disabled(), ctx.getBean(WorkspaceManager.class),
+                    new MemoryBudget(16 * MemoryEstimates.MIB, Duration.ofSeconds(1)),
+                    ctx.getBean(ConversionDeadlines.class), ctx.getBean(MetricsRegistry.class));
+        }
+    }
+
+    @AfterEach
+    public void stopServer() {
+        if (server != null) server.stop(Duration.ZERO);
+    }
+
+    private void start(int maxInFlight, int queueDepth, Duration timeout) throws IOException {
+        server = new ConversionServer(service, new InetSocketAddress("127.0.0.1", 0), maxInFlight, queueDepth, timeout);
+        server.start();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /** Sends headers and part of a body, then stalls, keeping a conversion busy. */
+    // Stalls mid-row, so even a streaming converter has nothing to send before the deadline
+    private Socket openStalledUpload(String path) throws IOException {
+        Socket socket = new Socket("127.0.0.1", server.getAddress().getPort());
+        socket.getOutputStream().write(("POST " + path + " HTTP/1.1\r\nHost: localhost\r\n"
+                + "Content-Length: 1000\r\n\r\n1,Alice").getBytes(StandardCharsets.US_ASCII));
+        socket.getOutputStream().flush();
+        return socket;
+    }
+
+    private String readStatusLine(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII)).readLine();
+    }
+
+    private void awaitInFlight(int expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            String health = client.send(HttpRequest.newBuilder(uri("/health")).build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            if (health.contains("\"inFlight\":" + expected + ",")) return;
+            Thread.sleep(20);
+        }
+        fail("Server never reached " + expected + " in-flight conversions");
+    }
+
+    @Test
+    public void testConvertsRequestBody() throws Exception {
+        start(2, 2, Duration.ofSeconds(30));
+
+        HttpResponse<String> response = post("/convert/csv_to_json?name=people.csv", "1,Alice,30\n2,Bob,25");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("application/json"));
+        assertTrue(response.headers().firstValue("Content-Disposition").orElse("").contains("people.json"));
+        assertTrue(response.body().contains("Alice"));
+    }
+
+    @Test
+    public void testRejectsUnknownTypesAndMethods() throws Exception {
+        start(1, 0, Duration.ofSeconds(30));
+
+        assertEquals(404, post("/convert/csv_to_mp3", "x").statusCode());
+        HttpResponse<String> get = client.send(HttpRequest.newBuilder(uri("/convert/csv_to_json")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, get.statusCode());
+    }
+
+    @Test
+    public void testChunkedUploadIsAdmittedByItsSpooledSize() throws Exception {
+        server = new ConversionServer(smallBudgetService, new InetSocketAddress("127.0.0.1", 0), 1, 0,
+                Duration.ofSeconds(30));
+        server.start();
+        byte[] large = ("[" + "{\"a\": 1},".repeat((int) (MemoryEstimates.MIB / 9)) + "{\"a\": 1}]")
+                .getBytes(StandardCharsets.UTF_8);
+
+        HttpResponse<String> chunked = client.send(HttpRequest.newBuilder(uri("/convert/json_to_csv"))
+                        .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(large))).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(413, chunked.statusCode(), chunked.body());
+        assertEquals(200, post("/convert/json_to_csv", "[{\"a\": 1}]").statusCode());
+    }
+
+    @Test
+    public void testUnresolvableSelectionIsABadRequest() throws Exception {
+        start(1, 0, Duration.ofSeconds(30));
+
+        HttpResponse<String> named = post("/convert/csv_to_json?columns=name", "id,name\n1,Alice");
+        assertEquals(400, named.statusCode());
+        assertTrue(named.body().contains("zero-based index"), named.body());
+        assertEquals(400, post("/convert/csv_to_xml?where=id%3D1", "id\n1").statusCode());
+        assertEquals(200, post("/convert/csv_to_json?columns=1&where=0%3D1", "1,Alice").statusCode());
+    }
+
+    @Test
+    public void testConversionFailureIsReported() throws Exception {
+        start(1, 0, Duration.ofSeconds(30));
+
+        HttpResponse<String> response = post("/convert/csv_to_json", "");
+
+        assertEquals(422, response.statusCode());
+        assertTrue(response.body().contains("error"));
+    }
+
+    @Test
+    public void testFullQueueAnswers503() throws Exception {
+        start(1, 0, Duration.ofSeconds(30));
+
+        try (Socket busy = openStalledUpload("/convert/csv_to_json")) {
+            awaitInFlight(1);
+
+            HttpResponse<String> rejected = post("/convert/csv_to_json", "2,Bob");
+            assertEquals(503, rejected.statusCode());
+            assertEquals("1", rejected.headers().firstValue("Retry-After").orElse(null));
+        }
+
+        awaitInFlight(0);
+        assertEquals(200, post("/convert/csv_to_json", "3,Carol").statusCode());
+    }
+
+    @Test
+    public void testSlowConversionTimesOut() throws Exception {
+        start(1, 1, Duration.ofSeconds(2));
+
+        try (Socket slow = openStalledUpload("/convert/csv_to_json")) {
+            assertTrue(readStatusLine(slow).contains(" 504 "));
+        }
+
+        // The slot is given back once the timed-out request unwinds
+        awaitInFlight(0);
+        assertEquals(200, post("/convert/csv_to_json", "1,Alice").statusCode());
+    }
+
+    @Test
+    public void testZipResponseOnRequest() throws Exception {
+        start(1, 0, Duration.ofSeconds(30));
+
+        HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(uri("/convert/csv_to_json?name=z.csv"))
+                        .header("Accept", "application/zip")
+                        .POST(HttpRequest.BodyPublishers.ofString("1,Alice")).build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+
+        assertEquals(200, response.statusCode());
+        try (ZipInputStream zip = new ZipInputStream(response.body())) {
+            ZipEntry entry = zip.getNextEntry();
+            assertNotNull(entry);
+            assertEquals("z.json", entry.getName());
+            assertTrue(new String(zip.readAllBytes(), StandardCharsets.UTF_8).contains("Alice"));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.flexiconvert.watch;
+
+import com.flexiconvert.AbstractConverterTest;
+import com.flexiconvert.ConversionType;
+import com.flexiconvert.FileConverterService;
+import com.flexiconvert.config.AppConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WatchFolderDaemonTest extends AbstractConverterTest {
+
+    private final FileConverterService service;
+    private WatchFolderDaemon daemon;
+
+    public WatchFolderDaemonTest() {
+        try (var ctx = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            service = ctx.getBean(FileConverterService.class);
+        }
+    }
+
+    @AfterEach
+    public void stopDaemon() throws Exception {
+        if (daemon != null) daemon.close();
+    }
+
+    private Path inbox() {
+        return tempDir.resolve("inbox");
+    }
+
+    private Path outbox() {
+        return tempDir.resolve("outbox");
+    }
+
+    private void start(String rules) throws Exception {
+        Files.createDirectories(inbox());
+        daemon = new WatchFolderDaemon(service,
+                List.of(new WatchFolder(inbox(), outbox(), RoutingRules.parse(rules))), 2, Duration.ofMillis(200));
+        daemon.start();
+    }
+
+    private static void await(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail(message);
+            Thread.sleep(25);
+        }
+    }
+
+    @Test
+    public void testConvertsNewFileIntoOutbox() throws Exception {
+        start("csv=json");
+
+        Files.writeString(inbox().resolve("people.csv"), "1,Alice\n2,Bob");
+
+        await(() -> Files.exists(outbox().resolve("people.json")), "people.json never appeared in the outbox");
+        assertTrue(Files.readString(outbox().resolve("people.json")).contains("Alice"));
+        await(() -> !Files.exists(inbox().resolve("people.csv")), "Converted input should leave the inbox");
+        assertEquals(1, daemon.getConvertedCount());
+    }
+
+    @Test
+    public void testWaitsUntilFileStopsGrowing() throws Exception {
+        start("csv=json");
+        Path upload = inbox().resolve("slow.csv");
+
+        Files.writeString(upload, "1,Alice\n");
+        for (int i = 2; i <= 5; i++) {
+            Thread.sleep(100);
+            Files.writeString(upload, i + ",Row" + i + "\n", StandardOpenOption.APPEND);
+        }
+
+        await(() -> Files.exists(outbox().resolve("slow.json")), "slow.json never appeared");
+        assertTrue(Files.readString(outbox().resolve("slow.json")).contains("Row5"),
+                "The file must not be converted before the upload finished");
+    }
+
+    @Test
+    public void testIgnoresPartialAndUnroutedFiles() throws Exception {
+        start("csv=json");
+
+        Files.writeString(inbox().resolve("upload.csv.part"), "1,Alice");
+        Files.writeString(inbox().resolve("notes.md"), "# Notes");
+        Files.writeString(inbox().resolve("ready.csv"), "1,Alice");
+
+        await(() -> Files.exists(outbox().resolve("ready.json")), "ready.json never appeared");
+        assertTrue(Files.exists(inbox().resolve("upload.csv.part")));
+        assertTrue(Files.exists(inbox().resolve("notes.md")));
+    }
+
+    @Test
+    public void testFailedInputIsQuarantined() throws Exception {
+        start("csv=json");
+
+        Files.writeString(inbox().resolve("empty.csv"), "");
+
+        Path failed = inbox().resolve(WatchFolderDaemon.STATE_DIRECTORY).resolve(WatchFolderDaemon.FAILED_DIRECTORY);
+        await(() -> Files.exists(failed.resolve("empty.csv.error.txt")), "Failure was not recorded");
+        assertTrue(Files.exists(failed.resolve("empty.csv")));
+        assertEquals(1, daemon.getFailedCount());
+    }
+
+    @Test
+    public void testRestartResumesInterruptedAndWaitingFiles() throws Exception {
+        // A job claimed by a previous run that died mid-conversion, and a file that arrived while down
+        Path job = inbox().resolve(WatchFolderDaemon.STATE_DIRECTORY)
+                .resolve(WatchFolderDaemon.PROCESSING_DIRECTORY).resolve("interrupted-job");
+        Files.createDirectories(job);
+        Files.writeString(job.resolve("inflight.csv"), "1,Alice");
+        Files.writeString(inbox().resolve("waiting.csv"), "2,Bob");
+
+        start("csv=json");
+
+        await(() -> Files.exists(outbox().resolve("inflight.json")), "Interrupted job was not resumed");
+        await(() -> Files.exists(outbox().resolve("waiting.json")), "File that arrived while down was missed");
+        await(() -> !Files.exists(job), "Resumed job should be cleaned up");
+    }
+
+    @Test
+    public void testRoutingRules() {
+        RoutingRules rules = RoutingRules.parse("csv=json, .MD=pdf, docx=DOCX_TO_HTML, *=txt");
+
+        assertEquals("json", rules.route("a.CSV").orElseThrow().getTargetFormat());
+        assertEquals("pdf", rules.route("b.md").orElseThrow().getTargetFormat());
+        assertEquals(ConversionType.DOCX_TO_HTML, rules.route("c.docx").orElseThrow().getType());
+        assertEquals("txt", rules.route("d.xml").orElseThrow().getTargetFormat());
+        assertTrue(RoutingRules.parse("csv=json").route("e.png").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> RoutingRules.parse("csv"));
+    }
+}
@@ -0,0 +1,139 @@
+package com.flexiconvert.workspace;
+
+import com.flexiconvert.AbstractConverterTest;
+import com.flexiconvert.io.FileConverterAdapter;
+import com.flexiconvert.io.MemoryOutputSink;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkspaceManagerTest extends AbstractConverterTest {
+
+    private WorkspaceManager manager(long quota, Duration timeout) {
+        return new WorkspaceManager(new File(tempDir.toFile(), "workspaces"), quota, timeout, 2);
+    }
+
+    @Test
+    public void testCloseDeletesWorkspaceAndReturnsQuota() throws Exception {
+        WorkspaceManager manager = manager(1000, Duration.ofSeconds(1));
+        Workspace workspace = manager.lease(400);
+        Files.writeString(new File(workspace.getDirectory(), "out.txt").toPath(), "hello");
+
+        assertEquals(400, manager.getReservedBytes());
+        workspace.close();
+
+        assertFalse(workspace.getDirectory().exists());
+        assertEquals(0, manager.getReservedBytes());
+        assertEquals(0, manager.getActiveCount());
+    }
+
+    @Test
+    public void testLeaseWaitsForQuotaAndTimesOut() throws Exception {
+        WorkspaceManager manager = manager(1000, Duration.ofMillis(200));
+        Workspace first = manager.lease(800);
+
+        assertThrows(IOException.class, () -> manager.lease(400));
+        assertEquals(800, manager.getReservedBytes());
+
+        first.close();
+        manager.lease(900).close();
+    }
+
+    @Test
+    public void testBlockedLeaseProceedsOnRelease() throws Exception {
+        WorkspaceManager manager = manager(1000, Duration.ofSeconds(5));
+        Workspace first = manager.lease(800);
+
+        CompletableFuture<Workspace> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return manager.lease(400);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+
+        first.close();
+        Workspace second = waiting.get(5, TimeUnit.SECONDS);
+        assertEquals(400, manager.getReservedBytes());
+        second.close();
+    }
+
+    @Test
+    public void testSettleReplacesEstimateWithActualSize() throws Exception {
+        WorkspaceManager manager = manager(1000, Duration.ofSeconds(1));
+        Workspace workspace = manager.lease(900);
+        Files.writeString(new File(workspace.getDirectory(), "out.txt").toPath(), "12345");
+
+        workspace.settle();
+
+        assertEquals(5, manager.getReservedBytes());
+        workspace.close();
+    }
+
+    @Test
+    public void testAdaptedConvertersSpoolIntoALeasedWorkspace() throws Exception {
+        WorkspaceManager manager = manager(1000, Duration.ofSeconds(1));
+        List<Long> reservedDuringRun = new ArrayList<>();
+        FileConverterAdapter adapter = new FileConverterAdapter(input -> {
+            assertEquals(manager.getRoot(), input.getParentFile().getParentFile());
+            reservedDuringRun.add(manager.getReservedBytes());
+            Files.writeString(new File(input.getParentFile(), "out.txt").toPath(), "done");
+        }, manager);
+
+        MemoryOutputSink sink = new MemoryOutputSink();
+        adapter.convert(new ByteArrayInputStream("12345".getBytes()), "in.txt", sink);
+        File input = createTempFile("sized.txt", "1234567890");
+        try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+            adapter.convert(channel, input.getName(), sink);
+        }
+
+        assertEquals(List.of(5L, 30L), reservedDuringRun, "An unknown size is settled once spooled, a file's is estimated");
+        assertArrayEquals("done".getBytes(), sink.get("out.txt"));
+        assertEquals(0, manager.getReservedBytes());
+        assertEquals(0, manager.getActiveCount());
+    }
+
+    @Test
+    public void testRetentionLimitReclaimsOldestWorkspace() throws Exception {
+        WorkspaceManager manager = manager(1000, Duration.ofSeconds(1));
+        Workspace oldest = manager.lease(1);
+        manager.retain(oldest);
+        manager.retain(manager.lease(1));
+        manager.retain(manager.lease(1));
+
+        assertTrue(oldest.isClosed());
+        assertFalse(oldest.getDirectory().exists());
+        assertEquals(2, manager.getActiveCount());
+    }
+
+    @Test
+    public void testSweepReclaimsWorkspacesOfDeadProcesses() throws Exception {
+        File root = new File(tempDir.toFile(), "workspaces");
+        File orphan = new File(root, WorkspaceManager.PREFIX + "orphan");
+        assertTrue(new File(orphan, "nested").mkdirs());
+        Files.writeString(new File(root, orphan.getName() + ".lease").toPath(), Long.toString(Long.MAX_VALUE));
+
+        WorkspaceManager manager = new WorkspaceManager(root, 1000, Duration.ofSeconds(1), 2);
+        Workspace live = manager.lease(1);
+
+        assertFalse(orphan.exists());
+        assertFalse(new File(root, orphan.getName() + ".lease").exists());
+        assertEquals(0, manager.sweepOrphans());
+        assertTrue(live.getDirectory().exists());
+        live.close();
+    }
+}